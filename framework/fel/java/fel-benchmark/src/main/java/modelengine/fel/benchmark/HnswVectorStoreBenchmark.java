@@ -0,0 +1,160 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.benchmark;
+
+import modelengine.fel.core.document.Document;
+import modelengine.fel.core.document.DocumentEmbedModel;
+import modelengine.fel.core.document.MeasurableDocument;
+import modelengine.fel.core.embed.EmbedModel;
+import modelengine.fel.core.embed.EmbedOption;
+import modelengine.fel.core.embed.support.DefaultDocumentEmbedModel;
+import modelengine.fel.core.vectorstore.SearchOption;
+import modelengine.fel.core.vectorstore.VectorStore;
+import modelengine.fel.core.vectorstore.support.HnswOption;
+import modelengine.fel.core.vectorstore.support.HnswVectorStore;
+import modelengine.fel.core.vectorstore.support.MemoryVectorStore;
+import modelengine.fit.serialization.json.jackson.JacksonObjectSerializer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 对比 {@link HnswVectorStore} 在不同检索宽度下与 {@link MemoryVectorStore} 精确检索前 10 个文档的耗时，并输出召回率。
+ * <p>{@code exact} 使用 {@link MemoryVectorStore} 逐个计算相似度，{@code hnsw} 使用指定 {@code efSearch} 的
+ * {@link HnswVectorStore}。{@code distribution} 为 {@code gaussian} 时，文档与查询的向量由 {@link RandomEmbedModel}
+ * 生成，为 {@code low-rank} 时由 {@link LowRankEmbedModel} 生成，索引使用固定的随机种子构建。
+ * 构建索引的耗时较长，第一次构建后索引被保存到临时目录，之后的测试直接加载该快照。每次测试开始前，
+ * 以精确检索的结果为基准计算 {@code recall@10} 并输出到标准输出。</p>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+public class HnswVectorStoreBenchmark {
+    private static final int BATCH_SIZE = 1024;
+    private static final int QUERY_COUNT = 64;
+    private static final int TOP_K = 10;
+    private static final int M = 16;
+    private static final int RANK = 16;
+    private static final long SEED = 42L;
+
+    @Param({"100000"})
+    private int size;
+
+    @Param({"128"})
+    private int dimension;
+
+    @Param({"gaussian", "low-rank"})
+    private String distribution;
+
+    @Param({"10", "32", "64", "256"})
+    private int efSearch;
+
+    private MemoryVectorStore exact;
+    private HnswVectorStore hnsw;
+    private SearchOption option;
+    private String[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        EmbedModel model = "low-rank".equals(this.distribution)
+                ? new LowRankEmbedModel(this.dimension, RANK, SEED)
+                : new RandomEmbedModel(this.dimension, SEED);
+        DocumentEmbedModel embedModel = new DefaultDocumentEmbedModel(model, EmbedOption.custom().build());
+        JacksonObjectSerializer serializer = new JacksonObjectSerializer(null, null, null);
+        this.exact = new MemoryVectorStore(embedModel);
+        this.persistent(this.exact);
+        Path snapshot = Paths.get(System.getProperty("java.io.tmpdir"),
+                "fel-hnsw-" + this.distribution + "-" + this.size + "-" + this.dimension + "-" + M + "-" + SEED + ".hnsw");
+        if (!Files.exists(snapshot)) {
+            HnswVectorStore builder = new HnswVectorStore(embedModel, HnswOption.custom().m(M).seed(SEED).build());
+            this.persistent(builder);
+            builder.save(snapshot, serializer);
+        }
+        this.hnsw = new HnswVectorStore(embedModel, HnswOption.custom().m(M).efSearch(this.efSearch).build());
+        this.hnsw.load(snapshot, serializer);
+        this.option = SearchOption.custom().topK(TOP_K).build();
+        this.queries = new String[QUERY_COUNT];
+        int hits = 0;
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            this.queries[i] = "query-" + i;
+            Set<String> expected = this.exact.search(this.queries[i], this.option)
+                    .stream()
+                    .map(MeasurableDocument::id)
+                    .collect(Collectors.toSet());
+            hits += (int) this.hnsw.search(this.queries[i], this.option)
+                    .stream()
+                    .map(MeasurableDocument::id)
+                    .filter(expected::contains)
+                    .count();
+        }
+        System.out.printf("%nrecall@%d [distribution=%s, size=%d, dimension=%d, efSearch=%d]: %.4f%n",
+                TOP_K,
+                this.distribution,
+                this.size,
+                this.dimension,
+                this.efSearch,
+                (double) hits / (QUERY_COUNT * TOP_K));
+    }
+
+    @Benchmark
+    public List<MeasurableDocument> exact() {
+        return this.exact.search(this.nextQuery(), this.option);
+    }
+
+    @Benchmark
+    public List<MeasurableDocument> hnsw() {
+        return this.hnsw.search(this.nextQuery(), this.option);
+    }
+
+    private String nextQuery() {
+        String query = this.queries[this.next];
+        this.next = this.next + 1 == this.queries.length ? 0 : this.next + 1;
+        return query;
+    }
+
+    private void persistent(VectorStore store) {
+        List<Document> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < this.size; i++) {
+            batch.add(Document.custom()
+                    .id(String.valueOf(i))
+                    .text("document-" + i)
+                    .metadata(Collections.emptyMap())
+                    .build());
+            if (batch.size() == BATCH_SIZE || i == this.size - 1) {
+                store.persistent(batch);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.benchmark;
+
+import modelengine.fel.core.embed.EmbedModel;
+import modelengine.fel.core.embed.EmbedOption;
+import modelengine.fel.core.embed.Embedding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * 表示根据输入文本生成确定的低秩随机向量的 {@link EmbedModel}。
+ * <p>向量由服从标准正态分布的低维隐向量经过固定的随机投影得到，再叠加少量的噪声。真实的文本向量通常集中在
+ * 远低于向量维度的子空间中，该模型生成的向量具有相同的特点，而 {@link RandomEmbedModel} 生成的各向同性向量
+ * 是近似检索最困难的情况。</p>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+class LowRankEmbedModel implements EmbedModel {
+    private static final float NOISE = 0.1F;
+
+    private final int dimension;
+    private final int rank;
+    private final long seed;
+    private final float[][] projection;
+
+    /**
+     * 使用向量维度、隐向量维度和随机种子创建 {@link LowRankEmbedModel} 的实例。
+     *
+     * @param dimension 表示向量维度的 {@code int}。
+     * @param rank 表示隐向量维度的 {@code int}。
+     * @param seed 表示随机种子的 {@code long}。
+     */
+    LowRankEmbedModel(int dimension, int rank, long seed) {
+        this.dimension = dimension;
+        this.rank = rank;
+        this.seed = seed;
+        Random random = new Random(seed);
+        this.projection = new float[rank][dimension];
+        for (int i = 0; i < rank; i++) {
+            for (int j = 0; j < dimension; j++) {
+                this.projection[i][j] = (float) (random.nextGaussian() / Math.sqrt(rank));
+            }
+        }
+    }
+
+    @Override
+    public List<Embedding> generate(List<String> inputs, EmbedOption option) {
+        return inputs.stream().map(this::embed).collect(Collectors.toList());
+    }
+
+    private Embedding embed(String input) {
+        Random random = new Random(this.seed * 31 + input.hashCode());
+        float[] vector = new float[this.dimension];
+        for (int i = 0; i < this.rank; i++) {
+            float latent = (float) random.nextGaussian();
+            for (int j = 0; j < this.dimension; j++) {
+                vector[j] += latent * this.projection[i][j];
+            }
+        }
+        List<Float> embedding = new ArrayList<>(this.dimension);
+        for (int j = 0; j < this.dimension; j++) {
+            embedding.add(vector[j] + NOISE * (float) random.nextGaussian());
+        }
+        return () -> embedding;
+    }
+}
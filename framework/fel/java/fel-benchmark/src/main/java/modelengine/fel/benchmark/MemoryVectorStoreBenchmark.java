@@ -0,0 +1,94 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.benchmark;
+
+import modelengine.fel.core.document.Document;
+import modelengine.fel.core.document.MeasurableDocument;
+import modelengine.fel.core.embed.EmbedOption;
+import modelengine.fel.core.embed.support.DefaultDocumentEmbedModel;
+import modelengine.fel.core.vectorstore.SearchOption;
+import modelengine.fel.core.vectorstore.support.MemoryVectorStore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 衡量 {@link MemoryVectorStore} 在不同文档数量和向量维度下检索前 10 个文档的耗时。
+ * <p>文档与查询的向量由 {@link RandomEmbedModel} 生成，每次检索轮流使用预先确定的查询文本。
+ * 100 万个 1536 维的向量约占 6 GB 内存，因此测试进程的最大堆设置为 8 GB，内存不足时可以通过
+ * {@code -p size=100000} 只运行较小的规模。</p>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx8g"})
+public class MemoryVectorStoreBenchmark {
+    private static final int BATCH_SIZE = 1024;
+    private static final int QUERY_COUNT = 64;
+    private static final long SEED = 42L;
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    @Param({"768", "1536"})
+    private int dimension;
+
+    private MemoryVectorStore store;
+    private SearchOption option;
+    private String[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.store = new MemoryVectorStore(new DefaultDocumentEmbedModel(new RandomEmbedModel(this.dimension, SEED),
+                EmbedOption.custom().build()));
+        List<Document> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < this.size; i++) {
+            batch.add(Document.custom()
+                    .id(String.valueOf(i))
+                    .text("document-" + i)
+                    .metadata(Collections.emptyMap())
+                    .build());
+            if (batch.size() == BATCH_SIZE || i == this.size - 1) {
+                this.store.persistent(batch);
+                batch.clear();
+            }
+        }
+        this.option = SearchOption.custom().topK(10).build();
+        this.queries = new String[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            this.queries[i] = "query-" + i;
+        }
+    }
+
+    @Benchmark
+    public List<MeasurableDocument> search() {
+        String query = this.queries[this.next];
+        this.next = this.next + 1 == this.queries.length ? 0 : this.next + 1;
+        return this.store.search(query, this.option);
+    }
+}
@@ -0,0 +1,54 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.benchmark;
+
+import modelengine.fel.core.embed.EmbedModel;
+import modelengine.fel.core.embed.EmbedOption;
+import modelengine.fel.core.embed.Embedding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * 表示根据输入文本生成确定的随机向量的 {@link EmbedModel}。
+ * <p>相同的输入总是得到相同的向量，因此构建存储时不需要保存所有的向量，检索时可以重新生成任意文档的向量。
+ * 向量的每个分量服从标准正态分布。</p>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+class RandomEmbedModel implements EmbedModel {
+    private final int dimension;
+    private final long seed;
+
+    /**
+     * 使用向量维度和随机种子创建 {@link RandomEmbedModel} 的实例。
+     *
+     * @param dimension 表示向量维度的 {@code int}。
+     * @param seed 表示随机种子的 {@code long}。
+     */
+    RandomEmbedModel(int dimension, long seed) {
+        this.dimension = dimension;
+        this.seed = seed;
+    }
+
+    @Override
+    public List<Embedding> generate(List<String> inputs, EmbedOption option) {
+        return inputs.stream().map(this::embed).collect(Collectors.toList());
+    }
+
+    private Embedding embed(String input) {
+        Random random = new Random(this.seed * 31 + input.hashCode());
+        List<Float> embedding = new ArrayList<>(this.dimension);
+        for (int i = 0; i < this.dimension; i++) {
+            embedding.add((float) random.nextGaussian());
+        }
+        return () -> embedding;
+    }
+}
@@ -0,0 +1,453 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.embed.support;
+
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fel.core.embed.EmbedModel;
+import modelengine.fel.core.embed.EmbedOption;
+import modelengine.fel.core.embed.Embedding;
+import modelengine.fitframework.exception.FitException;
+import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.util.ObjectUtils;
+import modelengine.fitframework.util.StringUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 表示合并并发请求并缓存结果的 {@link EmbedModel} 装饰器。
+ * <p>相同模型下的输入按模型名称和内容的摘要缓存，缓存按最近最少使用的顺序淘汰，可以在关闭时持久化到本地文件。
+ * 未命中缓存的输入会与其它线程中正在生成的相同输入合并，其余的输入加入当前的批次：第一个加入批次的线程在批次满或等待超时后，
+ * 以一次调用为整个批次生成嵌入向量，其它线程等待结果。模型名称或服务密钥不同的请求不会被合并到同一批次。</p>
+ * <p>批次调用失败时，该批次中所有的请求都会抛出相同的异常，失败的结果不会被缓存。</p>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+public class BatchingEmbedModel implements EmbedModel, Closeable {
+    private static final int DEFAULT_MAX_BATCH_SIZE = 64;
+    private static final int DEFAULT_MAX_DELAY_MILLIS = 5;
+    private static final int DEFAULT_CACHE_CAPACITY = 10000;
+    private static final int CACHE_MAGIC = 0x454D4243;
+
+    private final EmbedModel embedModel;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final int cacheCapacity;
+    private final Path cacheFile;
+    private final Object lock = new Object();
+    private final Map<Key, float[]> cache;
+    private final Map<Key, CompletableFuture<float[]>> generating = new HashMap<>();
+    private final Map<List<String>, Batch> openBatches = new HashMap<>();
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder batchedCount = new LongAdder();
+    private final LongAccumulator maxBatched = new LongAccumulator(Math::max, 0);
+
+    /**
+     * 使用默认的合批和缓存参数创建 {@link BatchingEmbedModel} 的实例。
+     *
+     * @param embedModel 表示被装饰的嵌入模型的 {@link EmbedModel}。
+     */
+    public BatchingEmbedModel(EmbedModel embedModel) {
+        this(embedModel, BatchingEmbedOption.custom().build());
+    }
+
+    /**
+     * 使用指定的合批和缓存参数创建 {@link BatchingEmbedModel} 的实例，缓存文件存在时从中加载缓存。
+     *
+     * @param embedModel 表示被装饰的嵌入模型的 {@link EmbedModel}。
+     * @param option 表示合批和缓存参数的 {@link BatchingEmbedOption}。
+     * @throws IllegalArgumentException 当 {@code embedModel} 或 {@code option} 为 {@code null}，参数不合法，
+     * 或缓存文件不合法时。
+     * @throws FitException 当读取缓存文件失败时。
+     */
+    public BatchingEmbedModel(EmbedModel embedModel, BatchingEmbedOption option) {
+        this.embedModel = notNull(embedModel, "The embed model cannot be null.");
+        notNull(option, "The batching embed option cannot be null.");
+        this.maxBatchSize = ObjectUtils.nullIf(option.maxBatchSize(), DEFAULT_MAX_BATCH_SIZE);
+        int maxDelayMillis = ObjectUtils.nullIf(option.maxDelayMillis(), DEFAULT_MAX_DELAY_MILLIS);
+        this.cacheCapacity = ObjectUtils.nullIf(option.cacheCapacity(), DEFAULT_CACHE_CAPACITY);
+        Validation.greaterThan(this.maxBatchSize,
+                0,
+                "The max batch size must be positive. [maxBatchSize={0}]",
+                this.maxBatchSize);
+        Validation.greaterThanOrEquals(maxDelayMillis,
+                0,
+                "The max delay cannot be negative. [maxDelayMillis={0}]",
+                maxDelayMillis);
+        Validation.greaterThanOrEquals(this.cacheCapacity,
+                0,
+                "The cache capacity cannot be negative. [cacheCapacity={0}]",
+                this.cacheCapacity);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.cacheFile = option.cacheFile();
+        this.cache = new LinkedHashMap<Key, float[]>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, float[]> eldest) {
+                return this.size() > BatchingEmbedModel.this.cacheCapacity;
+            }
+        };
+        if (this.cacheFile != null && this.cacheCapacity > 0 && Files.exists(this.cacheFile)) {
+            this.load();
+        }
+    }
+
+    @Override
+    public List<Embedding> generate(List<String> inputs, EmbedOption option) {
+        notNull(inputs, "The inputs cannot be null.");
+        if (inputs.isEmpty()) {
+            return Collections.emptyList();
+        }
+        this.requestCount.add(inputs.size());
+        String model = option == null ? null : option.model();
+        List<String> group = Arrays.asList(model, option == null ? null : option.apiKey());
+        Key[] keys = Key.of(model, inputs);
+        Object[] results = new Object[keys.length];
+        List<Batch> leadingBatches = new ArrayList<>(1);
+        synchronized (this.lock) {
+            for (int i = 0; i < keys.length; i++) {
+                float[] cached = this.cacheCapacity > 0 ? this.cache.get(keys[i]) : null;
+                if (cached != null) {
+                    this.hitCount.increment();
+                    results[i] = cached;
+                    continue;
+                }
+                CompletableFuture<float[]> future = this.generating.get(keys[i]);
+                if (future != null) {
+                    this.coalescedCount.increment();
+                    results[i] = future;
+                    continue;
+                }
+                future = new CompletableFuture<>();
+                this.generating.put(keys[i], future);
+                results[i] = future;
+                Batch batch = this.openBatches.get(group);
+                if (batch == null) {
+                    batch = new Batch(group, option, System.nanoTime() + this.maxDelayNanos);
+                    this.openBatches.put(group, batch);
+                    leadingBatches.add(batch);
+                }
+                batch.add(keys[i], inputs.get(i), future);
+                if (batch.size() >= this.maxBatchSize) {
+                    this.seal(batch);
+                    this.lock.notifyAll();
+                }
+            }
+        }
+        for (Batch batch : leadingBatches) {
+            this.await(batch);
+            this.flush(batch);
+        }
+        List<Embedding> embeddings = new ArrayList<>(results.length);
+        for (Object result : results) {
+            embeddings.add(new CachedEmbedding(result instanceof float[]
+                    ? ObjectUtils.cast(result)
+                    : join(ObjectUtils.cast(result))));
+        }
+        return embeddings;
+    }
+
+    /**
+     * 获取当前的统计信息。
+     *
+     * @return 表示统计信息的 {@link EmbedStatistics}。
+     */
+    public EmbedStatistics statistics() {
+        return new EmbedStatistics(this.requestCount.sum(),
+                this.hitCount.sum(),
+                this.coalescedCount.sum(),
+                this.batchCount.sum(),
+                this.batchedCount.sum(),
+                this.maxBatched.get());
+    }
+
+    /**
+     * 将缓存保存到创建时指定的缓存文件中，未指定缓存文件时不做任何操作。
+     *
+     * @throws FitException 当写入文件失败时。
+     */
+    public void save() {
+        if (this.cacheFile == null) {
+            return;
+        }
+        List<Map.Entry<Key, float[]>> entries;
+        synchronized (this.lock) {
+            entries = new ArrayList<>(this.cache.entrySet().size());
+            this.cache.forEach((key, vector) -> entries.add(new HashMap.SimpleImmutableEntry<>(key, vector)));
+        }
+        Path directory = this.cacheFile.toAbsolutePath().getParent();
+        try {
+            Path temporary = Files.createTempFile(directory, this.cacheFile.getFileName().toString(), ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+                        temporary)))) {
+                    out.writeInt(CACHE_MAGIC);
+                    out.writeInt(entries.size());
+                    for (Map.Entry<Key, float[]> entry : entries) {
+                        out.writeLong(entry.getKey().high);
+                        out.writeLong(entry.getKey().low);
+                        out.writeInt(entry.getValue().length);
+                        for (float value : entry.getValue()) {
+                            out.writeFloat(value);
+                        }
+                    }
+                }
+                Files.move(temporary,
+                        this.cacheFile,
+                        StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            throw new FitException(e);
+        }
+    }
+
+    /**
+     * 关闭嵌入模型，指定了缓存文件时将缓存保存到文件中。
+     *
+     * @throws FitException 当写入文件失败时。
+     */
+    @Override
+    public void close() {
+        this.save();
+    }
+
+    private void load() {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.cacheFile)))) {
+            Validation.equals(in.readInt(), CACHE_MAGIC, "The file is not an embedding cache.");
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                Key key = new Key(in.readLong(), in.readLong());
+                float[] vector = new float[in.readInt()];
+                for (int j = 0; j < vector.length; j++) {
+                    vector[j] = in.readFloat();
+                }
+                this.cache.put(key, vector);
+            }
+        } catch (IOException e) {
+            throw new FitException(e);
+        }
+    }
+
+    private void await(Batch batch) {
+        synchronized (this.lock) {
+            long remaining;
+            while (!batch.isSealed && (remaining = batch.deadline - System.nanoTime()) > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this.lock, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            if (!batch.isSealed) {
+                this.seal(batch);
+            }
+        }
+    }
+
+    private void seal(Batch batch) {
+        batch.isSealed = true;
+        this.openBatches.remove(batch.group, batch);
+    }
+
+    private void flush(Batch batch) {
+        this.batchCount.increment();
+        this.batchedCount.add(batch.size());
+        this.maxBatched.accumulate(batch.size());
+        float[][] vectors;
+        try {
+            List<Embedding> embeddings = this.embedModel.generate(batch.inputs, batch.option);
+            if (embeddings == null || embeddings.size() != batch.size()) {
+                throw new IllegalStateException(StringUtils.format(
+                        "The embed model must return one embedding per input. [inputs={0}, embeddings={1}]",
+                        batch.size(),
+                        embeddings == null ? 0 : embeddings.size()));
+            }
+            vectors = new float[embeddings.size()][];
+            for (int i = 0; i < vectors.length; i++) {
+                vectors[i] = toArray(embeddings.get(i).embedding());
+            }
+        } catch (RuntimeException | Error e) {
+            synchronized (this.lock) {
+                batch.keys.forEach(this.generating::remove);
+            }
+            batch.futures.forEach(future -> future.completeExceptionally(e));
+            return;
+        }
+        synchronized (this.lock) {
+            for (int i = 0; i < vectors.length; i++) {
+                if (this.cacheCapacity > 0) {
+                    this.cache.put(batch.keys.get(i), vectors[i]);
+                }
+                this.generating.remove(batch.keys.get(i));
+            }
+        }
+        for (int i = 0; i < vectors.length; i++) {
+            batch.futures.get(i).complete(vectors[i]);
+        }
+    }
+
+    private static float[] join(CompletableFuture<float[]> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw ObjectUtils.<RuntimeException>cast(cause);
+            }
+            if (cause instanceof Error) {
+                throw ObjectUtils.<Error>cast(cause);
+            }
+            throw e;
+        }
+    }
+
+    private static float[] toArray(List<Float> embedding) {
+        notNull(embedding, "The embedding cannot be null.");
+        float[] vector = new float[embedding.size()];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = embedding.get(i);
+        }
+        return vector;
+    }
+
+    private static final class Batch {
+        private final List<String> group;
+        private final EmbedOption option;
+        private final long deadline;
+        private final List<Key> keys = new ArrayList<>();
+        private final List<String> inputs = new ArrayList<>();
+        private final List<CompletableFuture<float[]>> futures = new ArrayList<>();
+        private boolean isSealed;
+
+        private Batch(List<String> group, EmbedOption option, long deadline) {
+            this.group = group;
+            this.option = option;
+            this.deadline = deadline;
+        }
+
+        private void add(Key key, String input, CompletableFuture<float[]> future) {
+            this.keys.add(key);
+            this.inputs.add(input);
+            this.futures.add(future);
+        }
+
+        private int size() {
+            return this.keys.size();
+        }
+    }
+
+    /**
+     * 表示模型名称和输入内容的 SHA-256 摘要的前 128 位。
+     */
+    private static final class Key {
+        private final long high;
+        private final long low;
+
+        private Key(long high, long low) {
+            this.high = high;
+            this.low = low;
+        }
+
+        private static Key[] of(String model, List<String> inputs) {
+            MessageDigest digest;
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+            byte[] prefix = StringUtils.blankIf(model, StringUtils.EMPTY).getBytes(StandardCharsets.UTF_8);
+            Key[] keys = new Key[inputs.size()];
+            for (int i = 0; i < keys.length; i++) {
+                String input = notNull(inputs.get(i), "The input cannot be null. [index={0}]", i);
+                digest.update(prefix);
+                digest.update((byte) 0);
+                byte[] hash = digest.digest(input.getBytes(StandardCharsets.UTF_8));
+                keys[i] = new Key(toLong(hash, 0), toLong(hash, 8));
+            }
+            return keys;
+        }
+
+        private static long toLong(byte[] bytes, int offset) {
+            long value = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                value = (value << 8) | (bytes[offset + i] & 0xFF);
+            }
+            return value;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key another = ObjectUtils.cast(obj);
+            return this.high == another.high && this.low == another.low;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(this.high ^ this.low);
+        }
+    }
+
+    private static final class CachedEmbedding implements Embedding {
+        private final float[] vector;
+
+        private CachedEmbedding(float[] vector) {
+            this.vector = vector;
+        }
+
+        @Override
+        public List<Float> embedding() {
+            return new AbstractList<Float>() {
+                @Override
+                public Float get(int index) {
+                    return CachedEmbedding.this.vector[index];
+                }
+
+                @Override
+                public int size() {
+                    return CachedEmbedding.this.vector.length;
+                }
+            };
+        }
+    }
+}
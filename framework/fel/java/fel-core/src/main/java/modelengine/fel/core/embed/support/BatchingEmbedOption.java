@@ -0,0 +1,102 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.embed.support;
+
+import modelengine.fitframework.pattern.builder.BuilderFactory;
+
+import java.nio.file.Path;
+
+/**
+ * 表示 {@link BatchingEmbedModel} 合批和缓存参数的实体。
+ * <p>未设置的参数使用默认值。{@code maxDelayMillis} 越大，并发请求越容易被合并到同一批次，但单个请求的延迟越高；
+ * 缓存的每一项都保存完整的嵌入向量，{@code cacheCapacity} 需要结合向量维度估算内存占用。</p>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+public interface BatchingEmbedOption {
+    /**
+     * 获取每个批次最多包含的输入数量，默认为 64。
+     *
+     * @return 表示批次最大输入数量的 {@link Integer}。
+     */
+    Integer maxBatchSize();
+
+    /**
+     * 获取批次在未满时最多等待的毫秒数，默认为 5，为 0 时不等待其它请求。
+     *
+     * @return 表示批次最大等待时间的 {@link Integer}。
+     */
+    Integer maxDelayMillis();
+
+    /**
+     * 获取缓存的最大嵌入向量数量，默认为 10000，为 0 时不缓存。
+     *
+     * @return 表示缓存容量的 {@link Integer}。
+     */
+    Integer cacheCapacity();
+
+    /**
+     * 获取缓存持久化的本地文件，未设置时缓存只保存在内存中。
+     *
+     * @return 表示缓存文件的 {@link Path}。
+     */
+    Path cacheFile();
+
+    /**
+     * 表示 {@link BatchingEmbedOption} 的构建器。
+     */
+    interface Builder {
+        /**
+         * 设置每个批次最多包含的输入数量。
+         *
+         * @param maxBatchSize 表示批次最大输入数量的 {@link Integer}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        Builder maxBatchSize(Integer maxBatchSize);
+
+        /**
+         * 设置批次在未满时最多等待的毫秒数。
+         *
+         * @param maxDelayMillis 表示批次最大等待时间的 {@link Integer}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        Builder maxDelayMillis(Integer maxDelayMillis);
+
+        /**
+         * 设置缓存的最大嵌入向量数量。
+         *
+         * @param cacheCapacity 表示缓存容量的 {@link Integer}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        Builder cacheCapacity(Integer cacheCapacity);
+
+        /**
+         * 设置缓存持久化的本地文件。
+         *
+         * @param cacheFile 表示缓存文件的 {@link Path}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        Builder cacheFile(Path cacheFile);
+
+        /**
+         * 构建 {@link BatchingEmbedOption} 实例。
+         *
+         * @return 返回构建成功的 {@link BatchingEmbedOption} 实例。
+         */
+        BatchingEmbedOption build();
+    }
+
+    /**
+     * 获取 {@link Builder} 的实例。
+     *
+     * @return 表示构建器实例的 {@link Builder}。
+     */
+    static Builder custom() {
+        return BuilderFactory.get(BatchingEmbedOption.class, BatchingEmbedOption.Builder.class).create(null);
+    }
+}
@@ -0,0 +1,130 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.embed.support;
+
+import modelengine.fitframework.util.StringUtils;
+
+/**
+ * 表示 {@link BatchingEmbedModel} 在某一时刻的统计信息。
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+public final class EmbedStatistics {
+    private final long requestCount;
+    private final long hitCount;
+    private final long coalescedCount;
+    private final long batchCount;
+    private final long batchedCount;
+    private final long maxBatchSize;
+
+    /**
+     * 使用各项统计数据初始化 {@link EmbedStatistics} 的新实例。
+     *
+     * @param requestCount 表示请求的输入数量的 {@code long}。
+     * @param hitCount 表示从缓存中获取的输入数量的 {@code long}。
+     * @param coalescedCount 表示与其它相同输入合并的输入数量的 {@code long}。
+     * @param batchCount 表示调用嵌入模型的批次数量的 {@code long}。
+     * @param batchedCount 表示发送给嵌入模型的输入数量的 {@code long}。
+     * @param maxBatchSize 表示单个批次的最大输入数量的 {@code long}。
+     */
+    public EmbedStatistics(long requestCount, long hitCount, long coalescedCount, long batchCount, long batchedCount,
+            long maxBatchSize) {
+        this.requestCount = requestCount;
+        this.hitCount = hitCount;
+        this.coalescedCount = coalescedCount;
+        this.batchCount = batchCount;
+        this.batchedCount = batchedCount;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * 获取请求的输入数量。
+     *
+     * @return 表示请求的输入数量的 {@code long}。
+     */
+    public long requestCount() {
+        return this.requestCount;
+    }
+
+    /**
+     * 获取从缓存中获取的输入数量。
+     *
+     * @return 表示缓存命中数量的 {@code long}。
+     */
+    public long hitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * 获取与正在生成中的相同输入合并、没有单独发送给嵌入模型的输入数量。
+     *
+     * @return 表示合并的输入数量的 {@code long}。
+     */
+    public long coalescedCount() {
+        return this.coalescedCount;
+    }
+
+    /**
+     * 获取缓存命中率。
+     *
+     * @return 表示命中率的 {@code double}，当没有任何请求时，命中率为 {@code 1.0}。
+     */
+    public double hitRate() {
+        return this.requestCount == 0 ? 1.0 : (double) this.hitCount / this.requestCount;
+    }
+
+    /**
+     * 获取调用嵌入模型的批次数量。
+     *
+     * @return 表示批次数量的 {@code long}。
+     */
+    public long batchCount() {
+        return this.batchCount;
+    }
+
+    /**
+     * 获取发送给嵌入模型的输入数量。
+     *
+     * @return 表示发送的输入数量的 {@code long}。
+     */
+    public long batchedCount() {
+        return this.batchedCount;
+    }
+
+    /**
+     * 获取批次的平均输入数量。
+     *
+     * @return 表示平均批次大小的 {@code double}，当没有任何批次时为 {@code 0.0}。
+     */
+    public double averageBatchSize() {
+        return this.batchCount == 0 ? 0.0 : (double) this.batchedCount / this.batchCount;
+    }
+
+    /**
+     * 获取单个批次的最大输入数量。
+     *
+     * @return 表示最大批次大小的 {@code long}。
+     */
+    public long maxBatchSize() {
+        return this.maxBatchSize;
+    }
+
+    @Override
+    public String toString() {
+        return StringUtils.format(
+                "[requestCount={0}, hitCount={1}, coalescedCount={2}, hitRate={3}, batchCount={4}, "
+                        + "averageBatchSize={5}, maxBatchSize={6}]",
+                this.requestCount,
+                this.hitCount,
+                this.coalescedCount,
+                this.hitRate(),
+                this.batchCount,
+                this.averageBatchSize(),
+                this.maxBatchSize);
+    }
+}
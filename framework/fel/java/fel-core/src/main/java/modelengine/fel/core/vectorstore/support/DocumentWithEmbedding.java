@@ -0,0 +1,189 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.vectorstore.support;
+
+import static modelengine.fitframework.inspection.Validation.notBlank;
+import static modelengine.fitframework.inspection.Validation.notEmpty;
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fel.core.document.Document;
+import modelengine.fitframework.inspection.Nonnull;
+import modelengine.fitframework.resource.web.Media;
+import modelengine.fitframework.util.ObjectUtils;
+import modelengine.fitframework.util.StringUtils;
+import modelengine.fitframework.util.UuidUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 表示携带嵌入向量的 {@link Document}。
+ * <p>向量存储中的文档不携带嵌入向量，嵌入向量仅在写入、加载和保存时携带。</p>
+ *
+ * @author 易文渊
+ * @since 2024-08-06
+ */
+class DocumentWithEmbedding implements Document {
+    private String id;
+    private String text;
+    private Map<String, Object> metadata;
+    private List<Float> embedding;
+
+    /**
+     * 从给定的 {@link Document} 和嵌入向量创建一个新的 {@link DocumentWithEmbedding}。
+     *
+     * @param document 表示原始文档的 {@link Document}。
+     * @param embedding 表示嵌入向量的 {@link List}{@code <}{@link Double}{@code >}。
+     * @return 表示创建成功文档的 {@link DocumentWithEmbedding}。
+     */
+    public static DocumentWithEmbedding from(Document document, List<Float> embedding) {
+        if (document instanceof DocumentWithEmbedding) {
+            return ObjectUtils.cast(document);
+        }
+        notEmpty(embedding, "The embedding cannot be empty.");
+        DocumentWithEmbedding documentWithEmbedding = new DocumentWithEmbedding();
+        documentWithEmbedding.setId(StringUtils.getIfBlank(document.id(), UuidUtils::randomUuidString));
+        documentWithEmbedding.setText(notBlank(document.text(), "The document text cannot be blank."));
+        documentWithEmbedding.setMetadata(notNull(document.metadata(), "The metadata cannot be null."));
+        documentWithEmbedding.setEmbedding(embedding);
+        return documentWithEmbedding;
+    }
+
+    /**
+     * 创建一个与当前文档内容相同、但携带给定嵌入向量的新的 {@link DocumentWithEmbedding}。
+     *
+     * @param embedding 表示嵌入向量的 {@link List}{@code <}{@link Float}{@code >}。
+     * @return 表示创建成功文档的 {@link DocumentWithEmbedding}。
+     */
+    DocumentWithEmbedding withEmbedding(List<Float> embedding) {
+        DocumentWithEmbedding documentWithEmbedding = new DocumentWithEmbedding();
+        documentWithEmbedding.setId(this.id);
+        documentWithEmbedding.setText(this.text);
+        documentWithEmbedding.setMetadata(this.metadata);
+        documentWithEmbedding.setEmbedding(embedding);
+        return documentWithEmbedding;
+    }
+
+    @Nonnull
+    @Override
+    public String text() {
+        return this.text;
+    }
+
+    @Override
+    public List<Media> medias() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public String id() {
+        return this.id;
+    }
+
+    @Nonnull
+    @Override
+    public Map<String, Object> metadata() {
+        return this.metadata;
+    }
+
+    /**
+     * 获取文档的唯一标识符。
+     *
+     * @return 表示文档唯一标识符的 {@link String}。
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * 设置文档的唯一标识符。
+     *
+     * @param id 表示文档唯一标识符的 {@link String}。
+     */
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /**
+     * 获取文档的文本内容。
+     *
+     * @return 表示文档文本内容的 {@link String}。
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * 设置文档的文本内容。
+     *
+     * @param text 表示文档文本内容的 {@link String}。
+     */
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    /**
+     * 获取文档的元数据。
+     *
+     * @return 表示文档元数据的 {@link Map}{@code <}{@link String}{@code ,}{@link Object}{@code >}。
+     */
+    public Map<String, Object> getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * 设置文档的元数据。
+     *
+     * @param metadata 表示文档元数据的 {@link Map}{@code <}{@link String}{@code ,}{@link Object}{@code >}。
+     */
+    public void setMetadata(Map<String, Object> metadata) {
+        this.metadata = metadata;
+    }
+
+    /**
+     * 获取文档的嵌入向量。
+     *
+     * @return 表示文档嵌入向量的 {@link List}{@code <}{@link Double}{@code >}。
+     */
+    public List<Float> getEmbedding() {
+        return embedding;
+    }
+
+    /**
+     * 设置文档的嵌入向量。
+     *
+     * @param embedding 表示文档嵌入向量的 {@link List}{@code <}{@link Double}{@code >}。
+     */
+    public void setEmbedding(List<Float> embedding) {
+        this.embedding = embedding;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+        DocumentWithEmbedding that = (DocumentWithEmbedding) object;
+        return Objects.equals(this.id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    @Override
+    public String toString() {
+        return "DocumentWithEmbedding{" + "id='" + id + '\'' + ", text='" + text + '\'' + ", metadata=" + metadata
+                + ", embedding=" + embedding + '}';
+    }
+}
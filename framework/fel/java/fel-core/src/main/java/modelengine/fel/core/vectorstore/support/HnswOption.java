@@ -0,0 +1,101 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.vectorstore.support;
+
+import modelengine.fitframework.pattern.builder.BuilderFactory;
+
+/**
+ * 表示 {@link HnswVectorStore} 索引参数的实体。
+ * <p>未设置的参数使用默认值。{@code m} 和 {@code efConstruction} 越大，索引的召回率越高，但构建越慢、占用内存越多；
+ * {@code efSearch} 越大，检索的召回率越高，但检索越慢。</p>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+public interface HnswOption {
+    /**
+     * 获取图中每个节点在非底层保留的最大邻居数量，底层保留的最大邻居数量为其两倍，默认为 16。
+     *
+     * @return 表示最大邻居数量的 {@link Integer}。
+     */
+    Integer m();
+
+    /**
+     * 获取构建索引时每层检索的候选节点数量，默认为 200。
+     *
+     * @return 表示构建索引时候选节点数量的 {@link Integer}。
+     */
+    Integer efConstruction();
+
+    /**
+     * 获取检索时底层的候选节点数量，默认为 64，实际使用的数量不会小于检索的 {@code topK}。
+     *
+     * @return 表示检索时候选节点数量的 {@link Integer}。
+     */
+    Integer efSearch();
+
+    /**
+     * 获取为节点随机分配层级时使用的随机种子，未设置时每个存储使用不同的随机序列。
+     * <p>相同的种子和相同的写入顺序构建出相同的索引，便于复现检索结果。</p>
+     *
+     * @return 表示随机种子的 {@link Long}。
+     */
+    Long seed();
+
+    /**
+     * 表示 {@link HnswOption} 的构建器。
+     */
+    interface Builder {
+        /**
+         * 设置每个节点在非底层保留的最大邻居数量。
+         *
+         * @param m 表示最大邻居数量的 {@link Integer}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        Builder m(Integer m);
+
+        /**
+         * 设置构建索引时每层检索的候选节点数量。
+         *
+         * @param efConstruction 表示构建索引时候选节点数量的 {@link Integer}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        Builder efConstruction(Integer efConstruction);
+
+        /**
+         * 设置检索时底层的候选节点数量。
+         *
+         * @param efSearch 表示检索时候选节点数量的 {@link Integer}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        Builder efSearch(Integer efSearch);
+
+        /**
+         * 设置为节点随机分配层级时使用的随机种子。
+         *
+         * @param seed 表示随机种子的 {@link Long}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        Builder seed(Long seed);
+
+        /**
+         * 构建 {@link HnswOption} 实例。
+         *
+         * @return 返回构建成功的 {@link HnswOption} 实例。
+         */
+        HnswOption build();
+    }
+
+    /**
+     * 获取 {@link Builder} 的实例。
+     *
+     * @return 表示构建器实例的 {@link Builder}。
+     */
+    static Builder custom() {
+        return BuilderFactory.get(HnswOption.class, HnswOption.Builder.class).create(null);
+    }
+}
@@ -0,0 +1,741 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.vectorstore.support;
+
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fel.core.document.Document;
+import modelengine.fel.core.document.DocumentEmbedModel;
+import modelengine.fel.core.document.MeasurableDocument;
+import modelengine.fel.core.embed.Embedding;
+import modelengine.fel.core.vectorstore.SearchOption;
+import modelengine.fel.core.vectorstore.VectorStore;
+import modelengine.fitframework.exception.FitException;
+import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.serialization.ObjectSerializer;
+import modelengine.fitframework.util.ObjectUtils;
+import modelengine.fitframework.util.StringUtils;
+import modelengine.fitframework.util.TypeUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 表示基于 HNSW（Hierarchical Navigable Small World）图索引的 {@link VectorStore} 的内存实现。
+ * <p>与 {@link MemoryVectorStore} 的精确检索不同，检索时从图的顶层开始贪心地逼近查询向量，
+ * 只计算底层少量候选节点的相似度，检索耗时随文档数量近似对数增长，但结果是近似的，召回率由
+ * {@link HnswOption} 中的参数控制。相似度为余弦相似度，向量在写入时被归一化。</p>
+ * <p>删除的文档只被标记，仍参与图的遍历但不会出现在检索结果中；当被标记的文档数量不少于总节点数的一半时，
+ * 使用剩余的文档重建索引。写入已存在的唯一标识的文档时，会先删除原有文档。</p>
+ * <p>检索参数中的过滤条件通过元数据的倒排索引求值：满足条件的文档较少时直接计算它们的相似度，得到精确的结果；
+ * 否则在图中检索，不满足条件的节点参与遍历但不会出现在结果中。</p>
+ * <p>可以通过 {@link #save(Path, ObjectSerializer)} 将索引连同文档保存到本地文件，
+ * 并通过 {@link #load(Path, ObjectSerializer)} 直接恢复，无需重新构建索引。</p>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+public class HnswVectorStore implements VectorStore {
+    private static final int DEFAULT_M = 16;
+    private static final int DEFAULT_EF_CONSTRUCTION = 200;
+    private static final int DEFAULT_EF_SEARCH = 64;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int SNAPSHOT_MAGIC = 0x484E5357;
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final DocumentEmbedModel embedModel;
+    private final int m;
+    private final int efConstruction;
+    private final int efSearch;
+    private final double levelMultiplier;
+    private final Random random;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Queue<VisitedSet> visitedSets = new ConcurrentLinkedQueue<>();
+    private final Map<String, Integer> nodes = new HashMap<>();
+    private MetadataIndex metadataIndex = new MetadataIndex();
+    private DocumentWithEmbedding[] documents = new DocumentWithEmbedding[0];
+    private float[] vectors = new float[0];
+    private int[][][] links = new int[0][][];
+    private boolean[] deleted = new boolean[0];
+    private int dimension;
+    private int size;
+    private int deletedCount;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    /**
+     * 使用默认的索引参数创建 {@link HnswVectorStore} 的实例。
+     *
+     * @param embedModel 表示嵌入文档模型的 {@link DocumentEmbedModel}。
+     */
+    public HnswVectorStore(DocumentEmbedModel embedModel) {
+        this(embedModel, HnswOption.custom().build());
+    }
+
+    /**
+     * 使用指定的索引参数创建 {@link HnswVectorStore} 的实例。
+     *
+     * @param embedModel 表示嵌入文档模型的 {@link DocumentEmbedModel}。
+     * @param option 表示索引参数的 {@link HnswOption}。
+     * @throws IllegalArgumentException 当 {@code embedModel} 或 {@code option} 为 {@code null}，或参数不合法时。
+     */
+    public HnswVectorStore(DocumentEmbedModel embedModel, HnswOption option) {
+        this.embedModel = notNull(embedModel, "The embed model cannot be null.");
+        notNull(option, "The hnsw option cannot be null.");
+        this.m = ObjectUtils.nullIf(option.m(), DEFAULT_M);
+        this.efConstruction = ObjectUtils.nullIf(option.efConstruction(), DEFAULT_EF_CONSTRUCTION);
+        this.efSearch = ObjectUtils.nullIf(option.efSearch(), DEFAULT_EF_SEARCH);
+        Validation.greaterThan(this.m, 1, "The M must be greater than 1. [m={0}]", this.m);
+        Validation.greaterThan(this.efConstruction,
+                0,
+                "The efConstruction must be positive. [efConstruction={0}]",
+                this.efConstruction);
+        Validation.greaterThan(this.efSearch, 0, "The efSearch must be positive. [efSearch={0}]", this.efSearch);
+        this.levelMultiplier = 1D / Math.log(this.m);
+        this.random = option.seed() == null ? new Random() : new Random(option.seed());
+    }
+
+    @Override
+    public void persistent(List<Document> documents) {
+        List<Embedding> embeddings = this.embedModel.embed(documents);
+        List<DocumentWithEmbedding> actual = new ArrayList<>(documents.size());
+        for (int i = 0; i < documents.size(); ++i) {
+            actual.add(DocumentWithEmbedding.from(documents.get(i), embeddings.get(i).embedding()));
+        }
+        this.lock.writeLock().lock();
+        try {
+            actual.forEach(this::put);
+            this.compactIfNecessary();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<MeasurableDocument> search(String query, SearchOption option) {
+        float[] queryVector = Vectors.normalize(Vectors.toArray(this.embedModel.embed(query).embedding()));
+        this.lock.readLock().lock();
+        try {
+            if (this.nodes.isEmpty() || option.topK() <= 0) {
+                return Collections.emptyList();
+            }
+            Validation.equals(queryVector.length,
+                    this.dimension,
+                    "The dimension of query embedding is incorrect. [expected={0}, actual={1}]",
+                    this.dimension,
+                    queryVector.length);
+            BitSet candidates = option.filter() == null
+                    ? null
+                    : this.metadataIndex.select(option.filter().expression());
+            if (candidates != null && candidates.isEmpty()) {
+                return Collections.emptyList();
+            }
+            int ef = Math.max(this.efSearch, option.topK());
+            NodeHeap results;
+            if (candidates != null && this.isScanCheaper(candidates.cardinality(), ef)) {
+                results = this.scan(queryVector, candidates, option.topK());
+            } else {
+                int current = this.entryPoint;
+                for (int level = this.maxLevel; level > 0; level--) {
+                    current = this.searchGreedy(queryVector, 0, current, level);
+                }
+                results = this.searchLayer(queryVector, 0, current, ef, 0, true, candidates);
+            }
+            while (results.size > option.topK()) {
+                results.pop();
+            }
+            MeasurableDocument[] measurableDocuments = new MeasurableDocument[results.size];
+            for (int i = measurableDocuments.length - 1; i >= 0; i--) {
+                measurableDocuments[i] =
+                        new MeasurableDocument(this.documents[results.peekNode()], results.peekScore());
+                results.pop();
+            }
+            return new ArrayList<>(Arrays.asList(measurableDocuments));
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(List<String> ids) {
+        Validation.notNull(ids, "The id list cannot be null.");
+        this.lock.writeLock().lock();
+        try {
+            ids.forEach(this::remove);
+            this.compactIfNecessary();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 将索引和文档保存到本地文件中。
+     * <p>数据先写入同一目录下的临时文件，再替换目标文件，保存失败时不会破坏已有的文件。</p>
+     *
+     * @param file 表示目标文件的 {@link Path}。
+     * @param objectSerializer 表示序列化文档使用的对象序列化器的 {@link ObjectSerializer}。
+     * @throws FitException 当写入文件失败时。
+     */
+    public void save(Path file, ObjectSerializer objectSerializer) {
+        notNull(file, "The snapshot file cannot be null.");
+        notNull(objectSerializer, "The object serializer cannot be null.");
+        Path directory = file.toAbsolutePath().getParent();
+        try {
+            Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+                        temporary)))) {
+                    this.lock.readLock().lock();
+                    try {
+                        this.writeSnapshot(out, objectSerializer);
+                    } finally {
+                        this.lock.readLock().unlock();
+                    }
+                }
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            throw new FitException(e);
+        }
+    }
+
+    /**
+     * 从本地文件中恢复索引和文档，当前存储中的内容会被替换。
+     * <p>快照文件被完整解析后才会替换当前的内容，解析失败时当前存储保持不变。</p>
+     *
+     * @param file 表示快照文件的 {@link Path}。
+     * @param objectSerializer 表示反序列化文档使用的对象序列化器的 {@link ObjectSerializer}。
+     * @throws IllegalArgumentException 当文件不是合法的快照，或快照的 {@code m} 与当前存储不一致时。
+     * @throws FitException 当读取文件失败时。
+     */
+    public void load(Path file, ObjectSerializer objectSerializer) {
+        notNull(file, "The snapshot file cannot be null.");
+        notNull(objectSerializer, "The object serializer cannot be null.");
+        Snapshot snapshot;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            snapshot = this.readSnapshot(in, objectSerializer);
+        } catch (IOException e) {
+            throw new FitException(e);
+        }
+        this.lock.writeLock().lock();
+        try {
+            this.restore(snapshot);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    private void put(DocumentWithEmbedding document) {
+        float[] vector = Vectors.toArray(document.getEmbedding());
+        Validation.isTrue(vector.length > 0, "The embedding cannot be empty.");
+        Vectors.normalize(vector);
+        if (this.size == 0) {
+            this.dimension = vector.length;
+        }
+        Validation.equals(vector.length,
+                this.dimension,
+                "The dimension of embedding is incorrect. [expected={0}, actual={1}]",
+                this.dimension,
+                vector.length);
+        this.remove(document.id());
+        this.insert(vector, 0, document.withEmbedding(null));
+    }
+
+    private void remove(String id) {
+        Integer node = this.nodes.remove(id);
+        if (node == null) {
+            return;
+        }
+        this.deleted[node] = true;
+        this.metadataIndex.remove(node);
+        this.documents[node] = null;
+        this.deletedCount++;
+    }
+
+    private void insert(float[] vector, int offset, DocumentWithEmbedding document) {
+        this.ensureCapacity(this.size + 1);
+        int node = this.size++;
+        System.arraycopy(vector, offset, this.vectors, node * this.dimension, this.dimension);
+        this.documents[node] = document;
+        this.nodes.put(document.id(), node);
+        this.metadataIndex.add(node, document.metadata());
+        int level = this.randomLevel();
+        this.links[node] = new int[level + 1][];
+        for (int i = 0; i <= level; i++) {
+            this.links[node][i] = new int[this.maxConnections(i) + 1];
+        }
+        if (this.entryPoint < 0) {
+            this.entryPoint = node;
+            this.maxLevel = level;
+            return;
+        }
+        int queryOffset = node * this.dimension;
+        int current = this.entryPoint;
+        for (int i = this.maxLevel; i > level; i--) {
+            current = this.searchGreedy(this.vectors, queryOffset, current, i);
+        }
+        for (int i = Math.min(level, this.maxLevel); i >= 0; i--) {
+            NodeHeap candidates =
+                    this.searchLayer(this.vectors, queryOffset, current, this.efConstruction, i, false, null);
+            int[] candidateNodes = new int[candidates.size];
+            float[] candidateScores = new float[candidates.size];
+            candidates.drainDescending(candidateNodes, candidateScores);
+            int[] neighbors = this.links[node][i];
+            this.selectNeighbors(candidateNodes, candidateScores, candidateNodes.length, neighbors, this.m);
+            for (int j = 1; j <= neighbors[0]; j++) {
+                this.connect(neighbors[j], node, i);
+            }
+            current = candidateNodes[0];
+        }
+        if (level > this.maxLevel) {
+            this.entryPoint = node;
+            this.maxLevel = level;
+        }
+    }
+
+    private void connect(int node, int neighbor, int level) {
+        int[] neighbors = this.links[node][level];
+        int count = neighbors[0];
+        if (count < neighbors.length - 1) {
+            neighbors[count + 1] = neighbor;
+            neighbors[0] = count + 1;
+            return;
+        }
+        NodeHeap candidates = new NodeHeap(count + 1);
+        int offset = node * this.dimension;
+        candidates.push(this.similarity(this.vectors, offset, neighbor), neighbor);
+        for (int i = 1; i <= count; i++) {
+            candidates.push(this.similarity(this.vectors, offset, neighbors[i]), neighbors[i]);
+        }
+        int[] candidateNodes = new int[count + 1];
+        float[] candidateScores = new float[count + 1];
+        candidates.drainDescending(candidateNodes, candidateScores);
+        this.selectNeighbors(candidateNodes, candidateScores, candidateNodes.length, neighbors, count);
+    }
+
+    /**
+     * 使用启发式方法从按相似度降序排列的候选节点中选择邻居：只有当候选节点与基准节点的相似度高于与所有已选邻居的相似度时才被选中，
+     * 以保留指向不同方向的边，使图在聚簇数据上仍然连通。
+     */
+    private void selectNeighbors(int[] candidates, float[] scores, int count, int[] neighbors, int maximum) {
+        int selected = 0;
+        for (int i = 0; i < count && selected < maximum; i++) {
+            int candidate = candidates[i];
+            int offset = candidate * this.dimension;
+            boolean isDiverse = true;
+            for (int j = 1; j <= selected; j++) {
+                if (this.similarity(this.vectors, offset, neighbors[j]) > scores[i]) {
+                    isDiverse = false;
+                    break;
+                }
+            }
+            if (isDiverse) {
+                neighbors[++selected] = candidate;
+            }
+        }
+        neighbors[0] = selected;
+    }
+
+    private int searchGreedy(float[] query, int queryOffset, int entry, int level) {
+        int current = entry;
+        float best = this.similarity(query, queryOffset, current);
+        boolean isChanged = true;
+        while (isChanged) {
+            isChanged = false;
+            int[] neighbors = this.links[current][level];
+            for (int i = 1; i <= neighbors[0]; i++) {
+                float score = this.similarity(query, queryOffset, neighbors[i]);
+                if (score > best) {
+                    best = score;
+                    current = neighbors[i];
+                    isChanged = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    private NodeHeap searchLayer(float[] query, int queryOffset, int entry, int ef, int level, boolean skipDeleted,
+            BitSet candidateNodes) {
+        VisitedSet visited = this.acquireVisitedSet();
+        try {
+            NodeHeap candidates = new NodeHeap(ef);
+            NodeHeap results = new NodeHeap(ef + 1);
+            float entryScore = this.similarity(query, queryOffset, entry);
+            visited.add(entry);
+            candidates.push(-entryScore, entry);
+            if (this.isAccepted(entry, skipDeleted, candidateNodes)) {
+                results.push(entryScore, entry);
+            }
+            while (candidates.size > 0) {
+                float candidateScore = -candidates.peekScore();
+                int candidate = candidates.peekNode();
+                candidates.pop();
+                if (results.size >= ef && candidateScore < results.peekScore()) {
+                    break;
+                }
+                int[] neighbors = this.links[candidate][level];
+                for (int i = 1; i <= neighbors[0]; i++) {
+                    int neighbor = neighbors[i];
+                    if (!visited.add(neighbor)) {
+                        continue;
+                    }
+                    float score = this.similarity(query, queryOffset, neighbor);
+                    if (results.size < ef || score > results.peekScore()) {
+                        candidates.push(-score, neighbor);
+                        if (this.isAccepted(neighbor, skipDeleted, candidateNodes)) {
+                            results.push(score, neighbor);
+                            if (results.size > ef) {
+                                results.pop();
+                            }
+                        }
+                    }
+                }
+            }
+            return results;
+        } finally {
+            this.visitedSets.offer(visited);
+        }
+    }
+
+    private boolean isAccepted(int node, boolean skipDeleted, BitSet candidateNodes) {
+        return (!skipDeleted || !this.deleted[node]) && (candidateNodes == null || candidateNodes.get(node));
+    }
+
+    /**
+     * 判断直接计算所有候选节点的相似度是否比在图中检索更快。过滤条件的选择率为 {@code s} 时，
+     * 在图中检索需要访问约 {@code ef / s} 个节点并计算其所有邻居的相似度，而直接计算只需要 {@code s * n} 次。
+     */
+    private boolean isScanCheaper(int count, int ef) {
+        return (long) count * count <= 2L * this.m * ef * this.nodes.size();
+    }
+
+    private NodeHeap scan(float[] query, BitSet candidateNodes, int k) {
+        NodeHeap results = new NodeHeap(k + 1);
+        for (int node = candidateNodes.nextSetBit(0); node >= 0; node = candidateNodes.nextSetBit(node + 1)) {
+            results.push(this.similarity(query, 0, node), node);
+            if (results.size > k) {
+                results.pop();
+            }
+        }
+        return results;
+    }
+
+    private VisitedSet acquireVisitedSet() {
+        VisitedSet visited = this.visitedSets.poll();
+        if (visited == null) {
+            visited = new VisitedSet();
+        }
+        visited.reset(this.size);
+        return visited;
+    }
+
+    private float similarity(float[] query, int queryOffset, int node) {
+        return Vectors.dot(query, queryOffset, this.vectors, node * this.dimension, this.dimension);
+    }
+
+    private int maxConnections(int level) {
+        return level == 0 ? this.m * 2 : this.m;
+    }
+
+    private int randomLevel() {
+        return (int) (-Math.log(1D - this.random.nextDouble()) * this.levelMultiplier);
+    }
+
+    private void compactIfNecessary() {
+        if (this.deletedCount == 0 || this.deletedCount * 2 < this.size) {
+            return;
+        }
+        DocumentWithEmbedding[] oldDocuments = this.documents;
+        float[] oldVectors = this.vectors;
+        boolean[] oldDeleted = this.deleted;
+        int oldSize = this.size;
+        this.clear();
+        for (int node = 0; node < oldSize; node++) {
+            if (!oldDeleted[node]) {
+                this.insert(oldVectors, node * this.dimension, oldDocuments[node]);
+            }
+        }
+    }
+
+    private void clear() {
+        this.nodes.clear();
+        this.metadataIndex = new MetadataIndex();
+        this.documents = new DocumentWithEmbedding[0];
+        this.vectors = new float[0];
+        this.links = new int[0][][];
+        this.deleted = new boolean[0];
+        this.size = 0;
+        this.deletedCount = 0;
+        this.entryPoint = -1;
+        this.maxLevel = -1;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= this.documents.length) {
+            return;
+        }
+        long expected = Math.max(Math.max((long) this.documents.length * 3 / 2, capacity), INITIAL_CAPACITY);
+        long maximum = Integer.MAX_VALUE / this.dimension;
+        if (capacity > maximum) {
+            throw new IllegalStateException(StringUtils.format(
+                    "The hnsw vector store is full. [capacity={0}, dimension={1}]",
+                    this.documents.length,
+                    this.dimension));
+        }
+        int actual = (int) Math.min(expected, maximum);
+        this.documents = Arrays.copyOf(this.documents, actual);
+        this.vectors = Arrays.copyOf(this.vectors, actual * this.dimension);
+        this.links = Arrays.copyOf(this.links, actual);
+        this.deleted = Arrays.copyOf(this.deleted, actual);
+    }
+
+    private void writeSnapshot(DataOutputStream out, ObjectSerializer objectSerializer) throws IOException {
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(SNAPSHOT_VERSION);
+        out.writeInt(this.m);
+        out.writeInt(this.dimension);
+        out.writeInt(this.size);
+        out.writeInt(this.entryPoint);
+        out.writeInt(this.maxLevel);
+        for (int i = 0; i < this.size * this.dimension; i++) {
+            out.writeFloat(this.vectors[i]);
+        }
+        for (int node = 0; node < this.size; node++) {
+            out.writeBoolean(this.deleted[node]);
+            out.writeInt(this.links[node].length);
+            for (int[] neighbors : this.links[node]) {
+                out.writeInt(neighbors[0]);
+                for (int i = 1; i <= neighbors[0]; i++) {
+                    out.writeInt(neighbors[i]);
+                }
+            }
+        }
+        ByteArrayOutputStream documentBytes = new ByteArrayOutputStream();
+        objectSerializer.serialize(Arrays.asList(Arrays.copyOf(this.documents, this.size)), documentBytes);
+        out.writeInt(documentBytes.size());
+        documentBytes.writeTo(out);
+    }
+
+    private Snapshot readSnapshot(DataInputStream in, ObjectSerializer objectSerializer) throws IOException {
+        Validation.equals(in.readInt(), SNAPSHOT_MAGIC, "The file is not a hnsw vector store snapshot.");
+        int version = in.readInt();
+        Validation.equals(version,
+                SNAPSHOT_VERSION,
+                "The snapshot version is not supported. [expected={0}, actual={1}]",
+                SNAPSHOT_VERSION,
+                version);
+        int snapshotM = in.readInt();
+        Validation.equals(snapshotM,
+                this.m,
+                "The M of snapshot is incorrect. [expected={0}, actual={1}]",
+                this.m,
+                snapshotM);
+        Snapshot snapshot = new Snapshot();
+        snapshot.dimension = in.readInt();
+        snapshot.size = in.readInt();
+        snapshot.entryPoint = in.readInt();
+        snapshot.maxLevel = in.readInt();
+        Validation.isTrue(snapshot.size >= 0 && snapshot.dimension >= 0
+                        && (long) snapshot.size * snapshot.dimension <= Integer.MAX_VALUE,
+                "The size of snapshot is incorrect. [size={0}, dimension={1}]",
+                snapshot.size,
+                snapshot.dimension);
+        snapshot.vectors = new float[snapshot.size * snapshot.dimension];
+        for (int i = 0; i < snapshot.vectors.length; i++) {
+            snapshot.vectors[i] = in.readFloat();
+        }
+        snapshot.links = new int[snapshot.size][][];
+        snapshot.deleted = new boolean[snapshot.size];
+        for (int node = 0; node < snapshot.size; node++) {
+            snapshot.deleted[node] = in.readBoolean();
+            snapshot.deletedCount += snapshot.deleted[node] ? 1 : 0;
+            int levels = in.readInt();
+            snapshot.links[node] = new int[levels][];
+            for (int level = 0; level < levels; level++) {
+                int count = in.readInt();
+                int[] neighbors = new int[this.maxConnections(level) + 1];
+                neighbors[0] = count;
+                for (int i = 1; i <= count; i++) {
+                    neighbors[i] = in.readInt();
+                }
+                snapshot.links[node][level] = neighbors;
+            }
+        }
+        byte[] documentBytes = new byte[in.readInt()];
+        in.readFully(documentBytes);
+        List<DocumentWithEmbedding> snapshotDocuments = objectSerializer.deserialize(new ByteArrayInputStream(
+                documentBytes), TypeUtils.parameterized(List.class, new Type[] {DocumentWithEmbedding.class}));
+        Validation.isTrue(snapshotDocuments != null && snapshotDocuments.size() == snapshot.size,
+                "The documents of snapshot are incorrect. [size={0}]",
+                snapshot.size);
+        snapshot.documents = new DocumentWithEmbedding[snapshot.size];
+        for (int node = 0; node < snapshot.size; node++) {
+            if (!snapshot.deleted[node]) {
+                snapshot.documents[node] = snapshotDocuments.get(node);
+                snapshot.nodes.put(snapshot.documents[node].id(), node);
+                snapshot.metadataIndex.add(node, snapshot.documents[node].metadata());
+            }
+        }
+        return snapshot;
+    }
+
+    private void restore(Snapshot snapshot) {
+        this.nodes.clear();
+        this.nodes.putAll(snapshot.nodes);
+        this.metadataIndex = snapshot.metadataIndex;
+        this.documents = snapshot.documents;
+        this.vectors = snapshot.vectors;
+        this.links = snapshot.links;
+        this.deleted = snapshot.deleted;
+        this.dimension = snapshot.dimension;
+        this.size = snapshot.size;
+        this.deletedCount = snapshot.deletedCount;
+        this.entryPoint = snapshot.entryPoint;
+        this.maxLevel = snapshot.maxLevel;
+    }
+
+    /**
+     * 表示从快照文件中解析出的索引和文档，解析完成后才会替换存储中的内容。
+     */
+    private static final class Snapshot {
+        private final Map<String, Integer> nodes = new HashMap<>();
+        private final MetadataIndex metadataIndex = new MetadataIndex();
+        private DocumentWithEmbedding[] documents;
+        private float[] vectors;
+        private int[][][] links;
+        private boolean[] deleted;
+        private int dimension;
+        private int size;
+        private int deletedCount;
+        private int entryPoint;
+        private int maxLevel;
+    }
+
+    /**
+     * 表示以相似度为键的最小堆，存放相似度的相反数时即为最大堆。
+     */
+    private static final class NodeHeap {
+        private float[] scores;
+        private int[] nodes;
+        private int size;
+
+        private NodeHeap(int capacity) {
+            this.scores = new float[Math.max(capacity, 1)];
+            this.nodes = new int[this.scores.length];
+        }
+
+        private void push(float score, int node) {
+            if (this.size == this.scores.length) {
+                this.scores = Arrays.copyOf(this.scores, this.size * 2);
+                this.nodes = Arrays.copyOf(this.nodes, this.size * 2);
+            }
+            int current = this.size++;
+            while (current > 0) {
+                int parent = (current - 1) >>> 1;
+                if (this.scores[parent] <= score) {
+                    break;
+                }
+                this.scores[current] = this.scores[parent];
+                this.nodes[current] = this.nodes[parent];
+                current = parent;
+            }
+            this.scores[current] = score;
+            this.nodes[current] = node;
+        }
+
+        private float peekScore() {
+            return this.scores[0];
+        }
+
+        private int peekNode() {
+            return this.nodes[0];
+        }
+
+        private void pop() {
+            int last = --this.size;
+            float score = this.scores[last];
+            int node = this.nodes[last];
+            int current = 0;
+            while (true) {
+                int child = 2 * current + 1;
+                if (child >= last) {
+                    break;
+                }
+                if (child + 1 < last && this.scores[child + 1] < this.scores[child]) {
+                    child++;
+                }
+                if (score <= this.scores[child]) {
+                    break;
+                }
+                this.scores[current] = this.scores[child];
+                this.nodes[current] = this.nodes[child];
+                current = child;
+            }
+            this.scores[current] = score;
+            this.nodes[current] = node;
+        }
+
+        private void drainDescending(int[] nodes, float[] scores) {
+            for (int i = this.size - 1; i >= 0; i--) {
+                nodes[i] = this.peekNode();
+                scores[i] = this.peekScore();
+                this.pop();
+            }
+        }
+    }
+
+    /**
+     * 表示检索过程中已访问节点的集合，通过递增版本号实现常数时间的清空，以便在多次检索之间复用。
+     */
+    private static final class VisitedSet {
+        private int[] marks = new int[0];
+        private int version;
+
+        private void reset(int capacity) {
+            if (this.marks.length < capacity) {
+                this.marks = new int[Math.max(capacity, this.marks.length * 3 / 2)];
+                this.version = 0;
+            }
+            if (++this.version == 0) {
+                Arrays.fill(this.marks, 0);
+                this.version = 1;
+            }
+        }
+
+        private boolean add(int node) {
+            if (this.marks[node] == this.version) {
+                return false;
+            }
+            this.marks[node] = this.version;
+            return true;
+        }
+    }
+}
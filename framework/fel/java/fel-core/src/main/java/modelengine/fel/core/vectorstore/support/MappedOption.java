@@ -0,0 +1,97 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.vectorstore.support;
+
+import modelengine.fitframework.pattern.builder.BuilderFactory;
+
+/**
+ * 表示 {@link MappedVectorStore} 存储参数的实体。
+ * <p>未设置的参数使用默认值。量化方式和分段容量只在创建新的存储目录时生效，重新打开已有的存储目录时以目录中记录的值为准。</p>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+public interface MappedOption {
+    /**
+     * 获取向量的量化方式，默认为 {@link Quantization#FLOAT32}。
+     *
+     * @return 表示量化方式的 {@link Quantization}。
+     */
+    Quantization quantization();
+
+    /**
+     * 获取每个分段文件中存放的向量数量，默认为 65536，实际值不会使单个分段文件超过 2 GB。
+     *
+     * @return 表示分段容量的 {@link Integer}。
+     */
+    Integer segmentCapacity();
+
+    /**
+     * 获取量化检索时参与精确重排的候选数量与 {@code topK} 的倍数，默认为 4。
+     *
+     * @return 表示重排倍数的 {@link Integer}。
+     */
+    Integer rescoreFactor();
+
+    /**
+     * 表示向量的量化方式。
+     */
+    enum Quantization {
+        /** 表示不量化，每个分量占用 4 个字节。 */
+        FLOAT32,
+
+        /**
+         * 表示按向量对称量化为 8 位整数，每个分量占用 1 个字节，检索时先扫描量化向量，再使用原始向量对候选重排。
+         */
+        INT8
+    }
+
+    /**
+     * 表示 {@link MappedOption} 的构建器。
+     */
+    interface Builder {
+        /**
+         * 设置向量的量化方式。
+         *
+         * @param quantization 表示量化方式的 {@link Quantization}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        Builder quantization(Quantization quantization);
+
+        /**
+         * 设置每个分段文件中存放的向量数量。
+         *
+         * @param segmentCapacity 表示分段容量的 {@link Integer}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        Builder segmentCapacity(Integer segmentCapacity);
+
+        /**
+         * 设置量化检索时参与精确重排的候选数量与 {@code topK} 的倍数。
+         *
+         * @param rescoreFactor 表示重排倍数的 {@link Integer}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        Builder rescoreFactor(Integer rescoreFactor);
+
+        /**
+         * 构建 {@link MappedOption} 实例。
+         *
+         * @return 返回构建成功的 {@link MappedOption} 实例。
+         */
+        MappedOption build();
+    }
+
+    /**
+     * 获取 {@link Builder} 的实例。
+     *
+     * @return 表示构建器实例的 {@link Builder}。
+     */
+    static Builder custom() {
+        return BuilderFactory.get(MappedOption.class, MappedOption.Builder.class).create(null);
+    }
+}
@@ -0,0 +1,720 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.vectorstore.support;
+
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fel.core.document.Document;
+import modelengine.fel.core.document.DocumentEmbedModel;
+import modelengine.fel.core.document.MeasurableDocument;
+import modelengine.fel.core.embed.Embedding;
+import modelengine.fel.core.vectorstore.SearchOption;
+import modelengine.fel.core.vectorstore.VectorStore;
+import modelengine.fel.core.vectorstore.support.MappedOption.Quantization;
+import modelengine.fitframework.exception.FitException;
+import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.serialization.ObjectSerializer;
+import modelengine.fitframework.util.ObjectUtils;
+import modelengine.fitframework.util.StringUtils;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 表示基于内存映射文件的 {@link VectorStore} 的实现。
+ * <p>嵌入向量归一化后按行存放在存储目录下固定容量的分段文件中，通过内存映射访问，不占用堆内存，
+ * 容量受磁盘而不是堆大小限制；文档的文本和元数据以追加的方式写入独立的日志文件，堆中只保留文档唯一标识到行号和日志位置的索引。
+ * 重新打开存储目录时只需重放日志中的索引信息，无需重新计算嵌入向量。</p>
+ * <p>使用 {@link Quantization#INT8} 时，每个向量额外保存一份按向量对称量化的 8 位整数副本。
+ * 检索时先扫描量化向量选出 {@code topK} 的若干倍候选，再读取候选的原始向量精确计算相似度并重排，
+ * 扫描的数据量约为原始向量的四分之一。</p>
+ * <p>删除和覆盖的文档所占用的行会被后续写入的文档复用，日志文件只追加不回收。
+ * 每次写入或删除在返回前都会将向量和日志刷新到磁盘，日志追加成功后变更才对检索可见，
+ * 批次中任何一个文档不合法时整个批次都不生效。日志末尾不完整的记录在重新打开时被丢弃。
+ * 使用完毕后需要调用 {@link #close()} 释放文件句柄。</p>
+ * <p>检索参数中的过滤条件在扫描向量之前通过元数据的倒排索引求值，扫描时跳过不包含候选文档的批次。</p>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+public class MappedVectorStore implements VectorStore, Closeable {
+    private static final String META_FILE = "store.meta";
+    private static final String LOG_FILE = "documents.log";
+    private static final String SEGMENT_FILE = "segment-%05d.%s";
+    private static final int META_MAGIC = 0x4D564543;
+    private static final int META_VERSION = 1;
+    private static final byte RECORD_PUT = 1;
+    private static final byte RECORD_DELETE = 2;
+    private static final int DEFAULT_SEGMENT_CAPACITY = 1 << 16;
+    private static final int DEFAULT_RESCORE_FACTOR = 4;
+    private static final int SCAN_BATCH_ROWS = 256;
+    private static final float INT8_RANGE = 127F;
+
+    private final DocumentEmbedModel embedModel;
+    private final ObjectSerializer serializer;
+    private final Path directory;
+    private final int rescoreFactor;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> rows = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final Deque<Integer> freeRows = new ArrayDeque<>();
+    private final List<Segment> segments = new ArrayList<>();
+    private final FileChannel log;
+    private final Object metadataIndexLock = new Object();
+    private volatile MetadataIndex metadataIndex;
+    private Quantization quantization;
+    private int segmentCapacity;
+    private int dimension;
+    private int rowCount;
+    private long[] offsets = new long[0];
+    private long logSize;
+
+    /**
+     * 使用默认的存储参数打开 {@link MappedVectorStore}。
+     *
+     * @param embedModel 表示嵌入文档模型的 {@link DocumentEmbedModel}。
+     * @param serializer 表示序列化文档使用的对象序列化器的 {@link ObjectSerializer}。
+     * @param directory 表示存储目录的 {@link Path}，不存在时会被创建。
+     * @throws FitException 当读写存储目录失败时。
+     */
+    public MappedVectorStore(DocumentEmbedModel embedModel, ObjectSerializer serializer, Path directory) {
+        this(embedModel, serializer, directory, MappedOption.custom().build());
+    }
+
+    /**
+     * 使用指定的存储参数打开 {@link MappedVectorStore}。
+     *
+     * @param embedModel 表示嵌入文档模型的 {@link DocumentEmbedModel}。
+     * @param serializer 表示序列化文档使用的对象序列化器的 {@link ObjectSerializer}。
+     * @param directory 表示存储目录的 {@link Path}，不存在时会被创建。
+     * @param option 表示存储参数的 {@link MappedOption}。
+     * @throws IllegalArgumentException 当参数为 {@code null} 或不合法，或存储目录中的元数据不合法时。
+     * @throws FitException 当读写存储目录失败时。
+     */
+    public MappedVectorStore(DocumentEmbedModel embedModel, ObjectSerializer serializer, Path directory,
+            MappedOption option) {
+        this.embedModel = notNull(embedModel, "The embed model cannot be null.");
+        this.serializer = notNull(serializer, "The serializer cannot be null.");
+        this.directory = notNull(directory, "The directory cannot be null.");
+        notNull(option, "The mapped option cannot be null.");
+        this.quantization = ObjectUtils.nullIf(option.quantization(), Quantization.FLOAT32);
+        this.segmentCapacity = ObjectUtils.nullIf(option.segmentCapacity(), DEFAULT_SEGMENT_CAPACITY);
+        this.rescoreFactor = ObjectUtils.nullIf(option.rescoreFactor(), DEFAULT_RESCORE_FACTOR);
+        Validation.greaterThan(this.segmentCapacity,
+                0,
+                "The segment capacity must be positive. [segmentCapacity={0}]",
+                this.segmentCapacity);
+        Validation.greaterThan(this.rescoreFactor,
+                0,
+                "The rescore factor must be positive. [rescoreFactor={0}]",
+                this.rescoreFactor);
+        try {
+            Files.createDirectories(directory);
+            if (Files.exists(directory.resolve(META_FILE))) {
+                this.readMeta();
+            }
+            this.log = FileChannel.open(directory.resolve(LOG_FILE),
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            this.replay();
+            while ((long) this.segments.size() * this.segmentCapacity < this.rowCount) {
+                this.segments.add(this.openSegment(this.segments.size()));
+            }
+        } catch (IOException e) {
+            throw new FitException(e);
+        }
+    }
+
+    @Override
+    public void persistent(List<Document> documents) {
+        List<Embedding> embeddings = this.embedModel.embed(documents);
+        Map<String, DocumentWithEmbedding> actual = new LinkedHashMap<>();
+        Map<String, float[]> vectors = new HashMap<>();
+        int dimension = 0;
+        for (int i = 0; i < documents.size(); ++i) {
+            DocumentWithEmbedding document = DocumentWithEmbedding.from(documents.get(i), embeddings.get(i).embedding());
+            float[] vector = Vectors.toArray(document.getEmbedding());
+            Validation.isTrue(vector.length > 0, "The embedding cannot be empty.");
+            if (dimension == 0) {
+                dimension = vector.length;
+            }
+            Validation.equals(vector.length,
+                    dimension,
+                    "The embeddings in one batch must have the same dimension. [expected={0}, actual={1}]",
+                    dimension,
+                    vector.length);
+            actual.put(document.id(), document);
+            vectors.put(document.id(), Vectors.normalize(vector));
+        }
+        if (actual.isEmpty()) {
+            return;
+        }
+        this.lock.writeLock().lock();
+        try {
+            if (this.dimension == 0) {
+                this.initialize(dimension);
+            }
+            Validation.equals(dimension,
+                    this.dimension,
+                    "The dimension of embedding is incorrect. [expected={0}, actual={1}]",
+                    this.dimension,
+                    dimension);
+            this.commit(this.stage(actual.values(), vectors));
+        } catch (IOException e) {
+            throw new FitException(e);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<MeasurableDocument> search(String query, SearchOption option) {
+        float[] queryVector = Vectors.normalize(Vectors.toArray(this.embedModel.embed(query).embedding()));
+        this.lock.readLock().lock();
+        try {
+            if (this.rows.isEmpty() || option.topK() <= 0) {
+                return Collections.emptyList();
+            }
+            Validation.equals(queryVector.length,
+                    this.dimension,
+                    "The dimension of query embedding is incorrect. [expected={0}, actual={1}]",
+                    this.dimension,
+                    queryVector.length);
+            BitSet candidates = option.filter() == null
+                    ? this.live
+                    : this.metadataIndex().select(option.filter().expression());
+            if (candidates.isEmpty()) {
+                return Collections.emptyList();
+            }
+            TopK topK = this.quantization == Quantization.INT8
+                    ? this.searchQuantized(queryVector, option.topK(), candidates)
+                    : this.scan(queryVector, option.topK(), candidates);
+            MeasurableDocument[] results = new MeasurableDocument[topK.size()];
+            for (int i = results.length - 1; i >= 0; i--) {
+                results[i] = new MeasurableDocument(this.readDocument(this.offsets[topK.peekRow()]), topK.peekScore());
+                topK.poll();
+            }
+            return new ArrayList<>(Arrays.asList(results));
+        } catch (IOException e) {
+            throw new FitException(e);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(List<String> ids) {
+        Validation.notNull(ids, "The id list cannot be null.");
+        this.lock.writeLock().lock();
+        try {
+            Batch batch = new Batch();
+            for (String id : new LinkedHashSet<>(ids)) {
+                Integer row = this.rows.get(id);
+                if (row != null) {
+                    writeDelete(batch.records, id);
+                    batch.removals.add(new Removal(id, row));
+                }
+            }
+            this.commit(batch);
+        } catch (IOException e) {
+            throw new FitException(e);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.lock.writeLock().lock();
+        try {
+            for (Segment segment : this.segments) {
+                segment.force();
+            }
+            this.log.close();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 为待写入的文档分配行并生成日志记录，同时写入向量。向量只写入当前未被使用的行，因此在日志追加成功之前，
+     * 内存中的索引和已有的文档都不会受到影响。
+     */
+    private Batch stage(Collection<DocumentWithEmbedding> documents, Map<String, float[]> vectors)
+            throws IOException {
+        Batch batch = new Batch();
+        Iterator<Integer> free = this.freeRows.iterator();
+        int nextRow = this.rowCount;
+        for (DocumentWithEmbedding document : documents) {
+            Integer existing = this.rows.get(document.id());
+            if (existing != null) {
+                writeDelete(batch.records, document.id());
+                batch.removals.add(new Removal(document.id(), existing));
+            }
+            int row;
+            if (free.hasNext()) {
+                row = free.next();
+                batch.reusedRows++;
+            } else if (nextRow == Integer.MAX_VALUE) {
+                throw new IllegalStateException("The mapped vector store is full.");
+            } else {
+                row = nextRow++;
+            }
+            this.write(row, vectors.get(document.id()));
+            long offset = this.logSize + batch.records.size();
+            this.writePut(batch.records, row, document);
+            batch.puts.add(new Put(document.id(), row, offset, document.metadata()));
+        }
+        return batch;
+    }
+
+    /**
+     * 将向量和日志刷新到磁盘，成功后再将变更应用到内存中的索引。
+     */
+    private void commit(Batch batch) throws IOException {
+        for (Segment segment : this.segments) {
+            segment.force();
+        }
+        this.append(batch.records);
+        MetadataIndex index = this.metadataIndex;
+        for (Removal removal : batch.removals) {
+            this.rows.remove(removal.id);
+            this.live.clear(removal.row);
+            if (index != null) {
+                index.remove(removal.row);
+            }
+        }
+        for (int i = 0; i < batch.reusedRows; i++) {
+            this.freeRows.pop();
+        }
+        for (Put put : batch.puts) {
+            this.apply(put.id, put.row, put.offset);
+            if (index != null) {
+                index.add(put.row, put.metadata);
+            }
+        }
+        for (Removal removal : batch.removals) {
+            this.freeRows.push(removal.row);
+        }
+    }
+
+    /**
+     * 获取元数据索引。为了使重新打开存储目录时无需读取所有文档，索引在第一次使用过滤条件检索时才从日志中构建，
+     * 之后随写入和删除一起维护。
+     */
+    private MetadataIndex metadataIndex() throws IOException {
+        synchronized (this.metadataIndexLock) {
+            if (this.metadataIndex == null) {
+                MetadataIndex index = new MetadataIndex();
+                for (int row = this.live.nextSetBit(0); row >= 0; row = this.live.nextSetBit(row + 1)) {
+                    index.add(row, this.readDocument(this.offsets[row]).metadata());
+                }
+                this.metadataIndex = index;
+            }
+            return this.metadataIndex;
+        }
+    }
+
+    private void initialize(int dimension) throws IOException {
+        this.dimension = dimension;
+        long rowBytes = Math.max((long) dimension * Float.BYTES, dimension + Float.BYTES);
+        this.segmentCapacity = (int) Math.min(this.segmentCapacity, Integer.MAX_VALUE / rowBytes);
+        Validation.greaterThan(this.segmentCapacity,
+                0,
+                "The dimension of embedding is too large. [dimension={0}]",
+                dimension);
+        Path meta = this.directory.resolve(META_FILE);
+        Path temporary = this.directory.resolve(META_FILE + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temporary))) {
+            out.writeInt(META_MAGIC);
+            out.writeInt(META_VERSION);
+            out.writeInt(this.dimension);
+            out.writeUTF(this.quantization.name());
+            out.writeInt(this.segmentCapacity);
+        }
+        Files.move(temporary, meta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void readMeta() throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(this.directory.resolve(META_FILE)))) {
+            Validation.equals(in.readInt(), META_MAGIC, "The directory is not a mapped vector store.");
+            int version = in.readInt();
+            Validation.equals(version,
+                    META_VERSION,
+                    "The mapped vector store version is not supported. [expected={0}, actual={1}]",
+                    META_VERSION,
+                    version);
+            this.dimension = in.readInt();
+            this.quantization = Quantization.valueOf(in.readUTF());
+            this.segmentCapacity = in.readInt();
+        }
+    }
+
+    private void replay() throws IOException {
+        long size = this.log.size();
+        long position = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.directory.resolve(
+                LOG_FILE))))) {
+            while (position + Integer.BYTES < size) {
+                int length = in.readInt();
+                if (length <= 0 || position + Integer.BYTES + length > size) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+                byte type = record.readByte();
+                if (type == RECORD_PUT) {
+                    int row = record.readInt();
+                    this.apply(record.readUTF(), row, position);
+                } else if (type == RECORD_DELETE) {
+                    Integer row = this.rows.remove(record.readUTF());
+                    if (row != null) {
+                        this.live.clear(row);
+                    }
+                } else {
+                    break;
+                }
+                position += Integer.BYTES + length;
+            }
+        } catch (EOFException e) {
+            // 日志末尾的记录不完整，从最后一条完整的记录之后截断。
+        }
+        if (position < size) {
+            this.log.truncate(position);
+        }
+        this.logSize = position;
+        for (int row = this.rowCount - 1; row >= 0; row--) {
+            if (!this.live.get(row)) {
+                this.freeRows.push(row);
+            }
+        }
+    }
+
+    private void apply(String id, int row, long offset) {
+        Integer previous = this.rows.put(id, row);
+        if (previous != null && previous != row) {
+            this.live.clear(previous);
+        }
+        this.live.set(row);
+        if (row >= this.offsets.length) {
+            this.offsets = Arrays.copyOf(this.offsets, Math.max(row + 1, this.offsets.length * 3 / 2 + 1));
+        }
+        this.offsets[row] = offset;
+        this.rowCount = Math.max(this.rowCount, row + 1);
+    }
+
+    private void append(ByteArrayOutputStream records) throws IOException {
+        if (records.size() == 0) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(records.toByteArray());
+        long position = this.logSize;
+        try {
+            while (buffer.hasRemaining()) {
+                position += this.log.write(buffer, position);
+            }
+            this.log.force(false);
+        } catch (IOException e) {
+            try {
+                this.log.truncate(this.logSize);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        this.logSize = position;
+    }
+
+    private void writePut(ByteArrayOutputStream records, int row, DocumentWithEmbedding document)
+            throws IOException {
+        byte[] content = this.serializer.serialize(document.withEmbedding(null), StandardCharsets.UTF_8);
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(content.length + 64);
+        DataOutputStream out = new DataOutputStream(payload);
+        out.writeByte(RECORD_PUT);
+        out.writeInt(row);
+        out.writeUTF(document.id());
+        out.write(content);
+        writeRecord(records, payload);
+    }
+
+    private static void writeDelete(ByteArrayOutputStream records, String id) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(payload);
+        out.writeByte(RECORD_DELETE);
+        out.writeUTF(id);
+        writeRecord(records, payload);
+    }
+
+    private static void writeRecord(ByteArrayOutputStream records, ByteArrayOutputStream payload)
+            throws IOException {
+        new DataOutputStream(records).writeInt(payload.size());
+        payload.writeTo(records);
+    }
+
+    private DocumentWithEmbedding readDocument(long offset) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+        this.readFully(header, offset);
+        ByteBuffer payload = ByteBuffer.allocate(header.getInt(0));
+        this.readFully(payload, offset + Integer.BYTES);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload.array()));
+        in.readByte();
+        in.readInt();
+        in.readUTF();
+        return this.serializer.deserialize(in, DocumentWithEmbedding.class);
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        long current = position;
+        while (buffer.hasRemaining()) {
+            int read = this.log.read(buffer, current);
+            if (read < 0) {
+                throw new EOFException(StringUtils.format("The document log is truncated. [position={0}]",
+                        position));
+            }
+            current += read;
+        }
+    }
+
+    private void write(int row, float[] vector) throws IOException {
+        int index = row / this.segmentCapacity;
+        while (this.segments.size() <= index) {
+            this.segments.add(this.openSegment(this.segments.size()));
+        }
+        Segment segment = this.segments.get(index);
+        int local = row % this.segmentCapacity;
+        segment.floats.put(local * this.dimension, vector);
+        segment.isDirty = true;
+        if (segment.quantized != null) {
+            byte[] quantized = new byte[this.dimension];
+            float scale = quantize(vector, quantized);
+            int offset = local * (this.dimension + Float.BYTES);
+            segment.quantized.putFloat(offset, scale);
+            segment.quantized.put(offset + Float.BYTES, quantized);
+        }
+    }
+
+    private TopK scan(float[] query, int k, BitSet candidates) {
+        TopK topK = new TopK(k);
+        float[] batch = new float[SCAN_BATCH_ROWS * this.dimension];
+        for (int index = 0; index < this.segments.size(); index++) {
+            Segment segment = this.segments.get(index);
+            int base = index * this.segmentCapacity;
+            int count = Math.min(this.segmentCapacity, this.rowCount - base);
+            for (int from = 0; from < count; from += SCAN_BATCH_ROWS) {
+                int batchRows = Math.min(SCAN_BATCH_ROWS, count - from);
+                int next = candidates.nextSetBit(base + from);
+                if (next < 0) {
+                    break;
+                }
+                if (next >= base + from + batchRows) {
+                    continue;
+                }
+                segment.floats.get(from * this.dimension, batch, 0, batchRows * this.dimension);
+                for (int i = 0; i < batchRows; i++) {
+                    int row = base + from + i;
+                    if (candidates.get(row)) {
+                        topK.offer(Vectors.dot(query, 0, batch, i * this.dimension, this.dimension), row);
+                    }
+                }
+            }
+        }
+        return topK;
+    }
+
+    private TopK searchQuantized(float[] query, int k, BitSet candidates) {
+        byte[] quantizedQuery = new byte[this.dimension];
+        float queryScale = quantize(query, quantizedQuery);
+        TopK shortlist = new TopK((int) Math.min((long) k * this.rescoreFactor, Integer.MAX_VALUE));
+        int stride = this.dimension + Float.BYTES;
+        byte[] batch = new byte[SCAN_BATCH_ROWS * stride];
+        for (int index = 0; index < this.segments.size(); index++) {
+            Segment segment = this.segments.get(index);
+            int base = index * this.segmentCapacity;
+            int count = Math.min(this.segmentCapacity, this.rowCount - base);
+            for (int from = 0; from < count; from += SCAN_BATCH_ROWS) {
+                int batchRows = Math.min(SCAN_BATCH_ROWS, count - from);
+                int next = candidates.nextSetBit(base + from);
+                if (next < 0) {
+                    break;
+                }
+                if (next >= base + from + batchRows) {
+                    continue;
+                }
+                segment.quantized.get(from * stride, batch, 0, batchRows * stride);
+                for (int i = 0; i < batchRows; i++) {
+                    int row = base + from + i;
+                    if (candidates.get(row)) {
+                        float scale = segment.quantized.getFloat((from + i) * stride);
+                        int dot = dot(quantizedQuery, batch, i * stride + Float.BYTES, this.dimension);
+                        shortlist.offer(dot * scale * queryScale, row);
+                    }
+                }
+            }
+        }
+        TopK topK = new TopK(k);
+        float[] vector = new float[this.dimension];
+        while (shortlist.size() > 0) {
+            int row = shortlist.peekRow();
+            shortlist.poll();
+            this.segments.get(row / this.segmentCapacity).floats.get((row % this.segmentCapacity) * this.dimension,
+                    vector);
+            topK.offer(Vectors.dot(query, 0, vector, 0, this.dimension), row);
+        }
+        return topK;
+    }
+
+    private Segment openSegment(int index) throws IOException {
+        MappedByteBuffer floats = this.map(String.format(SEGMENT_FILE, index, "f32"),
+                (long) this.segmentCapacity * this.dimension * Float.BYTES);
+        MappedByteBuffer quantized = this.quantization == Quantization.INT8
+                ? this.map(String.format(SEGMENT_FILE, index, "i8"),
+                (long) this.segmentCapacity * (this.dimension + Float.BYTES))
+                : null;
+        return new Segment(floats, quantized);
+    }
+
+    private MappedByteBuffer map(String file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(this.directory.resolve(file),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        }
+    }
+
+    private static float quantize(float[] vector, byte[] quantized) {
+        float maximum = 0F;
+        for (float value : vector) {
+            maximum = Math.max(maximum, Math.abs(value));
+        }
+        float scale = maximum / INT8_RANGE;
+        for (int i = 0; i < vector.length; i++) {
+            quantized[i] = (byte) Math.round(vector[i] / scale);
+        }
+        return scale;
+    }
+
+    private static int dot(byte[] query, byte[] vectors, int offset, int dimension) {
+        int sum0 = 0;
+        int sum1 = 0;
+        int sum2 = 0;
+        int sum3 = 0;
+        int i = 0;
+        for (int bound = dimension & ~3; i < bound; i += 4) {
+            sum0 += query[i] * vectors[offset + i];
+            sum1 += query[i + 1] * vectors[offset + i + 1];
+            sum2 += query[i + 2] * vectors[offset + i + 2];
+            sum3 += query[i + 3] * vectors[offset + i + 3];
+        }
+        for (; i < dimension; i++) {
+            sum0 += query[i] * vectors[offset + i];
+        }
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    /**
+     * 表示一次写入或删除中待追加的日志记录，以及日志追加成功后需要应用到内存中的变更。
+     */
+    private static final class Batch {
+        private final ByteArrayOutputStream records = new ByteArrayOutputStream();
+        private final List<Removal> removals = new ArrayList<>();
+        private final List<Put> puts = new ArrayList<>();
+        private int reusedRows;
+    }
+
+    /**
+     * 表示被删除或被覆盖的文档。
+     */
+    private static final class Removal {
+        private final String id;
+        private final int row;
+
+        private Removal(String id, int row) {
+            this.id = id;
+            this.row = row;
+        }
+    }
+
+    /**
+     * 表示写入的文档在日志中的位置和所在的行。
+     */
+    private static final class Put {
+        private final String id;
+        private final int row;
+        private final long offset;
+        private final Map<String, Object> metadata;
+
+        private Put(String id, int row, long offset, Map<String, Object> metadata) {
+            this.id = id;
+            this.row = row;
+            this.offset = offset;
+            this.metadata = metadata;
+        }
+    }
+
+    /**
+     * 表示一个分段，包含原始向量的映射和可选的量化向量的映射。
+     */
+    private static final class Segment {
+        private final MappedByteBuffer floatBuffer;
+        private final FloatBuffer floats;
+        private final MappedByteBuffer quantized;
+        private boolean isDirty;
+
+        private Segment(MappedByteBuffer floatBuffer, MappedByteBuffer quantized) {
+            this.floatBuffer = floatBuffer;
+            this.floats = floatBuffer.asFloatBuffer();
+            this.quantized = quantized;
+        }
+
+        private void force() {
+            if (!this.isDirty) {
+                return;
+            }
+            this.floatBuffer.force();
+            if (this.quantized != null) {
+                this.quantized.force();
+            }
+            this.isDirty = false;
+        }
+    }
+}
@@ -6,46 +6,59 @@
 
 package modelengine.fel.core.vectorstore.support;
 
-import static modelengine.fitframework.inspection.Validation.notBlank;
-import static modelengine.fitframework.inspection.Validation.notEmpty;
-import static modelengine.fitframework.inspection.Validation.notNull;
-
 import modelengine.fel.core.document.Document;
 import modelengine.fel.core.document.DocumentEmbedModel;
 import modelengine.fel.core.document.MeasurableDocument;
 import modelengine.fel.core.embed.Embedding;
-import modelengine.fel.core.util.MathUtils;
 import modelengine.fel.core.vectorstore.SearchOption;
 import modelengine.fel.core.vectorstore.VectorStore;
-import modelengine.fitframework.inspection.Nonnull;
 import modelengine.fitframework.inspection.Validation;
-import modelengine.fitframework.resource.web.Media;
 import modelengine.fitframework.serialization.ObjectSerializer;
-import modelengine.fitframework.util.ObjectUtils;
 import modelengine.fitframework.util.StringUtils;
 import modelengine.fitframework.util.TypeUtils;
-import modelengine.fitframework.util.UuidUtils;
 
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
 
 /**
  * 表示 {@link VectorStore} 的内存简易实现，不要在生产环境中使用。
+ * <p>所有文档的嵌入向量按行连续存放在同一个 {@code float} 数组中，并在写入时预先计算每个向量模长的倒数。
+ * 检索时查询向量只归一化一次，每个文档的余弦相似度即为一次点积乘以该文档模长的倒数，
+ * 并使用容量为 {@code topK} 的最小堆选出相似度最高的文档，而不对所有文档排序。
+ * 开启并行检索时，文档数量较多的检索会被切分成若干段在公共线程池中并行扫描，最后合并每段的结果。</p>
+ * <p>检索参数中的过滤条件在计算相似度之前通过元数据的倒排索引求值，只有满足条件的文档参与相似度计算。</p>
+ * <p>存储的文档总数与向量维度的乘积不能超过 {@link Integer#MAX_VALUE}。</p>
  *
  * @author 易文渊
  * @since 2024-08-06
  */
 public class MemoryVectorStore implements VectorStore {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+    private static final int PARALLEL_CHUNK_SIZE = 1 << 12;
+
     private final DocumentEmbedModel embedModel;
-    private final Map<String, DocumentWithEmbedding> cache = new ConcurrentHashMap<>();
+    private final boolean isParallelSearch;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> rows = new HashMap<>();
+    private final MetadataIndex metadataIndex = new MetadataIndex();
+    private DocumentWithEmbedding[] documents = new DocumentWithEmbedding[0];
+    private float[] vectors = new float[0];
+    private float[] inverseNorms = new float[0];
+    private int dimension;
+    private int size;
 
     /**
      * 创建 {@link MemoryVectorStore} 的实例。
@@ -53,34 +66,75 @@ public class MemoryVectorStore implements VectorStore {
      * @param embedModel 表示嵌入文档模型的 {@link DocumentEmbedModel}。
      */
     public MemoryVectorStore(DocumentEmbedModel embedModel) {
+        this(embedModel, false);
+    }
+
+    /**
+     * 创建 {@link MemoryVectorStore} 的实例。
+     *
+     * @param embedModel 表示嵌入文档模型的 {@link DocumentEmbedModel}。
+     * @param isParallelSearch 表示是否在文档数量较多时并行检索的 {@code boolean}。
+     */
+    public MemoryVectorStore(DocumentEmbedModel embedModel, boolean isParallelSearch) {
         this.embedModel = embedModel;
+        this.isParallelSearch = isParallelSearch;
     }
 
     @Override
     public void persistent(List<Document> documents) {
         List<Embedding> embeddings = this.embedModel.embed(documents);
+        List<DocumentWithEmbedding> actual = new ArrayList<>(documents.size());
         for (int i = 0; i < documents.size(); ++i) {
-            DocumentWithEmbedding document =
-                    DocumentWithEmbedding.from(documents.get(i), embeddings.get(i).embedding());
-            this.cache.put(document.id(), document);
+            actual.add(DocumentWithEmbedding.from(documents.get(i), embeddings.get(i).embedding()));
+        }
+        this.lock.writeLock().lock();
+        try {
+            actual.forEach(this::put);
+        } finally {
+            this.lock.writeLock().unlock();
         }
     }
 
     @Override
     public List<MeasurableDocument> search(String query, SearchOption option) {
-        List<Float> queryEmbedding = this.embedModel.embed(query).embedding();
-        return this.cache.values()
-                .stream()
-                .map(d -> new MeasurableDocument(d, MathUtils.cosineSimilarity(queryEmbedding, d.getEmbedding())))
-                .sorted(Comparator.comparingDouble(MeasurableDocument::score).reversed())
-                .limit(option.topK())
-                .collect(Collectors.toList());
+        float[] queryVector = Vectors.normalize(Vectors.toArray(this.embedModel.embed(query).embedding()));
+        this.lock.readLock().lock();
+        try {
+            if (this.size == 0 || option.topK() <= 0) {
+                return Collections.emptyList();
+            }
+            Validation.equals(queryVector.length,
+                    this.dimension,
+                    "The dimension of query embedding is incorrect. [expected={0}, actual={1}]",
+                    this.dimension,
+                    queryVector.length);
+            BitSet candidates = option.filter() == null
+                    ? null
+                    : this.metadataIndex.select(option.filter().expression());
+            if (candidates != null && candidates.isEmpty()) {
+                return Collections.emptyList();
+            }
+            TopK topK = this.scan(queryVector, option.topK(), candidates);
+            MeasurableDocument[] results = new MeasurableDocument[topK.size()];
+            for (int i = results.length - 1; i >= 0; i--) {
+                results[i] = new MeasurableDocument(this.documents[topK.peekRow()], topK.peekScore());
+                topK.poll();
+            }
+            return new ArrayList<>(Arrays.asList(results));
+        } finally {
+            this.lock.readLock().unlock();
+        }
     }
 
     @Override
     public void delete(List<String> ids) {
         Validation.notNull(ids, "The id list cannot be null.");
-        ids.forEach(this.cache::remove);
+        this.lock.writeLock().lock();
+        try {
+            ids.forEach(this::remove);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
     }
 
     /**
@@ -92,7 +146,12 @@ public class MemoryVectorStore implements VectorStore {
     public void load(InputStream in, ObjectSerializer objectSerializer) {
         Map<String, DocumentWithEmbedding> documents = objectSerializer.deserialize(in,
                 TypeUtils.parameterized(Map.class, new Type[] {String.class, DocumentWithEmbedding.class}));
-        this.cache.putAll(documents);
+        this.lock.writeLock().lock();
+        try {
+            documents.values().forEach(this::put);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
     }
 
     /**
@@ -102,153 +161,131 @@ public class MemoryVectorStore implements VectorStore {
      * @param objectSerializer 表示对象序列化器的 {@link ObjectSerializer}。
      */
     public void persist(OutputStream out, ObjectSerializer objectSerializer) {
-        objectSerializer.serialize(this.cache, out);
-    }
-
-    /**
-     * 表示携带嵌入向量的 {@link Document}。
-     */
-    private static class DocumentWithEmbedding implements Document {
-        private String id;
-        private String text;
-        private Map<String, Object> metadata;
-        private List<Float> embedding;
-
-        /**
-         * 从给定的 {@link Document} 和嵌入向量创建一个新的 {@link DocumentWithEmbedding}。
-         *
-         * @param document 表示原始文档的 {@link Document}。
-         * @param embedding 表示嵌入向量的 {@link List}{@code <}{@link Double}{@code >}。
-         * @return 表示创建成功文档的 {@link DocumentWithEmbedding}。
-         */
-        public static DocumentWithEmbedding from(Document document, List<Float> embedding) {
-            if (document instanceof DocumentWithEmbedding) {
-                return ObjectUtils.cast(document);
+        Map<String, DocumentWithEmbedding> documents;
+        this.lock.readLock().lock();
+        try {
+            documents = new LinkedHashMap<>(this.size);
+            for (int row = 0; row < this.size; row++) {
+                DocumentWithEmbedding document = this.documents[row];
+                documents.put(document.id(), document.withEmbedding(this.embeddingAt(row)));
             }
-            notEmpty(embedding, "The embedding cannot be empty.");
-            DocumentWithEmbedding documentWithEmbedding = new DocumentWithEmbedding();
-            documentWithEmbedding.setId(StringUtils.getIfBlank(document.id(), UuidUtils::randomUuidString));
-            documentWithEmbedding.setText(notBlank(document.text(), "The document text cannot be blank."));
-            documentWithEmbedding.setMetadata(notNull(document.metadata(), "The metadata cannot be null."));
-            documentWithEmbedding.setEmbedding(embedding);
-            return documentWithEmbedding;
-        }
-
-        @Nonnull
-        @Override
-        public String text() {
-            return this.text;
-        }
-
-        @Override
-        public List<Media> medias() {
-            return Collections.emptyList();
-        }
-
-        @Override
-        public String id() {
-            return this.id;
+        } finally {
+            this.lock.readLock().unlock();
         }
+        objectSerializer.serialize(documents, out);
+    }
 
-        @Nonnull
-        @Override
-        public Map<String, Object> metadata() {
-            return this.metadata;
+    private void put(DocumentWithEmbedding document) {
+        float[] vector = Vectors.toArray(document.getEmbedding());
+        Validation.isTrue(vector.length > 0, "The embedding cannot be empty.");
+        float inverseNorm = Vectors.inverseNorm(vector, 0, vector.length);
+        if (this.size == 0 && vector.length != this.dimension) {
+            // 存储为空时可以更换维度，已有的数组按原来的维度分配，需要重新分配。
+            this.dimension = vector.length;
+            this.documents = new DocumentWithEmbedding[0];
+            this.vectors = new float[0];
+            this.inverseNorms = new float[0];
         }
-
-        /**
-         * 获取文档的唯一标识符。
-         *
-         * @return 表示文档唯一标识符的 {@link String}。
-         */
-        public String getId() {
-            return id;
-        }
-
-        /**
-         * 设置文档的唯一标识符。
-         *
-         * @param id 表示文档唯一标识符的 {@link String}。
-         */
-        public void setId(String id) {
-            this.id = id;
+        Validation.equals(vector.length,
+                this.dimension,
+                "The dimension of embedding is incorrect. [expected={0}, actual={1}]",
+                this.dimension,
+                vector.length);
+        Integer existing = this.rows.get(document.id());
+        int row = existing != null ? existing : this.size;
+        if (existing == null) {
+            this.ensureCapacity(this.size + 1);
+            this.rows.put(document.id(), row);
+            this.size++;
+        } else {
+            this.metadataIndex.remove(row);
         }
+        System.arraycopy(vector, 0, this.vectors, row * this.dimension, this.dimension);
+        this.inverseNorms[row] = inverseNorm;
+        this.documents[row] = document.withEmbedding(null);
+        this.metadataIndex.add(row, document.metadata());
+    }
 
-        /**
-         * 获取文档的文本内容。
-         *
-         * @return 表示文档文本内容的 {@link String}。
-         */
-        public String getText() {
-            return text;
+    private void remove(String id) {
+        Integer row = this.rows.remove(id);
+        if (row == null) {
+            return;
         }
-
-        /**
-         * 设置文档的文本内容。
-         *
-         * @param text 表示文档文本内容的 {@link String}。
-         */
-        public void setText(String text) {
-            this.text = text;
+        this.metadataIndex.remove(row);
+        int last = this.size - 1;
+        if (row != last) {
+            System.arraycopy(this.vectors, last * this.dimension, this.vectors, row * this.dimension, this.dimension);
+            this.inverseNorms[row] = this.inverseNorms[last];
+            this.documents[row] = this.documents[last];
+            this.rows.put(this.documents[row].id(), row);
+            this.metadataIndex.move(last, row);
         }
+        this.documents[last] = null;
+        this.size--;
+    }
 
-        /**
-         * 获取文档的元数据。
-         *
-         * @return 表示文档元数据的 {@link Map}{@code <}{@link String}{@code ,}{@link Object}{@code >}。
-         */
-        public Map<String, Object> getMetadata() {
-            return metadata;
+    private void ensureCapacity(int capacity) {
+        if (capacity <= this.documents.length) {
+            return;
         }
-
-        /**
-         * 设置文档的元数据。
-         *
-         * @param metadata 表示文档元数据的 {@link Map}{@code <}{@link String}{@code ,}{@link Object}{@code >}。
-         */
-        public void setMetadata(Map<String, Object> metadata) {
-            this.metadata = metadata;
+        long expected = Math.max(Math.max((long) this.documents.length * 3 / 2, capacity), INITIAL_CAPACITY);
+        long maximum = Integer.MAX_VALUE / this.dimension;
+        if (capacity > maximum) {
+            throw new IllegalStateException(StringUtils.format(
+                    "The memory vector store is full. [capacity={0}, dimension={1}]",
+                    this.documents.length,
+                    this.dimension));
         }
+        int actual = (int) Math.min(expected, maximum);
+        this.documents = Arrays.copyOf(this.documents, actual);
+        this.vectors = Arrays.copyOf(this.vectors, actual * this.dimension);
+        this.inverseNorms = Arrays.copyOf(this.inverseNorms, actual);
+    }
 
-        /**
-         * 获取文档的嵌入向量。
-         *
-         * @return 表示文档嵌入向量的 {@link List}{@code <}{@link Double}{@code >}。
-         */
-        public List<Float> getEmbedding() {
-            return embedding;
+    private List<Float> embeddingAt(int row) {
+        List<Float> embedding = new ArrayList<>(this.dimension);
+        int offset = row * this.dimension;
+        for (int i = 0; i < this.dimension; i++) {
+            embedding.add(this.vectors[offset + i]);
         }
+        return embedding;
+    }
 
-        /**
-         * 设置文档的嵌入向量。
-         *
-         * @param embedding 表示文档嵌入向量的 {@link List}{@code <}{@link Double}{@code >}。
-         */
-        public void setEmbedding(List<Float> embedding) {
-            this.embedding = embedding;
+    private TopK scan(float[] query, int k, BitSet candidates) {
+        int count = candidates == null ? this.size : candidates.cardinality();
+        if (!this.isParallelSearch || count < PARALLEL_THRESHOLD) {
+            return this.scan(query, k, 0, this.size, candidates);
         }
+        int chunks = (this.size + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE;
+        return IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> this.scan(query,
+                        k,
+                        chunk * PARALLEL_CHUNK_SIZE,
+                        Math.min(this.size, (chunk + 1) * PARALLEL_CHUNK_SIZE),
+                        candidates))
+                .reduce(TopK::merge)
+                .orElseGet(() -> new TopK(k));
+    }
 
-        @Override
-        public boolean equals(Object object) {
-            if (this == object) {
-                return true;
-            }
-            if (object == null || getClass() != object.getClass()) {
-                return false;
+    private TopK scan(float[] query, int k, int from, int to, BitSet candidates) {
+        TopK topK = new TopK(k);
+        float[] actualVectors = this.vectors;
+        float[] actualInverseNorms = this.inverseNorms;
+        int actualDimension = this.dimension;
+        if (candidates == null) {
+            for (int row = from; row < to; row++) {
+                float score = Vectors.dot(query, 0, actualVectors, row * actualDimension, actualDimension)
+                        * actualInverseNorms[row];
+                topK.offer(score, row);
             }
-            DocumentWithEmbedding that = (DocumentWithEmbedding) object;
-            return Objects.equals(this.id, that.id);
+            return topK;
         }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(this.id);
-        }
-
-        @Override
-        public String toString() {
-            return "DocumentWithEmbedding{" + "id='" + id + '\'' + ", text='" + text + '\'' + ", metadata=" + metadata
-                    + ", embedding=" + embedding + '}';
+        for (int row = candidates.nextSetBit(from); row >= 0 && row < to; row = candidates.nextSetBit(row + 1)) {
+            float score = Vectors.dot(query, 0, actualVectors, row * actualDimension, actualDimension)
+                    * actualInverseNorms[row];
+            topK.offer(score, row);
         }
+        return topK;
     }
-}
\ No newline at end of file
+}
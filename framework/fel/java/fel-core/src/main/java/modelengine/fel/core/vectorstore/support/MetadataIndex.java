@@ -0,0 +1,338 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.vectorstore.support;
+
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fel.core.retriever.filter.Operand;
+import modelengine.fel.core.retriever.filter.Operator;
+import modelengine.fitframework.util.ObjectUtils;
+import modelengine.fitframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * 表示文档元数据的倒排索引，用于在计算相似度之前按过滤表达式选出候选行。
+ * <p>每个元数据字段维护一个从取值到行集合的有序映射，取值为集合时集合中的每个元素分别被索引。
+ * 数字统一按数值比较，字符串、字符和枚举按字符串比较，布尔值单独比较；不同类型的取值之间不满足任何比较条件，
+ * 其它类型的取值不会被索引。{@link Operator#NE} 和 {@link Operator#NIN} 只匹配存在该字段的文档，
+ * {@link Operator#LIKE} 支持 {@code %} 和 {@code _} 通配符。</p>
+ * <p>索引按行记录加入时归一化后的取值，移除时使用该记录，因此文档的元数据在加入索引后被修改也不会影响移除。</p>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+final class MetadataIndex {
+    private static final Comparator<Object> VALUE_ORDER = Comparator.comparingInt(MetadataIndex::rank)
+            .thenComparing((first, second) -> ObjectUtils.<Comparable<Object>>cast(first).compareTo(second));
+
+    private final Map<String, NavigableMap<Object, BitSet>> fields = new HashMap<>();
+    private final Map<String, BitSet> presences = new HashMap<>();
+    private final Map<Integer, List<IndexedValue>> indexedValues = new HashMap<>();
+
+    /**
+     * 将指定行的元数据加入索引。
+     *
+     * @param row 表示行号的 {@code int}。
+     * @param metadata 表示元数据的 {@link Map}{@code <}{@link String}{@code , }{@link Object}{@code >}。
+     */
+    void add(int row, Map<String, Object> metadata) {
+        List<IndexedValue> values = new ArrayList<>();
+        metadata.forEach((field, value) -> forEachValue(value, normalized -> {
+            this.fields.computeIfAbsent(field, key -> new TreeMap<>(VALUE_ORDER))
+                    .computeIfAbsent(normalized, key -> new BitSet())
+                    .set(row);
+            this.presences.computeIfAbsent(field, key -> new BitSet()).set(row);
+            values.add(new IndexedValue(field, normalized));
+        }));
+        if (!values.isEmpty()) {
+            this.indexedValues.put(row, values);
+        }
+    }
+
+    /**
+     * 将指定行加入索引时的元数据从索引中移除。
+     *
+     * @param row 表示行号的 {@code int}。
+     */
+    void remove(int row) {
+        List<IndexedValue> indexed = this.indexedValues.remove(row);
+        if (indexed == null) {
+            return;
+        }
+        for (IndexedValue value : indexed) {
+            NavigableMap<Object, BitSet> values = this.fields.get(value.field);
+            BitSet rows = values == null ? null : values.get(value.value);
+            if (rows == null) {
+                continue;
+            }
+            rows.clear(row);
+            if (rows.isEmpty()) {
+                values.remove(value.value);
+            }
+            BitSet presence = this.presences.get(value.field);
+            presence.clear(row);
+            if (values.isEmpty()) {
+                this.fields.remove(value.field);
+                this.presences.remove(value.field);
+            }
+        }
+    }
+
+    /**
+     * 将指定行的索引移动到另一行，目标行不能已经加入索引。
+     *
+     * @param from 表示原行号的 {@code int}。
+     * @param to 表示目标行号的 {@code int}。
+     */
+    void move(int from, int to) {
+        List<IndexedValue> indexed = this.indexedValues.remove(from);
+        if (indexed == null) {
+            return;
+        }
+        for (IndexedValue value : indexed) {
+            BitSet rows = this.fields.get(value.field).get(value.value);
+            rows.clear(from);
+            rows.set(to);
+            BitSet presence = this.presences.get(value.field);
+            presence.clear(from);
+            presence.set(to);
+        }
+        this.indexedValues.put(to, indexed);
+    }
+
+    /**
+     * 选出满足过滤表达式的行。
+     *
+     * @param expression 表示过滤表达式的 {@link Operand.Expression}。
+     * @return 表示满足条件的行集合的 {@link BitSet}，调用方可以修改。
+     * @throws IllegalArgumentException 当表达式的结构不合法时。
+     */
+    BitSet select(Operand.Expression expression) {
+        notNull(expression, "The filter expression cannot be null.");
+        Operator op = notNull(expression.op(), "The filter operator cannot be null.");
+        if (op == Operator.AND || op == Operator.OR) {
+            BitSet left = this.select(asExpression(expression.left()));
+            if (op == Operator.AND && left.isEmpty()) {
+                return left;
+            }
+            BitSet right = this.select(asExpression(expression.right()));
+            if (op == Operator.AND) {
+                left.and(right);
+            } else {
+                left.or(right);
+            }
+            return left;
+        }
+        if (!(expression.left() instanceof Operand.Key) || !(expression.right() instanceof Operand.Value)) {
+            throw new IllegalArgumentException(StringUtils.format(
+                    "The filter expression must compare a key with a value. [op={0}]",
+                    op));
+        }
+        String field = ObjectUtils.<Operand.Key>cast(expression.left()).key();
+        Object value = ObjectUtils.<Operand.Value>cast(expression.right()).payload();
+        NavigableMap<Object, BitSet> values = this.fields.getOrDefault(field, Collections.emptyNavigableMap());
+        switch (op) {
+            case EQ:
+                return this.equalTo(values, value);
+            case NE:
+                return this.exclude(field, this.equalTo(values, value));
+            case IN:
+                return this.in(values, value);
+            case NIN:
+                return this.exclude(field, this.in(values, value));
+            case LT:
+                return range(values, value, false, false);
+            case LE:
+                return range(values, value, true, false);
+            case GT:
+                return range(values, value, false, true);
+            case GE:
+                return range(values, value, true, true);
+            case LIKE:
+                return like(values, value);
+            default:
+                throw new IllegalArgumentException(StringUtils.format("Unsupported filter operator. [op={0}]", op));
+        }
+    }
+
+    private BitSet equalTo(NavigableMap<Object, BitSet> values, Object value) {
+        Object normalized = normalize(value);
+        BitSet rows = normalized == null ? null : values.get(normalized);
+        return rows == null ? new BitSet() : (BitSet) rows.clone();
+    }
+
+    private BitSet in(NavigableMap<Object, BitSet> values, Object value) {
+        BitSet result = new BitSet();
+        forEachValue(value, normalized -> {
+            BitSet rows = values.get(normalized);
+            if (rows != null) {
+                result.or(rows);
+            }
+        });
+        return result;
+    }
+
+    private BitSet exclude(String field, BitSet excluded) {
+        BitSet presence = this.presences.get(field);
+        if (presence == null) {
+            return new BitSet();
+        }
+        BitSet result = (BitSet) presence.clone();
+        result.andNot(excluded);
+        return result;
+    }
+
+    private static BitSet range(NavigableMap<Object, BitSet> values, Object value, boolean isInclusive,
+            boolean isAscending) {
+        BitSet result = new BitSet();
+        Object normalized = normalize(value);
+        if (normalized == null || normalized instanceof Boolean) {
+            return result;
+        }
+        int rank = rank(normalized);
+        NavigableMap<Object, BitSet> range = isAscending
+                ? values.tailMap(normalized, isInclusive)
+                : values.headMap(normalized, isInclusive).descendingMap();
+        for (Map.Entry<Object, BitSet> entry : range.entrySet()) {
+            if (rank(entry.getKey()) != rank) {
+                break;
+            }
+            result.or(entry.getValue());
+        }
+        return result;
+    }
+
+    private static BitSet like(NavigableMap<Object, BitSet> values, Object value) {
+        BitSet result = new BitSet();
+        if (!(value instanceof String)) {
+            return result;
+        }
+        String pattern = ObjectUtils.cast(value);
+        int wildcard = indexOfWildcard(pattern);
+        String prefix = pattern.substring(0, wildcard < 0 ? pattern.length() : wildcard);
+        Pattern regex = toRegex(pattern);
+        for (Map.Entry<Object, BitSet> entry : values.tailMap(prefix, true).entrySet()) {
+            if (!(entry.getKey() instanceof String) || !ObjectUtils.<String>cast(entry.getKey()).startsWith(prefix)) {
+                break;
+            }
+            if (regex.matcher(ObjectUtils.<String>cast(entry.getKey())).matches()) {
+                result.or(entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    private static int indexOfWildcard(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            if (pattern.charAt(i) == '%' || pattern.charAt(i) == '_') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Pattern toRegex(String pattern) {
+        StringBuilder regex = new StringBuilder(pattern.length() + 8);
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < pattern.length(); i++) {
+            char ch = pattern.charAt(i);
+            if (ch != '%' && ch != '_') {
+                literal.append(ch);
+                continue;
+            }
+            if (literal.length() > 0) {
+                regex.append(Pattern.quote(literal.toString()));
+                literal.setLength(0);
+            }
+            regex.append(ch == '%' ? ".*" : ".");
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    private static Operand.Expression asExpression(Operand operand) {
+        if (!(operand instanceof Operand.Expression)) {
+            throw new IllegalArgumentException("The operands of AND and OR must be expressions.");
+        }
+        return ObjectUtils.cast(operand);
+    }
+
+    private static void forEachValue(Object value, Consumer<Object> consumer) {
+        if (value instanceof Collection) {
+            for (Object element : ObjectUtils.<Collection<?>>cast(value)) {
+                Object normalized = normalize(element);
+                if (normalized != null) {
+                    consumer.accept(normalized);
+                }
+            }
+            return;
+        }
+        Object normalized = normalize(value);
+        if (normalized != null) {
+            consumer.accept(normalized);
+        }
+    }
+
+    private static Object normalize(Object value) {
+        if (value instanceof String || value instanceof Boolean || value instanceof BigDecimal) {
+            return value;
+        }
+        if (value instanceof Character) {
+            return value.toString();
+        }
+        if (value instanceof Enum) {
+            return ObjectUtils.<Enum<?>>cast(value).name();
+        }
+        if (value instanceof BigInteger) {
+            return new BigDecimal(ObjectUtils.<BigInteger>cast(value));
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double number = ObjectUtils.<Number>cast(value).doubleValue();
+            return Double.isFinite(number) ? BigDecimal.valueOf(number) : null;
+        }
+        if (value instanceof Number) {
+            return BigDecimal.valueOf(ObjectUtils.<Number>cast(value).longValue());
+        }
+        return null;
+    }
+
+    private static int rank(Object value) {
+        if (value instanceof Boolean) {
+            return 0;
+        }
+        return value instanceof BigDecimal ? 1 : 2;
+    }
+
+    /**
+     * 表示某一行加入索引时的一个字段取值。
+     */
+    private static final class IndexedValue {
+        private final String field;
+        private final Object value;
+
+        private IndexedValue(String field, Object value) {
+            this.field = field;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.vectorstore.support;
+
+import java.util.Arrays;
+
+/**
+ * 表示容量为 {@code k} 的最小堆，堆顶为当前保留的相似度最低的行，用于选出相似度最高的 {@code k} 行。
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+final class TopK {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int k;
+    private float[] scores;
+    private int[] rows;
+    private int size;
+
+    /**
+     * 创建 {@link TopK} 的实例。
+     *
+     * @param k 表示保留的最大行数的 {@code int}。
+     */
+    TopK(int k) {
+        this.k = k;
+        this.scores = new float[Math.min(k, INITIAL_CAPACITY)];
+        this.rows = new int[this.scores.length];
+    }
+
+    /**
+     * 获取当前保留的行数。
+     *
+     * @return 表示当前保留的行数的 {@code int}。
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * 获取当前保留的相似度最低的行的相似度。
+     *
+     * @return 表示相似度的 {@code float}。
+     */
+    float peekScore() {
+        return this.scores[0];
+    }
+
+    /**
+     * 获取当前保留的相似度最低的行。
+     *
+     * @return 表示行号的 {@code int}。
+     */
+    int peekRow() {
+        return this.rows[0];
+    }
+
+    /**
+     * 提供一行，当保留的行数未满或其相似度高于当前最低的相似度时保留该行。
+     *
+     * @param score 表示相似度的 {@code float}。
+     * @param row 表示行号的 {@code int}。
+     */
+    void offer(float score, int row) {
+        if (this.size < this.k) {
+            this.ensureCapacity();
+            int index = this.size++;
+            this.scores[index] = score;
+            this.rows[index] = row;
+            this.siftUp(index);
+        } else if (score > this.scores[0]) {
+            this.scores[0] = score;
+            this.rows[0] = row;
+            this.siftDown(0);
+        }
+    }
+
+    /**
+     * 移除当前保留的相似度最低的行。
+     */
+    void poll() {
+        int last = --this.size;
+        this.scores[0] = this.scores[last];
+        this.rows[0] = this.rows[last];
+        this.siftDown(0);
+    }
+
+    /**
+     * 将另一个堆中保留的行合并到当前堆中。
+     *
+     * @param another 表示另一个堆的 {@link TopK}。
+     * @return 表示当前堆的 {@link TopK}。
+     */
+    TopK merge(TopK another) {
+        for (int i = 0; i < another.size; i++) {
+            this.offer(another.scores[i], another.rows[i]);
+        }
+        return this;
+    }
+
+    private void ensureCapacity() {
+        if (this.size < this.scores.length) {
+            return;
+        }
+        int capacity = (int) Math.min((long) this.scores.length * 2, this.k);
+        this.scores = Arrays.copyOf(this.scores, capacity);
+        this.rows = Arrays.copyOf(this.rows, capacity);
+    }
+
+    private void siftUp(int index) {
+        int current = index;
+        while (current > 0) {
+            int parent = (current - 1) >>> 1;
+            if (this.scores[parent] <= this.scores[current]) {
+                return;
+            }
+            this.swap(parent, current);
+            current = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        int current = index;
+        while (true) {
+            int smallest = current;
+            int left = 2 * current + 1;
+            int right = left + 1;
+            if (left < this.size && this.scores[left] < this.scores[smallest]) {
+                smallest = left;
+            }
+            if (right < this.size && this.scores[right] < this.scores[smallest]) {
+                smallest = right;
+            }
+            if (smallest == current) {
+                return;
+            }
+            this.swap(smallest, current);
+            current = smallest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        float score = this.scores[i];
+        this.scores[i] = this.scores[j];
+        this.scores[j] = score;
+        int row = this.rows[i];
+        this.rows[i] = this.rows[j];
+        this.rows[j] = row;
+    }
+}
@@ -0,0 +1,97 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.vectorstore.support;
+
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import java.util.List;
+
+/**
+ * 为向量存储提供基于 {@code float} 数组的向量计算方法。
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+final class Vectors {
+    private Vectors() {}
+
+    /**
+     * 计算两个向量的点积。
+     *
+     * @param x 表示第一个向量所在数组的 {@code float[]}。
+     * @param xOffset 表示第一个向量在数组中起始位置的 {@code int}。
+     * @param y 表示第二个向量所在数组的 {@code float[]}。
+     * @param yOffset 表示第二个向量在数组中起始位置的 {@code int}。
+     * @param length 表示向量维度的 {@code int}。
+     * @return 表示两个向量点积的 {@code float}。
+     */
+    static float dot(float[] x, int xOffset, float[] y, int yOffset, int length) {
+        float sum0 = 0F;
+        float sum1 = 0F;
+        float sum2 = 0F;
+        float sum3 = 0F;
+        int i = 0;
+        for (int bound = length & ~3; i < bound; i += 4) {
+            sum0 += x[xOffset + i] * y[yOffset + i];
+            sum1 += x[xOffset + i + 1] * y[yOffset + i + 1];
+            sum2 += x[xOffset + i + 2] * y[yOffset + i + 2];
+            sum3 += x[xOffset + i + 3] * y[yOffset + i + 3];
+        }
+        for (; i < length; i++) {
+            sum0 += x[xOffset + i] * y[yOffset + i];
+        }
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    /**
+     * 计算向量模长的倒数。
+     * <p>零向量没有方向，约定其模长的倒数为 {@code 0}，使得零向量与任何向量的余弦相似度均为 {@code 0}。</p>
+     *
+     * @param vector 表示向量所在数组的 {@code float[]}。
+     * @param offset 表示向量在数组中起始位置的 {@code int}。
+     * @param length 表示向量维度的 {@code int}。
+     * @return 表示向量模长倒数的 {@code float}。
+     */
+    static float inverseNorm(float[] vector, int offset, int length) {
+        double norm = 0D;
+        for (int i = offset; i < offset + length; i++) {
+            norm += vector[i] * vector[i];
+        }
+        return norm > 0 ? (float) (1D / Math.sqrt(norm)) : 0F;
+    }
+
+    /**
+     * 将向量原地归一化为单位向量。
+     * <p>零向量归一化后仍为零向量。</p>
+     *
+     * @param vector 表示待归一化向量的 {@code float[]}。
+     * @return 表示归一化后向量的 {@code float[]}。
+     */
+    static float[] normalize(float[] vector) {
+        float inverseNorm = inverseNorm(vector, 0, vector.length);
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= inverseNorm;
+        }
+        return vector;
+    }
+
+    /**
+     * 将嵌入向量转换为 {@code float} 数组。
+     *
+     * @param embedding 表示嵌入向量的 {@link List}{@code <}{@link Float}{@code >}。
+     * @return 表示转换后向量的 {@code float[]}。
+     * @throws IllegalArgumentException 当 {@code embedding} 为 {@code null} 时。
+     */
+    static float[] toArray(List<Float> embedding) {
+        notNull(embedding, "The embedding cannot be null.");
+        float[] vector = new float[embedding.size()];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = embedding.get(i);
+        }
+        return vector;
+    }
+}
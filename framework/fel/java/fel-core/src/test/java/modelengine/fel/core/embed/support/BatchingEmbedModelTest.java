@@ -0,0 +1,132 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.embed.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import modelengine.fel.core.embed.EmbedModel;
+import modelengine.fel.core.embed.EmbedOption;
+import modelengine.fel.core.embed.Embedding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * 表示 {@link BatchingEmbedModel} 的单元测试。
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+@DisplayName("测试 BatchingEmbedModel")
+public class BatchingEmbedModelTest {
+    private final EmbedOption option = EmbedOption.custom().model("model").build();
+    private final List<List<String>> calls = new CopyOnWriteArrayList<>();
+    private volatile boolean isFailing;
+    private final EmbedModel embedModel = (inputs, embedOption) -> {
+        this.calls.add(new ArrayList<>(inputs));
+        if (this.isFailing) {
+            throw new IllegalStateException("unavailable");
+        }
+        return inputs.stream().map(BatchingEmbedModelTest::embedding).collect(Collectors.toList());
+    };
+
+    @Test
+    @DisplayName("相同输入只生成一次，再次请求时从缓存中获取")
+    void shouldDeduplicateAndCacheInputs() {
+        BatchingEmbedModel model = new BatchingEmbedModel(this.embedModel,
+                BatchingEmbedOption.custom().maxDelayMillis(0).build());
+        List<Embedding> embeddings = model.generate(Arrays.asList("a", "bb", "a"), this.option);
+        assertThat(embeddings).extracting(Embedding::embedding)
+                .containsExactly(Arrays.asList(1F, 0F), Arrays.asList(2F, 0F), Arrays.asList(1F, 0F));
+        assertThat(model.generate("bb", this.option).embedding()).containsExactly(2F, 0F);
+        assertThat(this.calls).containsExactly(Arrays.asList("a", "bb"));
+
+        EmbedStatistics statistics = model.statistics();
+        assertThat(statistics.requestCount()).isEqualTo(4);
+        assertThat(statistics.hitCount()).isEqualTo(1);
+        assertThat(statistics.coalescedCount()).isEqualTo(1);
+        assertThat(statistics.batchCount()).isEqualTo(1);
+        assertThat(statistics.hitRate()).isEqualTo(0.25);
+    }
+
+    @Test
+    @DisplayName("并发的请求被合并到同一批次中生成")
+    void shouldMergeConcurrentRequestsIntoOneBatch() throws Exception {
+        int threads = 8;
+        BatchingEmbedModel model = new BatchingEmbedModel(this.embedModel,
+                BatchingEmbedOption.custom().maxBatchSize(threads).maxDelayMillis(10_000).build());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Embedding>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                String input = String.join("", Collections.nCopies(i + 1, "x"));
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return model.generate(input, this.option);
+                }));
+            }
+            start.countDown();
+            for (int i = 0; i < threads; i++) {
+                assertThat(futures.get(i).get().embedding()).containsExactly(i + 1F, 0F);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(this.calls).hasSize(1);
+        assertThat(this.calls.get(0)).hasSize(threads);
+        assertThat(model.statistics().maxBatchSize()).isEqualTo(threads);
+    }
+
+    @Test
+    @DisplayName("生成失败时抛出异常，且失败的结果不会被缓存")
+    void shouldNotCacheFailedBatch() {
+        BatchingEmbedModel model = new BatchingEmbedModel(this.embedModel,
+                BatchingEmbedOption.custom().maxDelayMillis(0).build());
+        this.isFailing = true;
+        assertThatThrownBy(() -> model.generate("a", this.option)).isInstanceOf(IllegalStateException.class)
+                .hasMessage("unavailable");
+        this.isFailing = false;
+        assertThat(model.generate("a", this.option).embedding()).containsExactly(1F, 0F);
+        assertThat(this.calls).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("关闭时保存缓存，重新创建后从文件中加载缓存")
+    void shouldReloadPersistedCache(@TempDir Path directory) {
+        BatchingEmbedOption batchingOption =
+                BatchingEmbedOption.custom().maxDelayMillis(0).cacheFile(directory.resolve("embeddings.cache")).build();
+        try (BatchingEmbedModel model = new BatchingEmbedModel(this.embedModel, batchingOption)) {
+            model.generate(Arrays.asList("a", "bb"), this.option);
+        }
+        try (BatchingEmbedModel model = new BatchingEmbedModel(this.embedModel, batchingOption)) {
+            assertThat(model.generate("bb", this.option).embedding()).containsExactly(2F, 0F);
+            model.generate("bb", EmbedOption.custom().model("another").build());
+            assertThat(model.statistics().hitCount()).isEqualTo(1);
+        }
+        assertThat(this.calls).containsExactly(Arrays.asList("a", "bb"), Collections.singletonList("bb"));
+    }
+
+    private static Embedding embedding(String input) {
+        List<Float> embedding = Arrays.asList((float) input.length(), 0F);
+        return () -> embedding;
+    }
+}
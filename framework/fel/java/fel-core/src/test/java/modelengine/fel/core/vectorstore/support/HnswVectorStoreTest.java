@@ -0,0 +1,218 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.vectorstore.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import modelengine.fel.core.document.Document;
+import modelengine.fel.core.document.DocumentEmbedModel;
+import modelengine.fel.core.document.MeasurableDocument;
+import modelengine.fel.core.embed.EmbedModel;
+import modelengine.fel.core.embed.EmbedOption;
+import modelengine.fel.core.embed.Embedding;
+import modelengine.fel.core.embed.support.DefaultDocumentEmbedModel;
+import modelengine.fel.core.retriever.filter.Filter;
+import modelengine.fel.core.vectorstore.SearchOption;
+import modelengine.fel.core.vectorstore.VectorStore;
+import modelengine.fit.serialization.json.jackson.JacksonObjectSerializer;
+import modelengine.fitframework.exception.FitException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 表示 {@link HnswVectorStore} 的单元测试。
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+@DisplayName("测试 HnswVectorStore")
+public class HnswVectorStoreTest {
+    private static final int DIMENSION = 16;
+    private static final int COUNT = 3000;
+
+    private final Map<String, List<Float>> embeddings = new HashMap<>();
+    private DocumentEmbedModel embedModel;
+    private List<Document> documents;
+
+    @BeforeEach
+    void setup() {
+        Random random = new Random(42);
+        this.documents = IntStream.range(0, COUNT).mapToObj(i -> {
+            this.embeddings.put("doc" + i, randomVector(random));
+            return Document.custom()
+                    .id(String.valueOf(i))
+                    .text("doc" + i)
+                    .metadata(Collections.singletonMap("group", i % 100))
+                    .build();
+        }).collect(Collectors.toList());
+        IntStream.range(0, 20).forEach(i -> this.embeddings.put("query" + i, randomVector(random)));
+        EmbedModel model = new EmbedModel() {
+            @Override
+            public List<Embedding> generate(List<String> inputs, EmbedOption option) {
+                return inputs.stream().map(input -> {
+                    List<Float> embedding = HnswVectorStoreTest.this.embeddings.get(input);
+                    return (Embedding) () -> embedding;
+                }).collect(Collectors.toList());
+            }
+        };
+        this.embedModel = new DefaultDocumentEmbedModel(model, EmbedOption.custom().build());
+    }
+
+    @Test
+    @DisplayName("近似检索的召回率不低于 0.9，且结果按相似度降序排列")
+    void shouldReturnMostOfExactNeighbours() {
+        VectorStore exact = new MemoryVectorStore(this.embedModel);
+        VectorStore hnsw = new HnswVectorStore(this.embedModel, HnswOption.custom().m(8).efSearch(32).build());
+        exact.persistent(this.documents);
+        hnsw.persistent(this.documents);
+        SearchOption option = SearchOption.custom().topK(10).build();
+        int hits = 0;
+        for (int i = 0; i < 20; i++) {
+            Set<String> expected = ids(exact.search("query" + i, option));
+            List<MeasurableDocument> actual = hnsw.search("query" + i, option);
+            assertThat(actual).hasSize(10);
+            assertThat(actual).extracting(MeasurableDocument::score)
+                    .isSortedAccordingTo(Collections.reverseOrder());
+            hits += (int) actual.stream().map(MeasurableDocument::id).filter(expected::contains).count();
+        }
+        assertThat(hits / 200D).isGreaterThanOrEqualTo(0.9D);
+    }
+
+    @Test
+    @DisplayName("删除文档后，查询结果中不再包含该文档，删除大部分文档后索引被重建")
+    void shouldNotReturnDeletedDocuments() {
+        VectorStore hnsw = new HnswVectorStore(this.embedModel);
+        hnsw.persistent(this.documents);
+        SearchOption option = SearchOption.custom().topK(5).build();
+        String nearest = hnsw.search("query0", option).get(0).id();
+        hnsw.delete(Collections.singletonList(nearest));
+        assertThat(ids(hnsw.search("query0", option))).hasSize(5).doesNotContain(nearest);
+
+        List<String> removed = IntStream.range(0, COUNT - 3).mapToObj(String::valueOf).collect(Collectors.toList());
+        hnsw.delete(removed);
+        assertThat(ids(hnsw.search("query0", option))).containsExactlyInAnyOrder(String.valueOf(COUNT - 3),
+                String.valueOf(COUNT - 2),
+                String.valueOf(COUNT - 1));
+    }
+
+    @Test
+    @DisplayName("写入相同唯一标识的文档时，替换原有文档")
+    void shouldReplaceDocumentWithSameId() {
+        VectorStore hnsw = new HnswVectorStore(this.embedModel);
+        hnsw.persistent(this.documents.subList(0, 10));
+        hnsw.persistent(Collections.singletonList(Document.custom()
+                .id("1")
+                .text("query0")
+                .metadata(Collections.emptyMap())
+                .build()));
+        List<MeasurableDocument> results = hnsw.search("query0", SearchOption.custom().topK(20).build());
+        assertThat(results).hasSize(10);
+        assertThat(results.get(0).id()).isEqualTo("1");
+        assertThat(results.get(0).text()).isEqualTo("query0");
+    }
+
+    @Test
+    @DisplayName("保存索引到文件后重新加载，查询结果一致")
+    void shouldReturnSameResultAfterSaveAndLoad(@TempDir Path directory) {
+        JacksonObjectSerializer serializer = new JacksonObjectSerializer(null, null, null);
+        HnswVectorStore hnsw = new HnswVectorStore(this.embedModel);
+        hnsw.persistent(this.documents);
+        hnsw.delete(Collections.singletonList("0"));
+        Path file = directory.resolve("index.hnsw");
+        hnsw.save(file, serializer);
+
+        HnswVectorStore resumed = new HnswVectorStore(this.embedModel);
+        resumed.load(file, serializer);
+        SearchOption option = SearchOption.custom().topK(10).build();
+        for (int i = 0; i < 5; i++) {
+            assertThat(resumed.search("query" + i, option)).isEqualTo(hnsw.search("query" + i, option));
+        }
+    }
+
+    @Test
+    @DisplayName("加载损坏的快照文件失败时，保留原有的索引和文档")
+    void shouldKeepContentsWhenLoadCorruptedSnapshot(@TempDir Path directory) throws IOException {
+        JacksonObjectSerializer serializer = new JacksonObjectSerializer(null, null, null);
+        HnswVectorStore hnsw = new HnswVectorStore(this.embedModel);
+        hnsw.persistent(this.documents);
+        Path file = directory.resolve("index.hnsw");
+        hnsw.save(file, serializer);
+        byte[] bytes = Files.readAllBytes(file);
+        Path truncated = directory.resolve("truncated.hnsw");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length / 2));
+
+        HnswVectorStore resumed = new HnswVectorStore(this.embedModel);
+        resumed.persistent(this.documents.subList(0, 10));
+        SearchOption option = SearchOption.custom().topK(5).build();
+        List<MeasurableDocument> expected = resumed.search("query0", option);
+        assertThatThrownBy(() -> resumed.load(truncated, serializer)).isInstanceOf(FitException.class);
+        assertThat(resumed.search("query0", option)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("使用相同的随机种子写入相同的文档时，构建出相同的索引")
+    void shouldBuildSameIndexWithSameSeed(@TempDir Path directory) throws IOException {
+        JacksonObjectSerializer serializer = new JacksonObjectSerializer(null, null, null);
+        Path first = directory.resolve("first.hnsw");
+        Path second = directory.resolve("second.hnsw");
+        HnswVectorStore hnsw = new HnswVectorStore(this.embedModel, HnswOption.custom().seed(7L).build());
+        hnsw.persistent(this.documents);
+        hnsw.save(first, serializer);
+        hnsw = new HnswVectorStore(this.embedModel, HnswOption.custom().seed(7L).build());
+        hnsw.persistent(this.documents);
+        hnsw.save(second, serializer);
+        assertThat(Files.readAllBytes(second)).isEqualTo(Files.readAllBytes(first));
+    }
+
+    @Test
+    @DisplayName("带过滤条件检索时，选择率低的条件返回精确结果，选择率高的条件在图中检索")
+    void shouldReturnOnlyFilteredDocuments() {
+        VectorStore exact = new MemoryVectorStore(this.embedModel);
+        VectorStore hnsw = new HnswVectorStore(this.embedModel, HnswOption.custom().m(8).efSearch(32).build());
+        exact.persistent(this.documents);
+        hnsw.persistent(this.documents);
+        SearchOption selective = SearchOption.custom().topK(10).filter(Filter.eq("group", 7)).build();
+        assertThat(hnsw.search("query0", selective)).extracting(MeasurableDocument::id)
+                .containsExactlyElementsOf(exact.search("query0", selective)
+                        .stream()
+                        .map(MeasurableDocument::id)
+                        .collect(Collectors.toList()));
+
+        SearchOption broad = SearchOption.custom().topK(10).filter(Filter.lt("group", 50)).build();
+        Set<String> expected = ids(exact.search("query0", broad));
+        List<MeasurableDocument> actual = hnsw.search("query0", broad);
+        assertThat(actual).hasSize(10)
+                .allSatisfy(document -> assertThat(Integer.parseInt(document.id()) % 100).isLessThan(50));
+        assertThat(actual.stream().map(MeasurableDocument::id).filter(expected::contains).count())
+                .isGreaterThanOrEqualTo(9L);
+    }
+
+    private static Set<String> ids(List<MeasurableDocument> documents) {
+        return documents.stream().map(MeasurableDocument::id).collect(Collectors.toSet());
+    }
+
+    private static List<Float> randomVector(Random random) {
+        return IntStream.range(0, DIMENSION).mapToObj(i -> (float) random.nextGaussian()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,210 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.vectorstore.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import modelengine.fel.core.document.Document;
+import modelengine.fel.core.document.DocumentEmbedModel;
+import modelengine.fel.core.document.MeasurableDocument;
+import modelengine.fel.core.embed.EmbedModel;
+import modelengine.fel.core.embed.EmbedOption;
+import modelengine.fel.core.embed.Embedding;
+import modelengine.fel.core.embed.support.DefaultDocumentEmbedModel;
+import modelengine.fel.core.retriever.filter.Filter;
+import modelengine.fel.core.vectorstore.SearchOption;
+import modelengine.fel.core.vectorstore.VectorStore;
+import modelengine.fel.core.vectorstore.support.MappedOption.Quantization;
+import modelengine.fit.serialization.json.jackson.JacksonObjectSerializer;
+import modelengine.fitframework.serialization.ObjectSerializer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 表示 {@link MappedVectorStore} 的单元测试。
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+@DisplayName("测试 MappedVectorStore")
+public class MappedVectorStoreTest {
+    private static final int DIMENSION = 16;
+    private static final int COUNT = 1000;
+
+    private final ObjectSerializer serializer = new JacksonObjectSerializer(null, null, null);
+    private final Map<String, List<Float>> embeddings = new HashMap<>();
+    private final SearchOption option = SearchOption.custom().topK(10).build();
+    private DocumentEmbedModel embedModel;
+    private List<Document> documents;
+
+    @TempDir
+    private Path directory;
+
+    @BeforeEach
+    void setup() {
+        Random random = new Random(42);
+        this.documents = IntStream.range(0, COUNT).mapToObj(i -> {
+            this.embeddings.put("doc" + i, randomVector(random));
+            return Document.custom()
+                    .id(String.valueOf(i))
+                    .text("doc" + i)
+                    .metadata(Collections.singletonMap("index", i))
+                    .build();
+        }).collect(Collectors.toList());
+        IntStream.range(0, 10).forEach(i -> this.embeddings.put("query" + i, randomVector(random)));
+        EmbedModel model = new EmbedModel() {
+            @Override
+            public List<Embedding> generate(List<String> inputs, EmbedOption option) {
+                return inputs.stream().map(input -> {
+                    List<Float> embedding = MappedVectorStoreTest.this.embeddings.get(input);
+                    return (Embedding) () -> embedding;
+                }).collect(Collectors.toList());
+            }
+        };
+        this.embedModel = new DefaultDocumentEmbedModel(model, EmbedOption.custom().build());
+    }
+
+    @Test
+    @DisplayName("检索结果与精确检索一致，重新打开存储目录后结果不变")
+    void shouldReturnExactResultAndSurviveReopen() throws IOException {
+        VectorStore exact = new MemoryVectorStore(this.embedModel);
+        exact.persistent(this.documents);
+        MappedOption mappedOption = MappedOption.custom().segmentCapacity(300).build();
+        List<MeasurableDocument> before;
+        try (MappedVectorStore store = this.open(mappedOption)) {
+            store.persistent(this.documents);
+            before = store.search("query0", this.option);
+            assertSameNeighbours(before, exact.search("query0", this.option));
+        }
+        try (MappedVectorStore store = this.open(mappedOption)) {
+            List<MeasurableDocument> after = store.search("query0", this.option);
+            assertThat(after).isEqualTo(before);
+            assertThat(after.get(0).metadata()).containsKey("index");
+        }
+    }
+
+    @Test
+    @DisplayName("量化检索经过重排后，与精确检索的结果一致")
+    void shouldReturnExactResultWithQuantization() throws IOException {
+        VectorStore exact = new MemoryVectorStore(this.embedModel);
+        exact.persistent(this.documents);
+        try (MappedVectorStore store = this.open(MappedOption.custom().quantization(Quantization.INT8).build())) {
+            store.persistent(this.documents);
+            for (int i = 0; i < 10; i++) {
+                assertSameNeighbours(store.search("query" + i, this.option), exact.search("query" + i, this.option));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("删除和覆盖的文档在重新打开后仍然生效，日志末尾不完整的记录被丢弃")
+    void shouldReplayDeletesAndDiscardTornRecord() throws IOException {
+        String nearest;
+        try (MappedVectorStore store = this.open(MappedOption.custom().build())) {
+            store.persistent(this.documents);
+            nearest = store.search("query0", this.option).get(0).id();
+            store.delete(Collections.singletonList(nearest));
+            store.persistent(Collections.singletonList(Document.custom()
+                    .id("1")
+                    .text("query1")
+                    .metadata(Collections.emptyMap())
+                    .build()));
+        }
+        Files.write(this.directory.resolve("documents.log"), new byte[] {0, 0, 1}, StandardOpenOption.APPEND);
+        try (MappedVectorStore store = this.open(MappedOption.custom().build())) {
+            assertThat(store.search("query0", this.option)).extracting(MeasurableDocument::id)
+                    .doesNotContain(nearest);
+            MeasurableDocument replaced = store.search("query1", this.option).get(0);
+            assertThat(replaced.id()).isEqualTo("1");
+            assertThat(replaced.text()).isEqualTo("query1");
+            store.persistent(Collections.singletonList(this.documents.get(Integer.parseInt(nearest))));
+            assertThat(store.search("query0", this.option).get(0).id()).isEqualTo(nearest);
+        }
+    }
+
+    @Test
+    @DisplayName("重新打开后带过滤条件检索，只返回元数据满足条件的文档")
+    void shouldReturnOnlyFilteredDocumentsAfterReopen() throws IOException {
+        VectorStore exact = new MemoryVectorStore(this.embedModel);
+        exact.persistent(this.documents);
+        MappedOption mappedOption = MappedOption.custom().quantization(Quantization.INT8).build();
+        try (MappedVectorStore store = this.open(mappedOption)) {
+            store.persistent(this.documents);
+        }
+        SearchOption filtered = SearchOption.custom().topK(10).filter(Filter.ge("index", 980)).build();
+        try (MappedVectorStore store = this.open(mappedOption)) {
+            assertSameNeighbours(store.search("query0", filtered), exact.search("query0", filtered));
+            store.delete(Collections.singletonList("990"));
+            assertThat(store.search("query0", filtered)).hasSize(10)
+                    .extracting(MeasurableDocument::id)
+                    .doesNotContain("990");
+        }
+    }
+
+    @Test
+    @DisplayName("批次中存在维度不一致的文档时，整个批次不生效，之后的写入和重新打开都不受影响")
+    void shouldRejectWholeBatchWithMixedDimensions() throws IOException {
+        this.embeddings.put("short", Arrays.asList(1F, 2F, 3F));
+        List<MeasurableDocument> before;
+        try (MappedVectorStore store = this.open(MappedOption.custom().build())) {
+            store.persistent(this.documents.subList(0, 100));
+            before = store.search("query0", this.option);
+            List<Document> batch = Arrays.asList(document("0", "query0"), document("bad", "short"));
+            assertThatThrownBy(() -> store.persistent(batch)).isInstanceOf(IllegalArgumentException.class);
+            assertThat(store.search("query0", this.option)).isEqualTo(before);
+
+            store.persistent(Collections.singletonList(document("new", "query1")));
+            MeasurableDocument added = store.search("query1", this.option).get(0);
+            assertThat(added.id()).isEqualTo("new");
+            assertThat(added.text()).isEqualTo("query1");
+        }
+        try (MappedVectorStore store = this.open(MappedOption.custom().build())) {
+            List<MeasurableDocument> after = store.search("query0", SearchOption.custom().topK(200).build());
+            assertThat(after).hasSize(101).extracting(MeasurableDocument::id).doesNotContain("bad");
+            assertThat(after.stream().filter(document -> document.id().equals("0")).findFirst())
+                    .hasValueSatisfying(document -> assertThat(document.text()).isEqualTo("doc0"));
+        }
+    }
+
+    private MappedVectorStore open(MappedOption mappedOption) {
+        return new MappedVectorStore(this.embedModel, this.serializer, this.directory, mappedOption);
+    }
+
+    private static Document document(String id, String text) {
+        return Document.custom().id(id).text(text).metadata(Collections.emptyMap()).build();
+    }
+
+    private static void assertSameNeighbours(List<MeasurableDocument> actual, List<MeasurableDocument> expected) {
+        assertThat(actual).extracting(MeasurableDocument::id)
+                .containsExactlyElementsOf(expected.stream().map(MeasurableDocument::id).collect(Collectors.toList()));
+        for (int i = 0; i < actual.size(); i++) {
+            assertThat(actual.get(i).score()).isCloseTo(expected.get(i).score(), within(1e-5));
+        }
+    }
+
+    private static List<Float> randomVector(Random random) {
+        return IntStream.range(0, DIMENSION).mapToObj(i -> (float) random.nextGaussian()).collect(Collectors.toList());
+    }
+}
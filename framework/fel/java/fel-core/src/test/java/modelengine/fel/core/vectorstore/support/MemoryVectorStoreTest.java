@@ -8,10 +8,15 @@ package modelengine.fel.core.vectorstore.support;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import modelengine.fel.core.document.Document;
 import modelengine.fel.core.document.MeasurableDocument;
+import modelengine.fel.core.embed.EmbedModel;
 import modelengine.fel.core.embed.EmbedOption;
+import modelengine.fel.core.embed.Embedding;
 import modelengine.fel.core.embed.support.DefaultDocumentEmbedModel;
+import modelengine.fel.core.retriever.filter.Filter;
 import modelengine.fel.core.vectorstore.SearchOption;
+import modelengine.fel.core.util.MathUtils;
 import modelengine.fel.core.vectorstore.VectorStore;
 import modelengine.fit.serialization.json.jackson.JacksonObjectSerializer;
 import modelengine.fitframework.serialization.ObjectSerializer;
@@ -23,8 +28,16 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * 表示 {@link MemoryVectorStore} 的单元测试。
@@ -67,4 +80,161 @@ public class MemoryVectorStoreTest {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("删除文档后，查询结果中不再包含该文档")
+    void shouldNotReturnDeletedDocument() {
+        VectorStore vectorStore = new MemoryVectorStore(new DefaultDocumentEmbedModel(new EmbedModelStub(),
+                EmbedOption.custom().build()));
+        List<Document> documents = EmbedModelStub.generateTestDocuments();
+        vectorStore.persistent(documents);
+        List<MeasurableDocument> before = vectorStore.search("test", SearchOption.custom().topK(3).build());
+        vectorStore.delete(Collections.singletonList(before.get(0).id()));
+        List<MeasurableDocument> after = vectorStore.search("test", SearchOption.custom().topK(3).build());
+        assertThat(after).hasSize(2).extracting(MeasurableDocument::id).doesNotContain(before.get(0).id());
+    }
+
+    @Test
+    @DisplayName("并行检索的结果与逐个计算余弦相似度后排序的结果一致")
+    void shouldReturnSameResultAsBruteForce() {
+        Random random = new Random(42);
+        int dimension = 16;
+        List<List<Float>> vectors = IntStream.range(0, 20000)
+                .mapToObj(i -> randomVector(random, dimension))
+                .collect(Collectors.toList());
+        List<Float> query = randomVector(random, dimension);
+        List<List<Float>> embeddings = new ArrayList<>(vectors);
+        embeddings.add(query);
+        EmbedModel embedModel = new EmbedModel() {
+            private int index;
+
+            @Override
+            public List<Embedding> generate(List<String> inputs, EmbedOption option) {
+                return inputs.stream().map(input -> {
+                    List<Float> embedding = embeddings.get(this.index++);
+                    return (Embedding) () -> embedding;
+                }).collect(Collectors.toList());
+            }
+        };
+        VectorStore vectorStore =
+                new MemoryVectorStore(new DefaultDocumentEmbedModel(embedModel, EmbedOption.custom().build()), true);
+        vectorStore.persistent(IntStream.range(0, vectors.size())
+                .mapToObj(i -> Document.custom().id(String.valueOf(i)).text("test" + i).metadata(
+                        Collections.emptyMap()).build())
+                .collect(Collectors.toList()));
+        List<String> expected = IntStream.range(0, vectors.size())
+                .boxed()
+                .sorted(Comparator.comparingDouble(i -> -MathUtils.cosineSimilarity(query, vectors.get(i))))
+                .limit(10)
+                .map(String::valueOf)
+                .collect(Collectors.toList());
+        List<MeasurableDocument> actual = vectorStore.search("query", SearchOption.custom().topK(10).build());
+        assertThat(actual).extracting(MeasurableDocument::id).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("带过滤条件检索时，只返回元数据满足条件的文档")
+    void shouldReturnOnlyFilteredDocuments() {
+        VectorStore vectorStore = new MemoryVectorStore(new DefaultDocumentEmbedModel(new EmbedModelStub(),
+                EmbedOption.custom().build()));
+        vectorStore.persistent(IntStream.range(0, EmbedModelStub.embeddings.size())
+                .mapToObj(i -> Document.custom()
+                        .id(String.valueOf(i))
+                        .text("test" + i)
+                        .metadata(Collections.singletonMap("index", i))
+                        .build())
+                .collect(Collectors.toList()));
+        vectorStore.delete(Collections.singletonList("0"));
+        SearchOption option = SearchOption.custom().topK(3).filter(Filter.ge("index", 1)).build();
+        assertThat(vectorStore.search("test", option)).extracting(MeasurableDocument::id)
+                .containsExactlyInAnyOrder("1", "2");
+        option = SearchOption.custom().topK(3).filter(Filter.eq("index", 2)).build();
+        assertThat(vectorStore.search("test", option)).extracting(MeasurableDocument::id).containsExactly("2");
+    }
+
+    @Test
+    @DisplayName("文档的元数据在写入后被修改时，删除后过滤检索不返回不满足条件的文档")
+    void shouldNotReturnMismatchedDocumentsWhenMetadataChangedAfterPersist() {
+        VectorStore vectorStore = new MemoryVectorStore(new DefaultDocumentEmbedModel(new EmbedModelStub(),
+                EmbedOption.custom().build()));
+        List<Map<String, Object>> metadata = IntStream.range(0, EmbedModelStub.embeddings.size())
+                .mapToObj(i -> new HashMap<String, Object>(Collections.singletonMap("tag", i == 0 ? "a" : "b")))
+                .collect(Collectors.toList());
+        vectorStore.persistent(IntStream.range(0, metadata.size())
+                .mapToObj(i -> Document.custom().id(String.valueOf(i)).text("test" + i).metadata(metadata.get(i))
+                        .build())
+                .collect(Collectors.toList()));
+        metadata.get(0).put("tag", "changed");
+        vectorStore.delete(Collections.singletonList("0"));
+        SearchOption option = SearchOption.custom().topK(3).filter(Filter.eq("tag", "a")).build();
+        assertThat(vectorStore.search("test", option)).isEmpty();
+        option = SearchOption.custom().topK(3).filter(Filter.eq("tag", "b")).build();
+        assertThat(vectorStore.search("test", option)).extracting(MeasurableDocument::id)
+                .containsExactlyInAnyOrder("1", "2");
+    }
+
+    @Test
+    @DisplayName("文档或查询的嵌入向量为零向量时，相似度为 0")
+    void shouldScoreZeroWhenEmbeddingIsZeroVector() {
+        List<Float> zero = Arrays.asList(0F, 0F, 0F);
+        List<List<Float>> embeddings = Arrays.asList(Arrays.asList(1F, 0F, 0F), zero, Arrays.asList(1F, 0F, 0F), zero);
+        EmbedModel embedModel = new EmbedModel() {
+            private int index;
+
+            @Override
+            public List<Embedding> generate(List<String> inputs, EmbedOption option) {
+                return inputs.stream().map(input -> {
+                    List<Float> embedding = embeddings.get(this.index++);
+                    return (Embedding) () -> embedding;
+                }).collect(Collectors.toList());
+            }
+        };
+        VectorStore vectorStore =
+                new MemoryVectorStore(new DefaultDocumentEmbedModel(embedModel, EmbedOption.custom().build()));
+        vectorStore.persistent(IntStream.range(0, 2)
+                .mapToObj(i -> Document.custom().id(String.valueOf(i)).text("test" + i).metadata(
+                        Collections.emptyMap()).build())
+                .collect(Collectors.toList()));
+        List<MeasurableDocument> actual = vectorStore.search("query", SearchOption.custom().topK(2).build());
+        assertThat(actual).extracting(MeasurableDocument::id).containsExactly("0", "1");
+        assertThat(actual).extracting(MeasurableDocument::score).containsExactly(1D, 0D);
+        actual = vectorStore.search("zero", SearchOption.custom().topK(2).build());
+        assertThat(actual).extracting(MeasurableDocument::score).containsExactly(0D, 0D);
+    }
+
+    @Test
+    @DisplayName("删除所有文档后，可以写入维度更大的文档")
+    void shouldAcceptLargerDimensionAfterDeletingAllDocuments() {
+        List<Float> larger = IntStream.range(0, 64).mapToObj(i -> 1F).collect(Collectors.toList());
+        List<List<Float>> embeddings = Arrays.asList(Arrays.asList(1F, 0F), Arrays.asList(0F, 1F), larger, larger);
+        EmbedModel embedModel = new EmbedModel() {
+            private int index;
+
+            @Override
+            public List<Embedding> generate(List<String> inputs, EmbedOption option) {
+                return inputs.stream().map(input -> {
+                    List<Float> embedding = embeddings.get(this.index++);
+                    return (Embedding) () -> embedding;
+                }).collect(Collectors.toList());
+            }
+        };
+        VectorStore vectorStore =
+                new MemoryVectorStore(new DefaultDocumentEmbedModel(embedModel, EmbedOption.custom().build()));
+        vectorStore.persistent(IntStream.range(0, 2)
+                .mapToObj(i -> Document.custom().id(String.valueOf(i)).text("test" + i).metadata(
+                        Collections.emptyMap()).build())
+                .collect(Collectors.toList()));
+        vectorStore.delete(Arrays.asList("0", "1"));
+        vectorStore.persistent(Collections.singletonList(Document.custom().id("2").text("test2").metadata(
+                Collections.emptyMap()).build()));
+        List<MeasurableDocument> actual = vectorStore.search("query", SearchOption.custom().topK(2).build());
+        assertThat(actual).extracting(MeasurableDocument::id).containsExactly("2");
+        assertThat(actual).extracting(MeasurableDocument::score).containsExactly(1D);
+    }
+
+    private static List<Float> randomVector(Random random, int dimension) {
+        return IntStream.range(0, dimension)
+                .mapToObj(i -> (float) random.nextGaussian())
+                .collect(Collectors.toList());
+    }
+}
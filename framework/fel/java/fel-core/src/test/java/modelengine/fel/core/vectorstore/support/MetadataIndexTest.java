@@ -0,0 +1,122 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fel.core.vectorstore.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import modelengine.fel.core.retriever.filter.Filter;
+import modelengine.fel.core.retriever.filter.Operand;
+import modelengine.fel.core.retriever.filter.Operator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 表示 {@link MetadataIndex} 的单元测试。
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+@DisplayName("测试 MetadataIndex")
+public class MetadataIndexTest {
+    private MetadataIndex index;
+
+    @BeforeEach
+    void setup() {
+        this.index = new MetadataIndex();
+        this.index.add(0, metadata("china", 2020, Arrays.asList("news", "tech")));
+        this.index.add(1, metadata("france", 2021.5D, Arrays.asList("news")));
+        this.index.add(2, metadata("chile", 2023L, Arrays.asList("sport")));
+        this.index.add(3, new HashMap<>());
+    }
+
+    @Test
+    @DisplayName("等于、不等于、包含和不包含只匹配存在该字段的文档，数字按数值比较")
+    void shouldSelectByEquality() {
+        assertThat(this.select(Filter.eq("country", "china"))).containsExactly(0);
+        assertThat(this.select(Filter.eq("year", 2020.0D))).containsExactly(0);
+        assertThat(this.select(Filter.ne("country", "china"))).containsExactly(1, 2);
+        assertThat(this.select(Filter.in("tags", Arrays.asList("tech", "sport")))).containsExactly(0, 2);
+        assertThat(this.select(Filter.notIn("country", Arrays.asList("china", "chile")))).containsExactly(1);
+        assertThat(this.select(Filter.eq("absent", 1))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("范围比较只匹配相同类型的取值")
+    void shouldSelectByRange() {
+        assertThat(this.select(Filter.gt("year", 2020))).containsExactly(1, 2);
+        assertThat(this.select(Filter.ge("year", 2020))).containsExactly(0, 1, 2);
+        assertThat(this.select(Filter.lt("year", 2021.5D))).containsExactly(0);
+        assertThat(this.select(Filter.le("year", 2021.5D))).containsExactly(0, 1);
+        assertThat(this.select(Filter.gt("country", "china"))).containsExactly(1);
+        assertThat(this.select(Filter.lt("year", "2022"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("模糊匹配支持百分号和下划线通配符")
+    void shouldSelectByLike() {
+        assertThat(this.select(Filter.like("country", "ch%"))).containsExactly(0, 2);
+        assertThat(this.select(Filter.like("country", "ch_le"))).containsExactly(2);
+        assertThat(this.select(Filter.like("country", "%an%"))).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("组合条件按与和或求值，移除后不再匹配")
+    void shouldSelectByCompositeAndRemove() {
+        assertThat(this.select(Filter.eq("tags", "news").and(Filter.gt("year", 2020)))).containsExactly(1);
+        assertThat(this.select(Filter.eq("country", "chile").or(Filter.eq("tags", "tech")))).containsExactly(0, 2);
+        this.index.remove(0);
+        assertThat(this.select(Filter.eq("tags", "news"))).containsExactly(1);
+        assertThat(this.select(Filter.ne("country", "france"))).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("元数据在加入索引后被修改时，移除和移动使用加入索引时的取值")
+    void shouldRemoveIndexedValuesWhenMetadataChanged() {
+        Map<String, Object> metadata = metadata("japan", 2024, Arrays.asList("travel"));
+        this.index.add(4, metadata);
+        metadata.put("country", "korea");
+        metadata.put("tags", Arrays.asList("food"));
+        this.index.remove(4);
+        assertThat(this.select(Filter.eq("country", "japan"))).isEmpty();
+        assertThat(this.select(Filter.eq("tags", "travel"))).isEmpty();
+
+        this.index.move(2, 4);
+        assertThat(this.select(Filter.eq("country", "chile"))).containsExactly(4);
+        assertThat(this.select(Filter.ne("country", "china"))).containsExactly(1, 4);
+        this.index.remove(4);
+        assertThat(this.select(Filter.eq("tags", "sport"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("比较表达式的左操作数不是键时，抛出异常")
+    void shouldFailWhenExpressionIsMalformed() {
+        Operand.Expression expression =
+                Operand.expression(Operator.EQ, Operand.value("country"), Operand.value("china"));
+        assertThatThrownBy(() -> this.index.select(expression)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<Integer> select(Filter filter) {
+        return this.index.select(filter.expression()).stream().boxed().collect(Collectors.toList());
+    }
+
+    private static Map<String, Object> metadata(String country, Number year, List<String> tags) {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("country", country);
+        metadata.put("year", year);
+        metadata.put("tags", tags);
+        return metadata;
+    }
+}
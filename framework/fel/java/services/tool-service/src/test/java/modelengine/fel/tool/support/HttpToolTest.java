@@ -19,6 +19,7 @@ import modelengine.fel.tool.support.entity.Address;
 import modelengine.fel.tool.support.entity.Education;
 import modelengine.fit.http.client.HttpClassicClientFactory;
 import modelengine.fit.http.client.okhttp.OkHttpClassicClientFactory;
+import modelengine.fit.http.client.okhttp.OkHttpClientPool;
 import modelengine.fit.serialization.json.jackson.JacksonObjectSerializer;
 import modelengine.fit.value.fastjson.FastJsonValueHandler;
 import modelengine.fitframework.serialization.ObjectSerializer;
@@ -118,7 +119,7 @@ public class HttpToolTest {
                 MapBuilder.<String, ObjectSerializer>get().put("json", jsonSerializer).build();
         ValueFetcher valueFetcher = new FastJsonValueHandler();
         HttpClassicClientFactory httpClassicClientFactory =
-                new OkHttpClassicClientFactory(serializers, valueFetcher, 1);
+                new OkHttpClassicClientFactory(serializers, valueFetcher, OkHttpClientPool.create(), 1);
         ToolFactory factory = ToolFactory.http(httpClassicClientFactory, jsonSerializer, valueFetcher);
         Tool.Metadata toolMetadata = Tool.Metadata.fromSchema(DEFINITION_GROUP_NAME, info.schema());
         return factory.create(info, toolMetadata);
@@ -13,6 +13,7 @@ import modelengine.fit.http.client.HttpClassicClient;
 import modelengine.fit.http.client.HttpClassicClientFactory;
 import modelengine.fit.http.client.HttpClassicClientResponse;
 import modelengine.fit.http.client.okhttp.OkHttpClassicClientFactory;
+import modelengine.fit.http.client.okhttp.OkHttpClientPool;
 import modelengine.fit.http.client.proxy.Authorization;
 import modelengine.fit.http.client.proxy.DestinationSetter;
 import modelengine.fit.http.client.proxy.PropertyValueApplier;
@@ -194,7 +195,7 @@ public class HttpClientTest {
                 MapBuilder.<String, ObjectSerializer>get().put("json", jsonSerializer).build();
         ValueFetcher valueFetcher = new FastJsonValueHandler();
         HttpClassicClientFactory httpClassicClientFactory =
-                new OkHttpClassicClientFactory(serializers, valueFetcher, 1);
+                new OkHttpClassicClientFactory(serializers, valueFetcher, OkHttpClientPool.create(), 1);
         return httpClassicClientFactory.create();
     }
 
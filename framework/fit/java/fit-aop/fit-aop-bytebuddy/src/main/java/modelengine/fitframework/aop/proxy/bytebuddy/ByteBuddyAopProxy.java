@@ -0,0 +1,116 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.aop.proxy.bytebuddy;
+
+import modelengine.fitframework.aop.interceptor.MethodInvocation;
+import modelengine.fitframework.aop.proxy.InterceptSupport;
+import modelengine.fitframework.aop.proxy.support.AbstractAopProxy;
+import modelengine.fitframework.exception.MethodInvocationException;
+import modelengine.fitframework.util.ReflectionUtils;
+
+import net.bytebuddy.implementation.bind.annotation.AllArguments;
+import net.bytebuddy.implementation.bind.annotation.Origin;
+import net.bytebuddy.implementation.bind.annotation.RuntimeType;
+import net.bytebuddy.implementation.bind.annotation.This;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 表示 ByteBuddy 生成的代理类所使用的 AOP 代理。
+ * <p>每个代理对象持有一个 {@link ByteBuddyAopProxy}，生成的代理类中：</p>
+ * <ul>
+ *     <li>没有方法拦截器的方法，通过 {@link #target()} 获取被代理对象后直接调用，不需要将参数包装成数组；</li>
+ *     <li>存在方法拦截器的方法，委托给 {@link #intercept(Object, Method, Object[])} 执行方法拦截器链，
+ *     方法拦截器链的最后通过 {@link MethodHandle} 调用被代理对象。</li>
+ * </ul>
+ * <p>由于生成的代理类需要访问该类型，因此该类型及上述方法必须为公开的。</p>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+public class ByteBuddyAopProxy extends AbstractAopProxy {
+    private static final String TO_STRING = "toString";
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private final Map<Method, MethodHandle> invokers;
+
+    /**
+     * 使用拦截支持信息实例化 {@link ByteBuddyAopProxy}。
+     *
+     * @param support 表示拦截支持信息的 {@link InterceptSupport}。
+     * @param invokers 表示同一个代理类的所有代理对象共享的被代理方法调用程序缓存的
+     * {@link Map}{@code <}{@link Method}{@code , }{@link MethodHandle}{@code >}。
+     */
+    ByteBuddyAopProxy(InterceptSupport support, Map<Method, MethodHandle> invokers) {
+        super(support);
+        this.invokers = invokers;
+    }
+
+    /**
+     * 获取被代理对象，供生成的代理类直接调用没有方法拦截器的方法。
+     *
+     * @return 表示被代理对象的 {@link Object}。
+     */
+    public Object target() {
+        return this.getTarget();
+    }
+
+    /**
+     * 执行存在方法拦截器的方法，供生成的代理类委托调用。
+     *
+     * @param proxy 表示代理对象的 {@link Object}。
+     * @param method 表示调用方法的 {@link Method}。
+     * @param args 表示调用参数的 {@link Object}{@code []}。
+     * @return 表示调用后返回值的 {@link Object}。
+     * @throws Throwable 当调用过程发生异常时。
+     */
+    @RuntimeType
+    public Object intercept(@This Object proxy, @Origin Method method, @AllArguments Object[] args)
+            throws Throwable {
+        return this.invoke(proxy, method, args, this::invokeProxied);
+    }
+
+    private Object invokeProxied(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        Object target = invocation.getTarget();
+        if (target == null && isToString(method)) {
+            return "$fit$" + this.getTargetClass().getName() + "#" + TO_STRING + "()";
+        }
+        MethodHandle invoker = this.invokers.computeIfAbsent(method, ByteBuddyAopProxy::unreflect);
+        if (invoker != null) {
+            return invoker.invokeExact(target, invocation.getArguments());
+        }
+        try {
+            return ReflectionUtils.invoke(target, method, invocation.getArguments());
+        } catch (MethodInvocationException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static MethodHandle unreflect(Method method) {
+        try {
+            method.setAccessible(true);
+            return MethodHandles.lookup()
+                    .unreflect(method)
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(INVOKER_TYPE);
+        } catch (RuntimeException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static boolean isToString(Method method) {
+        return !Modifier.isStatic(method.getModifiers()) && Objects.equals(method.getName(), TO_STRING)
+                && method.getParameterCount() == 0;
+    }
+}
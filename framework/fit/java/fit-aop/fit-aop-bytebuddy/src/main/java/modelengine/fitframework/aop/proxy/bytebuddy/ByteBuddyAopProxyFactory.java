@@ -9,24 +9,38 @@ package modelengine.fitframework.aop.proxy.bytebuddy;
 import static modelengine.fitframework.annotation.Order.HIGH;
 
 import modelengine.fitframework.annotation.Order;
+import modelengine.fitframework.aop.interceptor.MethodInterceptor;
 import modelengine.fitframework.aop.proxy.AopProxyFactory;
 import modelengine.fitframework.aop.proxy.FitProxy;
 import modelengine.fitframework.aop.proxy.InterceptSupport;
-import modelengine.fitframework.aop.proxy.support.JdkDynamicProxy;
 import modelengine.fitframework.aop.util.ClassLoaderUtils;
 import modelengine.fitframework.beans.support.ReflectionFactoryInstantiator;
 
 import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.modifier.Visibility;
 import net.bytebuddy.dynamic.loading.ClassLoadingStrategy.Default;
-import net.bytebuddy.implementation.InvocationHandlerAdapter;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.matcher.ElementMatchers;
 import net.bytebuddy.utility.RandomString;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 表示使用 ByteBuddy 技术实现的 {@link AopProxyFactory}。
+ * <p>生成的代理类中，没有方法拦截器的方法直接调用被代理对象的同名方法，存在方法拦截器的方法委托给
+ * {@link ByteBuddyAopProxy} 执行方法拦截器链。因此，代理类按照被代理的类型以及存在方法拦截器的方法集合进行缓存，
+ * 每个代理对象持有各自的 {@link ByteBuddyAopProxy}。</p>
  *
  * @author 詹高扬
  * @author 季聿阶
@@ -34,10 +48,22 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 @Order(HIGH)
 public class ByteBuddyAopProxyFactory implements AopProxyFactory {
+    private static final String PROXY_FIELD = "$fit$proxy";
+    private static final Method TARGET_METHOD;
+
+    static {
+        try {
+            TARGET_METHOD = ByteBuddyAopProxy.class.getDeclaredMethod("target");
+        } catch (NoSuchMethodException e) {
+            // 必然存在指定方法，因此该分支不会走到。
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
-     * 缓存已经代理过的类对象，键表示被代理的类对象，值表示对应代理类对象
+     * 缓存已经代理过的类对象，键表示被代理的类对象及其存在方法拦截器的方法集合，值表示对应代理类对象
      */
-    private final Map<Class<?>, Class<?>> cache = new ConcurrentHashMap<>();
+    private final Map<ProxyKey, ProxiedClass> cache = new ConcurrentHashMap<>();
 
     @Override
     public boolean support(Class<?> targetClass) {
@@ -46,23 +72,119 @@ public class ByteBuddyAopProxyFactory implements AopProxyFactory {
 
     @Override
     public Object createProxy(InterceptSupport support) {
-        Class<?> proxiedClass =
-                this.cache.computeIfAbsent(support.getTargetClass(), key -> this.generateProxiedClass(support));
-        ReflectionFactoryInstantiator<?> instantiator = new ReflectionFactoryInstantiator<>(proxiedClass);
-        return instantiator.newInstance();
+        ProxyKey key = new ProxyKey(support.getTargetClass(), interceptedMethods(support));
+        ProxiedClass proxiedClass = this.cache.computeIfAbsent(key, this::generateProxiedClass);
+        return proxiedClass.newInstance(support);
     }
 
-    private Class<?> generateProxiedClass(InterceptSupport support) {
-        ClassLoader classLoader = ClassLoaderUtils.getCommonChildClassLoader(support.getTargetClass(), FitProxy.class)
+    private static Set<Method> interceptedMethods(InterceptSupport support) {
+        Set<Method> methods = new HashSet<>();
+        for (MethodInterceptor interceptor : support.getMethodInterceptors()) {
+            if (interceptor != null) {
+                methods.addAll(interceptor.getPointCut().methods());
+            }
+        }
+        return methods;
+    }
+
+    private ProxiedClass generateProxiedClass(ProxyKey key) {
+        ClassLoader classLoader = ClassLoaderUtils.getCommonChildClassLoader(key.targetClass, ByteBuddyAopProxy.class)
                 .orElseThrow(() -> new IllegalStateException(
                         "Failed to get common child class loader when generate proxied class by bytebuddy."));
-        return new ByteBuddy().subclass(support.getTargetClass())
+        Class<?> generated = new ByteBuddy().subclass(key.targetClass)
                 .implement(FitProxy.class)
-                .name(support.getTargetClass().getName() + "$$Fit$ByteBuddy$$" + RandomString.make(8))
+                .name(key.targetClass.getName() + "$$Fit$ByteBuddy$$" + RandomString.make(8))
+                .defineField(PROXY_FIELD, ByteBuddyAopProxy.class, Visibility.PRIVATE)
                 .method(ElementMatchers.isMethod())
-                .intercept(InvocationHandlerAdapter.of(new JdkDynamicProxy(support)))
+                .intercept(MethodCall.invokeSelf()
+                        .onMethodCall(MethodCall.invoke(TARGET_METHOD).onField(PROXY_FIELD))
+                        .withAllArguments()
+                        .withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC))
+                .method(dispatchedMethods(key.interceptedMethods))
+                .intercept(MethodDelegation.withDefaultConfiguration()
+                        .filter(ElementMatchers.named("intercept"))
+                        .toField(PROXY_FIELD))
                 .make()
                 .load(classLoader, Default.INJECTION)
                 .getLoaded();
+        return new ProxiedClass(generated);
+    }
+
+    /**
+     * 获取需要委托给 {@link ByteBuddyAopProxy} 执行的方法。
+     * <p>包括存在方法拦截器的方法，{@link FitProxy} 中定义的方法，以及 {@link Object} 中定义的方法。其中
+     * {@link Object} 中定义的方法在被代理对象不存在时需要特殊处理，因此不能直接调用。</p>
+     *
+     * @param interceptedMethods 表示存在方法拦截器的方法集合的 {@link Set}{@code <}{@link Method}{@code >}。
+     * @return 表示需要委托的方法的匹配器的 {@link ElementMatcher}{@code <}{@link MethodDescription}{@code >}。
+     */
+    private static ElementMatcher<MethodDescription> dispatchedMethods(Set<Method> interceptedMethods) {
+        ElementMatcher.Junction<MethodDescription> matcher =
+                ElementMatchers.isDeclaredBy(Object.class).or(ElementMatchers.isDeclaredBy(FitProxy.class));
+        for (Method method : interceptedMethods) {
+            matcher = matcher.or(ElementMatchers.is(method));
+        }
+        return matcher;
+    }
+
+    /**
+     * 表示代理类的缓存键。
+     */
+    private static final class ProxyKey {
+        private final Class<?> targetClass;
+        private final Set<Method> interceptedMethods;
+
+        private ProxyKey(Class<?> targetClass, Set<Method> interceptedMethods) {
+            this.targetClass = targetClass;
+            this.interceptedMethods = interceptedMethods;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || this.getClass() != obj.getClass()) {
+                return false;
+            }
+            ProxyKey another = (ProxyKey) obj;
+            return this.targetClass == another.targetClass
+                    && Objects.equals(this.interceptedMethods, another.interceptedMethods);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.targetClass, this.interceptedMethods);
+        }
+    }
+
+    /**
+     * 表示生成的代理类，以及同一个代理类的所有代理对象共享的信息。
+     */
+    private static final class ProxiedClass {
+        private final ReflectionFactoryInstantiator<?> instantiator;
+        private final Field proxyField;
+        private final Map<Method, MethodHandle> invokers = new ConcurrentHashMap<>();
+
+        private ProxiedClass(Class<?> generated) {
+            this.instantiator = new ReflectionFactoryInstantiator<>(generated);
+            try {
+                this.proxyField = generated.getDeclaredField(PROXY_FIELD);
+                this.proxyField.setAccessible(true);
+            } catch (NoSuchFieldException e) {
+                // 代理类中必然存在指定属性，因此该分支不会走到。
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private Object newInstance(InterceptSupport support) {
+            Object proxy = this.instantiator.newInstance();
+            try {
+                this.proxyField.set(proxy, new ByteBuddyAopProxy(support, this.invokers));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+            return proxy;
+        }
     }
 }
@@ -17,6 +17,7 @@ import modelengine.fitframework.aop.interceptor.MethodMatcher;
 import modelengine.fitframework.aop.interceptor.support.AfterInterceptor;
 import modelengine.fitframework.aop.interceptor.support.BeforeInterceptor;
 import modelengine.fitframework.aop.proxy.AopProxyFactory;
+import modelengine.fitframework.aop.proxy.FitProxy;
 import modelengine.fitframework.aop.proxy.InterceptSupport;
 import modelengine.fitframework.aop.proxy.support.DefaultInterceptSupport;
 import modelengine.fitframework.inspection.Nonnull;
@@ -51,6 +52,22 @@ public class ByteBuddyAopProxyFactoryTest {
         assertThat(proxy1.getClass()).isEqualTo(proxy2.getClass());
     }
 
+    @Test
+    @DisplayName("当使用 bytebuddy 创建相同类的两个代理时，两个代理分别调用各自的被代理对象")
+    void shouldInvokeOwnTargetWhenGivenSameClass() {
+        AopProxyFactory aopProxyFactory = new ByteBuddyAopProxyFactory();
+        Original proxy1 = ObjectUtils.cast(aopProxyFactory.createProxy(new DefaultInterceptSupport(Original.class,
+                () -> new Original("first"),
+                Collections.emptyList())));
+        Original proxy2 = ObjectUtils.cast(aopProxyFactory.createProxy(new DefaultInterceptSupport(Original.class,
+                () -> new Original("second"),
+                Collections.emptyList())));
+        assertThat(proxy1.getClass()).isEqualTo(proxy2.getClass());
+        assertThat(proxy1.getName()).isEqualTo("first");
+        assertThat(proxy2.getName()).isEqualTo("second");
+        assertThat(ObjectUtils.<FitProxy>cast(proxy1).$fit$getActualClass()).isEqualTo(Original.class);
+    }
+
     @Nested
     @DisplayName("当父类没有无参构造方法时")
     class GivenParentClassHasNotNoArgConstructor {
@@ -14,15 +14,31 @@ import modelengine.fitframework.inspection.Nonnull;
 import modelengine.fitframework.inspection.Nullable;
 import modelengine.fitframework.ioc.BeanContainer;
 
+import java.lang.reflect.Method;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 表示 {@link Cacheable} 的方法拦截器。
+ * <p>缓存未命中时，同一个键的并发调用只会执行一次被拦截的方法：</p>
+ * <ul>
+ *     <li>对于同步方法，依次通过每个缓存实例的 {@link Cache#get(Object, Cache.Loader)} 原子地获取或加载缓存值，
+ *     前一个缓存实例未命中时从后一个缓存实例加载，都未命中时执行被拦截的方法，结果依次存入所有缓存实例；</li>
+ *     <li>对于返回 {@link CompletionStage} 或 {@link CompletableFuture} 的方法，缓存的是异步结果的值，命中时返回已完成的
+ *     {@link CompletableFuture}，未命中时不阻塞等待，而是在异步结果正常完成后再存入缓存，期间相同键的调用共享同一个异步结果。</li>
+ * </ul>
  *
  * @author 季聿阶
  * @since 2022-12-12
  */
 public class CacheableInterceptor extends AbstractCacheInterceptor {
+    private static final Object ABSENT = new Object();
+
+    private final Map<CacheKey, CompletableFuture<Object>> asyncLoadings = new ConcurrentHashMap<>();
+
     /**
      * 使用指定的容器、键生成器和缓存名称列表初始化 {@link CacheableInterceptor} 的新实例。
      *
@@ -40,13 +56,86 @@ public class CacheableInterceptor extends AbstractCacheInterceptor {
         MethodInvocation invocation = methodJoinPoint.getProxiedInvocation();
         CacheKey key = this.getKeyGenerator()
                 .generate(invocation.getTarget(), invocation.getMethod(), invocation.getArguments());
-        for (Cache instance : this.getCacheInstances()) {
-            if (instance.contains(key)) {
-                return instance.get(key);
+        List<Cache> instances = this.getCacheInstances();
+        if (instances.isEmpty()) {
+            return methodJoinPoint.proceed();
+        }
+        if (isAsync(invocation.getMethod())) {
+            return this.interceptAsync(methodJoinPoint, key, instances);
+        }
+        return this.loadFromOthers(methodJoinPoint, key, instances, 0);
+    }
+
+    private static boolean isAsync(Method method) {
+        Class<?> returnType = method.getReturnType();
+        return CompletionStage.class.isAssignableFrom(returnType)
+                && returnType.isAssignableFrom(CompletableFuture.class);
+    }
+
+    private Object loadFromOthers(MethodJoinPoint methodJoinPoint, CacheKey key, List<Cache> instances, int index)
+            throws Throwable {
+        if (index == instances.size()) {
+            return methodJoinPoint.proceed();
+        }
+        return instances.get(index).get(key, () -> this.loadFromOthers(methodJoinPoint, key, instances, index + 1));
+    }
+
+    /**
+     * 通过一次 {@link Cache#get(Object)} 查找缓存值，只有获取到 {@code null} 时才判断缓存中是否存在该键，
+     * 以区分缓存的 {@code null} 值和缓存未命中。
+     *
+     * @param instance 表示缓存实例的 {@link Cache}。
+     * @param key 表示缓存键的 {@link CacheKey}。
+     * @return 表示缓存值的 {@link Object}，缓存未命中时为 {@link #ABSENT}。
+     */
+    private static Object lookup(Cache instance, CacheKey key) {
+        Object value = instance.get(key);
+        if (value == null && !instance.contains(key)) {
+            return ABSENT;
+        }
+        return value;
+    }
+
+    private Object interceptAsync(MethodJoinPoint methodJoinPoint, CacheKey key, List<Cache> instances)
+            throws Throwable {
+        for (Cache instance : instances) {
+            Object value = lookup(instance, key);
+            if (value != ABSENT) {
+                return CompletableFuture.completedFuture(value);
             }
         }
-        Object result = methodJoinPoint.proceed();
-        this.getCacheInstances().forEach(instance -> instance.put(key, result));
+        CompletableFuture<Object> loading = new CompletableFuture<>();
+        CompletableFuture<Object> existing = this.asyncLoadings.putIfAbsent(key, loading);
+        if (existing != null) {
+            return existing.copy();
+        }
+        CompletionStage<?> result;
+        try {
+            result = (CompletionStage<?>) methodJoinPoint.proceed();
+        } catch (Throwable cause) {
+            this.asyncLoadings.remove(key, loading);
+            loading.completeExceptionally(cause);
+            throw cause;
+        }
+        if (result == null) {
+            this.asyncLoadings.remove(key, loading);
+            loading.complete(null);
+            return null;
+        }
+        result.whenComplete((value, cause) -> {
+            try {
+                if (cause == null) {
+                    instances.forEach(instance -> instance.put(key, value));
+                    loading.complete(value);
+                } else {
+                    loading.completeExceptionally(cause);
+                }
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e);
+            } finally {
+                this.asyncLoadings.remove(key, loading);
+            }
+        });
         return result;
     }
 }
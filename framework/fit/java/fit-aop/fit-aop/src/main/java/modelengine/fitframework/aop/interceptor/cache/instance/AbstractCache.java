@@ -10,19 +10,33 @@ import static modelengine.fitframework.inspection.Validation.notBlank;
 import static modelengine.fitframework.inspection.Validation.notNull;
 
 import modelengine.fitframework.cache.Cache;
+import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.util.StringUtils;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * 表示 {@link Cache} 的抽象实现。
+ * <p>{@link #get(Object, Loader)} 保证同一个键同时只有一个加载器在执行，其他并发获取该键的调用等待该加载结果。
+ * 当实现类通过 {@link #shouldRefresh(Object)} 指示缓存项需要提前刷新时，命中的调用直接返回当前值，
+ * 同时在 {@link #refreshExecutor()} 中异步重新加载该缓存项。</p>
  *
  * @author 季聿阶
  * @since 2022-12-15
  */
 public abstract class AbstractCache implements Cache {
+    private static final Logger log = Logger.get(AbstractCache.class);
+
     private final String name;
     private final boolean allowsNullValue;
+    private final Map<Object, CompletableFuture<Object>> loadings = new ConcurrentHashMap<>();
 
     /**
      * 使用指定的名称和空值允许标志初始化 {@link AbstractCache} 的新实例。
@@ -68,6 +82,100 @@ public abstract class AbstractCache implements Cache {
         this.store(key, this.toStoreValue(value));
     }
 
+    @Override
+    public Object get(Object key, Loader loader) throws Throwable {
+        notNull(key, "The cache key cannot be null.");
+        notNull(loader, "The cache loader cannot be null.");
+        Object storeValue = this.load(key);
+        if (storeValue != null) {
+            if (this.shouldRefresh(key)) {
+                this.refresh(key, loader);
+            }
+            return this.fromStoreValue(storeValue);
+        }
+        CompletableFuture<Object> loading = new CompletableFuture<>();
+        CompletableFuture<Object> existing = this.loadings.putIfAbsent(key, loading);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            // 上一次加载可能在本次读取缓存之后、放入加载标记之前完成，需要再次读取以避免重复加载。
+            storeValue = this.peek(key);
+            if (storeValue != null) {
+                Object value = this.fromStoreValue(storeValue);
+                loading.complete(value);
+                return value;
+            }
+            Object value = loader.load();
+            this.put(key, value);
+            loading.complete(value);
+            return value;
+        } catch (Throwable cause) {
+            loading.completeExceptionally(cause);
+            throw cause;
+        } finally {
+            this.loadings.remove(key, loading);
+        }
+    }
+
+    private void refresh(Object key, Loader loader) {
+        CompletableFuture<Object> loading = new CompletableFuture<>();
+        if (this.loadings.putIfAbsent(key, loading) != null) {
+            return;
+        }
+        try {
+            this.refreshExecutor().execute(() -> {
+                try {
+                    Object value = loader.load();
+                    this.put(key, value);
+                    loading.complete(value);
+                } catch (Throwable cause) {
+                    log.warn("Failed to refresh cache entry, keep the current value. [instance={}, key={}]",
+                            this.name(),
+                            key);
+                    log.debug(cause.getClass().getName(), cause);
+                    loading.completeExceptionally(cause);
+                } finally {
+                    this.loadings.remove(key, loading);
+                }
+            });
+        } catch (RuntimeException e) {
+            this.loadings.remove(key, loading);
+            loading.completeExceptionally(e);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> loading) throws Throwable {
+        try {
+            return loading.get();
+        } catch (ExecutionException | CompletionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    /**
+     * 判断指定键的缓存项是否需要提前刷新。
+     * <p>默认不刷新。实现类可以在缓存项即将过期时返回 {@code true}，使得缓存项在过期前被异步重新加载。</p>
+     *
+     * @param key 表示指定键的 {@link Object}。
+     * @return 如果需要刷新，则返回 {@code true}，否则，返回 {@code false}。
+     */
+    protected boolean shouldRefresh(Object key) {
+        return false;
+    }
+
+    /**
+     * 获取异步刷新缓存项所使用的执行器。
+     *
+     * @return 表示执行器的 {@link Executor}。
+     */
+    protected Executor refreshExecutor() {
+        return ForkJoinPool.commonPool();
+    }
+
     private Object toStoreValue(Object value) {
         return value == null ? Optional.empty() : value;
     }
@@ -76,6 +184,18 @@ public abstract class AbstractCache implements Cache {
         return storeValue == Optional.empty() ? null : storeValue;
     }
 
+    /**
+     * 从当前缓存实例中获取指定键的值，不计入命中或未命中的统计。
+     * <p>用于同一次获取中的再次读取，使每次获取只统计一次。默认通过 {@link #load(Object)} 获取，
+     * 记录统计信息的实现类需要重写该方法。</p>
+     *
+     * @param key 表示指定键的 {@link Object}。
+     * @return 表示从当前缓存实例中获取到的指定键的值的 {@link Object}。
+     */
+    protected Object peek(Object key) {
+        return this.load(key);
+    }
+
     /**
      * 向当前缓存实例中存储指定的键值对。
      *
@@ -8,20 +8,18 @@ package modelengine.fitframework.aop.proxy.support;
 
 import modelengine.fitframework.aop.interceptor.MethodInterceptor;
 import modelengine.fitframework.aop.interceptor.MethodInvocation;
-import modelengine.fitframework.aop.interceptor.MethodJoinPoint;
 import modelengine.fitframework.aop.interceptor.support.DefaultMethodInvocation;
-import modelengine.fitframework.aop.interceptor.support.DefaultMethodJoinPoint;
 import modelengine.fitframework.aop.proxy.FitProxy;
 import modelengine.fitframework.aop.proxy.InterceptSupport;
 import modelengine.fitframework.inspection.Nullable;
-import modelengine.fitframework.util.CollectionUtils;
 import modelengine.fitframework.util.LazyLoader;
 
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * AOP 调用的核心抽象代理。
@@ -30,11 +28,13 @@ import java.util.stream.Collectors;
  * @since 2022-05-25
  */
 public abstract class AbstractAopProxy implements FitProxy {
+    private static final MethodInterceptor[] NO_INTERCEPTORS = new MethodInterceptor[0];
+
     private final LazyLoader<Object> targetSupplier;
     private final List<MethodInterceptor> methodInterceptors;
     private final Class<?> targetClass;
-    private final Method interceptMethod;
     private final Method getActualClassMethod;
+    private final Map<Method, MethodInterceptor[]> chains = new ConcurrentHashMap<>();
 
     /**
      * 使用拦截支持信息实例化 {@link AbstractAopProxy}。
@@ -46,7 +46,6 @@ public abstract class AbstractAopProxy implements FitProxy {
         this.methodInterceptors = support.getMethodInterceptors();
         this.targetClass = support.getTargetClass();
         try {
-            this.interceptMethod = MethodInterceptor.class.getDeclaredMethod("intercept", MethodJoinPoint.class);
             this.getActualClassMethod = FitProxy.class.getDeclaredMethod("$fit$getActualClass");
         } catch (NoSuchMethodException e) {
             // 必然存在指定方法，因此该分支不会走到。
@@ -63,10 +62,10 @@ public abstract class AbstractAopProxy implements FitProxy {
      * AOP 调用核心逻辑。
      * <p>调用过程如下：</p>
      * <ol>
-     *     <li>根据调用方法，过滤被代理对象的所有方法拦截器，如果没有合适的方法拦截器，则直接调用被代理对象。</li>
-     *     <li>在过滤后的方法拦截器列表最后，添加一个 {@link ProxiedInterceptor}，用于调用被代理对象。</li>
-     *     <li>从最后一个方法拦截器开始，依次向前构造当前方法拦截器的参数。</li>
-     *     <li>构造完所有方法拦截器的参数后，调用第一个方法拦截器。</li>
+     *     <li>获取调用方法的方法拦截器链，如果没有合适的方法拦截器，则直接调用被代理对象。方法拦截器链在每个方法第一次调用时，
+     *     根据调用方法过滤被代理对象的所有方法拦截器得到，之后直接使用缓存的结果。</li>
+     *     <li>构造第一个方法拦截器的连接点，并调用第一个方法拦截器。</li>
+     *     <li>每个方法拦截器通过连接点直接调用下一个方法拦截器，最后一个方法拦截器的连接点调用被代理对象。</li>
      * </ol>
      *
      * @param proxy 表示代理对象的 {@link Object}。
@@ -81,42 +80,38 @@ public abstract class AbstractAopProxy implements FitProxy {
         if (Objects.equals(method.getName(), this.getActualClassMethod.getName())) {
             return this.$fit$getActualClass();
         }
-        List<MethodInterceptor> actualMethodInterceptors = this.filterMethodInterceptors(method);
-        if (CollectionUtils.isEmpty(actualMethodInterceptors)) {
-            return proxiedInvoker.invoke(new DefaultMethodInvocation(this.getTarget(), method, args));
+        MethodInterceptor[] chain = this.chains.get(method);
+        if (chain == null) {
+            chain = this.chains.computeIfAbsent(method, this::filterMethodInterceptors);
+        }
+        MethodInvocation proxiedInvocation = new DefaultMethodInvocation(this.getTarget(), method, args);
+        if (chain.length == 0) {
+            return proxiedInvoker.invoke(proxiedInvocation);
         }
-        MethodJoinPoint joinPoint = this.getJoinPoint(proxy, method, args, proxiedInvoker, actualMethodInterceptors);
-        return actualMethodInterceptors.get(0).intercept(joinPoint);
+        MethodInvocation proxyInvocation = new DefaultMethodInvocation(proxy, method, args);
+        return chain[0].intercept(new ChainedMethodJoinPoint(chain,
+                0,
+                proxiedInvoker,
+                proxiedInvocation,
+                proxyInvocation));
     }
 
-    private List<MethodInterceptor> filterMethodInterceptors(Method method) {
-        return this.methodInterceptors.stream()
+    private MethodInterceptor[] filterMethodInterceptors(Method method) {
+        MethodInterceptor[] chain = this.methodInterceptors.stream()
                 .filter(Objects::nonNull)
                 .filter(methodInterceptor -> methodInterceptor.getPointCut().methods().contains(method))
-                .collect(Collectors.toList());
-    }
-
-    private MethodJoinPoint getJoinPoint(Object proxy, Method method, Object[] args, ProxiedInvoker proxiedInvoker,
-            List<MethodInterceptor> actualMethodInterceptors) {
-        MethodInvocation proxiedInvocation = new DefaultMethodInvocation(this.getTarget(), method, args);
-        MethodInvocation proxyInvocation = new DefaultMethodInvocation(proxy, method, args);
-        MethodJoinPoint lastJoinPoint =
-                new DefaultMethodJoinPoint(proxiedInvocation, proxiedInvocation, proxyInvocation);
-        MethodInterceptor lastInterceptor = new ProxiedInterceptor(proxiedInvoker);
-        MethodInvocation nextInvocation =
-                new DefaultMethodInvocation(lastInterceptor, this.interceptMethod, new Object[] {lastJoinPoint});
-        lastJoinPoint = new DefaultMethodJoinPoint(nextInvocation, proxiedInvocation, proxyInvocation);
-        for (int i = actualMethodInterceptors.size() - 1; i >= 1; i--) {
-            MethodInterceptor currentInterceptor = actualMethodInterceptors.get(i);
-            Object[] currentArgs = new Object[] {lastJoinPoint};
-            nextInvocation = new DefaultMethodInvocation(currentInterceptor, this.interceptMethod, currentArgs);
-            lastJoinPoint = new DefaultMethodJoinPoint(nextInvocation, proxiedInvocation, proxyInvocation);
-        }
-        return lastJoinPoint;
+                .toArray(MethodInterceptor[]::new);
+        return chain.length == 0 ? NO_INTERCEPTORS : chain;
     }
 
+    /**
+     * 获取被代理对象。
+     * <p>被代理对象在第一次获取时才会加载。</p>
+     *
+     * @return 表示被代理对象的 {@link Object}。
+     */
     @Nullable
-    private Object getTarget() {
+    protected Object getTarget() {
         return this.targetSupplier.get();
     }
 
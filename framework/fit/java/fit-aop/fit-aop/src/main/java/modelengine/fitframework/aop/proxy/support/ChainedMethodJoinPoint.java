@@ -0,0 +1,114 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.aop.proxy.support;
+
+import modelengine.fitframework.aop.interceptor.MethodInterceptor;
+import modelengine.fitframework.aop.interceptor.MethodInvocation;
+import modelengine.fitframework.aop.interceptor.MethodJoinPoint;
+import modelengine.fitframework.aop.interceptor.support.DefaultMethodInvocation;
+import modelengine.fitframework.inspection.Nonnull;
+import modelengine.fitframework.inspection.Nullable;
+
+import java.lang.reflect.Method;
+
+/**
+ * 表示预先编排好的方法拦截器链上的连接点。
+ * <p>第 {@code index} 个连接点作为参数传递给第 {@code index} 个方法拦截器，调用 {@link #proceed()} 时直接调用下一个方法拦截器，
+ * 当已经是最后一个方法拦截器时，通过 {@link ProxiedInvoker} 调用被代理对象。</p>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+final class ChainedMethodJoinPoint implements MethodJoinPoint {
+    private final MethodInterceptor[] chain;
+    private final int index;
+    private final ProxiedInvoker proxiedInvoker;
+    private final MethodInvocation proxiedInvocation;
+    private final MethodInvocation proxyInvocation;
+
+    /**
+     * 创建方法拦截器链上的连接点。
+     *
+     * @param chain 表示方法拦截器链的 {@link MethodInterceptor}{@code []}。
+     * @param index 表示当前连接点所对应的方法拦截器在链上位置的 {@code int}。
+     * @param proxiedInvoker 表示调用被代理对象的方法的 {@link ProxiedInvoker}。
+     * @param proxiedInvocation 表示被代理的方法调用的 {@link MethodInvocation}。
+     * @param proxyInvocation 表示代理的方法调用的 {@link MethodInvocation}。
+     */
+    ChainedMethodJoinPoint(MethodInterceptor[] chain, int index, ProxiedInvoker proxiedInvoker,
+            MethodInvocation proxiedInvocation, MethodInvocation proxyInvocation) {
+        this.chain = chain;
+        this.index = index;
+        this.proxiedInvoker = proxiedInvoker;
+        this.proxiedInvocation = proxiedInvocation;
+        this.proxyInvocation = proxyInvocation;
+    }
+
+    @Nullable
+    @Override
+    public Object proceed() throws Throwable {
+        int next = this.index + 1;
+        if (next == this.chain.length) {
+            return this.proxiedInvoker.invoke(this.proxiedInvocation);
+        }
+        return this.chain[next].intercept(this.next(next));
+    }
+
+    @Nullable
+    @Override
+    public Object proceed(@Nonnull Object[] args) throws Throwable {
+        this.proxiedInvocation.setArguments(args);
+        return this.proceed();
+    }
+
+    @Nonnull
+    @Override
+    public MethodInvocation getNextInvocation() {
+        int next = this.index + 1;
+        MethodInterceptor interceptor = next == this.chain.length
+                ? new ProxiedInterceptor(this.proxiedInvoker)
+                : this.chain[next];
+        MethodJoinPoint joinPoint = next == this.chain.length ? this : this.next(next);
+        return new DefaultMethodInvocation(interceptor, InterceptMethodHolder.INTERCEPT, new Object[] {joinPoint});
+    }
+
+    @Nonnull
+    @Override
+    public MethodInvocation getProxiedInvocation() {
+        return this.proxiedInvocation;
+    }
+
+    @Nonnull
+    @Override
+    public MethodInvocation getProxyInvocation() {
+        return this.proxyInvocation;
+    }
+
+    private ChainedMethodJoinPoint next(int next) {
+        return new ChainedMethodJoinPoint(this.chain,
+                next,
+                this.proxiedInvoker,
+                this.proxiedInvocation,
+                this.proxyInvocation);
+    }
+
+    /**
+     * 延迟获取 {@link MethodInterceptor#intercept(MethodJoinPoint)} 方法，仅在获取下一个方法调用时使用。
+     */
+    private static final class InterceptMethodHolder {
+        private static final Method INTERCEPT;
+
+        static {
+            try {
+                INTERCEPT = MethodInterceptor.class.getDeclaredMethod("intercept", MethodJoinPoint.class);
+            } catch (NoSuchMethodException e) {
+                // 必然存在指定方法，因此该分支不会走到。
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
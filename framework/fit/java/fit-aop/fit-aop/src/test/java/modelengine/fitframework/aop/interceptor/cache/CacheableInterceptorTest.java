@@ -0,0 +1,184 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.aop.interceptor.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import modelengine.fitframework.aop.interceptor.MethodInvocation;
+import modelengine.fitframework.aop.interceptor.MethodJoinPoint;
+import modelengine.fitframework.aop.interceptor.cache.instance.AbstractCache;
+import modelengine.fitframework.cache.CacheManager;
+import modelengine.fitframework.ioc.BeanContainer;
+import modelengine.fitframework.ioc.BeanFactory;
+import modelengine.fitframework.util.ObjectUtils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link CacheableInterceptor} 的单元测试。
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+@DisplayName("测试 CacheableInterceptor")
+public class CacheableInterceptorTest {
+    private MapCache first;
+    private MapCache second;
+    private CacheableInterceptor interceptor;
+
+    @BeforeEach
+    void setup() {
+        this.first = new MapCache("first");
+        this.second = new MapCache("second");
+        CacheManager manager = mock(CacheManager.class);
+        when(manager.getInstance("first")).thenReturn(Optional.of(this.first));
+        when(manager.getInstance("second")).thenReturn(Optional.of(this.second));
+        BeanFactory factory = mock(BeanFactory.class);
+        when(factory.get()).thenReturn(manager);
+        BeanContainer container = mock(BeanContainer.class);
+        when(container.factory(CacheManager.class)).thenReturn(Optional.of(factory));
+        this.interceptor =
+                new CacheableInterceptor(container, KeyGenerator.params(), Arrays.asList("first", "second"));
+    }
+
+    @Test
+    @DisplayName("后面的缓存实例命中时，不执行被拦截的方法，并将值存入前面的缓存实例")
+    void shouldLoadFromOtherInstance() throws Throwable {
+        MethodJoinPoint joinPoint = joinPoint("find", "id");
+        this.second.put(key("id"), "cached");
+        assertThat(this.interceptor.intercept(joinPoint)).isEqualTo("cached");
+        assertThat(this.first.get(key("id"))).isEqualTo("cached");
+        verify(joinPoint, never()).proceed();
+    }
+
+    @Test
+    @DisplayName("所有缓存实例都未命中时，执行一次被拦截的方法，并将结果存入所有缓存实例")
+    void shouldProceedOnceAndStoreInAllInstances() throws Throwable {
+        MethodJoinPoint joinPoint = joinPoint("find", "id");
+        when(joinPoint.proceed()).thenReturn("value");
+        assertThat(this.interceptor.intercept(joinPoint)).isEqualTo("value");
+        assertThat(this.interceptor.intercept(joinPoint)).isEqualTo("value");
+        assertThat(this.first.get(key("id"))).isEqualTo("value");
+        assertThat(this.second.get(key("id"))).isEqualTo("value");
+        verify(joinPoint, times(1)).proceed();
+    }
+
+    @Test
+    @DisplayName("异步方法的结果完成后存入缓存，再次调用时返回已完成的异步结果")
+    void shouldCacheAsyncResultAfterCompletion() throws Throwable {
+        MethodJoinPoint joinPoint = joinPoint("findAsync", "id");
+        CompletableFuture<String> result = new CompletableFuture<>();
+        when(joinPoint.proceed()).thenReturn(result);
+        assertThat(this.interceptor.intercept(joinPoint)).isSameAs(result);
+        Object shared = this.interceptor.intercept(joinPoint);
+        assertThat(shared).isInstanceOf(CompletableFuture.class);
+        assertThat(future(shared)).isNotDone();
+        assertThat(this.first.contains(key("id"))).isFalse();
+
+        result.complete("value");
+        assertThat(future(shared)).isCompletedWithValue("value");
+        assertThat(this.first.get(key("id"))).isEqualTo("value");
+        assertThat(this.second.get(key("id"))).isEqualTo("value");
+        Object cached = this.interceptor.intercept(joinPoint);
+        assertThat(future(cached)).isCompletedWithValue("value");
+        verify(joinPoint, times(1)).proceed();
+    }
+
+    @Test
+    @DisplayName("异步方法执行失败时不缓存结果，再次调用时重新执行")
+    void shouldNotCacheFailedAsyncResult() throws Throwable {
+        MethodJoinPoint joinPoint = joinPoint("findAsync", "id");
+        when(joinPoint.proceed()).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("failed")),
+                CompletableFuture.completedFuture("value"));
+        assertThat(future(this.interceptor.intercept(joinPoint))).isCompletedExceptionally();
+        assertThat(this.first.contains(key("id"))).isFalse();
+        assertThat(future(this.interceptor.intercept(joinPoint))).isCompletedWithValue("value");
+        verify(joinPoint, times(2)).proceed();
+    }
+
+    @Test
+    @DisplayName("异步方法命中缓存的 null 值时，不执行被拦截的方法")
+    void shouldReturnCachedNullForAsyncMethod() throws Throwable {
+        MethodJoinPoint joinPoint = joinPoint("findAsync", "id");
+        this.second.put(key("id"), null);
+        Object result = this.interceptor.intercept(joinPoint);
+        assertThat(future(result)).isCompletedWithValue(null);
+        verify(joinPoint, never()).proceed();
+    }
+
+    private static MethodJoinPoint joinPoint(String methodName, Object... args) throws NoSuchMethodException {
+        Service target = new Service();
+        Method method = Service.class.getDeclaredMethod(methodName, String.class);
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getTarget()).thenReturn(target);
+        when(invocation.getMethod()).thenReturn(method);
+        when(invocation.getArguments()).thenReturn(args);
+        MethodJoinPoint joinPoint = mock(MethodJoinPoint.class);
+        when(joinPoint.getProxiedInvocation()).thenReturn(invocation);
+        return joinPoint;
+    }
+
+    private static CompletableFuture<Object> future(Object result) {
+        return ObjectUtils.cast(result);
+    }
+
+    private static CacheKey key(Object... args) {
+        return CacheKey.combine(args);
+    }
+
+    static class Service {
+        String find(String id) {
+            return id;
+        }
+
+        CompletableFuture<String> findAsync(String id) {
+            return CompletableFuture.completedFuture(id);
+        }
+    }
+
+    private static class MapCache extends AbstractCache {
+        private final Map<Object, Object> values = new ConcurrentHashMap<>();
+
+        MapCache(String name) {
+            super(name, true);
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return this.values.containsKey(key);
+        }
+
+        @Override
+        public void remove(Object key) {
+            this.values.remove(key);
+        }
+
+        @Override
+        protected void store(Object key, Object value) {
+            this.values.put(key, value);
+        }
+
+        @Override
+        protected Object load(Object key) {
+            return this.values.get(key);
+        }
+    }
+}
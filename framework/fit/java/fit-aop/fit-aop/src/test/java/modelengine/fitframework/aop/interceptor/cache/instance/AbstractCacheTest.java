@@ -0,0 +1,71 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.aop.interceptor.cache.instance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link AbstractCache} 的单元测试。
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+@DisplayName("测试 AbstractCache")
+public class AbstractCacheTest {
+    @Test
+    @DisplayName("获得加载权后缓存中已有值时，直接返回该值而不再执行加载器")
+    void shouldNotLoadWhenValueStoredBeforeLoadingStarts() throws Throwable {
+        AtomicInteger loads = new AtomicInteger();
+        RacingCache cache = new RacingCache();
+        Object value = cache.get("key", () -> "loaded-" + loads.incrementAndGet());
+        assertThat(value).isEqualTo("stored");
+        assertThat(loads.get()).isEqualTo(0);
+    }
+
+    /**
+     * 表示第一次读取时未命中、随后另一个加载完成并存入了值的缓存。
+     */
+    private static class RacingCache extends AbstractCache {
+        private final Map<Object, Object> values = new ConcurrentHashMap<>();
+        private final AtomicInteger reads = new AtomicInteger();
+
+        RacingCache() {
+            super("racing", true);
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return this.values.containsKey(key);
+        }
+
+        @Override
+        public void remove(Object key) {
+            this.values.remove(key);
+        }
+
+        @Override
+        protected void store(Object key, Object value) {
+            this.values.put(key, value);
+        }
+
+        @Override
+        protected Object load(Object key) {
+            if (this.reads.getAndIncrement() == 0) {
+                this.values.put(key, "stored");
+                return null;
+            }
+            return this.values.get(key);
+        }
+    }
+}
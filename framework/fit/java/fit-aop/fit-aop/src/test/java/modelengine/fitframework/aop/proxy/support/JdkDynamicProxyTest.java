@@ -0,0 +1,160 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.aop.proxy.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import modelengine.fitframework.aop.interceptor.MethodInterceptor;
+import modelengine.fitframework.aop.interceptor.MethodJoinPoint;
+import modelengine.fitframework.aop.interceptor.support.AbstractMethodInterceptor;
+import modelengine.fitframework.aop.interceptor.support.SpecifiedMethodMatcher;
+import modelengine.fitframework.aop.proxy.InterceptSupport;
+import modelengine.fitframework.inspection.Nonnull;
+import modelengine.fitframework.util.ObjectUtils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link JdkDynamicProxy} 的单元测试。
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+@DisplayName("测试 JdkDynamicProxy")
+public class JdkDynamicProxyTest {
+    private final List<String> records = new ArrayList<>();
+
+    private Greeter createProxy(MethodInterceptor... interceptors) {
+        Greeter target = this::greet;
+        InterceptSupport support =
+                new DefaultInterceptSupport(Greeter.class, () -> target, Arrays.asList(interceptors));
+        return ObjectUtils.cast(new JdkDynamicAopProxyFactory().createProxy(support));
+    }
+
+    private String greet(String name) {
+        this.records.add("target");
+        return "Hello, " + name + "!";
+    }
+
+    private Method helloMethod() throws NoSuchMethodException {
+        return Greeter.class.getDeclaredMethod("hello", String.class);
+    }
+
+    @Test
+    @DisplayName("按照顺序调用方法拦截器链后，调用被代理对象")
+    void shouldInvokeInterceptorsInOrder() throws NoSuchMethodException {
+        Method method = this.helloMethod();
+        Greeter proxy = this.createProxy(new RecordInterceptor("first", method),
+                new RecordInterceptor("second", method),
+                new RecordInterceptor("third", method));
+        assertThat(proxy.hello("Tom")).isEqualTo("Hello, Tom!");
+        assertThat(proxy.hello("Jerry")).isEqualTo("Hello, Jerry!");
+        assertThat(this.records).containsExactly("first",
+                "second",
+                "third",
+                "target",
+                "first",
+                "second",
+                "third",
+                "target");
+    }
+
+    @Test
+    @DisplayName("当方法拦截器修改参数后，被代理对象使用修改后的参数")
+    void shouldInvokeTargetWithReplacedArguments() throws NoSuchMethodException {
+        Method method = this.helloMethod();
+        MethodInterceptor replace = new AbstractMethodInterceptor() {
+            @Override
+            public Object intercept(@Nonnull MethodJoinPoint methodJoinPoint) throws Throwable {
+                return methodJoinPoint.proceed(new Object[] {"Jerry"});
+            }
+        };
+        replace.getPointCut().matchers().add(new SpecifiedMethodMatcher(method));
+        replace.getPointCut().add(Greeter.class);
+        Greeter proxy = this.createProxy(replace, new RecordInterceptor("record", method));
+        assertThat(proxy.hello("Tom")).isEqualTo("Hello, Jerry!");
+        assertThat(this.records).containsExactly("record", "target");
+    }
+
+    @Test
+    @DisplayName("通过下一个方法调用执行方法拦截器链，结果与直接执行一致")
+    void shouldProceedThroughNextInvocation() throws NoSuchMethodException {
+        Method method = this.helloMethod();
+        MethodInterceptor reflective = new AbstractMethodInterceptor() {
+            @Override
+            public Object intercept(@Nonnull MethodJoinPoint methodJoinPoint) throws Throwable {
+                return methodJoinPoint.getNextInvocation()
+                        .getMethod()
+                        .invoke(methodJoinPoint.getNextInvocation().getTarget(),
+                                methodJoinPoint.getNextInvocation().getArguments());
+            }
+        };
+        reflective.getPointCut().matchers().add(new SpecifiedMethodMatcher(method));
+        reflective.getPointCut().add(Greeter.class);
+        Greeter proxy = this.createProxy(reflective, new RecordInterceptor("record", method));
+        assertThat(proxy.hello("Tom")).isEqualTo("Hello, Tom!");
+        assertThat(this.records).containsExactly("record", "target");
+    }
+
+    @Test
+    @DisplayName("当方法没有匹配的方法拦截器时，直接调用被代理对象")
+    void shouldInvokeTargetDirectlyWhenNoInterceptorMatches() throws NoSuchMethodException {
+        Method method = this.helloMethod();
+        Greeter proxy = this.createProxy(new RecordInterceptor("record", method));
+        assertThat(proxy.bye("Tom")).isEqualTo("Bye, Tom!");
+        assertThat(this.records).isEmpty();
+    }
+
+    /**
+     * 表示测试使用的被代理接口。
+     */
+    @FunctionalInterface
+    public interface Greeter {
+        /**
+         * 问候。
+         *
+         * @param name 表示问候对象的 {@link String}。
+         * @return 表示问候语的 {@link String}。
+         */
+        String hello(String name);
+
+        /**
+         * 告别。
+         *
+         * @param name 表示告别对象的 {@link String}。
+         * @return 表示告别语的 {@link String}。
+         */
+        default String bye(String name) {
+            return "Bye, " + name + "!";
+        }
+    }
+
+    /**
+     * 表示记录调用顺序的方法拦截器。
+     */
+    private class RecordInterceptor extends AbstractMethodInterceptor {
+        private final String name;
+
+        RecordInterceptor(String name, Method method) {
+            this.name = name;
+            this.getPointCut().matchers().add(new SpecifiedMethodMatcher(method));
+            this.getPointCut().add(Greeter.class);
+        }
+
+        @Override
+        public Object intercept(@Nonnull MethodJoinPoint methodJoinPoint) throws Throwable {
+            JdkDynamicProxyTest.this.records.add(this.name);
+            return methodJoinPoint.proceed();
+        }
+    }
+}
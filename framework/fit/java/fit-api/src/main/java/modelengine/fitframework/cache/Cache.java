@@ -54,4 +54,38 @@ public interface Cache {
      * @throws IllegalArgumentException 当 {@code key} 为 {@code null} 时。
      */
     void remove(Object key);
+
+    /**
+     * 获取指定键的值，当值不存在时，通过指定的加载器加载值并存入当前缓存实例。
+     * <p>默认实现通过 {@link #contains(Object)}、{@link #get(Object)} 和 {@link #put(Object, Object)} 组合完成，
+     * 不保证原子性。实现类可以覆盖该方法，保证同一个键被并发获取时，加载器只执行一次。</p>
+     *
+     * @param key 表示指定键的 {@link Object}。
+     * @param loader 表示值不存在时加载值的 {@link Loader}。
+     * @return 表示指定键的值的 {@link Object}。
+     * @throws IllegalArgumentException 当 {@code key} 或 {@code loader} 为 {@code null} 时。
+     * @throws Throwable 当加载器加载值的过程中发生异常时。
+     */
+    default Object get(Object key, Loader loader) throws Throwable {
+        if (this.contains(key)) {
+            return this.get(key);
+        }
+        Object value = loader.load();
+        this.put(key, value);
+        return value;
+    }
+
+    /**
+     * 表示缓存值的加载器。
+     */
+    @FunctionalInterface
+    interface Loader {
+        /**
+         * 加载缓存值。
+         *
+         * @return 表示加载到的值的 {@link Object}。
+         * @throws Throwable 当加载过程中发生异常时。
+         */
+        Object load() throws Throwable;
+    }
 }
@@ -0,0 +1,31 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.runtime;
+
+/**
+ * 为运行环境提供一组可观测的指标。
+ * <p>容器中所有该类型的 Bean 会被监控插件收集，按 {@link #name()} 分组对外暴露。</p>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+public interface MetricsProvider {
+    /**
+     * 获取指标分组的名字。
+     *
+     * @return 表示指标分组名字的 {@link String}。
+     */
+    String name();
+
+    /**
+     * 获取当前的指标。
+     * <p>返回值需要可以被序列化为 JSON。</p>
+     *
+     * @return 表示当前指标的 {@link Object}。
+     */
+    Object metrics();
+}
@@ -0,0 +1,199 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.benchmark;
+
+import modelengine.fitframework.beans.BeanAccessor;
+import modelengine.fitframework.util.ObjectUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比 {@link BeanAccessor} 与逐次反射调用在序列化场景下读写 Bean 属性的开销。
+ * <p>{@code toJavaObject} 与 {@code instantiate} 分别模拟序列化时将 Bean 转换为映射、反序列化时由映射创建 Bean，
+ * {@code reflective*} 使用 {@link Method#invoke(Object, Object...)} 完成相同的工作，作为对比的基准。
+ * {@code loader} 为 {@code plugin} 时，Bean 的类型由独立的类加载程序定义，模拟插件中的类型。</p>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BeanAccessorBenchmark {
+    @Param({"same", "plugin"})
+    private String loader;
+
+    private Object bean;
+    private BeanAccessor accessor;
+    private Map<String, Object> values;
+    private Constructor<?> constructor;
+    private List<PropertyDescriptor> descriptors;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException, IntrospectionException {
+        Class<?> beanClass = "plugin".equals(this.loader)
+                ? new IsolatedClassLoader(Person.class).loadClass(Person.class.getName())
+                : Person.class;
+        this.accessor = BeanAccessor.of(beanClass);
+        this.constructor = beanClass.getConstructor();
+        this.descriptors = new ArrayList<>();
+        for (PropertyDescriptor descriptor : Introspector.getBeanInfo(beanClass, Object.class)
+                .getPropertyDescriptors()) {
+            this.descriptors.add(descriptor);
+        }
+        this.values = new LinkedHashMap<>();
+        this.values.put("name", "fit");
+        this.values.put("age", 18);
+        this.values.put("id", 1024L);
+        this.values.put("score", 99.5D);
+        this.values.put("active", true);
+        this.bean = this.accessor.instantiate(this.values);
+    }
+
+    @Benchmark
+    public Object toJavaObject() {
+        return ObjectUtils.toJavaObject(this.bean);
+    }
+
+    @Benchmark
+    public Object instantiate() {
+        return this.accessor.instantiate(this.values);
+    }
+
+    @Benchmark
+    public Object reflectiveToMap() throws InvocationTargetException, IllegalAccessException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (PropertyDescriptor descriptor : this.descriptors) {
+            map.put(descriptor.getName(), descriptor.getReadMethod().invoke(this.bean));
+        }
+        return map;
+    }
+
+    @Benchmark
+    public Object reflectiveInstantiate() throws ReflectiveOperationException {
+        Object instance = this.constructor.newInstance();
+        for (PropertyDescriptor descriptor : this.descriptors) {
+            descriptor.getWriteMethod().invoke(instance, this.values.get(descriptor.getName()));
+        }
+        return instance;
+    }
+
+    /**
+     * 表示由自身定义指定类型、其余类型委托给上级加载的类加载程序。
+     */
+    private static final class IsolatedClassLoader extends ClassLoader {
+        private final String isolatedName;
+
+        private IsolatedClassLoader(Class<?> isolated) {
+            super(isolated.getClassLoader());
+            this.isolatedName = isolated.getName();
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!this.isolatedName.equals(name)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (this.getClassLoadingLock(name)) {
+                Class<?> loaded = this.findLoadedClass(name);
+                if (loaded != null) {
+                    return loaded;
+                }
+                String resource = name.replace('.', '/') + ".class";
+                try (InputStream in = this.getParent().getResourceAsStream(resource)) {
+                    if (in == null) {
+                        throw new ClassNotFoundException(name);
+                    }
+                    byte[] bytes = in.readAllBytes();
+                    return this.defineClass(name, bytes, 0, bytes.length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 表示包含 5 个属性的 Bean。
+     */
+    public static class Person {
+        private String name;
+        private int age;
+        private long id;
+        private double score;
+        private boolean active;
+
+        public String getName() {
+            return this.name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return this.age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public long getId() {
+            return this.id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public double getScore() {
+            return this.score;
+        }
+
+        public void setScore(double score) {
+            this.score = score;
+        }
+
+        public boolean isActive() {
+            return this.active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.benchmark;
+
+import modelengine.fitframework.aop.interceptor.MethodInterceptor;
+import modelengine.fitframework.aop.interceptor.MethodJoinPoint;
+import modelengine.fitframework.aop.interceptor.support.AbstractMethodInterceptor;
+import modelengine.fitframework.aop.interceptor.support.SpecifiedMethodMatcher;
+import modelengine.fitframework.aop.proxy.FitProxy;
+import modelengine.fitframework.aop.proxy.InterceptSupport;
+import modelengine.fitframework.aop.proxy.bytebuddy.ByteBuddyAopProxyFactory;
+import modelengine.fitframework.aop.proxy.support.DefaultInterceptSupport;
+import modelengine.fitframework.aop.proxy.support.JdkDynamicProxy;
+import modelengine.fitframework.beans.support.ReflectionFactoryInstantiator;
+import modelengine.fitframework.inspection.Nonnull;
+import modelengine.fitframework.util.ObjectUtils;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.InvocationHandlerAdapter;
+import net.bytebuddy.matcher.ElementMatchers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比 {@link ByteBuddyAopProxyFactory} 生成的代理直接分派方法与之前通过调用处理程序分派方法的开销。
+ * <p>{@code direct*} 使用 {@link ByteBuddyAopProxyFactory} 创建的代理：没有方法拦截器的方法直接调用被代理对象，
+ * 被拦截的方法经过缓存的方法拦截器链后通过方法句柄调用被代理对象。{@code legacy*} 保留了之前的生成方式：
+ * 所有方法都通过 {@link InvocationHandlerAdapter} 交给 {@link JdkDynamicProxy}，参数装箱为数组后通过反射调用，
+ * 作为对比的基准。{@code *Plain} 调用的方法没有方法拦截器，{@code *Intercepted} 调用的方法有一个直接调用下一个方法拦截器的
+ * 方法拦截器。</p>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ByteBuddyDispatchBenchmark {
+    private Greeter direct;
+    private Greeter legacy;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        MethodInterceptor interceptor = new PassThroughInterceptor();
+        interceptor.getPointCut()
+                .matchers()
+                .add(new SpecifiedMethodMatcher(Greeter.class.getMethod("intercepted", String.class)));
+        interceptor.getPointCut().add(Greeter.class);
+        List<MethodInterceptor> interceptors = Collections.singletonList(interceptor);
+        Greeter target = new Greeter();
+        InterceptSupport support = new DefaultInterceptSupport(Greeter.class, () -> target, interceptors);
+        this.direct = ObjectUtils.cast(new ByteBuddyAopProxyFactory().createProxy(support));
+        this.legacy = createLegacyProxy(support);
+    }
+
+    @Benchmark
+    public String directPlain() {
+        return this.direct.plain("fit");
+    }
+
+    @Benchmark
+    public String directIntercepted() {
+        return this.direct.intercepted("fit");
+    }
+
+    @Benchmark
+    public String legacyPlain() {
+        return this.legacy.plain("fit");
+    }
+
+    @Benchmark
+    public String legacyIntercepted() {
+        return this.legacy.intercepted("fit");
+    }
+
+    private static Greeter createLegacyProxy(InterceptSupport support) {
+        Class<?> proxiedClass = new ByteBuddy().subclass(support.getTargetClass())
+                .implement(FitProxy.class)
+                .method(ElementMatchers.isMethod())
+                .intercept(InvocationHandlerAdapter.of(new JdkDynamicProxy(support)))
+                .make()
+                .load(support.getTargetClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        return ObjectUtils.cast(new ReflectionFactoryInstantiator<>(proxiedClass).newInstance());
+    }
+
+    /**
+     * 表示被代理的类型。
+     */
+    public static class Greeter {
+        /**
+         * 返回指定的值，该方法没有方法拦截器。
+         *
+         * @param value 表示指定值的 {@link String}。
+         * @return 表示指定值的 {@link String}。
+         */
+        public String plain(String value) {
+            return value;
+        }
+
+        /**
+         * 返回指定的值，该方法有一个方法拦截器。
+         *
+         * @param value 表示指定值的 {@link String}。
+         * @return 表示指定值的 {@link String}。
+         */
+        public String intercepted(String value) {
+            return value;
+        }
+    }
+
+    /**
+     * 表示直接调用下一个方法拦截器的方法拦截器。
+     */
+    private static final class PassThroughInterceptor extends AbstractMethodInterceptor {
+        @Override
+        public Object intercept(@Nonnull MethodJoinPoint methodJoinPoint) throws Throwable {
+            return methodJoinPoint.proceed();
+        }
+    }
+}
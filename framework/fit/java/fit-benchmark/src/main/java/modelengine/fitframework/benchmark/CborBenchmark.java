@@ -0,0 +1,204 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.benchmark;
+
+import modelengine.fit.serialization.cbor.CborDecoder;
+import modelengine.fit.serialization.cbor.CborEncoder;
+import modelengine.fitframework.util.ObjectUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比 CBOR 按类型编译的编解码方案与先转换为通用对象再编解码的方式在典型 Bean 上的开销。
+ * <p>{@code legacy*} 保留了编解码方案之前的实现方式：编码前通过 {@link ObjectUtils#toJavaObject(Object)} 将 Bean 转换为映射，
+ * 解码后通过 {@link ObjectUtils#toCustomObject(Object, java.lang.reflect.Type)} 将映射转换为 Bean，作为对比的基准。
+ * {@code plan*} 使用 {@link CborEncoder} 与 {@link CborDecoder} 直接按照类型编解码。内存分配可以通过 {@code -prof gc} 观察。</p>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CborBenchmark {
+    @Param({"1", "10"})
+    private int itemCount;
+
+    private final CborEncoder encoder = new CborEncoder();
+    private final CborDecoder decoder = new CborDecoder();
+    private Order order;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.order = new Order();
+        this.order.setId("order-20261017-0001");
+        this.order.setTimestamp(1792195200000L);
+        this.order.setAmount(1024.5D);
+        this.order.setPaid(true);
+        this.order.setTags(Arrays.asList("express", "gift"));
+        Map<String, String> attributes = new LinkedHashMap<>();
+        attributes.put("channel", "web");
+        attributes.put("region", "cn-south");
+        this.order.setAttributes(attributes);
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < this.itemCount; i++) {
+            Item item = new Item();
+            item.setSku("sku-" + i);
+            item.setQuantity(i + 1);
+            item.setPrice(9.9D * (i + 1));
+            items.add(item);
+        }
+        this.order.setItems(items);
+        this.encoded = this.encoder.encode(this.order);
+    }
+
+    @Benchmark
+    public byte[] legacyEncode() throws IOException {
+        return this.encoder.encode(ObjectUtils.toJavaObject(this.order));
+    }
+
+    @Benchmark
+    public byte[] planEncode() throws IOException {
+        return this.encoder.encode(this.order);
+    }
+
+    @Benchmark
+    public Order legacyDecode() throws IOException {
+        return ObjectUtils.toCustomObject(this.decoder.decode(this.encoded), Order.class);
+    }
+
+    @Benchmark
+    public Object planDecode() throws IOException {
+        return this.decoder.decode(new ByteArrayInputStream(this.encoded), Order.class);
+    }
+
+    /**
+     * 表示包含标量、集合、映射与嵌套 Bean 列表的订单。
+     */
+    public static class Order {
+        private String id;
+        private long timestamp;
+        private double amount;
+        private boolean paid;
+        private List<String> tags;
+        private Map<String, String> attributes;
+        private List<Item> items;
+
+        public String getId() {
+            return this.id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public long getTimestamp() {
+            return this.timestamp;
+        }
+
+        public void setTimestamp(long timestamp) {
+            this.timestamp = timestamp;
+        }
+
+        public double getAmount() {
+            return this.amount;
+        }
+
+        public void setAmount(double amount) {
+            this.amount = amount;
+        }
+
+        public boolean isPaid() {
+            return this.paid;
+        }
+
+        public void setPaid(boolean paid) {
+            this.paid = paid;
+        }
+
+        public List<String> getTags() {
+            return this.tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public Map<String, String> getAttributes() {
+            return this.attributes;
+        }
+
+        public void setAttributes(Map<String, String> attributes) {
+            this.attributes = attributes;
+        }
+
+        public List<Item> getItems() {
+            return this.items;
+        }
+
+        public void setItems(List<Item> items) {
+            this.items = items;
+        }
+    }
+
+    /**
+     * 表示订单中的商品条目。
+     */
+    public static class Item {
+        private String sku;
+        private int quantity;
+        private double price;
+
+        public String getSku() {
+            return this.sku;
+        }
+
+        public void setSku(String sku) {
+            this.sku = sku;
+        }
+
+        public int getQuantity() {
+            return this.quantity;
+        }
+
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+
+        public double getPrice() {
+            return this.price;
+        }
+
+        public void setPrice(double price) {
+            this.price = price;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.benchmark;
+
+import modelengine.fitframework.aop.interceptor.MethodInterceptor;
+import modelengine.fitframework.aop.interceptor.MethodInvocation;
+import modelengine.fitframework.aop.interceptor.MethodJoinPoint;
+import modelengine.fitframework.aop.interceptor.support.AbstractMethodInterceptor;
+import modelengine.fitframework.aop.interceptor.support.DefaultMethodInvocation;
+import modelengine.fitframework.aop.interceptor.support.DefaultMethodJoinPoint;
+import modelengine.fitframework.aop.interceptor.support.SpecifiedMethodMatcher;
+import modelengine.fitframework.aop.proxy.InterceptSupport;
+import modelengine.fitframework.aop.proxy.support.DefaultInterceptSupport;
+import modelengine.fitframework.aop.proxy.support.JdkDynamicAopProxyFactory;
+import modelengine.fitframework.aop.proxy.support.ProxiedInterceptor;
+import modelengine.fitframework.inspection.Nonnull;
+import modelengine.fitframework.util.ObjectUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 对比预先计算的方法拦截器链与每次调用时构造拦截器链的开销。
+ * <p>{@code chained} 使用 {@link JdkDynamicAopProxyFactory} 创建的代理，方法拦截器链在第一次调用时计算并缓存，
+ * 拦截器之间直接调用。{@code legacy} 保留了之前的实现方式：每次调用都过滤所有方法拦截器，
+ * 并为每个方法拦截器构造连接点和通过反射调用下一个方法拦截器的方法调用，作为对比的基准。
+ * 所有的方法拦截器都直接调用下一个方法拦截器，不做其他处理。</p>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InterceptorChainBenchmark {
+    @Param({"0", "1", "5"})
+    private int interceptorCount;
+
+    private Service chained;
+    private Service legacy;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        Method method = Service.class.getMethod("echo", String.class);
+        List<MethodInterceptor> interceptors = new ArrayList<>();
+        for (int i = 0; i < this.interceptorCount; i++) {
+            MethodInterceptor interceptor = new PassThroughInterceptor();
+            interceptor.getPointCut().matchers().add(new SpecifiedMethodMatcher(method));
+            interceptor.getPointCut().add(Service.class);
+            interceptors.add(interceptor);
+        }
+        Service target = value -> value;
+        InterceptSupport support = new DefaultInterceptSupport(Service.class, () -> target, interceptors);
+        this.chained = ObjectUtils.cast(new JdkDynamicAopProxyFactory().createProxy(support));
+        this.legacy = ObjectUtils.cast(Proxy.newProxyInstance(Service.class.getClassLoader(),
+                new Class<?>[] {Service.class},
+                new LegacyHandler(target, interceptors)));
+    }
+
+    @Benchmark
+    public String chained() {
+        return this.chained.echo("fit");
+    }
+
+    @Benchmark
+    public String legacy() {
+        return this.legacy.echo("fit");
+    }
+
+    /**
+     * 表示被代理的接口。
+     */
+    public interface Service {
+        /**
+         * 返回指定的值。
+         *
+         * @param value 表示指定值的 {@link String}。
+         * @return 表示指定值的 {@link String}。
+         */
+        String echo(String value);
+    }
+
+    /**
+     * 表示直接调用下一个方法拦截器的方法拦截器。
+     */
+    private static final class PassThroughInterceptor extends AbstractMethodInterceptor {
+        @Override
+        public Object intercept(@Nonnull MethodJoinPoint methodJoinPoint) throws Throwable {
+            return methodJoinPoint.proceed();
+        }
+    }
+
+    /**
+     * 表示预先计算方法拦截器链之前的调用处理程序。
+     */
+    private static final class LegacyHandler implements InvocationHandler {
+        private final Object target;
+        private final List<MethodInterceptor> interceptors;
+        private final Method interceptMethod;
+
+        private LegacyHandler(Object target, List<MethodInterceptor> interceptors) throws NoSuchMethodException {
+            this.target = target;
+            this.interceptors = interceptors;
+            this.interceptMethod = MethodInterceptor.class.getDeclaredMethod("intercept", MethodJoinPoint.class);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            List<MethodInterceptor> actual = this.interceptors.stream()
+                    .filter(Objects::nonNull)
+                    .filter(interceptor -> interceptor.getPointCut().methods().contains(method))
+                    .collect(Collectors.toList());
+            MethodInvocation proxiedInvocation = new DefaultMethodInvocation(this.target, method, args);
+            if (actual.isEmpty()) {
+                return invokeTarget(proxiedInvocation);
+            }
+            MethodInvocation proxyInvocation = new DefaultMethodInvocation(proxy, method, args);
+            MethodJoinPoint joinPoint =
+                    new DefaultMethodJoinPoint(proxiedInvocation, proxiedInvocation, proxyInvocation);
+            MethodInvocation nextInvocation = new DefaultMethodInvocation(
+                    new ProxiedInterceptor(LegacyHandler::invokeTarget),
+                    this.interceptMethod,
+                    new Object[] {joinPoint});
+            joinPoint = new DefaultMethodJoinPoint(nextInvocation, proxiedInvocation, proxyInvocation);
+            for (int i = actual.size() - 1; i >= 1; i--) {
+                nextInvocation =
+                        new DefaultMethodInvocation(actual.get(i), this.interceptMethod, new Object[] {joinPoint});
+                joinPoint = new DefaultMethodJoinPoint(nextInvocation, proxiedInvocation, proxyInvocation);
+            }
+            return actual.get(0).intercept(joinPoint);
+        }
+
+        private static Object invokeTarget(MethodInvocation invocation) throws Throwable {
+            try {
+                return invocation.getMethod().invoke(invocation.getTarget(), invocation.getArguments());
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.benchmark;
+
+import modelengine.fit.http.server.dispatch.support.DefaultMappingTree;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比 {@link DefaultMappingTree} 与切分路径后逐段查找哈希表的匹配树在不同路由数量下的搜索开销。
+ * <p>路由的形式为 {@code /api/vN/svcM/{id}/items}，其中 {@code {id}} 注册为 {@code '*'}，每次搜索都命中其中一个路由。
+ * {@code split} 保留了按下标搜索之前的实现方式：切分路径为链表、每个节点使用 {@link ConcurrentHashMap} 保存子节点、
+ * 每一步通过 {@link Optional} 串联，作为对比的基准。内存分配可以通过 {@code -prof gc} 观察。</p>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingTreeBenchmark {
+    private static final int SERVICES_PER_VERSION = 10;
+
+    @Param({"10", "1000", "10000"})
+    private int routeCount;
+
+    private DefaultMappingTree<String> indexed;
+    private SplittingMappingTree<String> split;
+    private String[] paths;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.indexed = new DefaultMappingTree<>();
+        this.split = new SplittingMappingTree<>();
+        for (int i = 0; i < this.routeCount; i++) {
+            String route = route(i, "*");
+            this.indexed.register(route, route);
+            this.split.register(route, route);
+        }
+        this.paths = new String[Math.min(this.routeCount, 1024)];
+        for (int i = 0; i < this.paths.length; i++) {
+            this.paths[i] = route(i * (this.routeCount / this.paths.length), String.valueOf(i));
+        }
+    }
+
+    @Benchmark
+    public String indexed() {
+        return this.indexed.match(this.nextPath(), null);
+    }
+
+    @Benchmark
+    public Optional<String> indexedOptional() {
+        return this.indexed.search(this.nextPath());
+    }
+
+    @Benchmark
+    public Optional<String> split() {
+        return this.split.search(this.nextPath());
+    }
+
+    private String nextPath() {
+        String path = this.paths[this.next];
+        this.next = this.next + 1 == this.paths.length ? 0 : this.next + 1;
+        return path;
+    }
+
+    private static String route(int index, String variable) {
+        return "/api/v" + (index / SERVICES_PER_VERSION) + "/svc" + (index % SERVICES_PER_VERSION) + "/" + variable
+                + "/items";
+    }
+
+    /**
+     * 表示按下标搜索之前的匹配树，只支持普通路径段和 {@code '*'}。
+     *
+     * @param <T> 表示处理器类型的 {@link T}。
+     */
+    private static final class SplittingMappingTree<T> {
+        private static final String WILD_KEY = "*";
+
+        private final Node<T> root = new Node<>();
+
+        private void register(String pathPattern, T handler) {
+            Deque<String> fragments = DefaultMappingTree.splitPath(pathPattern);
+            Node<T> node = this.root;
+            while (!fragments.isEmpty()) {
+                node = node.children.computeIfAbsent(fragments.removeFirst(), key -> new Node<>());
+            }
+            node.handler = handler;
+        }
+
+        private Optional<T> search(String path) {
+            return this.root.search(DefaultMappingTree.splitPath(path.trim()));
+        }
+
+        private static final class Node<T> {
+            private final Map<String, Node<T>> children = new ConcurrentHashMap<>();
+            private volatile T handler;
+
+            private Optional<T> search(Deque<String> fragments) {
+                if (fragments.isEmpty()) {
+                    return Optional.ofNullable(this.handler);
+                }
+                String removed = fragments.removeFirst();
+                Optional<T> handler = Optional.ofNullable(this.children.get(removed))
+                        .flatMap(child -> child.search(fragments));
+                if (handler.isPresent()) {
+                    return handler;
+                }
+                handler = Optional.ofNullable(this.children.get(WILD_KEY)).flatMap(child -> child.search(fragments));
+                if (handler.isPresent()) {
+                    return handler;
+                }
+                fragments.addFirst(removed);
+                return Optional.empty();
+            }
+        }
+    }
+}
@@ -28,12 +28,16 @@ import modelengine.fitframework.broker.client.BrokerClient;
 import modelengine.fitframework.broker.client.filter.route.FitableIdFilter;
 import modelengine.fitframework.conf.Config;
 import modelengine.fitframework.conf.ConfigValueSupplier;
+import modelengine.fitframework.ioc.BeanFactory;
 import modelengine.fitframework.plugin.Plugin;
 import modelengine.fitframework.plugin.PluginComparators;
 import modelengine.fitframework.runtime.FitRuntime;
+import modelengine.fitframework.runtime.MetricsProvider;
 import modelengine.fitframework.util.StringUtils;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -128,6 +132,25 @@ public class ActuatorController {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 获取运行环境中所有 {@link MetricsProvider} 提供的指标。
+     *
+     * @param name 表示指标分组名字的 {@link String}，为空白字符串时返回所有分组的指标。
+     * @return 表示指标分组名字到指标的 {@link Map}{@code <}{@link String}{@code , }{@link Object}{@code >}。
+     */
+    @GetMapping(path = "/metrics")
+    public Map<String, Object> getMetrics(@RequestQuery(name = "name", required = false) String name) {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        this.fitRuntime.root()
+                .container()
+                .all(MetricsProvider.class)
+                .stream()
+                .map(BeanFactory::<MetricsProvider>get)
+                .filter(provider -> StringUtils.isBlank(name) || StringUtils.equals(provider.name(), name))
+                .forEach(provider -> metrics.put(provider.name(), provider.metrics()));
+        return metrics;
+    }
+
     private PluginVo convert(Plugin plugin) {
         PluginVo vo = new PluginVo();
         vo.setGroup(plugin.metadata().group());
@@ -17,10 +17,14 @@ import modelengine.fitframework.broker.Fitable;
 import modelengine.fitframework.broker.Genericable;
 import modelengine.fitframework.broker.Tags;
 import modelengine.fitframework.broker.client.BrokerClient;
+import modelengine.fitframework.ioc.BeanContainer;
+import modelengine.fitframework.ioc.BeanFactory;
 import modelengine.fitframework.plugin.Plugin;
 import modelengine.fitframework.plugin.PluginCategory;
 import modelengine.fitframework.plugin.PluginMetadata;
+import modelengine.fitframework.plugin.RootPlugin;
 import modelengine.fitframework.runtime.FitRuntime;
+import modelengine.fitframework.runtime.MetricsProvider;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,6 +35,7 @@ import org.mockito.Mockito;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 表示 {@link ActuatorController} 的单元测试。
@@ -120,4 +125,29 @@ public class ActuatorControllerTest {
                 .returns(Collections.singleton("t1"), FitableVo::getTags)
                 .returns("d1", FitableVo::getDegradation);
     }
+
+    @Test
+    @DisplayName("返回所有指标分组或者指定分组的指标")
+    void shouldReturnMetrics() {
+        MetricsProvider provider1 = mock(MetricsProvider.class);
+        when(provider1.name()).thenReturn("m1");
+        when(provider1.metrics()).thenReturn(Collections.singletonMap("count", 1));
+        MetricsProvider provider2 = mock(MetricsProvider.class);
+        when(provider2.name()).thenReturn("m2");
+        when(provider2.metrics()).thenReturn(Collections.singletonList("value"));
+        BeanFactory factory1 = mock(BeanFactory.class);
+        when(factory1.get()).thenReturn(provider1);
+        BeanFactory factory2 = mock(BeanFactory.class);
+        when(factory2.get()).thenReturn(provider2);
+        BeanContainer container = mock(BeanContainer.class);
+        when(container.all(MetricsProvider.class)).thenReturn(Arrays.asList(factory1, factory2));
+        RootPlugin root = mock(RootPlugin.class);
+        when(root.container()).thenReturn(container);
+        when(this.fitRuntime.root()).thenReturn(root);
+
+        Map<String, Object> all = this.actuatorController.getMetrics(null);
+        assertThat(all).containsOnlyKeys("m1", "m2").containsEntry("m2", Collections.singletonList("value"));
+        Map<String, Object> one = this.actuatorController.getMetrics("m1");
+        assertThat(one).containsOnlyKeys("m1").containsEntry("m1", Collections.singletonMap("count", 1));
+    }
 }
@@ -0,0 +1,102 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.cache.local;
+
+import modelengine.fitframework.util.StringUtils;
+
+/**
+ * 表示本地缓存实例在某一时刻的统计信息。
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+public final class CacheStatistics {
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long expirationCount;
+
+    /**
+     * 使用各项统计数据初始化 {@link CacheStatistics} 的新实例。
+     *
+     * @param hitCount 表示命中次数的 {@code long}。
+     * @param missCount 表示未命中次数的 {@code long}。
+     * @param evictionCount 表示因为超出容量而被淘汰的缓存项数量的 {@code long}。
+     * @param expirationCount 表示因为过期而被移除的缓存项数量的 {@code long}。
+     */
+    public CacheStatistics(long hitCount, long missCount, long evictionCount, long expirationCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.expirationCount = expirationCount;
+    }
+
+    /**
+     * 获取命中次数。
+     *
+     * @return 表示命中次数的 {@code long}。
+     */
+    public long hitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * 获取未命中次数。
+     *
+     * @return 表示未命中次数的 {@code long}。
+     */
+    public long missCount() {
+        return this.missCount;
+    }
+
+    /**
+     * 获取请求次数，即命中次数与未命中次数之和。
+     *
+     * @return 表示请求次数的 {@code long}。
+     */
+    public long requestCount() {
+        return this.hitCount + this.missCount;
+    }
+
+    /**
+     * 获取命中率。
+     *
+     * @return 表示命中率的 {@code double}，当没有任何请求时，命中率为 {@code 1.0}。
+     */
+    public double hitRate() {
+        long requestCount = this.requestCount();
+        return requestCount == 0 ? 1.0 : (double) this.hitCount / requestCount;
+    }
+
+    /**
+     * 获取因为超出容量而被淘汰的缓存项数量。
+     *
+     * @return 表示被淘汰的缓存项数量的 {@code long}。
+     */
+    public long evictionCount() {
+        return this.evictionCount;
+    }
+
+    /**
+     * 获取因为过期而被移除的缓存项数量。
+     *
+     * @return 表示过期的缓存项数量的 {@code long}。
+     */
+    public long expirationCount() {
+        return this.expirationCount;
+    }
+
+    @Override
+    public String toString() {
+        return StringUtils.format("[hitCount={0}, missCount={1}, hitRate={2}, evictionCount={3}, expirationCount={4}]",
+                this.hitCount,
+                this.missCount,
+                this.hitRate(),
+                this.evictionCount,
+                this.expirationCount);
+    }
+}
@@ -0,0 +1,106 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.cache.local;
+
+/**
+ * 表示估算键的访问频率的 Count-Min Sketch。
+ * <p>每个键在 4 行计数器中各占用一个 4 位的计数器，估算的频率为这些计数器中的最小值，因此频率最大为 15。
+ * 当记录的访问次数达到采样大小时，所有计数器减半，使得历史访问的影响逐渐衰减。</p>
+ * <p>该类型不是线程安全的，需要由调用方保证互斥访问。</p>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+final class FrequencySketch {
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAXIMUM_CAPACITY = 1 << 24;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int size;
+
+    /**
+     * 使用期望记录的键的数量初始化 {@link FrequencySketch} 的新实例。
+     *
+     * @param expectedSize 表示期望记录的键的数量的 {@code long}。
+     */
+    FrequencySketch(long expectedSize) {
+        int capacity = (int) Math.min(Math.max(expectedSize, 16L), MAXIMUM_CAPACITY);
+        int length = Integer.highestOneBit(capacity - 1) << 1;
+        this.table = new long[length];
+        this.tableMask = length - 1;
+        this.sampleSize = 10 * capacity;
+    }
+
+    /**
+     * 获取指定键的估算频率。
+     *
+     * @param key 表示指定键的 {@link Object}。
+     * @return 表示估算频率的 {@code int}，取值范围为 {@code [0, 15]}。
+     */
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            int index = this.indexOf(hash, i);
+            int count = (int) ((this.table[index] >>> ((start + i) << 2)) & 0xFL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * 记录指定键的一次访问。
+     *
+     * @param key 表示指定键的 {@link Object}。
+     */
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= this.incrementAt(this.indexOf(hash, i), start + i);
+        }
+        if (added && ++this.size == this.sampleSize) {
+            this.reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int offset = counter << 2;
+        long mask = 0xFL << offset;
+        if ((this.table[index] & mask) == mask) {
+            return false;
+        }
+        this.table[index] += 1L << offset;
+        return true;
+    }
+
+    private void reset() {
+        for (int i = 0; i < this.table.length; i++) {
+            this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+        }
+        this.size >>>= 1;
+    }
+
+    private int indexOf(int hash, int row) {
+        long value = (hash + SEEDS[row]) * SEEDS[row];
+        value += value >>> 32;
+        return ((int) value) & this.tableMask;
+    }
+
+    private static int spread(int hash) {
+        int value = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        value = ((value >>> 16) ^ value) * 0x45d9f3b;
+        return (value >>> 16) ^ value;
+    }
+}
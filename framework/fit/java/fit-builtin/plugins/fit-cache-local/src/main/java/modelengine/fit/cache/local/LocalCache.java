@@ -0,0 +1,607 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.cache.local;
+
+import static modelengine.fitframework.inspection.Validation.greaterThan;
+import static modelengine.fitframework.inspection.Validation.notNegative;
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fitframework.aop.interceptor.cache.instance.AbstractCache;
+import modelengine.fitframework.cache.Cache.Loader;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 表示有容量上限的本地缓存实例。
+ * <p>缓存淘汰采用 W-TinyLFU 策略：</p>
+ * <ul>
+ *     <li>新写入的缓存项先进入占总容量 1% 的窗口区，窗口区按照 LRU 淘汰，用于容纳突发的新访问；</li>
+ *     <li>从窗口区淘汰的缓存项作为候选项进入主区的试用段，当总容量超出上限时，候选项与试用段中最久未访问的缓存项比较
+ *     {@link FrequencySketch} 估算的访问频率，频率较低的一方被淘汰；</li>
+ *     <li>试用段中再次被访问的缓存项晋升到占主区 80% 的保护段，保护段溢出的缓存项降级回试用段。</li>
+ * </ul>
+ * <p>读操作不加锁，访问记录写入一个有损的环形缓冲区，由获取到锁的线程批量应用到淘汰策略上；写操作在锁内完成，
+ * 并顺便执行淘汰和过期清理。过期的缓存项在读取时即时判断，因此不会被读到，其占用的空间则在维护时从各个队列的头部开始回收。</p>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+public class LocalCache extends AbstractCache {
+    /** 表示未指定容量时的默认最大缓存项数量。 */
+    public static final long DEFAULT_MAXIMUM_SIZE = 10_000L;
+
+    private static final int READ_BUFFER_SIZE = 128;
+    private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+    private static final int DRAIN_THRESHOLD_MASK = 31;
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+    private static final int DEAD = -1;
+
+    private final ConcurrentHashMap<Object, Node> data = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final AtomicReferenceArray<Node> readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+    private final AtomicLong readCount = new AtomicLong();
+
+    private final long maximumWeight;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private final Weigher weigher;
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+    private final long refreshAfterWriteNanos;
+    private final LongSupplier ticker;
+    private final FrequencySketch sketch;
+
+    private final NodeQueue window = new NodeQueue();
+    private final NodeQueue probation = new NodeQueue();
+    private final NodeQueue protectedQueue = new NodeQueue();
+    private long windowWeight;
+    private long protectedWeight;
+    private long weightedSize;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder expirationCount = new LongAdder();
+
+    private LocalCache(Builder builder) {
+        super(builder.name, builder.allowsNullValue);
+        this.weigher = builder.weigher;
+        this.maximumWeight = builder.maximumWeight();
+        this.windowMaximum = Math.max(1L, this.maximumWeight / 100);
+        this.protectedMaximum = (this.maximumWeight - this.windowMaximum) * 80 / 100;
+        this.expireAfterWriteNanos = toNanos(builder.expireAfterWrite);
+        this.expireAfterAccessNanos = toNanos(builder.expireAfterAccess);
+        this.refreshAfterWriteNanos = toNanos(builder.refreshAfterWrite);
+        this.ticker = builder.ticker;
+        this.sketch = new FrequencySketch(this.weigher == null ? this.maximumWeight : DEFAULT_MAXIMUM_SIZE);
+    }
+
+    private static long toNanos(Duration duration) {
+        return duration == null ? 0L : duration.toNanos();
+    }
+
+    @Override
+    public boolean contains(Object key) {
+        notNull(key, "The cache key cannot be null.");
+        Node node = this.data.get(key);
+        if (node == null) {
+            return false;
+        }
+        if (this.isExpired(node, this.ticker.getAsLong())) {
+            this.expire(node);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    protected Object load(Object key) {
+        Node node = this.data.get(key);
+        if (node == null) {
+            this.missCount.increment();
+            return null;
+        }
+        long now = this.ticker.getAsLong();
+        if (this.isExpired(node, now)) {
+            this.expire(node);
+            this.missCount.increment();
+            return null;
+        }
+        if (this.expireAfterAccessNanos > 0) {
+            node.accessTime = now;
+        }
+        this.hitCount.increment();
+        this.afterRead(node);
+        return node.value;
+    }
+
+    @Override
+    protected Object peek(Object key) {
+        Node node = this.data.get(key);
+        if (node == null || this.isExpired(node, this.ticker.getAsLong())) {
+            return null;
+        }
+        return node.value;
+    }
+
+    @Override
+    protected void store(Object key, Object value) {
+        long now = this.ticker.getAsLong();
+        int weight = this.weigh(key, value);
+        this.evictionLock.lock();
+        try {
+            Node node = this.data.get(key);
+            if (node == null) {
+                node = new Node(key, value, weight, now);
+                this.data.put(key, node);
+                this.sketch.increment(key);
+                this.window.addLast(node);
+                node.queue = WINDOW;
+                this.windowWeight += weight;
+                this.weightedSize += weight;
+            } else {
+                node.value = value;
+                node.writeTime = now;
+                node.accessTime = now;
+                this.adjustWeight(node, weight);
+                this.onAccess(node);
+            }
+            this.maintain(now);
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void remove(Object key) {
+        notNull(key, "The cache key cannot be null.");
+        this.evictionLock.lock();
+        try {
+            Node node = this.data.remove(key);
+            if (node != null) {
+                this.unlink(node);
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    /**
+     * 获取当前缓存实例中缓存项的估计数量，其中可能包含已过期但尚未清理的缓存项。
+     *
+     * @return 表示缓存项的估计数量的 {@code long}。
+     */
+    public long estimatedSize() {
+        return this.data.size();
+    }
+
+    /**
+     * 获取当前缓存实例的统计信息。
+     *
+     * @return 表示统计信息的 {@link CacheStatistics}。
+     */
+    public CacheStatistics statistics() {
+        return new CacheStatistics(this.hitCount.sum(),
+                this.missCount.sum(),
+                this.evictionCount.sum(),
+                this.expirationCount.sum());
+    }
+
+    /**
+     * 立即执行挂起的维护工作，包括应用访问记录、清理过期的缓存项以及淘汰超出容量的缓存项。
+     */
+    public void cleanUp() {
+        this.evictionLock.lock();
+        try {
+            this.maintain(this.ticker.getAsLong());
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    @Override
+    protected boolean shouldRefresh(Object key) {
+        if (this.refreshAfterWriteNanos <= 0) {
+            return false;
+        }
+        Node node = this.data.get(key);
+        return node != null && this.ticker.getAsLong() - node.writeTime >= this.refreshAfterWriteNanos;
+    }
+
+    private int weigh(Object key, Object value) {
+        if (this.weigher == null) {
+            return 1;
+        }
+        Object actual = value == Optional.empty() ? null : value;
+        return notNegative(this.weigher.weigh(key, actual),
+                "The weight of cache entry cannot be negative. [instance={0}, key={1}]",
+                this.name(),
+                key);
+    }
+
+    private boolean isExpired(Node node, long now) {
+        return (this.expireAfterWriteNanos > 0 && now - node.writeTime >= this.expireAfterWriteNanos)
+                || (this.expireAfterAccessNanos > 0 && now - node.accessTime >= this.expireAfterAccessNanos);
+    }
+
+    private void expire(Node node) {
+        this.evictionLock.lock();
+        try {
+            if (this.data.remove(node.key, node)) {
+                this.unlink(node);
+                this.expirationCount.increment();
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    private void afterRead(Node node) {
+        long index = this.readCount.getAndIncrement();
+        this.readBuffer.lazySet((int) (index & READ_BUFFER_MASK), node);
+        if ((index & DRAIN_THRESHOLD_MASK) == DRAIN_THRESHOLD_MASK && this.evictionLock.tryLock()) {
+            try {
+                this.drainReadBuffer();
+            } finally {
+                this.evictionLock.unlock();
+            }
+        }
+    }
+
+    private void maintain(long now) {
+        this.drainReadBuffer();
+        this.expireEntries(now);
+        this.evictEntries();
+    }
+
+    private void drainReadBuffer() {
+        for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+            Node node = this.readBuffer.getAndSet(i, null);
+            if (node != null && node.queue != DEAD) {
+                this.onAccess(node);
+            }
+        }
+    }
+
+    private void onAccess(Node node) {
+        this.sketch.increment(node.key);
+        if (node.queue == WINDOW) {
+            this.window.moveToLast(node);
+        } else if (node.queue == PROBATION) {
+            this.probation.remove(node);
+            this.protectedQueue.addLast(node);
+            node.queue = PROTECTED;
+            this.protectedWeight += node.weight;
+            this.demoteProtected();
+        } else if (node.queue == PROTECTED) {
+            this.protectedQueue.moveToLast(node);
+        }
+    }
+
+    private void demoteProtected() {
+        while (this.protectedWeight > this.protectedMaximum) {
+            Node demoted = this.protectedQueue.first;
+            if (demoted == null) {
+                return;
+            }
+            this.protectedQueue.remove(demoted);
+            this.probation.addLast(demoted);
+            demoted.queue = PROBATION;
+            this.protectedWeight -= demoted.weight;
+        }
+    }
+
+    private void expireEntries(long now) {
+        if (this.expireAfterWriteNanos <= 0 && this.expireAfterAccessNanos <= 0) {
+            return;
+        }
+        this.expireEntries(this.window, now);
+        this.expireEntries(this.probation, now);
+        this.expireEntries(this.protectedQueue, now);
+    }
+
+    private void expireEntries(NodeQueue queue, long now) {
+        Node node = queue.first;
+        while (node != null && this.isExpired(node, now)) {
+            Node next = node.next;
+            this.data.remove(node.key, node);
+            this.unlink(node);
+            this.expirationCount.increment();
+            node = next;
+        }
+    }
+
+    private void evictEntries() {
+        Node candidate = null;
+        while (this.windowWeight > this.windowMaximum && this.window.first != null) {
+            Node node = this.window.first;
+            this.window.remove(node);
+            this.windowWeight -= node.weight;
+            this.probation.addLast(node);
+            node.queue = PROBATION;
+            if (candidate == null) {
+                candidate = node;
+            }
+        }
+        while (this.weightedSize > this.maximumWeight) {
+            Node victim = this.firstNonNull(this.probation.first, this.protectedQueue.first, this.window.first);
+            if (victim == null) {
+                return;
+            }
+            if (candidate == null || candidate == victim || victim.queue != PROBATION) {
+                if (candidate == victim) {
+                    candidate = victim.next;
+                }
+                this.evict(victim);
+            } else if (this.sketch.frequency(candidate.key) > this.sketch.frequency(victim.key)) {
+                this.evict(victim);
+            } else {
+                Node next = candidate.next;
+                this.evict(candidate);
+                candidate = next;
+            }
+        }
+    }
+
+    private Node firstNonNull(Node... nodes) {
+        for (Node node : nodes) {
+            if (node != null) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    private void evict(Node node) {
+        this.data.remove(node.key, node);
+        this.unlink(node);
+        this.evictionCount.increment();
+    }
+
+    private void adjustWeight(Node node, int weight) {
+        int difference = weight - node.weight;
+        node.weight = weight;
+        if (node.queue == WINDOW) {
+            this.windowWeight += difference;
+        } else if (node.queue == PROTECTED) {
+            this.protectedWeight += difference;
+        }
+        this.weightedSize += difference;
+    }
+
+    private void unlink(Node node) {
+        if (node.queue == WINDOW) {
+            this.window.remove(node);
+            this.windowWeight -= node.weight;
+        } else if (node.queue == PROBATION) {
+            this.probation.remove(node);
+        } else if (node.queue == PROTECTED) {
+            this.protectedQueue.remove(node);
+            this.protectedWeight -= node.weight;
+        } else {
+            return;
+        }
+        this.weightedSize -= node.weight;
+        node.queue = DEAD;
+    }
+
+    /**
+     * 获取 {@link LocalCache} 的构建器。
+     *
+     * @param name 表示缓存实例名字的 {@link String}。
+     * @return 表示 {@link LocalCache} 的构建器的 {@link Builder}。
+     */
+    public static Builder custom(String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * 表示计算缓存项权重的方法。
+     */
+    @FunctionalInterface
+    public interface Weigher {
+        /**
+         * 计算指定缓存项的权重。
+         *
+         * @param key 表示缓存项的键的 {@link Object}。
+         * @param value 表示缓存项的值的 {@link Object}。
+         * @return 表示缓存项的权重的 {@code int}，不能为负数。
+         */
+        int weigh(Object key, Object value);
+    }
+
+    /**
+     * 表示 {@link LocalCache} 的构建器。
+     */
+    public static final class Builder {
+        private final String name;
+        private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+        private long maximumWeight;
+        private Weigher weigher;
+        private Duration expireAfterWrite;
+        private Duration expireAfterAccess;
+        private Duration refreshAfterWrite;
+        private boolean allowsNullValue = true;
+        private LongSupplier ticker = System::nanoTime;
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        /**
+         * 设置最大缓存项数量。
+         *
+         * @param maximumSize 表示最大缓存项数量的 {@code long}。
+         * @return 表示当前构建器的 {@link Builder}。
+         * @throws IllegalArgumentException 当 {@code maximumSize} 不是正数时。
+         */
+        public Builder maximumSize(long maximumSize) {
+            this.maximumSize = greaterThan(maximumSize, 0, "The maximum size of cache must be positive.");
+            this.weigher = null;
+            return this;
+        }
+
+        /**
+         * 设置最大总权重及计算每个缓存项权重的方法，设置后不再限制缓存项的数量。
+         *
+         * @param maximumWeight 表示最大总权重的 {@code long}。
+         * @param weigher 表示计算缓存项权重的方法的 {@link Weigher}。
+         * @return 表示当前构建器的 {@link Builder}。
+         * @throws IllegalArgumentException 当 {@code maximumWeight} 不是正数或 {@code weigher} 为 {@code null} 时。
+         */
+        public Builder maximumWeight(long maximumWeight, Weigher weigher) {
+            this.maximumWeight = greaterThan(maximumWeight, 0, "The maximum weight of cache must be positive.");
+            this.weigher = notNull(weigher, "The weigher cannot be null.");
+            return this;
+        }
+
+        /**
+         * 设置缓存项在写入后的过期时间。
+         *
+         * @param duration 表示过期时间的 {@link Duration}，为 {@code null} 或零时表示不过期。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        public Builder expireAfterWrite(Duration duration) {
+            this.expireAfterWrite = duration;
+            return this;
+        }
+
+        /**
+         * 设置缓存项在最后一次访问后的过期时间。
+         *
+         * @param duration 表示过期时间的 {@link Duration}，为 {@code null} 或零时表示不过期。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        public Builder expireAfterAccess(Duration duration) {
+            this.expireAfterAccess = duration;
+            return this;
+        }
+
+        /**
+         * 设置缓存项在写入后需要提前刷新的时间。
+         * <p>超过该时间的缓存项在通过 {@link LocalCache#get(Object, Loader)} 命中时仍然返回当前值，同时异步重新加载。
+         * 该时间应当小于写入后的过期时间，否则缓存项在需要刷新前就已经过期。</p>
+         *
+         * @param duration 表示刷新时间的 {@link Duration}，为 {@code null} 或零时表示不刷新。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        public Builder refreshAfterWrite(Duration duration) {
+            this.refreshAfterWrite = duration;
+            return this;
+        }
+
+        /**
+         * 设置是否允许缓存 {@code null} 值。
+         *
+         * @param allowsNullValue 表示是否允许缓存 {@code null} 值的 {@code boolean}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        public Builder allowsNullValue(boolean allowsNullValue) {
+            this.allowsNullValue = allowsNullValue;
+            return this;
+        }
+
+        /**
+         * 设置计算过期时间所使用的纳秒时钟。
+         *
+         * @param ticker 表示纳秒时钟的 {@link LongSupplier}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        Builder ticker(LongSupplier ticker) {
+            this.ticker = notNull(ticker, "The ticker cannot be null.");
+            return this;
+        }
+
+        /**
+         * 构建缓存实例。
+         *
+         * @return 表示构建的缓存实例的 {@link LocalCache}。
+         * @throws IllegalArgumentException 当缓存实例的名字为空白时。
+         */
+        public LocalCache build() {
+            return new LocalCache(this);
+        }
+
+        private long maximumWeight() {
+            return this.weigher == null ? this.maximumSize : this.maximumWeight;
+        }
+    }
+
+    /**
+     * 表示缓存项，同时作为所在访问队列的节点。
+     * <p>{@link #queue}、{@link #weight}、{@link #prev} 和 {@link #next} 仅在持有淘汰锁时访问。</p>
+     */
+    private static final class Node {
+        private final Object key;
+        private volatile Object value;
+        private volatile long writeTime;
+        private volatile long accessTime;
+        private int weight;
+        private int queue;
+        private Node prev;
+        private Node next;
+
+        private Node(Object key, Object value, int weight, long now) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.writeTime = now;
+            this.accessTime = now;
+        }
+    }
+
+    /**
+     * 表示按照访问顺序排列的缓存项队列，队列头部为最久未访问的缓存项。
+     */
+    private static final class NodeQueue {
+        private Node first;
+        private Node last;
+
+        private void addLast(Node node) {
+            node.prev = this.last;
+            node.next = null;
+            if (this.last == null) {
+                this.first = node;
+            } else {
+                this.last.next = node;
+            }
+            this.last = node;
+        }
+
+        private void remove(Node node) {
+            if (node.prev == null) {
+                this.first = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                this.last = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+        }
+
+        private void moveToLast(Node node) {
+            if (this.last != node) {
+                this.remove(node);
+                this.addLast(node);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.cache.local;
+
+import static modelengine.fitframework.inspection.Validation.notBlank;
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.cache.Cache;
+import modelengine.fitframework.cache.CacheManager;
+import modelengine.fitframework.conf.Config;
+import modelengine.fitframework.runtime.MetricsProvider;
+import modelengine.fitframework.util.ObjectUtils;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 表示 {@link CacheManager} 的本地实现。
+ * <p>缓存实例在第一次获取时按照名字创建，每个缓存实例的配置优先从 {@code cache.local.instances.<name>} 下读取，
+ * 未配置的项从 {@code cache.local.default} 下读取：</p>
+ * <ul>
+ *     <li>{@code maximum-size}：最大缓存项数量；</li>
+ *     <li>{@code expire-after-write}：写入后的过期时间，单位为毫秒，为 {@code 0} 时表示不过期；</li>
+ *     <li>{@code expire-after-access}：最后一次访问后的过期时间，单位为毫秒，为 {@code 0} 时表示不过期；</li>
+ *     <li>{@code refresh-after-write}：写入后需要提前异步刷新的时间，单位为毫秒，为 {@code 0} 时表示不刷新；</li>
+ *     <li>{@code allows-null-value}：是否允许缓存 {@code null} 值。</li>
+ * </ul>
+ * <p>各缓存实例的统计信息可以通过 {@code /actuator/metrics?name=cache} 获取。</p>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+@Component
+public class LocalCacheManager implements CacheManager, MetricsProvider {
+    /** 表示指标分组名字的 {@link String}。 */
+    public static final String NAME = "cache";
+
+    private static final String INSTANCE_PREFIX = "cache.local.instances.";
+    private static final String DEFAULT_PREFIX = "cache.local.default.";
+    private static final String MAXIMUM_SIZE = "maximum-size";
+    private static final String EXPIRE_AFTER_WRITE = "expire-after-write";
+    private static final String EXPIRE_AFTER_ACCESS = "expire-after-access";
+    private static final String REFRESH_AFTER_WRITE = "refresh-after-write";
+    private static final String ALLOWS_NULL_VALUE = "allows-null-value";
+
+    private final Config config;
+    private final Map<String, LocalCache> instances = new ConcurrentHashMap<>();
+
+    /**
+     * 使用指定的配置初始化 {@link LocalCacheManager} 的新实例。
+     *
+     * @param config 表示读取缓存实例配置的 {@link Config}。
+     * @throws IllegalArgumentException 当 {@code config} 为 {@code null} 时。
+     */
+    public LocalCacheManager(Config config) {
+        this.config = notNull(config, "The config cannot be null.");
+    }
+
+    @Override
+    public Optional<Cache> getInstance(String name) {
+        notBlank(name, "The cache instance name cannot be blank.");
+        return Optional.of(this.instances.computeIfAbsent(name, this::createInstance));
+    }
+
+    @Override
+    public Set<String> getInstanceNames() {
+        return Collections.unmodifiableSet(new HashSet<>(this.instances.keySet()));
+    }
+
+    /**
+     * 获取指定名字的缓存实例的统计信息。
+     *
+     * @param name 表示缓存实例名字的 {@link String}。
+     * @return 表示统计信息的 {@link Optional}{@code <}{@link CacheStatistics}{@code >}，当缓存实例尚未创建时为空。
+     */
+    public Optional<CacheStatistics> getStatistics(String name) {
+        return Optional.ofNullable(this.instances.get(name)).map(LocalCache::statistics);
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    /**
+     * 获取所有已创建的缓存实例的统计信息，按照缓存实例的名字排序。
+     *
+     * @return 表示以缓存实例名字为键、统计信息为值的 {@link Map}。
+     */
+    @Override
+    public Map<String, Map<String, Object>> metrics() {
+        Map<String, Map<String, Object>> metrics = new TreeMap<>();
+        this.instances.forEach((name, instance) -> {
+            CacheStatistics statistics = instance.statistics();
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("size", instance.estimatedSize());
+            values.put("hitCount", statistics.hitCount());
+            values.put("missCount", statistics.missCount());
+            values.put("hitRate", statistics.hitRate());
+            values.put("evictionCount", statistics.evictionCount());
+            values.put("expirationCount", statistics.expirationCount());
+            metrics.put(name, values);
+        });
+        return metrics;
+    }
+
+    private LocalCache createInstance(String name) {
+        LocalCache.Builder builder = LocalCache.custom(name);
+        Long maximumSize = this.get(name, MAXIMUM_SIZE, Long.class);
+        if (maximumSize != null && maximumSize > 0) {
+            builder.maximumSize(maximumSize);
+        }
+        Long expireAfterWrite = this.get(name, EXPIRE_AFTER_WRITE, Long.class);
+        if (expireAfterWrite != null && expireAfterWrite > 0) {
+            builder.expireAfterWrite(Duration.ofMillis(expireAfterWrite));
+        }
+        Long expireAfterAccess = this.get(name, EXPIRE_AFTER_ACCESS, Long.class);
+        if (expireAfterAccess != null && expireAfterAccess > 0) {
+            builder.expireAfterAccess(Duration.ofMillis(expireAfterAccess));
+        }
+        Long refreshAfterWrite = this.get(name, REFRESH_AFTER_WRITE, Long.class);
+        if (refreshAfterWrite != null && refreshAfterWrite > 0) {
+            builder.refreshAfterWrite(Duration.ofMillis(refreshAfterWrite));
+        }
+        Boolean allowsNullValue = this.get(name, ALLOWS_NULL_VALUE, Boolean.class);
+        return builder.allowsNullValue(ObjectUtils.nullIf(allowsNullValue, true)).build();
+    }
+
+    private <T> T get(String name, String key, Class<T> clazz) {
+        T value = this.config.get(INSTANCE_PREFIX + name + "." + key, clazz);
+        return value != null ? value : this.config.get(DEFAULT_PREFIX + key, clazz);
+    }
+}
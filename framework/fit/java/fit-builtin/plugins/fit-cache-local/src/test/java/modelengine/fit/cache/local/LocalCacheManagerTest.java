@@ -0,0 +1,81 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.cache.local;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import modelengine.fitframework.cache.Cache;
+import modelengine.fitframework.conf.Config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+/**
+ * {@link LocalCacheManager} 的单元测试。
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+@DisplayName("测试 LocalCacheManager")
+public class LocalCacheManagerTest {
+    private LocalCacheManager manager;
+
+    @BeforeEach
+    void setup() {
+        Config config = mock(Config.class);
+        when(config.get(anyString(), any(Class.class))).thenReturn(null);
+        when(config.get("cache.local.default.maximum-size", Long.class)).thenReturn(100L);
+        when(config.get("cache.local.instances.small.maximum-size", Long.class)).thenReturn(2L);
+        this.manager = new LocalCacheManager(config);
+    }
+
+    @Test
+    @DisplayName("相同名字获取到相同的缓存实例")
+    void shouldReturnSameInstanceForSameName() {
+        Cache first = this.manager.getInstance("users").orElseThrow(IllegalStateException::new);
+        Cache second = this.manager.getInstance("users").orElseThrow(IllegalStateException::new);
+        assertThat(first).isSameAs(second);
+        assertThat(first.name()).isEqualTo("users");
+        assertThat(this.manager.getInstanceNames()).containsExactly("users");
+    }
+
+    @Test
+    @DisplayName("缓存实例的配置优先于默认配置")
+    void shouldApplyInstanceConfig() {
+        Cache small = this.manager.getInstance("small").orElseThrow(IllegalStateException::new);
+        for (int i = 0; i < 10; i++) {
+            small.put(i, i);
+        }
+        ((LocalCache) small).cleanUp();
+        assertThat(((LocalCache) small).estimatedSize()).isLessThanOrEqualTo(2);
+        assertThat(this.manager.getStatistics("small")).isPresent();
+        assertThat(this.manager.getStatistics("absent")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("通过指标获取已创建的缓存实例的统计信息")
+    void shouldExposeStatisticsAsMetrics() {
+        Cache users = this.manager.getInstance("users").orElseThrow(IllegalStateException::new);
+        users.put("k", "v");
+        users.get("k");
+        users.get("absent");
+        assertThat(this.manager.name()).isEqualTo("cache");
+        Map<String, Map<String, Object>> metrics = this.manager.metrics();
+        assertThat(metrics).containsOnlyKeys("users");
+        assertThat(metrics.get("users")).containsEntry("size", 1L)
+                .containsEntry("hitCount", 1L)
+                .containsEntry("missCount", 1L)
+                .containsEntry("hitRate", 0.5);
+    }
+}
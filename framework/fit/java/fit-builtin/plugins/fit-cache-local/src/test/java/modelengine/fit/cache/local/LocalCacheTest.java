@@ -0,0 +1,245 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.cache.local;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import modelengine.fitframework.cache.Cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link LocalCache} 的单元测试。
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+@DisplayName("测试 LocalCache")
+public class LocalCacheTest {
+    @Test
+    @DisplayName("写入后可以读取，移除后无法读取")
+    void shouldGetAfterPutAndNotAfterRemove() {
+        LocalCache cache = LocalCache.custom("test").build();
+        cache.put("k", "v");
+        assertThat(cache.contains("k")).isTrue();
+        assertThat(cache.get("k")).isEqualTo("v");
+        cache.remove("k");
+        assertThat(cache.contains("k")).isFalse();
+        assertThat(cache.get("k")).isNull();
+        assertThat(cache.estimatedSize()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("允许缓存 null 值时，缓存的 null 值视为存在")
+    void shouldContainNullValueWhenAllowed() {
+        LocalCache cache = LocalCache.custom("test").build();
+        cache.put("k", null);
+        assertThat(cache.contains("k")).isTrue();
+        assertThat(cache.get("k")).isNull();
+    }
+
+    @Test
+    @DisplayName("不允许缓存 null 值时，写入 null 值抛出异常")
+    void shouldThrowWhenPutNullValueAndNotAllowed() {
+        LocalCache cache = LocalCache.custom("test").allowsNullValue(false).build();
+        assertThatThrownBy(() -> cache.put("k", null)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("统计命中次数和未命中次数")
+    void shouldRecordHitsAndMisses() {
+        LocalCache cache = LocalCache.custom("test").build();
+        cache.put("k", "v");
+        cache.get("k");
+        cache.get("k");
+        cache.get("absent");
+        cache.contains("absent");
+        CacheStatistics statistics = cache.statistics();
+        assertThat(statistics.hitCount()).isEqualTo(2);
+        assertThat(statistics.missCount()).isEqualTo(1);
+        assertThat(statistics.hitRate()).isEqualTo(2.0 / 3);
+    }
+
+    @Nested
+    @DisplayName("当通过加载器获取缓存值时")
+    class GivenLoader {
+        @Test
+        @DisplayName("相同键的并发获取只执行一次加载器")
+        void shouldLoadOnceForConcurrentGets() throws Exception {
+            LocalCache cache = LocalCache.custom("test").build();
+            AtomicInteger loads = new AtomicInteger();
+            CountDownLatch loading = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<Object>> results = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    results.add(executor.submit(() -> getOrLoad(cache, () -> {
+                        loads.incrementAndGet();
+                        loading.await(5, TimeUnit.SECONDS);
+                        return "v";
+                    })));
+                }
+                Thread.sleep(100);
+                loading.countDown();
+                for (Future<Object> result : results) {
+                    assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("v");
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            assertThat(loads.get()).isEqualTo(1);
+            assertThat(cache.get("k")).isEqualTo("v");
+            CacheStatistics statistics = cache.statistics();
+            assertThat(statistics.hitCount() + statistics.missCount()).isEqualTo(9);
+            assertThat(statistics.missCount()).isGreaterThanOrEqualTo(1);
+        }
+
+        private Object getOrLoad(LocalCache cache, Cache.Loader loader) throws Exception {
+            try {
+                return cache.get("k", loader);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Test
+        @DisplayName("加载失败时抛出加载器的异常且不缓存")
+        void shouldThrowLoaderExceptionAndNotCache() {
+            LocalCache cache = LocalCache.custom("test").build();
+            assertThatThrownBy(() -> cache.get("k", () -> {
+                throw new IllegalStateException("failed");
+            })).isInstanceOf(IllegalStateException.class).hasMessage("failed");
+            assertThat(cache.contains("k")).isFalse();
+        }
+
+        @Test
+        @DisplayName("超过刷新时间的缓存项返回当前值并异步刷新")
+        void shouldRefreshAheadOfExpiration() throws Throwable {
+            AtomicLong ticker = new AtomicLong();
+            LocalCache cache = LocalCache.custom("test")
+                    .expireAfterWrite(Duration.ofSeconds(10))
+                    .refreshAfterWrite(Duration.ofSeconds(5))
+                    .ticker(ticker::get)
+                    .build();
+            AtomicInteger version = new AtomicInteger();
+            assertThat(cache.get("k", version::incrementAndGet)).isEqualTo(1);
+            ticker.addAndGet(Duration.ofSeconds(6).toNanos());
+            assertThat(cache.get("k", version::incrementAndGet)).isEqualTo(1);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!Integer.valueOf(2).equals(cache.get("k")) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(cache.get("k")).isEqualTo(2);
+            ticker.addAndGet(Duration.ofSeconds(6).toNanos());
+            assertThat(cache.contains("k")).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("当缓存项超出容量时")
+    class GivenExceedingCapacity {
+        @Test
+        @DisplayName("缓存项数量不超过最大数量")
+        void shouldBoundSize() {
+            LocalCache cache = LocalCache.custom("test").maximumSize(100).build();
+            for (int i = 0; i < 1000; i++) {
+                cache.put(i, i);
+            }
+            cache.cleanUp();
+            assertThat(cache.estimatedSize()).isLessThanOrEqualTo(100);
+            assertThat(cache.statistics().evictionCount()).isGreaterThanOrEqualTo(900);
+        }
+
+        @Test
+        @DisplayName("频繁访问的缓存项不会被只访问一次的缓存项淘汰")
+        void shouldKeepFrequentlyAccessedEntries() {
+            LocalCache cache = LocalCache.custom("test").maximumSize(100).build();
+            for (int i = 0; i < 100; i++) {
+                cache.put(i, i);
+            }
+            for (int round = 0; round < 20; round++) {
+                for (int i = 0; i < 10; i++) {
+                    cache.get(i);
+                }
+                cache.cleanUp();
+            }
+            for (int i = 1000; i < 3000; i++) {
+                cache.put(i, i);
+            }
+            for (int i = 0; i < 10; i++) {
+                assertThat(cache.contains(i)).isTrue();
+            }
+        }
+
+        @Test
+        @DisplayName("总权重不超过最大权重")
+        void shouldBoundWeight() {
+            LocalCache cache =
+                    LocalCache.custom("test").maximumWeight(10, (key, value) -> ((String) value).length()).build();
+            cache.put(1, "aaaa");
+            cache.put(2, "bbbb");
+            cache.put(3, "cccc");
+            cache.cleanUp();
+            assertThat(cache.estimatedSize()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("当缓存项过期时")
+    class GivenExpiration {
+        private final AtomicLong ticker = new AtomicLong();
+
+        @Test
+        @DisplayName("写入后超过过期时间的缓存项无法读取")
+        void shouldExpireAfterWrite() {
+            LocalCache cache = LocalCache.custom("test")
+                    .expireAfterWrite(Duration.ofSeconds(10))
+                    .ticker(this.ticker::get)
+                    .build();
+            cache.put("k", "v");
+            this.ticker.addAndGet(Duration.ofSeconds(5).toNanos());
+            assertThat(cache.get("k")).isEqualTo("v");
+            this.ticker.addAndGet(Duration.ofSeconds(5).toNanos());
+            assertThat(cache.contains("k")).isFalse();
+            assertThat(cache.get("k")).isNull();
+            assertThat(cache.statistics().expirationCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("访问会延长最后一次访问后的过期时间")
+        void shouldExpireAfterAccess() {
+            LocalCache cache = LocalCache.custom("test")
+                    .expireAfterAccess(Duration.ofSeconds(10))
+                    .ticker(this.ticker::get)
+                    .build();
+            cache.put("k", "v");
+            this.ticker.addAndGet(Duration.ofSeconds(8).toNanos());
+            assertThat(cache.get("k")).isEqualTo("v");
+            this.ticker.addAndGet(Duration.ofSeconds(8).toNanos());
+            assertThat(cache.get("k")).isEqualTo("v");
+            this.ticker.addAndGet(Duration.ofSeconds(10).toNanos());
+            cache.cleanUp();
+            assertThat(cache.estimatedSize()).isEqualTo(0);
+        }
+    }
+}
@@ -24,6 +24,7 @@ import modelengine.fit.http.protocol.Protocol;
 import modelengine.fit.security.Decryptor;
 import modelengine.fit.serialization.MessageSerializer;
 import modelengine.fit.serialization.util.MessageSerializerUtils;
+import modelengine.fit.serialization.util.SerializedBuffer;
 import modelengine.fitframework.conf.runtime.ClientConfig;
 import modelengine.fitframework.conf.runtime.SerializationFormat;
 import modelengine.fitframework.conf.runtime.WorkerConfig;
@@ -31,7 +32,6 @@ import modelengine.fitframework.ioc.BeanContainer;
 import modelengine.fitframework.ioc.BeanFactory;
 import modelengine.fitframework.util.StringUtils;
 
-import java.io.ByteArrayInputStream;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -168,8 +168,9 @@ public abstract class AbstractInvokeClient implements InvokeClient {
                 .orElseThrow(() -> new IllegalStateException(StringUtils.format(
                         "MessageSerializer required but not found. [format={0}]",
                         format)));
-        byte[] bytes = messageSerializer.serializeRequest(request.dataTypes(), request.data());
-        clientRequest.headers().add(MessageHeaderNames.CONTENT_LENGTH, Integer.toString(bytes.length));
-        return new DefaultReadableBinaryEntity(clientRequest, new ByteArrayInputStream(bytes));
+        SerializedBuffer buffer = new SerializedBuffer();
+        messageSerializer.serializeRequestTo(request.dataTypes(), request.data(), buffer);
+        clientRequest.headers().add(MessageHeaderNames.CONTENT_LENGTH, Integer.toString(buffer.size()));
+        return new DefaultReadableBinaryEntity(clientRequest, buffer.toInputStream());
     }
 }
@@ -17,6 +17,7 @@ import modelengine.fit.http.Serializers;
 import modelengine.fit.http.client.HttpClassicClient;
 import modelengine.fit.http.client.HttpClassicClientFactory;
 import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Fit;
 import modelengine.fitframework.annotation.Order;
 import modelengine.fitframework.annotation.Value;
 import modelengine.fitframework.serialization.ObjectSerializer;
@@ -36,12 +37,40 @@ import java.util.Map;
 public class OkHttpClassicClientFactory implements HttpClassicClientFactory {
     private final Serializers serializers;
     private final ValueFetcher valueFetcher;
+    private final OkHttpClientPool clientPool;
     private final Cache<Config, OkHttpClient> okHttpClientCache;
 
+    /**
+     * 使用默认配置的共享连接池和调度器创建 {@link OkHttpClassicClientFactory} 的新实例。
+     *
+     * @param serializers 表示序列化器集合的 {@link Map}{@code <}{@link String}{@code , }{@link ObjectSerializer}{@code
+     * >}。
+     * @param valueFetcher 表示值获取器的 {@link ValueFetcher}。
+     * @param cacheSize 表示按配置缓存的客户端的最大数量的 {@code long}。
+     * @deprecated 使用 {@link #OkHttpClassicClientFactory(Map, ValueFetcher, OkHttpClientPool, long)}，
+     * 以便与容器中的其他客户端共享连接池。
+     */
+    @Deprecated
     public OkHttpClassicClientFactory(Map<String, ObjectSerializer> serializers, ValueFetcher valueFetcher,
-            @Value("${okhttp.config-client.cache.max-size}") long cacheSize) {
+            long cacheSize) {
+        this(serializers, valueFetcher, OkHttpClientPool.create(), cacheSize);
+    }
+
+    /**
+     * 创建 {@link OkHttpClassicClientFactory} 的新实例。
+     *
+     * @param serializers 表示序列化器集合的 {@link Map}{@code <}{@link String}{@code , }{@link ObjectSerializer}{@code
+     * >}。
+     * @param valueFetcher 表示值获取器的 {@link ValueFetcher}。
+     * @param clientPool 表示共享的连接池和调度器的 {@link OkHttpClientPool}。
+     * @param cacheSize 表示按配置缓存的客户端的最大数量的 {@code long}。
+     */
+    @Fit
+    public OkHttpClassicClientFactory(Map<String, ObjectSerializer> serializers, ValueFetcher valueFetcher,
+            OkHttpClientPool clientPool, @Value("${okhttp.config-client.cache.max-size}") long cacheSize) {
         this.serializers = Serializers.create(serializers);
         this.valueFetcher = notNull(valueFetcher, "The value fetcher cannot be null.");
+        this.clientPool = notNull(clientPool, "The okhttp client pool cannot be null.");
         this.okHttpClientCache = Caffeine.newBuilder().maximumSize(cacheSize).build();
     }
 
@@ -54,7 +83,8 @@ public class OkHttpClassicClientFactory implements HttpClassicClientFactory {
     public HttpClassicClient create(Config config) {
         Config actualConfig = getIfNull(config, () -> HttpClassicClientFactory.Config.builder().build());
         OkHttpClient okHttpClient =
-                this.okHttpClientCache.get(actualConfig, tempConfig -> getOkHttpClientBuilder(tempConfig).build());
+                this.okHttpClientCache.get(actualConfig,
+                        tempConfig -> getOkHttpClientBuilder(this.clientPool.baseClient(), tempConfig).build());
         return new OkHttpClassicClient(this.serializers, this.valueFetcher, okHttpClient);
     }
 }
@@ -10,6 +10,9 @@ import static modelengine.fit.http.protocol.util.SslUtils.getKeyManagers;
 import static modelengine.fit.http.protocol.util.SslUtils.getTrustManagers;
 import static modelengine.fitframework.util.ObjectUtils.cast;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import modelengine.fit.client.http.HttpsConstants;
 import modelengine.fit.http.client.HttpClassicClientFactory;
 import modelengine.fit.http.protocol.util.SslUtils;
@@ -17,12 +20,23 @@ import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.util.StringUtils;
 import okhttp3.OkHttpClient;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.KeyManager;
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
 
@@ -35,6 +49,21 @@ import javax.net.ssl.X509TrustManager;
 public class OkHttpClientBuilderFactory {
     private static final Logger log = Logger.get(OkHttpClientBuilderFactory.class);
     private static final String SECURE_DEFAULT_PROTOCOL = "TLSv1.2";
+    private static final HostnameVerifier TRUST_ALL_HOSTNAME_VERIFIER = (hostname, session) -> true;
+    private static final List<String> SSL_OPTION_KEYS = Arrays.asList(HttpsConstants.CLIENT_SECURE_STRONG_RANDOM,
+            HttpsConstants.CLIENT_SECURE_SECURITY_PROTOCOL,
+            HttpsConstants.CLIENT_SECURE_IGNORE_TRUST,
+            HttpsConstants.CLIENT_SECURE_IGNORE_HOSTNAME);
+    private static final String PASSWORD_DIGEST_ALGORITHM = "SHA-256";
+
+    /**
+     * 相同的安全配置复用同一组 {@link SSLSocketFactory} 和 {@link HostnameVerifier}。OkHttp 按照它们的相等性判断连接是否
+     * 可以复用，每次重新创建会导致共享的连接池中 HTTPS 连接无法复用。
+     * <p>缓存的键中证书文件以绝对路径、修改时间和大小标识，证书文件被替换后会重新加载；密码只保存摘要，不保存原文。
+     * 缓存项在一段时间未被使用后过期，不再使用的证书不会一直被持有。</p>
+     */
+    private static final Cache<List<Object>, SslConfig> SSL_CONFIG_CACHE =
+            Caffeine.newBuilder().maximumSize(64).expireAfterAccess(1, TimeUnit.HOURS).build();
 
     private OkHttpClientBuilderFactory() {}
 
@@ -45,15 +74,75 @@ public class OkHttpClientBuilderFactory {
      * @return 表示工厂创建实例的 {@link OkHttpClient.Builder}。
      */
     public static OkHttpClient.Builder getOkHttpClientBuilder(HttpClassicClientFactory.Config config) {
-        OkHttpClient.Builder clientBuilder = new OkHttpClient.Builder();
+        return configure(new OkHttpClient.Builder(), config);
+    }
+
+    /**
+     * 根据配置从基础客户端派生工厂实例的 {@link OkHttpClient.Builder}。
+     * <p>派生的客户端与基础客户端共享连接池、调度器和事件监听器。</p>
+     *
+     * @param baseClient 表示基础客户端的 {@link OkHttpClient}。
+     * @param config 表示配置的 {@link HttpClassicClientFactory.Config}。
+     * @return 表示工厂创建实例的 {@link OkHttpClient.Builder}。
+     */
+    public static OkHttpClient.Builder getOkHttpClientBuilder(OkHttpClient baseClient,
+            HttpClassicClientFactory.Config config) {
+        return configure(baseClient.newBuilder(), config);
+    }
+
+    private static OkHttpClient.Builder configure(OkHttpClient.Builder clientBuilder,
+            HttpClassicClientFactory.Config config) {
         setTimeout(clientBuilder, config);
+        SslConfig sslConfig = SSL_CONFIG_CACHE.get(getSslConfigKey(config), key -> createSslConfig(config));
+        if (sslConfig.socketFactory != null) {
+            clientBuilder.sslSocketFactory(sslConfig.socketFactory, sslConfig.trustManager);
+        }
+        if (sslConfig.hostnameVerifier != null) {
+            clientBuilder.hostnameVerifier(sslConfig.hostnameVerifier);
+        }
+        return clientBuilder;
+    }
+
+    private static List<Object> getSslConfigKey(HttpClassicClientFactory.Config config) {
+        Map<String, Object> custom = config.custom();
+        List<Object> key = new ArrayList<>(SSL_OPTION_KEYS.size() + 4);
+        SSL_OPTION_KEYS.forEach(optionKey -> key.add(custom.get(optionKey)));
+        key.add(getFileIdentity(custom.get(HttpsConstants.CLIENT_SECURE_KEY_STORE_FILE)));
+        key.add(getPasswordDigest(custom.get(HttpsConstants.CLIENT_SECURE_KEY_STORE_PASSWORD)));
+        key.add(getFileIdentity(custom.get(HttpsConstants.CLIENT_SECURE_TRUST_STORE_FILE)));
+        key.add(getPasswordDigest(custom.get(HttpsConstants.CLIENT_SECURE_TRUST_STORE_PASSWORD)));
+        return key;
+    }
+
+    private static List<Object> getFileIdentity(Object path) {
+        if (path == null || StringUtils.isBlank(path.toString())) {
+            return null;
+        }
+        File file = new File(path.toString()).getAbsoluteFile();
+        return Arrays.asList(file.getPath(), file.lastModified(), file.length());
+    }
+
+    private static String getPasswordDigest(Object password) {
+        if (password == null) {
+            return null;
+        }
         try {
-            setSslConfig(clientBuilder, config);
+            MessageDigest digest = MessageDigest.getInstance(PASSWORD_DIGEST_ALGORITHM);
+            byte[] bytes = digest.digest(password.toString().getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(StringUtils.format("Unsupported digest algorithm. [algorithm={0}]",
+                    PASSWORD_DIGEST_ALGORITHM), e);
+        }
+    }
+
+    private static SslConfig createSslConfig(HttpClassicClientFactory.Config config) {
+        try {
+            return getSslConfig(config);
         } catch (GeneralSecurityException e) {
             log.error("Failed to set https config.", e);
             throw new IllegalStateException("Failed to set https config.", e);
         }
-        return clientBuilder;
     }
 
     private static void setTimeout(OkHttpClient.Builder clientBuilder, HttpClassicClientFactory.Config config) {
@@ -66,8 +155,7 @@ public class OkHttpClientBuilderFactory {
         }
     }
 
-    private static void setSslConfig(OkHttpClient.Builder clientBuilder, HttpClassicClientFactory.Config config)
-            throws GeneralSecurityException {
+    private static SslConfig getSslConfig(HttpClassicClientFactory.Config config) throws GeneralSecurityException {
         boolean isStrongRandom = Boolean.parseBoolean(String.valueOf(config.custom()
                 .getOrDefault(HttpsConstants.CLIENT_SECURE_STRONG_RANDOM, true)));
         String secureProtocol = cast(config.custom()
@@ -79,12 +167,15 @@ public class OkHttpClientBuilderFactory {
         TrustManager[] trustManagers = getTrustManagersConfig(config, isIgnoreTrust);
 
         SSLContext sslContext = SslUtils.getSslContext(keyManagers, trustManagers, isStrongRandom, secureProtocol);
+        SslConfig sslConfig = new SslConfig();
         if (isIgnoreTrust || isTrustManagerSet(trustManagers)) {
-            clientBuilder.sslSocketFactory(sslContext.getSocketFactory(), (X509TrustManager) trustManagers[0]);
+            sslConfig.socketFactory = sslContext.getSocketFactory();
+            sslConfig.trustManager = (X509TrustManager) trustManagers[0];
         }
         if (isIgnoreTrust || isHostnameVerificationIgnored(trustManagers, config)) {
-            clientBuilder.hostnameVerifier((hostname, session) -> true);
+            sslConfig.hostnameVerifier = TRUST_ALL_HOSTNAME_VERIFIER;
         }
+        return sslConfig;
     }
 
     private static KeyManager[] getKeyManagersConfig(HttpClassicClientFactory.Config config, boolean isIgnoreTrust)
@@ -135,4 +226,10 @@ public class OkHttpClientBuilderFactory {
         };
         return new TrustManager[] {x509TrustManager};
     }
+
+    private static class SslConfig {
+        private SSLSocketFactory socketFactory;
+        private X509TrustManager trustManager;
+        private HostnameVerifier hostnameVerifier;
+    }
 }
@@ -0,0 +1,134 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.http.client.okhttp;
+
+import static modelengine.fitframework.inspection.Validation.greaterThan;
+import static modelengine.fitframework.inspection.Validation.greaterThanOrEquals;
+
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.runtime.MetricsProvider;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 表示所有 OkHttp 客户端共享的连接池和调度器。
+ * <p>不同配置的 {@link OkHttpClient} 都通过 {@link OkHttpClient#newBuilder()} 从同一个基础客户端派生，因此共享连接池、
+ * 调度线程和 TLS 会话，超时等配置不同的客户端访问同一个服务端时可以复用连接。</p>
+ * <p>连接池的统计信息可以通过 {@code /actuator/metrics?name=okhttp} 获取。</p>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+@Component
+public class OkHttpClientPool implements MetricsProvider {
+    /** 表示指标分组名字的 {@link String}。 */
+    public static final String NAME = "okhttp";
+
+    private final OkHttpClient baseClient;
+    private final Statistics statistics = new Statistics();
+
+    /**
+     * 创建共享的连接池和调度器。
+     *
+     * @param maxIdleConnections 表示连接池中最多保持的空闲连接数的 {@code int}。
+     * @param keepAliveMillis 表示空闲连接保持时间的毫秒数的 {@code long}。
+     * @param maxRequests 表示调度器最多同时执行的异步请求数的 {@code int}。
+     * @param maxRequestsPerHost 表示调度器对每个服务端最多同时执行的异步请求数的 {@code int}。
+     * @throws IllegalArgumentException 当任一参数不合法时。
+     */
+    public OkHttpClientPool(@Value("${okhttp.connection-pool.max-idle-connections}") int maxIdleConnections,
+            @Value("${okhttp.connection-pool.keep-alive}") long keepAliveMillis,
+            @Value("${okhttp.dispatcher.max-requests}") int maxRequests,
+            @Value("${okhttp.dispatcher.max-requests-per-host}") int maxRequestsPerHost) {
+        greaterThanOrEquals(maxIdleConnections, 0, "The max idle connections cannot be negative.");
+        greaterThan(keepAliveMillis, 0L, "The keep alive duration must be positive.");
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+        this.baseClient = new OkHttpClient.Builder().connectionPool(new ConnectionPool(maxIdleConnections,
+                        keepAliveMillis,
+                        TimeUnit.MILLISECONDS))
+                .dispatcher(dispatcher)
+                .eventListener(this.statistics)
+                .build();
+    }
+
+    /**
+     * 使用默认配置创建共享的连接池和调度器，默认配置与 OkHttp 自身的默认值一致。
+     * <p>用于不通过容器创建 {@link OkHttpClassicClientFactory} 的场景。</p>
+     *
+     * @return 表示使用默认配置的共享连接池和调度器的 {@link OkHttpClientPool}。
+     */
+    public static OkHttpClientPool create() {
+        return new OkHttpClientPool(5, 300_000L, 64, 5);
+    }
+
+    /**
+     * 获取所有客户端共享的基础客户端。
+     *
+     * @return 表示基础客户端的 {@link OkHttpClient}。
+     */
+    public OkHttpClient baseClient() {
+        return this.baseClient;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        ConnectionPool pool = this.baseClient.connectionPool();
+        int total = pool.connectionCount();
+        int idle = pool.idleConnectionCount();
+        long acquired = this.statistics.acquired.sum();
+        long created = this.statistics.created.sum();
+        long reused = Math.max(acquired - created, 0L);
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("connections", total);
+        metrics.put("idle", idle);
+        metrics.put("active", Math.max(total - idle, 0));
+        metrics.put("acquired", acquired);
+        metrics.put("created", created);
+        metrics.put("hitRate", acquired == 0 ? 0D : (double) reused / acquired);
+        metrics.put("runningCalls", this.baseClient.dispatcher().runningCallsCount());
+        metrics.put("queuedCalls", this.baseClient.dispatcher().queuedCallsCount());
+        return metrics;
+    }
+
+    /**
+     * 统计连接的获取次数和新建次数，两者之差即为复用连接的次数。
+     */
+    private static class Statistics extends EventListener {
+        private final LongAdder acquired = new LongAdder();
+        private final LongAdder created = new LongAdder();
+
+        @Override
+        public void connectionAcquired(Call call, Connection connection) {
+            this.acquired.increment();
+        }
+
+        @Override
+        public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+            this.created.increment();
+        }
+    }
+}
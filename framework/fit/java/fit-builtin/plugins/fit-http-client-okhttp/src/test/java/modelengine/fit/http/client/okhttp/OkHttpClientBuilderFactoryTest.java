@@ -13,7 +13,13 @@ import okhttp3.OkHttpClient;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.security.KeyStore;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -34,4 +40,50 @@ class OkHttpClientBuilderFactoryTest {
         OkHttpClient.Builder okHttpClientBuilder = OkHttpClientBuilderFactory.getOkHttpClientBuilder(build);
         assertThat(okHttpClientBuilder).isNotNull();
     }
-}
\ No newline at end of file
+
+    @DisplayName("从基础客户端派生的客户端共享连接池和调度器，相同的安全配置复用同一个 SSLSocketFactory")
+    @Test
+    void givenBaseClientThenShareConnectionPoolAndSslSocketFactory() {
+        OkHttpClient baseClient = OkHttpClientPool.create().baseClient();
+        Map<String, Object> custom = new HashMap<>();
+        custom.put("client.http.secure.ignore-trust", true);
+        OkHttpClient client1 = OkHttpClientBuilderFactory.getOkHttpClientBuilder(baseClient,
+                HttpClassicClientFactory.Config.builder().custom(custom).socketTimeout(1000).build()).build();
+        OkHttpClient client2 = OkHttpClientBuilderFactory.getOkHttpClientBuilder(baseClient,
+                HttpClassicClientFactory.Config.builder().custom(custom).socketTimeout(2000).build()).build();
+        assertThat(client1.readTimeoutMillis()).isEqualTo(1000);
+        assertThat(client2.readTimeoutMillis()).isEqualTo(2000);
+        assertThat(client1.connectionPool()).isSameAs(baseClient.connectionPool());
+        assertThat(client2.dispatcher()).isSameAs(baseClient.dispatcher());
+        assertThat(client1.sslSocketFactory()).isSameAs(client2.sslSocketFactory());
+        assertThat(client1.hostnameVerifier()).isSameAs(client2.hostnameVerifier());
+    }
+
+    @DisplayName("信任证书文件被替换后，重新加载证书并创建新的 SSLSocketFactory")
+    @Test
+    void givenTrustStoreReplacedThenReloadSslSocketFactory(@TempDir Path directory) throws Exception {
+        File trustStore = directory.resolve("trust.p12").toFile();
+        writeEmptyKeyStore(trustStore);
+        Map<String, Object> custom = new HashMap<>();
+        custom.put("client.http.secure.secure-random-enabled", false);
+        custom.put("client.http.secure.trust-store-file", trustStore.getPath());
+        custom.put("client.http.secure.trust-store-password", "password");
+        HttpClassicClientFactory.Config config = HttpClassicClientFactory.Config.builder().custom(custom).build();
+        OkHttpClient client1 = OkHttpClientBuilderFactory.getOkHttpClientBuilder(config).build();
+        OkHttpClient client2 = OkHttpClientBuilderFactory.getOkHttpClientBuilder(config).build();
+        assertThat(client1.sslSocketFactory()).isSameAs(client2.sslSocketFactory());
+
+        writeEmptyKeyStore(trustStore);
+        assertThat(trustStore.setLastModified(trustStore.lastModified() + 2000)).isTrue();
+        OkHttpClient client3 = OkHttpClientBuilderFactory.getOkHttpClientBuilder(config).build();
+        assertThat(client3.sslSocketFactory()).isNotSameAs(client1.sslSocketFactory());
+    }
+
+    private static void writeEmptyKeyStore(File file) throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, null);
+        try (OutputStream out = new FileOutputStream(file)) {
+            keyStore.store(out, "password".toCharArray());
+        }
+    }
+}
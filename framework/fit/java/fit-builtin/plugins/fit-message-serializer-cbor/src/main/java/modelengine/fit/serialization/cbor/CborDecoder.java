@@ -8,28 +8,51 @@ package modelengine.fit.serialization.cbor;
 
 import static modelengine.fitframework.inspection.Validation.between;
 import static modelengine.fitframework.inspection.Validation.greaterThanOrEquals;
+import static modelengine.fitframework.inspection.Validation.lessThanOrEquals;
 import static modelengine.fitframework.inspection.Validation.notNull;
 
+import modelengine.fitframework.beans.BeanAccessor;
+import modelengine.fitframework.beans.convert.ConversionService;
 import modelengine.fitframework.inspection.Validation;
-import modelengine.fitframework.util.Convert;
+import modelengine.fitframework.util.ReflectionUtils;
 import modelengine.fitframework.util.StringUtils;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 表示 CBOR 的解码器。
+ * <p>指定目标类型解码时，解码器按照目标类型生成并缓存解码方案，将列表、映射和自定义对象直接解码为目标类型的实例，
+ * 结果与先解码为 {@link Map} 和 {@link List} 再通过 {@link ConversionService#forStandard()} 转换的结果一致。
+ * 标量以及无法直接解码的类型仍然先解码为通用的值再进行转换。</p>
  *
  * @author 季聿阶
  * @since 2024-01-28
  */
 public class CborDecoder {
+    private static final int ARRAY = 4;
+    private static final int MAP = 5;
+
+    private final ConversionService conversionService = ConversionService.forStandard();
+    private final Map<Type, ValueReader> readers = new ConcurrentHashMap<>();
+    private final ValueReader genericReader = this::decode;
+
     /**
      * 将指定的二进制数组进行解码。
      *
@@ -52,21 +75,68 @@ public class CborDecoder {
      * @throws IOException 当解码过程中发生错误时。
      */
     public Object decode(InputStream in) throws IOException {
-        int first = greaterThanOrEquals(in.read(), 0, "No enough byte to decode by CBOR.");
-        int type = (first & 0b111_00000) >> 5;
+        return this.decode(in, this.readFirst(in));
+    }
+
+    /**
+     * 从指定字节输入流中读取字节，并解码为指定类型的对象。
+     *
+     * @param in 表示指定的字节输入流的 {@link InputStream}。
+     * @param type 表示目标类型的 {@link Type}。
+     * @return 表示解码后的对象的 {@link Object}。
+     * @throws IOException 当解码过程中发生错误时。
+     */
+    public Object decode(InputStream in, Type type) throws IOException {
+        return this.reader(type).read(in, this.readFirst(in));
+    }
+
+    /**
+     * 从指定字节输入流中读取一个 CBOR 数组，并将其中的每个元素按照对应位置的类型进行解码。
+     * <p>数组中的元素个数不能超过类型数量，不足的位置为 {@code null}。</p>
+     *
+     * @param in 表示指定的字节输入流的 {@link InputStream}。
+     * @param types 表示每个元素的目标类型的 {@link Type}{@code []}。
+     * @return 表示解码后的对象数组的 {@link Object}{@code []}。
+     * @throws IOException 当解码过程中发生错误时。
+     * @throws IllegalArgumentException 当数组中的元素个数超过类型数量时。
+     */
+    public Object[] decodeArray(InputStream in, Type[] types) throws IOException {
+        int first = this.readFirst(in);
+        Validation.equals(this.majorType(first), ARRAY, "The data to decode is not a CBOR array.");
+        int len = lessThanOrEquals(this.decodeLength(in, first),
+                types.length,
+                "Too many elements in the CBOR array. [expected={0}]",
+                types.length);
+        Object[] array = new Object[types.length];
+        for (int i = 0; i < len; i++) {
+            array[i] = this.decode(in, types[i]);
+        }
+        return array;
+    }
+
+    private int readFirst(InputStream in) throws IOException {
+        return greaterThanOrEquals(in.read(), 0, "No enough byte to decode by CBOR.");
+    }
+
+    private int majorType(int first) {
+        return (first & 0b111_00000) >> 5;
+    }
+
+    private Object decode(InputStream in, int first) throws IOException {
+        int type = this.majorType(first);
         switch (type) {
             case 0:
                 return this.decodeUnsignedInteger(in, first);
             case 1:
                 return this.decodeNegativeInteger(in, first);
             case 2:
-                return this.decodeBytes(in, (byte) first);
+                return this.decodeBytes(in, first);
             case 3:
-                return this.decodeString(in, (byte) first);
+                return this.decodeString(in, first);
             case 4:
-                return this.decodeArray(in, (byte) first);
+                return this.decodeList(in, first);
             case 5:
-                return this.decodeMap(in, (byte) first);
+                return this.decodeMap(in, first);
             case 7:
                 return this.decodeFloatingPointAndSimpleType(in, (byte) first);
             default:
@@ -84,17 +154,11 @@ public class CborDecoder {
                     0,
                     "No enough byte to decode to unsigned integer by CBOR. [size=1]");
         } else if (dataType == 25) {
-            byte[] bytes = new byte[2];
-            this.readBytes(in, bytes);
-            return Convert.toLong(bytes);
+            return this.readBigEndian(in, 2);
         } else if (dataType == 26) {
-            byte[] bytes = new byte[4];
-            this.readBytes(in, bytes);
-            return Convert.toLong(bytes);
+            return this.readBigEndian(in, 4);
         } else if (dataType == 27) {
-            byte[] bytes = new byte[8];
-            this.readBytes(in, bytes);
-            long data = Convert.toLong(bytes);
+            long data = this.readBigEndian(in, 8);
             if (data < 0) {
                 throw new IllegalStateException(StringUtils.format("Unsupported number scope. [data={0}]", data));
             }
@@ -110,29 +174,33 @@ public class CborDecoder {
         return -(unsignedInteger + 1);
     }
 
-    private byte[] decodeBytes(InputStream in, byte first) throws IOException {
+    private int decodeLength(InputStream in, int first) throws IOException {
         long len = this.decodeUnsignedInteger(in, first);
-        between(len, 0L, (long) Integer.MAX_VALUE, "The bytes length is out of range. [length={0}]", len);
-        byte[] bytes = new byte[(int) len];
+        between(len, 0L, (long) Integer.MAX_VALUE, "The length is out of range. [length={0}]", len);
+        return (int) len;
+    }
+
+    private byte[] decodeBytes(InputStream in, int first) throws IOException {
+        int len = this.decodeLength(in, first);
+        byte[] bytes = new byte[len];
         if (len == 0) {
             return bytes;
         }
         int read = in.read(bytes);
         Validation.equals(read,
-                (int) len,
+                len,
                 "No enough bytes to decode to bytes by CBOR. [total={0}, actual={1}]",
                 len,
                 read);
         return bytes;
     }
 
-    private String decodeString(InputStream in, byte first) throws IOException {
+    private String decodeString(InputStream in, int first) throws IOException {
         return new String(this.decodeBytes(in, first), StandardCharsets.UTF_8);
     }
 
-    private List<Object> decodeArray(InputStream in, byte first) throws IOException {
-        long len = this.decodeUnsignedInteger(in, first);
-        between(len, 0L, (long) Integer.MAX_VALUE, "The array length is out of range. [length={0}]", len);
+    private List<Object> decodeList(InputStream in, int first) throws IOException {
+        int len = this.decodeLength(in, first);
         List<Object> list = new LinkedList<>();
         for (int i = 0; i < len; i++) {
             list.add(this.decode(in));
@@ -140,9 +208,8 @@ public class CborDecoder {
         return list;
     }
 
-    private Map<Object, Object> decodeMap(InputStream in, byte first) throws IOException {
-        long size = this.decodeUnsignedInteger(in, first);
-        between(size, 0L, (long) Integer.MAX_VALUE, "The map size is out of range. [size={0}]", size);
+    private Map<Object, Object> decodeMap(InputStream in, int first) throws IOException {
+        int size = this.decodeLength(in, first);
         Map<Object, Object> map = new LinkedHashMap<>();
         for (int i = 0; i < size; i++) {
             Object key = this.decode(in);
@@ -163,22 +230,264 @@ public class CborDecoder {
             return false;
         }
         if (first == CborConstant.FLOAT) {
-            byte[] bytes = new byte[4];
-            this.readBytes(in, bytes);
-            return Convert.toFloat(bytes);
+            return Float.intBitsToFloat((int) this.readBigEndian(in, 4));
         }
         if (first == CborConstant.DOUBLE) {
-            byte[] bytes = new byte[8];
-            this.readBytes(in, bytes);
-            return Convert.toDouble(bytes);
+            return Double.longBitsToDouble(this.readBigEndian(in, 8));
         }
         throw new IllegalStateException(StringUtils.format("Unsupported type to decode by CBOR. [type={0}]",
                 first & 0b000_11111));
     }
 
-    private void readBytes(InputStream in, byte[] bytes) throws IOException {
-        int len = bytes.length;
-        int read = in.read(bytes);
-        Validation.equals(read, len, "No enough bytes to decode. [need={0}, read={1}]", len, read);
+    private long readBigEndian(InputStream in, int byteNum) throws IOException {
+        long value = 0L;
+        for (int i = 0; i < byteNum; i++) {
+            int read = in.read();
+            if (read < 0) {
+                throw new IllegalArgumentException(StringUtils.format(
+                        "No enough bytes to decode. [need={0}, read={1}]",
+                        byteNum,
+                        i));
+            }
+            value = (value << 8) | read;
+        }
+        return value;
+    }
+
+    private ValueReader reader(Type type) {
+        if (type == null || type == Object.class) {
+            return this.genericReader;
+        }
+        ValueReader reader = this.readers.get(type);
+        if (reader == null) {
+            reader = this.compile(type);
+            this.readers.putIfAbsent(type, reader);
+        }
+        return reader;
+    }
+
+    private ValueReader compile(Type type) {
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type rawType = parameterizedType.getRawType();
+            Type[] arguments = parameterizedType.getActualTypeArguments();
+            if (rawType == List.class) {
+                return new CollectionReader(type, arguments[0], ArrayList::new);
+            } else if (rawType == Set.class) {
+                return new CollectionReader(type, arguments[0], HashSet::new);
+            } else if (rawType == Map.class) {
+                return new MapReader(type, arguments[0], arguments[1]);
+            }
+        } else if (type instanceof Class) {
+            Class<?> clazz = (Class<?>) type;
+            if (clazz.isArray() && clazz != byte[].class) {
+                return new ArrayReader(clazz);
+            } else if (this.isBean(clazz)) {
+                return new BeanReader(clazz);
+            }
+        }
+        return new ConvertReader(type);
+    }
+
+    private boolean isBean(Class<?> clazz) {
+        if (clazz.isPrimitive() || clazz.isArray() || clazz.isEnum() || clazz.isInterface()
+                || Modifier.isAbstract(clazz.getModifiers())) {
+            return false;
+        }
+        if (Map.class.isAssignableFrom(clazz) || Collection.class.isAssignableFrom(clazz)
+                || this.conversionService.scalar(clazz)) {
+            return false;
+        }
+        String name = clazz.getName();
+        return !name.startsWith("java.") && !name.startsWith("javax.");
+    }
+
+    /**
+     * 表示指定类型的解码方案。
+     */
+    @FunctionalInterface
+    private interface ValueReader {
+        Object read(InputStream in, int first) throws IOException;
+    }
+
+    /**
+     * 先解码为通用的值，再转换为目标类型。
+     */
+    private class ConvertReader implements ValueReader {
+        private final Type type;
+
+        private ConvertReader(Type type) {
+            this.type = type;
+        }
+
+        @Override
+        public Object read(InputStream in, int first) throws IOException {
+            return CborDecoder.this.conversionService.convert(CborDecoder.this.decode(in, first), this.type);
+        }
+    }
+
+    /**
+     * 将 CBOR 数组直接解码为 {@link List} 或 {@link Set}，{@code null} 等其他数据交由转换服务处理。
+     */
+    private class CollectionReader extends ConvertReader {
+        private final Type elementType;
+        private final CollectionFactory factory;
+
+        private CollectionReader(Type type, Type elementType, CollectionFactory factory) {
+            super(type);
+            this.elementType = elementType;
+            this.factory = factory;
+        }
+
+        @Override
+        public Object read(InputStream in, int first) throws IOException {
+            if (CborDecoder.this.majorType(first) != ARRAY) {
+                return super.read(in, first);
+            }
+            int len = CborDecoder.this.decodeLength(in, first);
+            Collection<Object> collection = this.factory.create(len);
+            ValueReader reader = CborDecoder.this.reader(this.elementType);
+            for (int i = 0; i < len; i++) {
+                collection.add(reader.read(in, CborDecoder.this.readFirst(in)));
+            }
+            return collection;
+        }
+    }
+
+    /**
+     * 将 CBOR 数组直接解码为 Java 数组。
+     */
+    private class ArrayReader extends ConvertReader {
+        private final Class<?> componentType;
+
+        private ArrayReader(Class<?> type) {
+            super(type);
+            this.componentType = type.getComponentType();
+        }
+
+        @Override
+        public Object read(InputStream in, int first) throws IOException {
+            if (CborDecoder.this.majorType(first) != ARRAY) {
+                return super.read(in, first);
+            }
+            int len = CborDecoder.this.decodeLength(in, first);
+            Object array = Array.newInstance(this.componentType, len);
+            ValueReader reader = CborDecoder.this.reader(this.componentType);
+            for (int i = 0; i < len; i++) {
+                Array.set(array, i, reader.read(in, CborDecoder.this.readFirst(in)));
+            }
+            return array;
+        }
+    }
+
+    /**
+     * 将 CBOR 映射直接解码为 {@link Map}，{@code null} 等其他数据交由转换服务处理。
+     */
+    private class MapReader extends ConvertReader {
+        private final Type keyType;
+        private final Type valueType;
+
+        private MapReader(Type type, Type keyType, Type valueType) {
+            super(type);
+            this.keyType = keyType;
+            this.valueType = valueType;
+        }
+
+        @Override
+        public Object read(InputStream in, int first) throws IOException {
+            if (CborDecoder.this.majorType(first) != MAP) {
+                return super.read(in, first);
+            }
+            int size = CborDecoder.this.decodeLength(in, first);
+            Map<Object, Object> map = new HashMap<>(size);
+            ValueReader keyReader = CborDecoder.this.reader(this.keyType);
+            ValueReader valueReader = CborDecoder.this.reader(this.valueType);
+            for (int i = 0; i < size; i++) {
+                Object key = keyReader.read(in, CborDecoder.this.readFirst(in));
+                Object value = valueReader.read(in, CborDecoder.this.readFirst(in));
+                map.put(key, value);
+            }
+            return map;
+        }
+    }
+
+    /**
+     * 将 CBOR 映射直接解码为自定义对象，属性按照别名匹配，不存在的属性被忽略。
+     */
+    private class BeanReader extends ConvertReader {
+        private final Class<?> clazz;
+        private final BeanAccessor accessor;
+        private final Map<String, Property> properties = new ConcurrentHashMap<>();
+
+        private BeanReader(Class<?> clazz) {
+            super(clazz);
+            this.clazz = clazz;
+            this.accessor = BeanAccessor.of(clazz);
+        }
+
+        @Override
+        public Object read(InputStream in, int first) throws IOException {
+            if ((byte) first == CborConstant.NULL || CborDecoder.this.majorType(first) != MAP) {
+                return super.read(in, first);
+            }
+            int size = CborDecoder.this.decodeLength(in, first);
+            Object bean = ReflectionUtils.instantiate(this.clazz);
+            for (int i = 0; i < size; i++) {
+                Object key = CborDecoder.this.decode(in);
+                Property property = key instanceof String ? this.property((String) key) : Property.ABSENT;
+                if (property == Property.ABSENT) {
+                    CborDecoder.this.decode(in);
+                    continue;
+                }
+                Object value = property.reader(CborDecoder.this).read(in, CborDecoder.this.readFirst(in));
+                this.accessor.set(bean, property.name, value);
+            }
+            return bean;
+        }
+
+        private Property property(String key) {
+            Property property = this.properties.get(key);
+            if (property == null) {
+                String name = this.accessor.getAlias(key);
+                property = this.accessor.properties().contains(name)
+                        ? new Property(name, this.accessor.type(name))
+                        : Property.ABSENT;
+                this.properties.putIfAbsent(key, property);
+            }
+            return property;
+        }
+    }
+
+    /**
+     * 表示自定义对象的属性，属性的解码方案在第一次使用时确定，以支持自引用的类型。
+     */
+    private static class Property {
+        private static final Property ABSENT = new Property(null, null);
+
+        private final String name;
+        private final Type type;
+        private volatile ValueReader reader;
+
+        private Property(String name, Type type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        private ValueReader reader(CborDecoder decoder) {
+            ValueReader actual = this.reader;
+            if (actual == null) {
+                actual = decoder.reader(this.type);
+                this.reader = actual;
+            }
+            return actual;
+        }
+    }
+
+    /**
+     * 表示按照预期大小创建集合的工厂。
+     */
+    @FunctionalInterface
+    private interface CollectionFactory {
+        Collection<Object> create(int size);
     }
 }
@@ -9,27 +9,35 @@ package modelengine.fit.serialization.cbor;
 import static modelengine.fitframework.inspection.Validation.between;
 import static modelengine.fitframework.inspection.Validation.greaterThanOrEquals;
 import static modelengine.fitframework.util.ObjectUtils.cast;
-import static modelengine.fitframework.util.ObjectUtils.toJavaObject;
 
-import modelengine.fitframework.util.Convert;
+import modelengine.fitframework.beans.BeanAccessor;
+import modelengine.fitframework.util.ReflectionUtils;
 import modelengine.fitframework.util.StringUtils;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.lang.reflect.Array;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 表示 CBOR 的编码器。
+ * <p>编码器按照数据的实际类型生成并缓存编码方案，直接将对象写入输出流，编码结果与先通过
+ * {@link modelengine.fitframework.util.ObjectUtils#toJavaObject(Object)} 转换为 {@link Map} 和 {@link List}
+ * 再编码的结果一致：自定义对象按照属性的别名编码为映射，值为 {@code null} 的属性不参与编码。</p>
  *
  * @author 季聿阶
  * @since 2024-01-25
  */
 public class CborEncoder {
+    private final Map<Class<?>, ValueWriter> writers = new ConcurrentHashMap<>();
+
     /**
      * 将指定的数据进行编码。
      *
@@ -52,24 +60,91 @@ public class CborEncoder {
      * @throws IOException 当编码过程中发生错误时。
      */
     public void encode(Object data, OutputStream out) throws IOException {
-        Object actual = toJavaObject(data);
-        if (actual == null) {
+        if (data == null) {
             this.encodeNull(out);
-        } else if (actual instanceof Boolean) {
-            this.encodeBoolean((boolean) actual, out);
-        } else if (actual instanceof Number) {
-            this.encodeNumber((Number) actual, out);
-        } else if (actual instanceof byte[]) {
-            this.encodeBytes((byte[]) actual, out);
-        } else if (actual instanceof String) {
-            this.encodeString((String) actual, out);
-        } else if (actual instanceof List) {
-            this.encodeList(cast(actual), out);
-        } else if (actual instanceof Map) {
-            this.encodeObject(cast(actual), out);
+            return;
+        }
+        this.writers.computeIfAbsent(data.getClass(), this::compile).write(data, out);
+    }
+
+    private ValueWriter compile(Class<?> clazz) {
+        if (clazz == Boolean.class) {
+            return (data, out) -> this.encodeBoolean((boolean) data, out);
+        } else if (ReflectionUtils.isPrimitiveWrapper(clazz) || clazz == BigInteger.class
+                || clazz == BigDecimal.class) {
+            return this.compileScalar(clazz);
+        } else if (clazz == String.class) {
+            return (data, out) -> this.encodeString((String) data, out);
+        } else if (clazz == byte[].class) {
+            return (data, out) -> this.encodeBytes((byte[]) data, out);
+        } else if (Map.class.isAssignableFrom(clazz)) {
+            return (data, out) -> this.encodeMap(cast(data), out);
+        } else if (List.class.isAssignableFrom(clazz)) {
+            return (data, out) -> this.encodeList(cast(data), out);
+        } else if (clazz.isArray()) {
+            return this.compileArray(clazz.getComponentType());
+        } else {
+            return new BeanWriter(clazz);
+        }
+    }
+
+    private ValueWriter compileScalar(Class<?> clazz) {
+        if (this.isInteger(clazz)) {
+            return (data, out) -> this.encodeInteger(((Number) data).longValue(), out);
+        } else if (clazz == Double.class || clazz == BigDecimal.class) {
+            return (data, out) -> this.encodeDouble(((Number) data).doubleValue(), out);
+        } else if (clazz == Float.class) {
+            return (data, out) -> this.encodeFloat((float) data, out);
         } else {
-            throw new IllegalArgumentException(StringUtils.format("Unsupported data type to encode by CBOR. [type={0}]",
-                    actual.getClass().getName()));
+            return (data, out) -> {
+                throw new IllegalArgumentException(StringUtils.format(
+                        "Unsupported data type to encode by CBOR. [type={0}]",
+                        clazz.getName()));
+            };
+        }
+    }
+
+    private ValueWriter compileArray(Class<?> componentType) {
+        if (componentType == int.class) {
+            return (data, out) -> {
+                int[] array = (int[]) data;
+                this.encodeHead(array.length, 4, out);
+                for (int element : array) {
+                    this.encodeInteger(element, out);
+                }
+            };
+        } else if (componentType == long.class) {
+            return (data, out) -> {
+                long[] array = (long[]) data;
+                this.encodeHead(array.length, 4, out);
+                for (long element : array) {
+                    this.encodeInteger(element, out);
+                }
+            };
+        } else if (componentType == double.class) {
+            return (data, out) -> {
+                double[] array = (double[]) data;
+                this.encodeHead(array.length, 4, out);
+                for (double element : array) {
+                    this.encodeDouble(element, out);
+                }
+            };
+        } else if (componentType.isPrimitive()) {
+            return (data, out) -> {
+                int len = Array.getLength(data);
+                this.encodeHead(len, 4, out);
+                for (int i = 0; i < len; i++) {
+                    this.encode(Array.get(data, i), out);
+                }
+            };
+        } else {
+            return (data, out) -> {
+                Object[] array = (Object[]) data;
+                this.encodeHead(array.length, 4, out);
+                for (Object element : array) {
+                    this.encode(element, out);
+                }
+            };
         }
     }
 
@@ -85,93 +160,72 @@ public class CborEncoder {
         }
     }
 
-    private void encodeNumber(Number data, OutputStream out) throws IOException {
-        if (this.isInteger(data)) {
-            this.encodeInteger(data.longValue(), out);
-        } else if (data instanceof Double || data instanceof BigDecimal) {
-            this.encodeDouble(data.doubleValue(), out);
-        } else if (data instanceof Float) {
-            this.encodeFloat((float) data, out);
-        } else {
-            throw new IllegalArgumentException(StringUtils.format("Unsupported number type. [type={0}]",
-                    data.getClass().getName()));
-        }
-    }
-
-    private boolean isInteger(Number number) {
-        return number instanceof Integer || number instanceof Long || number instanceof Byte || number instanceof Short
-                || number instanceof BigInteger;
+    private boolean isInteger(Class<?> clazz) {
+        return clazz == Integer.class || clazz == Long.class || clazz == Byte.class || clazz == Short.class
+                || clazz == BigInteger.class;
     }
 
     private void encodeInteger(long data, OutputStream out) throws IOException {
         if (data >= 0) {
-            this.encodeUnsignedInteger(data, out);
+            this.encodeHead(data, 0, out);
         } else {
-            this.encodeNegativeInteger(data, out);
+            this.encodeHead(-data - 1, 1, out);
         }
     }
 
-    private void encodeUnsignedInteger(long data, OutputStream out) throws IOException {
-        out.write(this.encodeUnsignedInteger(data, 0));
-    }
-
-    private void encodeNegativeInteger(long data, OutputStream out) throws IOException {
-        out.write(this.encodeUnsignedInteger(-data - 1, 1));
-    }
-
     private void encodeDouble(double data, OutputStream out) throws IOException {
         out.write(CborConstant.DOUBLE);
-        out.write(Convert.toBytes(data));
+        this.writeBigEndian(Double.doubleToLongBits(data), 8, out);
     }
 
     private void encodeFloat(float data, OutputStream out) throws IOException {
         out.write(CborConstant.FLOAT);
-        out.write(Convert.toBytes(data));
+        this.writeBigEndian(Float.floatToIntBits(data), 4, out);
     }
 
     private void encodeBytes(byte[] data, OutputStream out) throws IOException {
-        int len = data.length;
-        out.write(this.encodeUnsignedInteger(len, 2));
+        this.encodeHead(data.length, 2, out);
         out.write(data);
     }
 
     private void encodeString(String data, OutputStream out) throws IOException {
         byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
-        int len = bytes.length;
-        out.write(this.encodeUnsignedInteger(len, 3));
+        this.encodeHead(bytes.length, 3, out);
         out.write(bytes);
     }
 
     private void encodeList(List<Object> dataList, OutputStream out) throws IOException {
-        int len = dataList.size();
-        out.write(this.encodeUnsignedInteger(len, 4));
+        this.encodeHead(dataList.size(), 4, out);
         for (Object data : dataList) {
             this.encode(data, out);
         }
     }
 
-    private void encodeObject(Map<Object, Object> data, OutputStream out) throws IOException {
-        int len = data.size();
-        out.write(this.encodeUnsignedInteger(len, 5));
+    private void encodeMap(Map<Object, Object> data, OutputStream out) throws IOException {
+        this.encodeHead(data.size(), 5, out);
         for (Map.Entry<Object, Object> entry : data.entrySet()) {
             this.encode(entry.getKey(), out);
             this.encode(entry.getValue(), out);
         }
     }
 
-    private byte[] encodeUnsignedInteger(long data, int type) {
+    private void encodeHead(long data, int type, OutputStream out) throws IOException {
         greaterThanOrEquals(data, 0, "The integer to encode must be unsigned. [integer={0}]", data);
         between(type, 0, 5, "The type is out of range. [type={0}]", type);
         if (data < 24) {
-            return this.encodeUnsignedInteger(data, 0, this.firstByte((byte) data, type));
+            out.write(this.firstByte((byte) data, type));
         } else if (data < 0xFF) {
-            return this.encodeUnsignedInteger(data, 1, this.firstByte((byte) 0b000_11000, type));
+            out.write(this.firstByte((byte) 0b000_11000, type));
+            this.writeBigEndian(data, 1, out);
         } else if (data < 0xFF_FF) {
-            return this.encodeUnsignedInteger(data, 2, this.firstByte((byte) 0b000_11001, type));
+            out.write(this.firstByte((byte) 0b000_11001, type));
+            this.writeBigEndian(data, 2, out);
         } else if (data < 0xFF_FF_FF_FFL) {
-            return this.encodeUnsignedInteger(data, 4, this.firstByte((byte) 0b000_11010, type));
+            out.write(this.firstByte((byte) 0b000_11010, type));
+            this.writeBigEndian(data, 4, out);
         } else {
-            return this.encodeUnsignedInteger(data, 8, this.firstByte((byte) 0b000_11011, type));
+            out.write(this.firstByte((byte) 0b000_11011, type));
+            this.writeBigEndian(data, 8, out);
         }
     }
 
@@ -179,15 +233,65 @@ public class CborEncoder {
         return (byte) (flag | (type << 5));
     }
 
-    private byte[] encodeUnsignedInteger(long data, int byteNum, byte first) {
-        long value = data;
-        byte[] bs = new byte[byteNum + 1];
-        bs[0] = first;
-        for (int i = byteNum; i > 0; i--) {
-            byte cur = (byte) (value & 0xFF);
-            bs[i] = cur;
-            value = value >> 8;
+    private void writeBigEndian(long value, int byteNum, OutputStream out) throws IOException {
+        for (int i = byteNum - 1; i >= 0; i--) {
+            out.write((int) (value >>> (i << 3)));
+        }
+    }
+
+    /**
+     * 表示指定类型的数据的编码方案。
+     */
+    @FunctionalInterface
+    private interface ValueWriter {
+        void write(Object data, OutputStream out) throws IOException;
+    }
+
+    /**
+     * 表示自定义对象的编码方案，属性的顺序、别名以及编码后的属性名在创建时确定。
+     */
+    private class BeanWriter implements ValueWriter {
+        private final BeanAccessor accessor;
+        private final String[] properties;
+        private final byte[][] keys;
+
+        private BeanWriter(Class<?> clazz) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            this.accessor = BeanAccessor.of(clazz);
+            this.properties = this.accessor.properties()
+                    .stream()
+                    .filter(property -> !Objects.equals(property, "class"))
+                    .toArray(String[]::new);
+            this.keys = new byte[this.properties.length][];
+            for (int i = 0; i < this.properties.length; i++) {
+                out.reset();
+                try {
+                    CborEncoder.this.encodeString(this.accessor.getAlias(this.properties[i]), out);
+                } catch (IOException e) {
+                    // never occurs
+                    throw new IllegalStateException(e);
+                }
+                this.keys[i] = out.toByteArray();
+            }
+        }
+
+        @Override
+        public void write(Object data, OutputStream out) throws IOException {
+            Object[] values = new Object[this.properties.length];
+            int size = 0;
+            for (int i = 0; i < this.properties.length; i++) {
+                values[i] = this.accessor.get(data, this.properties[i]);
+                if (values[i] != null) {
+                    size++;
+                }
+            }
+            CborEncoder.this.encodeHead(size, 5, out);
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    out.write(this.keys[i]);
+                    CborEncoder.this.encode(values[i], out);
+                }
+            }
         }
-        return bs;
     }
 }
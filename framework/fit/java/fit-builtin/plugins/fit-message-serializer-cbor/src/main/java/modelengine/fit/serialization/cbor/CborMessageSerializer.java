@@ -21,6 +21,7 @@ import modelengine.fitframework.util.ArrayUtils;
 import modelengine.fitframework.util.ObjectUtils;
 import modelengine.fitframework.util.TypeUtils;
 
+import java.io.OutputStream;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.List;
@@ -54,9 +55,17 @@ public class CborMessageSerializer implements MessageSerializer {
         return this.serializer.serialize(arguments, UTF_8);
     }
 
+    @Override
+    public void serializeRequestTo(Type[] argumentTypes, Object[] arguments, OutputStream out) {
+        this.serializer.serialize(arguments, UTF_8, out);
+    }
+
     @Override
     public Object[] deserializeRequest(Type[] argumentTypes, byte[] serialized) {
         MessageSerializerUtils.isSupportedLength(serialized.length, this.config);
+        if (this.serializer instanceof CborObjectSerializer) {
+            return ((CborObjectSerializer) this.serializer).deserializeArguments(serialized, argumentTypes);
+        }
         List<Object> deserialized = this.serializer.deserialize(serialized,
                 UTF_8,
                 TypeUtils.parameterized(List.class, new Type[] {Object.class}));
@@ -72,6 +81,11 @@ public class CborMessageSerializer implements MessageSerializer {
         return this.serializer.serialize(returnData, UTF_8);
     }
 
+    @Override
+    public <T> void serializeResponseTo(Type returnType, T returnData, OutputStream out) {
+        this.serializer.serialize(returnData, UTF_8, out);
+    }
+
     @Override
     public <T> T deserializeResponse(Type returnType, byte[] serialized) {
         if (ArrayUtils.isEmpty(serialized)) {
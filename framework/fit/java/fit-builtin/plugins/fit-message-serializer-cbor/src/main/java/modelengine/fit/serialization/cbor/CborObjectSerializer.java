@@ -12,6 +12,7 @@ import modelengine.fitframework.serialization.SerializationException;
 import modelengine.fitframework.serialization.annotation.BuiltinSerializer;
 import modelengine.fitframework.util.ObjectUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -46,8 +47,23 @@ public class CborObjectSerializer implements ObjectSerializer {
     public <T> T deserialize(InputStream in, Charset charset, Type objectType, Map<String, Object> context)
             throws SerializationException {
         try {
-            Object decoded = this.decoder.decode(in);
-            return ObjectUtils.toCustomObject(decoded, objectType);
+            return ObjectUtils.cast(this.decoder.decode(in, objectType));
+        } catch (IOException e) {
+            throw new SerializationException("Failed to deserialize by CBOR.", e);
+        }
+    }
+
+    /**
+     * 将 CBOR 数组反序列化为参数列表，每个参数直接按照对应位置的类型解码。
+     *
+     * @param serialized 表示序列化后的参数数组的 {@code byte[]}。
+     * @param argumentTypes 表示参数类型的 {@link Type}{@code []}。
+     * @return 表示反序列化后的参数列表的 {@link Object}{@code []}。
+     * @throws SerializationException 当反序列化过程中发生错误时。
+     */
+    public Object[] deserializeArguments(byte[] serialized, Type[] argumentTypes) {
+        try (InputStream in = new ByteArrayInputStream(serialized)) {
+            return this.decoder.decodeArray(in, argumentTypes);
         } catch (IOException e) {
             throw new SerializationException("Failed to deserialize by CBOR.", e);
         }
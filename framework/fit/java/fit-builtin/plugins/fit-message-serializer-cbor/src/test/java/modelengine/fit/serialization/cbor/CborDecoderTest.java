@@ -9,16 +9,26 @@ package modelengine.fit.serialization.cbor;
 import static modelengine.fitframework.util.ObjectUtils.cast;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import modelengine.fit.serialization.cbor.test.person.Person;
+import modelengine.fit.serialization.cbor.test.person.PersonName;
+import modelengine.fitframework.beans.convert.ConversionService;
+import modelengine.fitframework.util.ObjectUtils;
+import modelengine.fitframework.util.TypeUtils;
+
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 表示 {@link CborDecoder} 的单元测试。
@@ -207,6 +217,43 @@ public class CborDecoderTest {
         assertThat(decoded).isEqualTo("{\"name\":\"John\",\"age\":30,\"city\":\"New York\"}");
     }
 
+    @Test
+    @DisplayName("当指定目标类型解码时，返回与先解码再转换相同的对象")
+    void shouldReturnSameObjectAsConvertingWhenDecodingWithType() throws IOException {
+        PersonName name = new PersonName();
+        name.setFirst("Thomas");
+        name.setLast("Edison");
+        Person person = new Person();
+        person.setName(name);
+        person.setInventions(Arrays.asList("phonograph", "light bulb"));
+        byte[] encoded = new CborEncoder().encode(Arrays.asList(person, person));
+        Type type = TypeUtils.parameterized(List.class, new Type[] {Person.class});
+
+        Object expected = ObjectUtils.toCustomObject(this.decoder.decode(encoded), type);
+        Object actual = this.decoder.decode(new ByteArrayInputStream(encoded), type);
+        assertThat(actual).isEqualTo(expected).asInstanceOf(InstanceOfAssertFactories.LIST)
+                .containsExactly(person, person);
+        Object array = this.decoder.decode(new ByteArrayInputStream(encoded), Person[].class);
+        assertThat(array).isEqualTo(new Person[] {person, person});
+    }
+
+    @Test
+    @DisplayName("当指定集合类型解码 null 时，返回与转换服务相同的对象")
+    void shouldReturnSameObjectAsConvertingWhenDecodingNullWithType() throws IOException {
+        byte[] encoded = convertHexStringToByteArray("F6");
+        ConversionService conversionService = ConversionService.forStandard();
+        Type[] types = new Type[] {
+                TypeUtils.parameterized(List.class, new Type[] {String.class}),
+                TypeUtils.parameterized(Set.class, new Type[] {String.class}),
+                TypeUtils.parameterized(Map.class, new Type[] {String.class, String.class})
+        };
+        for (Type type : types) {
+            Object expected = conversionService.convert(null, type);
+            Object actual = this.decoder.decode(new ByteArrayInputStream(encoded), type);
+            assertThat(actual).isEqualTo(expected).hasSameClassAs(expected);
+        }
+    }
+
     private static byte[] convertHexStringToByteArray(String hexString) {
         byte[] byteArray = new byte[hexString.length() / 2];
         for (int i = 0; i < byteArray.length; i++) {
@@ -8,7 +8,10 @@ package modelengine.fit.serialization.cbor;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import modelengine.fit.serialization.cbor.test.person.Person;
+import modelengine.fit.serialization.cbor.test.person.PersonName;
 import modelengine.fitframework.util.DigitUtils;
+import modelengine.fitframework.util.ObjectUtils;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +21,7 @@ import org.junit.jupiter.api.Test;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -207,4 +211,19 @@ public class CborEncoderTest {
         assertThat(actual).isEqualTo(
                 "782A7B226E616D65223A224A6F686E222C22616765223A33302C2263697479223A224E657720596F726B227D");
     }
+
+    @Test
+    @DisplayName("当输入自定义对象时，返回与先转换为 Java 对象再编码相同的序列化值")
+    void shouldReturnSameBytesAsJavaObjectWhenDataIsCustomObject() throws IOException {
+        PersonName name = new PersonName();
+        name.setFirst("Thomas");
+        name.setLast("Edison");
+        Person person = new Person();
+        person.setName(name);
+        person.setInventions(Arrays.asList("phonograph", "light bulb"));
+        Object[] data = new Object[] {person, new int[] {1, 300}, null};
+        byte[] encoded = this.encoder.encode(data);
+        byte[] expected = this.encoder.encode(ObjectUtils.toJavaObject(data));
+        assertThat(encoded).isEqualTo(expected);
+    }
 }
@@ -7,6 +7,7 @@
 package modelengine.fit.serialization.cbor;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import modelengine.fit.serialization.cbor.test.box.Box;
 import modelengine.fitframework.conf.Config;
@@ -20,6 +21,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.Arrays;
@@ -57,6 +59,27 @@ public class CborMessageSerializerTest {
         assertThat(arguments).isEqualTo(values);
     }
 
+    @Test
+    @DisplayName("序列化到流的结果，等于序列化到二进制数组的结果")
+    void shouldEqualsBytesWhenSerializeToStream() {
+        Type[] argumentTypes = new Type[] {String.class, Integer.class};
+        Object[] values = new Object[] {"用以UTF-8编码的中文", 1};
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.cborMessageSerializer.serializeRequestTo(argumentTypes, values, out);
+        assertThat(out.toByteArray()).isEqualTo(this.cborMessageSerializer.serializeRequest(argumentTypes, values));
+        Object[] arguments = this.cborMessageSerializer.deserializeRequest(argumentTypes, out.toByteArray());
+        assertThat(arguments).isEqualTo(values);
+    }
+
+    @Test
+    @DisplayName("当参数个数多于参数类型个数时，反序列化失败")
+    void shouldFailWhenArgumentsMoreThanTypes() {
+        byte[] bytes = this.cborMessageSerializer.serializeRequest(new Type[] {String.class, String.class},
+                new Object[] {"a", "b"});
+        assertThatThrownBy(() -> this.cborMessageSerializer.deserializeRequest(new Type[] {String.class}, bytes))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Nested
     @DisplayName("给定一个结构体对象")
     class GivenParamsAreCustom {
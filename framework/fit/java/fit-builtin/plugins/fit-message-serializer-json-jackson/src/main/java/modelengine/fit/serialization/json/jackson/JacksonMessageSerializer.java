@@ -10,8 +10,9 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static modelengine.fitframework.inspection.Validation.notNull;
 import static modelengine.fitframework.util.ObjectUtils.cast;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 
 import modelengine.fit.serialization.MessageSerializer;
 import modelengine.fit.serialization.util.MessageSerializerUtils;
@@ -25,6 +26,7 @@ import modelengine.fitframework.util.ArrayUtils;
 import modelengine.fitframework.util.StringUtils;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 
@@ -59,25 +61,41 @@ public class JacksonMessageSerializer implements MessageSerializer {
         return this.serializer.serialize(arguments, UTF_8);
     }
 
+    @Override
+    public void serializeRequestTo(Type[] argumentTypes, Object[] arguments, OutputStream out) {
+        this.serializer.serialize(arguments, UTF_8, out);
+    }
+
     @Override
     public Object[] deserializeRequest(Type[] argumentTypes, byte[] serialized) {
-        ArrayNode array;
         MessageSerializerUtils.isSupportedLength(serialized.length, this.config);
-        try {
-            array = this.mapper.readValue(serialized, ArrayNode.class);
+        try (JsonParser parser = this.mapper.getFactory().createParser(serialized)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new SerializationException("The JSON request must be an array of arguments.");
+            }
+            Object[] arguments = new Object[argumentTypes.length];
+            int size = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new SerializationException("The JSON request ends unexpectedly.");
+                }
+                if (size < argumentTypes.length) {
+                    arguments[size] = this.mapper.readValue(parser, this.mapper.constructType(argumentTypes[size]));
+                } else {
+                    parser.skipChildren();
+                }
+                size++;
+            }
+            if (size != argumentTypes.length) {
+                throw new SerializationException(StringUtils.format("Total {0} arguments supplied but {1} required.",
+                        size,
+                        argumentTypes.length));
+            }
+            return arguments;
         } catch (IOException e) {
             throw new SerializationException("Failed to read JSON request from serialized bytes.", e);
         }
-        if (array.size() != argumentTypes.length) {
-            throw new SerializationException(StringUtils.format("Total {0} arguments supplied but {1} required.",
-                    array.size(),
-                    argumentTypes.length));
-        }
-        Object[] arguments = new Object[argumentTypes.length];
-        for (int i = 0; i < argumentTypes.length; i++) {
-            arguments[i] = this.mapper.convertValue(array.get(i), this.mapper.constructType(argumentTypes[i]));
-        }
-        return arguments;
     }
 
     @Override
@@ -85,6 +103,11 @@ public class JacksonMessageSerializer implements MessageSerializer {
         return this.serializer.serialize(returnData, UTF_8);
     }
 
+    @Override
+    public <T> void serializeResponseTo(Type returnType, T returnData, OutputStream out) {
+        this.serializer.serialize(returnData, UTF_8, out);
+    }
+
     @Override
     public <T> T deserializeResponse(Type returnType, byte[] serialized) {
         if (ArrayUtils.isEmpty(serialized)) {
@@ -7,13 +7,18 @@
 package modelengine.fit.serialization.json.jackson;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import modelengine.fit.serialization.Constants;
 import modelengine.fit.serialization.test.box.Box;
 import modelengine.fit.serialization.test.person.PersonAlias;
 import modelengine.fit.serialization.test.person.PersonName;
 import modelengine.fitframework.conf.Config;
 import modelengine.fitframework.conf.runtime.SerializationFormat;
 import modelengine.fitframework.conf.support.PropertiesConfig;
+import modelengine.fitframework.serialization.SerializationException;
 import modelengine.fitframework.util.MapBuilder;
 import modelengine.fitframework.util.ObjectUtils;
 
@@ -22,6 +27,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
@@ -242,4 +248,46 @@ public class JacksonMessageSerializerTest {
                     .returns(null, PersonName::getLast);
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("当通过流序列化时")
+    class GivenStream {
+        @Test
+        @DisplayName("请求的序列化结果与二进制数组方式一致，反序列化结果等于原来的值")
+        void shouldEqualsBytesWhenSerializeRequestToStream() {
+            Type[] argumentTypes = new Type[] {String.class, Integer.class};
+            Object[] expected = new Object[] {"用以UTF-8编码的中文", 1};
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            JacksonMessageSerializerTest.this.messageSerializer.serializeRequestTo(argumentTypes, expected, out);
+            assertThat(out.toByteArray()).isEqualTo(JacksonMessageSerializerTest.this.messageSerializer.serializeRequest(
+                    argumentTypes,
+                    expected));
+            Object[] actual = JacksonMessageSerializerTest.this.messageSerializer.deserializeRequest(argumentTypes,
+                    out.toByteArray());
+            assertThat(actual).isEqualTo(expected);
+        }
+
+        @Test
+        @DisplayName("当请求参数的数量不一致时，抛出异常")
+        void shouldThrowWhenArgumentsCountMismatch() {
+            byte[] serialized = "[\"a\",\"b\"]".getBytes(StandardCharsets.UTF_8);
+            assertThatThrownBy(() -> JacksonMessageSerializerTest.this.messageSerializer.deserializeRequest(new Type[] {
+                    String.class
+            }, serialized)).isInstanceOf(SerializationException.class)
+                    .hasMessage("Total 2 arguments supplied but 1 required.");
+        }
+
+        @Test
+        @DisplayName("当响应数据超过大小阈值时，抛出异常")
+        void shouldThrowWhenResponseExceedsThreshold() {
+            Config limited = mock(Config.class);
+            when(limited.keys()).thenReturn(Collections.singleton(Constants.LARGE_DATA_SIZE));
+            when(limited.get(Constants.LARGE_DATA_SIZE, Long.class)).thenReturn(4L);
+            JacksonMessageSerializer serializer =
+                    new JacksonMessageSerializer(new JacksonObjectSerializer(null, null, null), limited);
+            byte[] serialized = "\"0123456789\"".getBytes(StandardCharsets.UTF_8);
+            assertThatThrownBy(() -> serializer.deserializeResponse(String.class, serialized)).isInstanceOf(
+                    SerializationException.class);
+        }
+    }
+}
@@ -25,6 +25,7 @@ import modelengine.fit.http.server.HttpHandler;
 import modelengine.fit.serialization.MessageSerializer;
 import modelengine.fit.serialization.http.HttpUtils;
 import modelengine.fit.serialization.util.MessageSerializerUtils;
+import modelengine.fit.serialization.util.SerializedBuffer;
 import modelengine.fitframework.broker.GenericableMetadata;
 import modelengine.fitframework.broker.server.Response;
 import modelengine.fitframework.conf.runtime.SerializationFormat;
@@ -33,7 +34,6 @@ import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.resource.UrlUtils;
 import modelengine.fitframework.util.StringUtils;
 
-import java.io.ByteArrayInputStream;
 import java.lang.reflect.Type;
 
 /**
@@ -113,17 +113,20 @@ public class HttpServerUtils {
         if (dataFormat == SerializationFormat.JSON.code()) {
             response.entity(new DefaultObjectEntity<>(response, result.data()));
         } else {
-            byte[] responseData = getResponseData(container, result.type(), result.data(), dataFormat);
-            response.headers().set(MessageHeaderNames.CONTENT_LENGTH, Integer.toString(responseData.length));
-            response.entity(Entity.createBinaryEntity(response, new ByteArrayInputStream(responseData)));
+            SerializedBuffer responseData = getResponseData(container, result.type(), result.data(), dataFormat);
+            response.headers().set(MessageHeaderNames.CONTENT_LENGTH, Integer.toString(responseData.size()));
+            response.entity(Entity.createBinaryEntity(response, responseData.toInputStream()));
         }
     }
 
-    private static byte[] getResponseData(BeanContainer container, Type returnType, Object data, int format) {
+    private static SerializedBuffer getResponseData(BeanContainer container, Type returnType, Object data,
+            int format) {
         MessageSerializer messageSerializer = MessageSerializerUtils.getMessageSerializer(container, format)
                 .orElseThrow(() -> new IllegalStateException(StringUtils.format(
                         "MessageSerializer required but not found. [format={0}]",
                         format)));
-        return messageSerializer.serializeResponse(returnType, data);
+        SerializedBuffer buffer = new SerializedBuffer();
+        messageSerializer.serializeResponseTo(returnType, data, buffer);
+        return buffer;
     }
 }
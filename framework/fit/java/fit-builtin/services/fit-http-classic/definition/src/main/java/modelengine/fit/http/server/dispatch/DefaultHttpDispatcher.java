@@ -23,8 +23,6 @@ import modelengine.fitframework.resource.UrlUtils;
 import modelengine.fitframework.util.MapUtils;
 import modelengine.fitframework.util.OptionalUtils;
 import modelengine.fitframework.util.StringUtils;
-import modelengine.fitframework.util.wildcard.PathPattern;
-import modelengine.fitframework.util.wildcard.Pattern;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -42,7 +40,6 @@ import java.util.stream.Collectors;
  */
 public class DefaultHttpDispatcher implements HttpDispatcher {
     private static final Logger log = Logger.get(DefaultHttpDispatcher.class);
-    private static final char PATH_SEPARATOR = '/';
 
     /**
      * 表示路径样式中没有路径变量的处理器集合。
@@ -72,13 +69,13 @@ public class DefaultHttpDispatcher implements HttpDispatcher {
      * 表示路径样式中存在 {@code '**'} 通配符的处理器集合。
      * <p>其键值对映射分别表示的含义如下：
      *     <ul>
-     *         <li>第一层映射中的键表示 Http 请求的方法的 {@link HttpRequestMethod}。</li>
-     *         <li>第二层映射中的键表示路径样式，如 {@code /**}。</li>
-     *         <li>第二层映射中的值为其对应的 Http 请求的处理器的 {@link HttpHandler}。</li>
+     *         <li>映射中的键表示 Http 请求的方法的 {@link HttpRequestMethod}。</li>
+     *         <li>映射中的值表示 Http 请求路径的匹配树的 {@link MappingTree}{@code <}{@link HttpHandler}{@code >}，
+     *         路径样式在注册时即编译到匹配树中，匹配时返回最具体的处理器。</li>
      *     </ul>
      * </p>
      */
-    private final Map<HttpRequestMethod, Map<String, HttpHandler>> wildcardHandlers = new ConcurrentHashMap<>();
+    private final Map<HttpRequestMethod, MappingTree<HttpHandler>> wildcardHandlers = new ConcurrentHashMap<>();
 
     private final Map<String, HttpHandlerGroup> groups = new ConcurrentHashMap<>();
 
@@ -117,18 +114,12 @@ public class DefaultHttpDispatcher implements HttpDispatcher {
     }
 
     private Optional<HttpHandler> selectFromWildcardHandlers(HttpClassicServerRequest request) {
-        Map<String, HttpHandler> handlers = this.wildcardHandlers.get(request.method());
-        if (MapUtils.isEmpty(handlers)) {
+        MappingTree<HttpHandler> mappingTree = this.wildcardHandlers.get(request.method());
+        if (mappingTree == null) {
             return Optional.empty();
         }
         String path = UrlUtils.decodePath(request.path());
-        for (Map.Entry<String, HttpHandler> entry : handlers.entrySet()) {
-            PathPattern pattern = Pattern.forPath(entry.getKey(), PATH_SEPARATOR);
-            if (pattern.matches(path)) {
-                return Optional.of(entry.getValue());
-            }
-        }
-        return Optional.empty();
+        return mappingTree.search(path);
     }
 
     @Override
@@ -140,9 +131,9 @@ public class DefaultHttpDispatcher implements HttpDispatcher {
         notBlank(pathPattern, "The path pattern cannot be blank.");
         HttpHandler preHandler;
         if (pathPattern.contains("**")) {
-            Map<String, HttpHandler> handlers =
-                    this.wildcardHandlers.computeIfAbsent(method, methodName -> new ConcurrentHashMap<>());
-            preHandler = handlers.put(pathPattern, handler);
+            MappingTree<HttpHandler> mappingTree =
+                    this.wildcardHandlers.computeIfAbsent(method, methodName -> new DefaultMappingTree<>());
+            preHandler = mappingTree.register(pathPattern, handler).orElse(null);
         } else if (pathPattern.contains("*")) {
             MappingTree<HttpHandler> mappingTree =
                     this.pathVariableHandlers.computeIfAbsent(method, methodName -> new DefaultMappingTree<>());
@@ -168,7 +159,8 @@ public class DefaultHttpDispatcher implements HttpDispatcher {
         String pathPattern = MappingTree.convertToMatchedPathPattern(handler.pathPattern());
         notBlank(pathPattern, "The path pattern cannot be blank.");
         if (pathPattern.contains("**")) {
-            Optional.ofNullable(this.wildcardHandlers.get(method)).ifPresent(handlers -> handlers.remove(pathPattern));
+            Optional.ofNullable(this.wildcardHandlers.get(method))
+                    .ifPresent(mappingTree -> mappingTree.unregister(pathPattern));
         } else if (pathPattern.contains("*")) {
             Optional.ofNullable(this.pathVariableHandlers.get(method))
                     .ifPresent(mappingTree -> mappingTree.unregister(pathPattern));
@@ -187,9 +179,9 @@ public class DefaultHttpDispatcher implements HttpDispatcher {
             List<HttpHandler> handlerList = map.computeIfAbsent(requestMethod, key -> new ArrayList<>());
             handlerList.addAll(mappingTree.getAllHandlers());
         });
-        this.wildcardHandlers.forEach((requestMethod, httpHandlers) -> {
+        this.wildcardHandlers.forEach((requestMethod, mappingTree) -> {
             List<HttpHandler> handlerList = map.computeIfAbsent(requestMethod, key -> new ArrayList<>());
-            handlerList.addAll(httpHandlers.values());
+            handlerList.addAll(mappingTree.getAllHandlers());
         });
         return map;
     }
@@ -13,21 +13,32 @@ import static modelengine.fitframework.inspection.Validation.notNull;
 import modelengine.fit.http.server.dispatch.MappingTree;
 import modelengine.fitframework.util.CollectionUtils;
 import modelengine.fitframework.util.StringUtils;
+import modelengine.fitframework.util.wildcard.CharSequencePattern;
+import modelengine.fitframework.util.wildcard.Pattern;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Queue;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 /**
  * {@link MappingTree} 的默认实现。
+ * <p>匹配树按路径的每一段构建，路径样式中的每一段可以是：</p>
+ * <ul>
+ *     <li>普通路径段，如 {@code a}，需要完全匹配；</li>
+ *     <li>含有 {@code '*'} 或者 {@code '?'} 的路径段，如 {@code *.js}，在注册时预编译，在一段路径内模糊匹配；</li>
+ *     <li>{@code '*'}，匹配任意一段路径；</li>
+ *     <li>{@code '**'}，匹配任意段路径，包括零段。</li>
+ * </ul>
+ * <p>搜索时每一段都按照普通路径段、模糊路径段、{@code '*'}、{@code '**'} 的顺序尝试，前者匹配失败时再回溯尝试后者，
+ * 因此返回的是最具体的匹配结果，搜索耗时只与路径的段数相关，与注册的处理器数量无关。</p>
+ * <p>搜索时直接按下标遍历原始路径，不切分路径；每个节点的普通子节点按键值排序存放在数组中，通过二分查找与路径片段
+ * 逐字符比较，只匹配普通路径段和 {@code '*'} 时整个搜索过程不分配内存。匹配树的修改在锁内以写时复制的方式进行，
+ * 搜索不加锁。</p>
  *
  * @author 季聿阶
  * @since 2022-07-26
@@ -36,9 +47,12 @@ public class DefaultMappingTree<T> implements MappingTree<T> {
     /** 表示路径分隔符的 {@link String}。 */
     public static final String PATH_SEPARATOR = "/";
 
+    private static final char SEPARATOR = '/';
     private static final String WILD_KEY = "*";
+    private static final String MULTIPLE_WILD_KEY = "**";
+    private static final char SINGLE_WILDCARD = '?';
 
-    private final Map<String, MappingTreeNode<T>> nodes = new ConcurrentHashMap<>();
+    private final MappingTreeNode<T> root = new MappingTreeNode<>(null);
 
     /**
      * 将指定路径按照路径分隔符进行切分。
@@ -64,8 +78,9 @@ public class DefaultMappingTree<T> implements MappingTree<T> {
         isTrue(CollectionUtils.isNotEmpty(pathFragments),
                 "The path pattern cannot only contain '/'. [pathPattern={0}]",
                 pathPattern);
-        return this.nodes.computeIfAbsent(pathFragments.remove(), fragment -> new MappingTreeNode<>())
-                .register(pathFragments, handler);
+        synchronized (this.root) {
+            return Optional.ofNullable(this.root.register(pathFragments, handler));
+        }
     }
 
     @Override
@@ -79,107 +94,339 @@ public class DefaultMappingTree<T> implements MappingTree<T> {
         isTrue(CollectionUtils.isNotEmpty(pathFragments),
                 "The path pattern cannot only contain '/'. [pathPattern={0}]",
                 pathPattern);
-        String removed = pathFragments.remove();
-        if (!this.nodes.containsKey(removed)) {
-            return;
-        }
-        MappingTreeNode<T> treeNode = this.nodes.get(removed);
-        boolean isEmpty = treeNode.unregister(pathFragments);
-        if (isEmpty) {
-            this.nodes.remove(removed);
+        synchronized (this.root) {
+            this.root.unregister(pathFragments);
         }
     }
 
     @Override
     public Optional<T> search(String path) {
+        return Optional.ofNullable(this.match(path, null));
+    }
+
+    /**
+     * 从当前的匹配树中搜索指定路径的处理器，并记录路径变量的位置。
+     * <p>路径样式中的每一个 {@code '*'} 或者模糊路径段都对应一个路径变量，第 {@code i} 个路径变量在路径中的起始位置和
+     * 结束位置（不包含）分别记录在 {@code variables[2 * i]} 和 {@code variables[2 * i + 1]} 中，超出数组长度的路径变量
+     * 不再记录。调用方可以通过 {@link String#substring(int, int)} 按需获取路径变量的值。</p>
+     *
+     * @param path 表示指定路径的 {@link String}。
+     * @param variables 表示记录路径变量位置的 {@code int[]}，为 {@code null} 时不记录。
+     * @return 表示搜索到的指定路径的处理器的 {@link T}，没有匹配的处理器时返回 {@code null}。
+     * @throws IllegalArgumentException 当 {@code path} 为 {@code null} 或空白字符串或不以 {@code '/'} 开头时。
+     */
+    public T match(String path, int[] variables) {
         notBlank(path, "The search path cannot be blank.");
         String actualPath = path.trim();
         isTrue(actualPath.startsWith(PATH_SEPARATOR), "The search path is not start with '/'. [path={0}]", path);
-        Deque<String> pathFragments = splitPath(actualPath);
-        isTrue(CollectionUtils.isNotEmpty(pathFragments),
-                "The search path cannot only contain '/'. [pathPattern={0}]",
-                path);
-        MappingTreeNode<T> childNode = this.nodes.get(pathFragments.removeFirst());
-        Optional<T> httpHandler = Optional.ofNullable(childNode).flatMap(node -> node.search(pathFragments));
-        if (httpHandler.isPresent()) {
-            return httpHandler;
-        }
-        MappingTreeNode<T> wildChildNode = this.nodes.get(WILD_KEY);
-        return Optional.ofNullable(wildChildNode).flatMap(node -> node.search(pathFragments));
+        return this.root.search(actualPath, nextSegment(actualPath, 0), variables, 0);
     }
 
     @Override
     public List<T> getAllHandlers() {
-        Collection<MappingTreeNode<T>> values = this.nodes.values();
-        return values.stream()
-                .filter(Objects::nonNull)
-                .flatMap(value -> this.getNodeHandlers(value).stream())
-                .collect(Collectors.toList());
+        List<T> handlers = new ArrayList<>();
+        this.root.collect(handlers);
+        return handlers;
     }
 
-    private List<T> getNodeHandlers(MappingTreeNode<T> node) {
-        List<T> handlers = new ArrayList<>();
-        if (node.handler != null) {
-            handlers.add(node.handler);
+    /**
+     * 获取从指定位置开始的下一个非空白路径段的起始位置。
+     *
+     * @param path 表示路径的 {@link String}。
+     * @param from 表示开始查找的位置的 {@code int}。
+     * @return 表示下一个路径段起始位置的 {@code int}，没有更多路径段时返回路径的长度。
+     */
+    private static int nextSegment(String path, int from) {
+        int length = path.length();
+        int index = from;
+        while (index < length) {
+            if (path.charAt(index) == SEPARATOR) {
+                index++;
+                continue;
+            }
+            int end = segmentEnd(path, index);
+            for (int i = index; i < end; i++) {
+                if (!Character.isWhitespace(path.charAt(i))) {
+                    return index;
+                }
+            }
+            index = end;
+        }
+        return length;
+    }
+
+    private static int segmentEnd(String path, int start) {
+        int end = path.indexOf(SEPARATOR, start);
+        return end < 0 ? path.length() : end;
+    }
+
+    private static int compare(String key, String path, int start, int end) {
+        int keyLength = key.length();
+        int length = end - start;
+        int limit = Math.min(keyLength, length);
+        for (int i = 0; i < limit; i++) {
+            int diff = key.charAt(i) - path.charAt(start + i);
+            if (diff != 0) {
+                return diff;
+            }
         }
-        if (!node.children.isEmpty()) {
-            List<T> childrenHandlers = node.children.values()
-                    .stream()
-                    .filter(Objects::nonNull)
-                    .flatMap(child -> this.getNodeHandlers(child).stream())
-                    .collect(Collectors.toList());
-            handlers.addAll(childrenHandlers);
+        return keyLength - length;
+    }
+
+    private static boolean isFuzzy(String fragment) {
+        return !Objects.equals(fragment, WILD_KEY) && !Objects.equals(fragment, MULTIPLE_WILD_KEY) && (
+                fragment.indexOf(WILD_KEY.charAt(0)) >= 0 || fragment.indexOf(SINGLE_WILDCARD) >= 0);
+    }
+
+    private static void record(int[] variables, int variableIndex, int start, int end) {
+        if (variables != null && 2 * variableIndex + 1 < variables.length) {
+            variables[2 * variableIndex] = start;
+            variables[2 * variableIndex + 1] = end;
         }
-        return handlers;
     }
 
     private static class MappingTreeNode<T> {
-        private final Map<String, MappingTreeNode<T>> children = new ConcurrentHashMap<>();
-        private T handler;
+        private final String fragment;
+        private final CharSequencePattern pattern;
 
-        private Optional<T> register(Queue<String> pathFragments, T handler) {
+        private volatile Literals<T> literals = Literals.empty();
+        private volatile MappingTreeNode<T>[] fuzzyChildren = newArray(0);
+        private volatile MappingTreeNode<T> wildChild;
+        private volatile MappingTreeNode<T> multipleWildChild;
+        private volatile T handler;
+
+        private MappingTreeNode(String fragment) {
+            this.fragment = fragment;
+            this.pattern = fragment != null && isFuzzy(fragment) ? Pattern.forCharSequence(fragment) : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> MappingTreeNode<T>[] newArray(int length) {
+            return new MappingTreeNode[length];
+        }
+
+        private T register(Queue<String> pathFragments, T handler) {
             if (pathFragments.isEmpty()) {
                 T pre = this.handler;
                 this.handler = handler;
-                return Optional.ofNullable(pre);
+                return pre;
             }
-            return this.children.computeIfAbsent(pathFragments.remove(), fragment -> new MappingTreeNode<>())
-                    .register(pathFragments, handler);
+            String removed = pathFragments.remove();
+            MappingTreeNode<T> child = this.child(removed);
+            if (child == null) {
+                child = new MappingTreeNode<>(removed);
+                this.link(child);
+            }
+            return child.register(pathFragments, handler);
         }
 
         private boolean unregister(Queue<String> pathFragments) {
             if (pathFragments.isEmpty()) {
                 this.handler = null;
-                return this.children.isEmpty();
+                return this.isEmpty();
             }
             String removed = pathFragments.remove();
-            if (!this.children.containsKey(removed)) {
-                return this.children.isEmpty();
+            MappingTreeNode<T> child = this.child(removed);
+            if (child != null && child.unregister(pathFragments)) {
+                this.unlink(child);
             }
-            boolean isEmpty = this.children.get(removed).unregister(pathFragments);
-            if (isEmpty) {
-                this.children.remove(removed);
+            return this.isEmpty();
+        }
+
+        private boolean isEmpty() {
+            return this.handler == null && this.literals.keys.length == 0 && this.fuzzyChildren.length == 0
+                    && this.wildChild == null && this.multipleWildChild == null;
+        }
+
+        private MappingTreeNode<T> child(String key) {
+            if (Objects.equals(key, WILD_KEY)) {
+                return this.wildChild;
+            }
+            if (Objects.equals(key, MULTIPLE_WILD_KEY)) {
+                return this.multipleWildChild;
             }
-            return this.children.isEmpty();
+            if (isFuzzy(key)) {
+                return Arrays.stream(this.fuzzyChildren)
+                        .filter(child -> Objects.equals(child.fragment, key))
+                        .findFirst()
+                        .orElse(null);
+            }
+            Literals<T> current = this.literals;
+            int index = Arrays.binarySearch(current.keys, key);
+            return index < 0 ? null : current.children[index];
         }
 
-        private Optional<T> search(Deque<String> pathFragments) {
-            if (pathFragments.isEmpty()) {
-                return Optional.ofNullable(this.handler);
+        private void link(MappingTreeNode<T> child) {
+            String key = child.fragment;
+            if (Objects.equals(key, WILD_KEY)) {
+                this.wildChild = child;
+            } else if (Objects.equals(key, MULTIPLE_WILD_KEY)) {
+                this.multipleWildChild = child;
+            } else if (child.pattern != null) {
+                MappingTreeNode<T>[] children = Arrays.copyOf(this.fuzzyChildren, this.fuzzyChildren.length + 1);
+                children[children.length - 1] = child;
+                this.fuzzyChildren = children;
+            } else {
+                Literals<T> current = this.literals;
+                int insertion = -Arrays.binarySearch(current.keys, key) - 1;
+                String[] keys = new String[current.keys.length + 1];
+                MappingTreeNode<T>[] children = newArray(keys.length);
+                System.arraycopy(current.keys, 0, keys, 0, insertion);
+                System.arraycopy(current.children, 0, children, 0, insertion);
+                keys[insertion] = key;
+                children[insertion] = child;
+                System.arraycopy(current.keys, insertion, keys, insertion + 1, keys.length - insertion - 1);
+                System.arraycopy(current.children, insertion, children, insertion + 1, keys.length - insertion - 1);
+                this.literals = new Literals<>(keys, children);
+            }
+        }
+
+        private void unlink(MappingTreeNode<T> child) {
+            String key = child.fragment;
+            if (Objects.equals(key, WILD_KEY)) {
+                this.wildChild = null;
+            } else if (Objects.equals(key, MULTIPLE_WILD_KEY)) {
+                this.multipleWildChild = null;
+            } else if (child.pattern != null) {
+                this.fuzzyChildren = Arrays.stream(this.fuzzyChildren)
+                        .filter(fuzzyChild -> fuzzyChild != child)
+                        .toArray(MappingTreeNode[]::new);
+            } else {
+                Literals<T> current = this.literals;
+                int index = Arrays.binarySearch(current.keys, key);
+                String[] keys = new String[current.keys.length - 1];
+                MappingTreeNode<T>[] children = newArray(keys.length);
+                System.arraycopy(current.keys, 0, keys, 0, index);
+                System.arraycopy(current.children, 0, children, 0, index);
+                System.arraycopy(current.keys, index + 1, keys, index, keys.length - index);
+                System.arraycopy(current.children, index + 1, children, index, keys.length - index);
+                this.literals = new Literals<>(keys, children);
+            }
+        }
+
+        private void collect(List<T> handlers) {
+            T current = this.handler;
+            if (current != null) {
+                handlers.add(current);
+            }
+            for (MappingTreeNode<T> child : this.literals.children) {
+                child.collect(handlers);
+            }
+            for (MappingTreeNode<T> child : this.fuzzyChildren) {
+                child.collect(handlers);
+            }
+            MappingTreeNode<T> wild = this.wildChild;
+            if (wild != null) {
+                wild.collect(handlers);
+            }
+            MappingTreeNode<T> multiple = this.multipleWildChild;
+            if (multiple != null) {
+                multiple.collect(handlers);
+            }
+        }
+
+        /**
+         * 从当前节点开始匹配路径中从 {@code start} 开始的部分。
+         *
+         * @param path 表示完整路径的 {@link String}。
+         * @param start 表示待匹配的第一个路径段的起始位置的 {@code int}，等于路径长度时表示路径已经匹配完。
+         * @param variables 表示记录路径变量位置的 {@code int[]}。
+         * @param variableIndex 表示下一个路径变量的序号的 {@code int}。
+         * @return 表示匹配到的处理器的 {@link T}，没有匹配时返回 {@code null}。
+         */
+        private T search(String path, int start, int[] variables, int variableIndex) {
+            MappingTreeNode<T> multiple = this.multipleWildChild;
+            if (start == path.length()) {
+                T current = this.handler;
+                if (current != null || multiple == null) {
+                    return current;
+                }
+                return multiple.searchAfterMultipleWild(path, start, variables, variableIndex);
             }
-            String removed = pathFragments.removeFirst();
-            MappingTreeNode<T> child = this.children.get(removed);
-            Optional<T> httpHandler = Optional.ofNullable(child).flatMap(node -> node.search(pathFragments));
-            if (httpHandler.isPresent()) {
-                return httpHandler;
+            int end = segmentEnd(path, start);
+            int next = nextSegment(path, end);
+            T found = this.searchLiteral(path, start, end, next, variables, variableIndex);
+            if (found != null) {
+                return found;
             }
-            MappingTreeNode<T> wildChild = this.children.get(WILD_KEY);
-            httpHandler = Optional.ofNullable(wildChild).flatMap(node -> node.search(pathFragments));
-            if (httpHandler.isPresent()) {
-                return httpHandler;
+            MappingTreeNode<T>[] fuzzy = this.fuzzyChildren;
+            if (fuzzy.length > 0) {
+                String segment = path.substring(start, end);
+                for (MappingTreeNode<T> fuzzyChild : fuzzy) {
+                    if (fuzzyChild.pattern.matches(segment)) {
+                        found = fuzzyChild.search(path, next, variables, variableIndex + 1);
+                        if (found != null) {
+                            record(variables, variableIndex, start, end);
+                            return found;
+                        }
+                    }
+                }
             }
-            pathFragments.addFirst(removed);
-            return Optional.empty();
+            MappingTreeNode<T> wild = this.wildChild;
+            if (wild != null) {
+                found = wild.search(path, next, variables, variableIndex + 1);
+                if (found != null) {
+                    record(variables, variableIndex, start, end);
+                    return found;
+                }
+            }
+            return multiple == null ? null : multiple.searchAfterMultipleWild(path, start, variables, variableIndex);
+        }
+
+        private T searchLiteral(String path, int start, int end, int next, int[] variables, int variableIndex) {
+            Literals<T> current = this.literals;
+            String[] keys = current.keys;
+            int low = 0;
+            int high = keys.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int comparison = compare(keys[middle], path, start, end);
+                if (comparison < 0) {
+                    low = middle + 1;
+                } else if (comparison > 0) {
+                    high = middle - 1;
+                } else {
+                    return current.children[middle].search(path, next, variables, variableIndex);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * 当前节点为 {@code '**'} 节点，依次尝试让 {@code '**'} 匹配零段、一段直到剩余所有段路径。
+         */
+        private T searchAfterMultipleWild(String path, int start, int[] variables, int variableIndex) {
+            int index = start;
+            while (true) {
+                T found = this.search(path, index, variables, variableIndex);
+                if (found != null || index == path.length()) {
+                    return found;
+                }
+                index = nextSegment(path, segmentEnd(path, index));
+            }
+        }
+    }
+
+    /**
+     * 表示一个节点的全部普通子节点，键值按顺序排列并与子节点一一对应。
+     * <p>实例不可变，修改时整体替换，搜索只读取一次引用，因此键值和子节点总是来自同一个版本。</p>
+     *
+     * @param <T> 表示处理器的类型的 {@link T}。
+     */
+    private static final class Literals<T> {
+        private static final Literals<?> EMPTY = new Literals<>(new String[0], MappingTreeNode.newArray(0));
+
+        private final String[] keys;
+        private final MappingTreeNode<T>[] children;
+
+        private Literals(String[] keys, MappingTreeNode<T>[] children) {
+            this.keys = keys;
+            this.children = children;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> Literals<T> empty() {
+            return (Literals<T>) EMPTY;
         }
     }
 }
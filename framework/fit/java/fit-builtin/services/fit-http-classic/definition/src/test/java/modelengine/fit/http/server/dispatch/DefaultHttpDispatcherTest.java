@@ -253,6 +253,20 @@ public class DefaultHttpDispatcherTest {
                     .hasMessage("Http handler has been registered. [method=GET, pattern=/a/**]");
         }
 
+        @Test
+        @DisplayName("当再注册一个更具体的有 '**' 的处理器时，匹配的请求被更具体的处理器处理")
+        void requestIsHandledByMoreSpecificHandler() {
+            HttpHandler specific = mock(HttpHandler.class);
+            when(specific.pathPattern()).thenReturn("/a/b/**");
+            this.dispatcher().register(HttpRequestMethod.GET.name(), specific);
+            when(DefaultHttpDispatcherTest.this.request.method()).thenReturn(HttpRequestMethod.GET);
+            when(DefaultHttpDispatcherTest.this.request.path()).thenReturn("/a/b/c");
+            assertThat(this.dispatcher().dispatch(DefaultHttpDispatcherTest.this.request, null)).isEqualTo(specific);
+            when(DefaultHttpDispatcherTest.this.request.path()).thenReturn("/a/c");
+            assertThat(this.dispatcher().dispatch(DefaultHttpDispatcherTest.this.request, null)).isEqualTo(
+                    DefaultHttpDispatcherTest.this.handler);
+        }
+
         @Test
         @DisplayName("可以成功获取所有注册的处理器")
         void shouldReturnAllRegisteredHandlers() {
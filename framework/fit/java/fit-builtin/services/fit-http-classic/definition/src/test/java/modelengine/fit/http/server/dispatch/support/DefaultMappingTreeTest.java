@@ -16,11 +16,15 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * {@link MappingTree} 的单元测试。
@@ -65,4 +69,109 @@ public class DefaultMappingTreeTest {
             assertThat(search).isNotEmpty().get().isEqualTo(DefaultMappingTreeTest.this.handler);
         }
     }
+
+    @Nested
+    @DisplayName("注册了含 '**' 通配符的路径后")
+    class AfterRegisteringMultipleWildPatterns {
+        private final HttpHandler any = mock(HttpHandler.class);
+        private final HttpHandler api = mock(HttpHandler.class);
+        private final HttpHandler apiUser = mock(HttpHandler.class);
+        private final HttpHandler script = mock(HttpHandler.class);
+        private final Map<String, HttpHandler> handlers = new HashMap<>();
+
+        @BeforeEach
+        void setup() {
+            this.handlers.put("any", this.any);
+            this.handlers.put("api", this.api);
+            this.handlers.put("apiUser", this.apiUser);
+            this.handlers.put("script", this.script);
+            DefaultMappingTreeTest.this.mappingTree.register("/**", this.any);
+            DefaultMappingTreeTest.this.mappingTree.register("/api/**", this.api);
+            DefaultMappingTreeTest.this.mappingTree.register("/api/*/user/**", this.apiUser);
+            DefaultMappingTreeTest.this.mappingTree.register("/static/**/*.js", this.script);
+        }
+
+        @ParameterizedTest(name = "{index}: 搜索路径为 `{0}`")
+        @DisplayName("返回最具体的处理器")
+        @CsvSource({
+                "/,any", "/a/b,any", "/api,api", "/api/v1,api", "/api/v1/user,apiUser", "/api/v1/user/1/2,apiUser",
+                "/static/a.js,script", "/static/a/b/c.js,script", "/static/a/b/c.css,any"
+        })
+        void returnMostSpecificHandler(String path, String expected) {
+            Optional<HttpHandler> search = DefaultMappingTreeTest.this.mappingTree.search(path);
+            assertThat(search).isNotEmpty().get().isEqualTo(this.handlers.get(expected));
+        }
+
+        @Test
+        @DisplayName("取消注册后不再匹配，且不影响其他处理器")
+        void returnOtherHandlerAfterUnregistering() {
+            DefaultMappingTreeTest.this.mappingTree.unregister("/api/**");
+            assertThat(DefaultMappingTreeTest.this.mappingTree.search("/api/v1")).get().isEqualTo(this.any);
+            assertThat(DefaultMappingTreeTest.this.mappingTree.search("/api/v1/user")).get().isEqualTo(this.apiUser);
+            assertThat(DefaultMappingTreeTest.this.mappingTree.getAllHandlers()).hasSize(3);
+        }
+    }
+
+    @Nested
+    @DisplayName("按下标匹配路径时")
+    class WhenMatchingByIndex {
+        @Test
+        @DisplayName("记录每个路径变量在路径中的位置")
+        void recordVariableOffsets() {
+            DefaultMappingTree<HttpHandler> tree = new DefaultMappingTree<>();
+            tree.register("/users/*/files/*.txt", DefaultMappingTreeTest.this.handler);
+            String path = "/users//42/files/a.txt";
+            int[] variables = new int[4];
+            HttpHandler matched = tree.match(path, variables);
+            assertThat(matched).isEqualTo(DefaultMappingTreeTest.this.handler);
+            assertThat(path.substring(variables[0], variables[1])).isEqualTo("42");
+            assertThat(path.substring(variables[2], variables[3])).isEqualTo("a.txt");
+        }
+
+        @Test
+        @DisplayName("普通路径段按完整内容匹配")
+        void matchLiteralSegmentsExactly() {
+            DefaultMappingTree<HttpHandler> tree = new DefaultMappingTree<>();
+            tree.register("/a/bc", DefaultMappingTreeTest.this.handler);
+            tree.register("/a/b", mock(HttpHandler.class));
+            tree.register("/a/bcd", mock(HttpHandler.class));
+            assertThat(tree.match("/a/bc/", null)).isEqualTo(DefaultMappingTreeTest.this.handler);
+            assertThat(tree.match("/a/bcde", null)).isNull();
+        }
+
+        @Test
+        @DisplayName("并发注册和取消注册兄弟路径时，搜索总是返回对应的处理器")
+        void returnSameHandlerWhileSiblingsChange() throws InterruptedException {
+            DefaultMappingTree<String> tree = new DefaultMappingTree<>();
+            for (int i = 0; i < 64; i += 2) {
+                tree.register("/a/" + key(i), key(i));
+            }
+            AtomicBoolean isRunning = new AtomicBoolean(true);
+            Thread writer = new Thread(() -> {
+                while (isRunning.get()) {
+                    for (int i = 1; i < 64; i += 2) {
+                        tree.register("/a/" + key(i), key(i));
+                    }
+                    for (int i = 1; i < 64; i += 2) {
+                        tree.unregister("/a/" + key(i));
+                    }
+                }
+            });
+            writer.start();
+            try {
+                for (int round = 0; round < 20_000; round++) {
+                    for (int i = 0; i < 64; i += 8) {
+                        assertThat(tree.match("/a/" + key(i), null)).isEqualTo(key(i));
+                    }
+                }
+            } finally {
+                isRunning.set(false);
+                writer.join();
+            }
+        }
+
+        private String key(int index) {
+            return String.format("k%02d", index);
+        }
+    }
 }
@@ -6,11 +6,18 @@
 
 package modelengine.fit.serialization;
 
+import modelengine.fitframework.serialization.SerializationException;
+
+import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 
 /**
  * 调用泛服务的输入输出提供序列化程序。
+ * <p>除二进制数组形式的方法外，还提供了直接写入输出流的方法，这些方法使用不同的名称，避免以 {@code null}
+ * 调用时产生重载的歧义。默认实现通过二进制数组中转，
+ * 具体的序列化程序可以重写这些方法，以避免中间数组的分配和复制。</p>
  *
  * @author 梁济时
  * @author 季聿阶
@@ -55,6 +62,41 @@ public interface MessageSerializer {
      */
     <T> T deserializeResponse(Type returnType, byte[] serialized);
 
+    /**
+     * 将调用的请求信息序列化后写入指定的输出流。
+     *
+     * @param argumentTypes 表示请求参数类型列表的 {@link Type}{@code []}。
+     * @param arguments 表示请求参数列表的 {@link Object}{@code []}。
+     * @param out 表示待写入的输出流的 {@link OutputStream}。
+     * @throws SerializationException 当序列化或写入过程中发生错误时。
+     */
+    default void serializeRequestTo(Type[] argumentTypes, Object[] arguments, OutputStream out) {
+        byte[] serialized = this.serializeRequest(argumentTypes, arguments);
+        try {
+            out.write(serialized);
+        } catch (IOException e) {
+            throw new SerializationException("Failed to write serialized request.", e);
+        }
+    }
+
+    /**
+     * 将调用的响应信息序列化后写入指定的输出流。
+     *
+     * @param returnType 表示响应数据类型的 {@link Type}。
+     * @param returnData 表示响应数据的 {@link T}。
+     * @param out 表示待写入的输出流的 {@link OutputStream}。
+     * @param <T> 表示响应数据类型的 {@link T}。
+     * @throws SerializationException 当序列化或写入过程中发生错误时。
+     */
+    default <T> void serializeResponseTo(Type returnType, T returnData, OutputStream out) {
+        byte[] serialized = this.serializeResponse(returnType, returnData);
+        try {
+            out.write(serialized);
+        } catch (IOException e) {
+            throw new SerializationException("Failed to write serialized response.", e);
+        }
+    }
+
     /**
      * 根据指定的方法，判断当前的序列化方式是否支持。
      *
@@ -0,0 +1,38 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.serialization.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+
+/**
+ * 表示序列化结果的缓冲区。
+ * <p>与 {@link ByteArrayOutputStream#toByteArray()} 不同，{@link #toInputStream()} 直接读取内部的缓冲区，
+ * 序列化结果写入缓冲区后，作为消息体发送时不再复制。</p>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+public class SerializedBuffer extends ByteArrayOutputStream {
+    /**
+     * 创建默认初始容量的缓冲区。
+     */
+    public SerializedBuffer() {
+        super(256);
+    }
+
+    /**
+     * 获取读取当前缓冲区中已写入数据的输入流。
+     * <p>返回的输入流与缓冲区共享数据，因此在读取完成之前不能继续写入缓冲区。</p>
+     *
+     * @return 表示读取已写入数据的输入流的 {@link InputStream}。
+     */
+    public synchronized InputStream toInputStream() {
+        return new ByteArrayInputStream(this.buf, 0, this.count);
+    }
+}
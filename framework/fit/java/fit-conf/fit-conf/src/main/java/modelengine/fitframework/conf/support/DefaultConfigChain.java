@@ -16,10 +16,14 @@ import modelengine.fitframework.conf.ConfigDecryptor;
 import modelengine.fitframework.conf.ConfigValueSupplier;
 import modelengine.fitframework.conf.ModifiableConfig;
 import modelengine.fitframework.conf.ModifiableConfigListener;
+import modelengine.fitframework.beans.convert.ConversionService;
 import modelengine.fitframework.inspection.Nonnull;
 import modelengine.fitframework.util.ObjectUtils;
 import modelengine.fitframework.util.StringUtils;
 
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -31,11 +35,18 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * 为 {@link Config} 提供组合模式的实现。
+ * <p>链中维护一份按键索引的快照，缓存合并后为标量的配置值及其类型转换的结果，使得重复的读取只需要一次无锁的查找。
+ * 快照依赖链中配置的变化通知保持最新：可修改配置的值发生变化时，移除与变化的键相关的缓存项；配置被添加或移除时，丢弃整份快照。
+ * 因此，链会同时监听作为其成员的 {@link ModifiableConfig} 和 {@link ConfigChain}，并将嵌套的链中的变化继续通知给自己的监听程序，
+ * 其他类型的配置则被视为不可变的。成员持有对链的监听程序的引用，直到成员被移除或链被清空，
+ * 因此生命周期短于成员的链在不再使用时需要移除其成员。</p>
  *
  * @author 梁济时
  * @since 2022-05-18
@@ -47,6 +58,7 @@ public class DefaultConfigChain extends AbstractConfig implements ConfigChain {
 
     private volatile List<Config> currentConfigs;
     private volatile List<ConfigChainListener> currentListeners;
+    private volatile Snapshot snapshot = new Snapshot();
 
     /**
      * 使用配置的名称初始化 {@link DefaultConfigChain} 类的新实例。
@@ -91,6 +103,45 @@ public class DefaultConfigChain extends AbstractConfig implements ConfigChain {
         return this.configs().stream().map(Config::keys).flatMap(Collection::stream).collect(Collectors.toSet());
     }
 
+    @Override
+    public Object get(String key) {
+        Snapshot current = this.snapshot;
+        Entry entry = current.entries.get(key);
+        if (entry != null) {
+            return entry.value;
+        }
+        long version = current.version.get();
+        String canonicalKey = Config.canonicalizeKey(key);
+        Object value = this.getWithCanonicalKey(canonicalKey);
+        if (isImmutable(value)) {
+            current.put(key, new Entry(canonicalKey, value), version);
+        }
+        return value;
+    }
+
+    @Override
+    public Object get(String key, Type type) {
+        Snapshot current = this.snapshot;
+        Entry entry = current.entries.get(key);
+        if (entry == null) {
+            return super.get(key, type);
+        }
+        Object converted = entry.converted.get(type);
+        if (converted != null) {
+            return converted == Entry.NULL ? null : converted;
+        }
+        converted = ConversionService.forConfig().convert(entry.value, type);
+        if (isImmutable(converted)) {
+            entry.converted.putIfAbsent(type, converted == null ? Entry.NULL : converted);
+        }
+        return converted;
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> clazz) {
+        return ObjectUtils.cast(this.get(key, (Type) clazz));
+    }
+
     @Override
     protected Object getWithCanonicalKey(String key) {
         Object result = null;
@@ -104,6 +155,7 @@ public class DefaultConfigChain extends AbstractConfig implements ConfigChain {
     @Override
     public void decrypt(@Nonnull ConfigDecryptor decryptor) {
         this.configs().forEach(config -> config.decrypt(decryptor));
+        this.invalidate();
     }
 
     @Override
@@ -219,21 +271,40 @@ public class DefaultConfigChain extends AbstractConfig implements ConfigChain {
         }
     }
 
-    private class ConfigListener implements ModifiableConfigListener {
+    private class ConfigListener implements ModifiableConfigListener, ConfigChainListener {
         @Override
         public void onValueChanged(ModifiableConfig config, String key) {
             DefaultConfigChain.this.notifyConfigChanged(config, key);
         }
 
+        @Override
+        public void onConfigAdded(ConfigChain chain, Config config) {
+            DefaultConfigChain.this.notifyConfigAdded(config);
+        }
+
+        @Override
+        public void onConfigRemoved(ConfigChain chain, Config config) {
+            DefaultConfigChain.this.notifyConfigRemoved(config);
+        }
+
+        @Override
+        public void onConfigChanged(ConfigChain chain, ModifiableConfig config, String key) {
+            DefaultConfigChain.this.notifyConfigChanged(config, key);
+        }
+
         private void subscribe(Config config) {
             if (config instanceof ModifiableConfig) {
                 ((ModifiableConfig) config).subscribe(this);
+            } else if (config instanceof ConfigChain) {
+                ((ConfigChain) config).subscribe(this);
             }
         }
 
         private void unsubscribe(Config config) {
             if (config instanceof ModifiableConfig) {
                 ((ModifiableConfig) config).unsubscribe(this);
+            } else if (config instanceof ConfigChain) {
+                ((ConfigChain) config).unsubscribe(this);
             }
         }
     }
@@ -244,6 +315,7 @@ public class DefaultConfigChain extends AbstractConfig implements ConfigChain {
      * @param config 表示已添加的配置的 {@link Config}。
      */
     protected void notifyConfigAdded(Config config) {
+        this.invalidate();
         List<ConfigChainListener> configChainListeners = this.listeners();
         for (ConfigChainListener listener : configChainListeners) {
             listener.onConfigAdded(this, config);
@@ -256,6 +328,7 @@ public class DefaultConfigChain extends AbstractConfig implements ConfigChain {
      * @param config 表示已移除的配置的 {@link Config}。
      */
     protected void notifyConfigRemoved(Config config) {
+        this.invalidate();
         List<ConfigChainListener> configChainListeners = this.listeners();
         for (ConfigChainListener listener : configChainListeners) {
             listener.onConfigRemoved(this, config);
@@ -269,12 +342,82 @@ public class DefaultConfigChain extends AbstractConfig implements ConfigChain {
      * @param key 表示发生变化的配置值的键的 {@link String}。
      */
     protected void notifyConfigChanged(ModifiableConfig config, String key) {
+        this.snapshot.invalidate(Config.canonicalizeKey(key));
         List<ConfigChainListener> configChainListeners = this.listeners();
         for (ConfigChainListener listener : configChainListeners) {
             listener.onConfigChanged(this, config, key);
         }
     }
 
+    private void invalidate() {
+        Snapshot previous = this.snapshot;
+        this.snapshot = new Snapshot();
+        previous.version.incrementAndGet();
+    }
+
+    private static boolean isImmutable(Object value) {
+        return value == null || value instanceof String || value instanceof Boolean || value instanceof Character
+                || value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+                || value instanceof Double || value instanceof Float || value instanceof BigInteger
+                || value instanceof BigDecimal || value instanceof Enum;
+    }
+
+    /**
+     * 表示链中配置值的快照。
+     * <p>读取时先记录快照的版本，计算出值并放入快照后，若版本已经变化，说明计算期间有相关的配置发生了变化，需要撤销放入的缓存项，
+     * 避免过时的值在失效之后才被放入快照。</p>
+     */
+    private static final class Snapshot {
+        private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+        private final AtomicLong version = new AtomicLong();
+
+        private void put(String key, Entry entry, long expectedVersion) {
+            this.entries.putIfAbsent(key, entry);
+            if (this.version.get() != expectedVersion) {
+                this.entries.remove(key, entry);
+            }
+        }
+
+        private void invalidate(String changedKey) {
+            this.version.incrementAndGet();
+            this.entries.values().removeIf(entry -> isRelated(entry.canonicalKey, changedKey));
+        }
+
+        private static boolean isRelated(String key1, String key2) {
+            if (StringUtils.isEmpty(key1) || StringUtils.isEmpty(key2)) {
+                return true;
+            }
+            return isSameOrDescendant(key1, key2) || isSameOrDescendant(key2, key1);
+        }
+
+        private static boolean isSameOrDescendant(String key, String ancestor) {
+            if (!key.startsWith(ancestor)) {
+                return false;
+            }
+            if (key.length() == ancestor.length()) {
+                return true;
+            }
+            char separator = key.charAt(ancestor.length());
+            return separator == '.' || separator == '[';
+        }
+    }
+
+    /**
+     * 表示快照中的缓存项，包含合并后的配置值，以及按照目标类型缓存的转换结果。
+     */
+    private static final class Entry {
+        private static final Object NULL = new Object();
+
+        private final String canonicalKey;
+        private final Object value;
+        private final Map<Type, Object> converted = new ConcurrentHashMap<>();
+
+        private Entry(String canonicalKey, Object value) {
+            this.canonicalKey = canonicalKey;
+            this.value = value;
+        }
+    }
+
     private static Object merge(Object value1, Object value2) {
         if (value1 == null) {
             return value2;
@@ -291,4 +291,37 @@ class DefaultConfigChainTest {
         assertEquals("kitty", map.get("name"));
         assertEquals(19, map.get("age"));
     }
+
+    @Test
+    @DisplayName("当已读取的值被修改时，再次读取返回修改后的值")
+    void shouldReturnChangedValueAfterCachedRead() {
+        DefaultConfigChain chain = new DefaultConfigChain(null);
+        MapConfig config = new MapConfig("m1", null);
+        config.set("a.b", "1");
+        chain.addConfig(config);
+        assertEquals(1, chain.get("a.b", Integer.class));
+        assertEquals("1", chain.get("a.b"));
+        config.set("a.b", "2");
+        assertEquals(2, chain.get("a.b", Integer.class));
+        assertEquals("2", chain.get("a.b"));
+    }
+
+    @Test
+    @DisplayName("当嵌套的链中的值被修改或配置被添加时，再次读取返回最新的值")
+    void shouldReturnLatestValueWhenNestedChainChanged() {
+        DefaultConfigChain nested = new DefaultConfigChain("nested");
+        MapConfig config = new MapConfig("m1", null);
+        config.set("a.b", "1");
+        nested.addConfig(config);
+        DefaultConfigChain chain = new DefaultConfigChain(null);
+        chain.addConfig(nested);
+        assertEquals("1", chain.get("a.b"));
+        assertEquals(null, chain.get("a.c"));
+        config.set("a.b", "2");
+        assertEquals("2", chain.get("a.b"));
+        MapConfig another = new MapConfig("m2", null);
+        another.set("a.c", "3");
+        nested.addConfig(another);
+        assertEquals("3", chain.get("a.c"));
+    }
 }
@@ -10,6 +10,7 @@ import static modelengine.fitframework.inspection.Validation.notNull;
 
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.annotation.Initialize;
+import modelengine.fitframework.conf.Config;
 import modelengine.fitframework.ioc.BeanContainer;
 import modelengine.fitframework.ioc.BeanFactory;
 import modelengine.fitframework.ioc.annotation.AnnotationMetadata;
@@ -25,10 +26,18 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 
 /**
  * 表示定时调度执行器。
+ * <p>通过 {@code schedule.scheduler.type} 选择调度器的实现：</p>
+ * <ul>
+ *     <li>{@code default}：默认值，使用线程数与定时任务数量相同的 {@link java.util.concurrent.ScheduledThreadPoolExecutor}；</li>
+ *     <li>{@code hashed-wheel}：使用基于分层时间轮的调度器，到期的任务在独立的工作线程池中执行，其刻度时长（毫秒）、
+ *     每层的槽数量、工作线程数量和是否使用虚拟线程分别通过 {@code schedule.scheduler.hashed-wheel} 下的
+ *     {@code tick-duration}、{@code ticks-per-wheel}、{@code worker-threads} 和 {@code virtual-thread} 配置。</li>
+ * </ul>
  *
  * @author 季聿阶
  * @since 2023-01-18
@@ -43,11 +52,19 @@ public class ScheduledExecutor {
                     .put(Scheduled.Strategy.FIXED_RATE, ScheduledExecutor::createFixedRateTask)
                     .build();
 
+    private static final String SCHEDULER_TYPE_KEY = "schedule.scheduler.type";
+    private static final String HASHED_WHEEL_PREFIX = "schedule.scheduler.hashed-wheel.";
+    private static final String HASHED_WHEEL_SCHEDULER = "hashed-wheel";
+    private static final long DEFAULT_TICK_DURATION = 10L;
+    private static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
     private final BeanContainer container;
+    private final Config config;
     private final List<Tuple> initialDelayAndTasks = new ArrayList<>();
 
-    public ScheduledExecutor(BeanContainer container) {
+    public ScheduledExecutor(BeanContainer container, Config config) {
         this.container = notNull(container, "The bean container cannot be null.");
+        this.config = notNull(config, "The config cannot be null.");
     }
 
     @Initialize
@@ -72,10 +89,7 @@ public class ScheduledExecutor {
     }
 
     private void scheduleTasks() {
-        ThreadPoolScheduler scheduler = ThreadPoolScheduler.custom()
-                .corePoolSize(this.initialDelayAndTasks.size())
-                .threadPoolName("scheduled-task")
-                .build();
+        ThreadPoolScheduler scheduler = this.createScheduler();
         for (Tuple tuple : this.initialDelayAndTasks) {
             long initialDelay = ObjectUtils.cast(tuple.get(0).orElse(0));
             Task task =
@@ -84,6 +98,36 @@ public class ScheduledExecutor {
         }
     }
 
+    private ThreadPoolScheduler createScheduler() {
+        String type = this.config.get(SCHEDULER_TYPE_KEY, String.class);
+        if (!StringUtils.equalsIgnoreCase(type, HASHED_WHEEL_SCHEDULER)) {
+            return ThreadPoolScheduler.custom()
+                    .corePoolSize(this.initialDelayAndTasks.size())
+                    .threadPoolName("scheduled-task")
+                    .build();
+        }
+        long tickDuration = ObjectUtils.nullIf(this.config.get(HASHED_WHEEL_PREFIX + "tick-duration", Long.class),
+                DEFAULT_TICK_DURATION);
+        int ticksPerWheel = ObjectUtils.nullIf(this.config.get(HASHED_WHEEL_PREFIX + "ticks-per-wheel",
+                Integer.class), DEFAULT_TICKS_PER_WHEEL);
+        int workerThreads = ObjectUtils.nullIf(this.config.get(HASHED_WHEEL_PREFIX + "worker-threads", Integer.class),
+                0);
+        if (workerThreads <= 0) {
+            workerThreads = Runtime.getRuntime().availableProcessors();
+        }
+        boolean isVirtualThread =
+                ObjectUtils.nullIf(this.config.get(HASHED_WHEEL_PREFIX + "virtual-thread", Boolean.class), false);
+        return ThreadPoolScheduler.hashedWheel()
+                .tickDuration(tickDuration, TimeUnit.MILLISECONDS)
+                .ticksPerWheel(ticksPerWheel)
+                .isVirtualThread(isVirtualThread)
+                .corePoolSize(workerThreads)
+                .maximumPoolSize(workerThreads)
+                .workQueueCapacity(Integer.MAX_VALUE)
+                .threadPoolName("scheduled-task")
+                .build();
+    }
+
     private Task createTask(Runnable runnable, Scheduled scheduled) {
         BiFunction<Runnable, Scheduled, Task> taskCreator =
                 TASK_CREATORS.getOrDefault(scheduled.strategy(), ScheduledExecutor::createUnsupportedTask);
@@ -82,6 +82,7 @@ public abstract class AbstractPlugin extends AbstractDisposable implements Plugi
     private volatile StringResource sr;
     private volatile ResourceResolver resolverOfResources;
     private volatile ConfigChain importedConfigChain;
+    private volatile ConfigChain inheritedConfigChain;
 
     private volatile boolean initialized;
     private volatile boolean started;
@@ -173,6 +174,7 @@ public abstract class AbstractPlugin extends AbstractDisposable implements Plugi
 
     private void addInheritedConfigChain(ConfigChain pluginChain) {
         ConfigChain chain = new DefaultConfigChain(INHERITED_CONFIG_CHAIN_NAME);
+        this.inheritedConfigChain = chain;
         pluginChain.addConfig(chain);
         chain.addConfig(new PrefixedConfig(PREFIXED_INHERITED_CONFIG_NAME,
                 this.runtime().config(),
@@ -395,6 +397,17 @@ public abstract class AbstractPlugin extends AbstractDisposable implements Plugi
         }
     }
 
+    /**
+     * 从继承的配置链中移除运行时的配置，使运行时的配置不再持有对插件配置链的引用。
+     */
+    @Override
+    protected void dispose0() {
+        ConfigChain chain = this.inheritedConfigChain;
+        if (chain != null) {
+            chain.clear();
+        }
+    }
+
     private void stop0() {
         LOG.debug("Stop plugin: {}", this.metadata());
         this.onStopping();
@@ -7,28 +7,46 @@
 package modelengine.fitframework.plugin.support;
 
 import modelengine.fitframework.conf.Config;
+import modelengine.fitframework.conf.ConfigChain;
+import modelengine.fitframework.conf.ConfigChainListener;
 import modelengine.fitframework.conf.ConfigDecryptor;
 import modelengine.fitframework.conf.ConfigValueSupplier;
+import modelengine.fitframework.conf.ModifiableConfig;
+import modelengine.fitframework.conf.ModifiableConfigListener;
 import modelengine.fitframework.conf.support.AbstractConfig;
 import modelengine.fitframework.inspection.Nonnull;
+import modelengine.fitframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * 为 {@link Config} 提供增加前缀的装饰程序。
+ * <p>装饰程序将被装饰配置的变化转发给自己的监听程序：带有前缀的键发生变化时，以去掉前缀后的键通知，
+ * 前缀本身或其上级的键发生变化、被装饰的链中添加或移除配置时，以空键通知，表示所有的键都可能发生了变化。
+ * 只有存在监听程序时，装饰程序才会监听被装饰配置，最后一个监听程序取消订阅后即停止监听，
+ * 因此从链中移除装饰程序后，被装饰配置不再持有对它的引用。</p>
  *
  * @author 梁济时
  * @since 2023-01-05
  */
-final class PrefixedConfig extends AbstractConfig {
+final class PrefixedConfig extends AbstractConfig implements ModifiableConfig {
     private final Config decorated;
     private final String prefix;
+    private final List<ModifiableConfigListener> listeners;
+    private final DecoratedListener decoratedListener;
+
+    private volatile List<ModifiableConfigListener> currentListeners;
 
     PrefixedConfig(String name, Config decorated, String prefix) {
         super(name);
         this.decorated = decorated;
         this.prefix = Config.canonicalizeKey(prefix) + ".";
+        this.listeners = new ArrayList<>();
+        this.decoratedListener = this.new DecoratedListener();
+        this.currentListeners = new ArrayList<>();
     }
 
     @Override
@@ -50,4 +68,99 @@ final class PrefixedConfig extends AbstractConfig {
     public void decrypt(@Nonnull ConfigDecryptor decryptor) {
         this.decorated.decrypt(decryptor);
     }
+
+    @Override
+    public void set(String key, Object value) {
+        if (!(this.decorated instanceof ModifiableConfig)) {
+            throw new UnsupportedOperationException(StringUtils.format(
+                    "The decorated config is not modifiable. [name={0}]",
+                    this.decorated.name()));
+        }
+        ((ModifiableConfig) this.decorated).set(this.prefix + Config.canonicalizeKey(key), value);
+    }
+
+    @Override
+    public void subscribe(ModifiableConfigListener listener) {
+        if (listener == null) {
+            return;
+        }
+        synchronized (this.listeners) {
+            if (this.listeners.isEmpty()) {
+                this.decoratedListener.subscribe();
+            }
+            this.listeners.add(listener);
+            this.currentListeners = new ArrayList<>(this.listeners);
+        }
+    }
+
+    @Override
+    public void unsubscribe(ModifiableConfigListener listener) {
+        if (listener == null) {
+            return;
+        }
+        synchronized (this.listeners) {
+            if (!this.listeners.remove(listener)) {
+                return;
+            }
+            this.currentListeners = new ArrayList<>(this.listeners);
+            if (this.listeners.isEmpty()) {
+                this.decoratedListener.unsubscribe();
+            }
+        }
+    }
+
+    private void notifyValueChanged(String key) {
+        String canonicalKey = Config.canonicalizeKey(key);
+        String changedKey;
+        if (StringUtils.isEmpty(canonicalKey) || this.prefix.startsWith(canonicalKey + ".")) {
+            changedKey = StringUtils.EMPTY;
+        } else if (canonicalKey.startsWith(this.prefix)) {
+            changedKey = canonicalKey.substring(this.prefix.length());
+        } else {
+            return;
+        }
+        for (ModifiableConfigListener listener : this.currentListeners) {
+            listener.onValueChanged(this, changedKey);
+        }
+    }
+
+    private class DecoratedListener implements ModifiableConfigListener, ConfigChainListener {
+        @Override
+        public void onValueChanged(ModifiableConfig config, String key) {
+            PrefixedConfig.this.notifyValueChanged(key);
+        }
+
+        @Override
+        public void onConfigAdded(ConfigChain chain, Config config) {
+            PrefixedConfig.this.notifyValueChanged(StringUtils.EMPTY);
+        }
+
+        @Override
+        public void onConfigRemoved(ConfigChain chain, Config config) {
+            PrefixedConfig.this.notifyValueChanged(StringUtils.EMPTY);
+        }
+
+        @Override
+        public void onConfigChanged(ConfigChain chain, ModifiableConfig config, String key) {
+            PrefixedConfig.this.notifyValueChanged(key);
+        }
+
+        private void subscribe() {
+            Config actual = PrefixedConfig.this.decorated;
+            if (actual instanceof ModifiableConfig) {
+                ((ModifiableConfig) actual).subscribe(this);
+            } else if (actual instanceof ConfigChain) {
+                ((ConfigChain) actual).subscribe(this);
+            }
+        }
+
+        private void unsubscribe() {
+            Config actual = PrefixedConfig.this.decorated;
+            if (actual instanceof ModifiableConfig) {
+                ((ModifiableConfig) actual).unsubscribe(this);
+            } else if (actual instanceof ConfigChain) {
+                ((ConfigChain) actual).unsubscribe(this);
+            }
+        }
+    }
 }
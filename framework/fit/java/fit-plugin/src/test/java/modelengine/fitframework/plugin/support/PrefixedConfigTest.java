@@ -9,16 +9,26 @@ package modelengine.fitframework.plugin.support;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import modelengine.fitframework.conf.Config;
+import modelengine.fitframework.conf.ConfigChain;
+import modelengine.fitframework.conf.ConfigChainListener;
 import modelengine.fitframework.conf.ConfigDecryptor;
+import modelengine.fitframework.conf.ModifiableConfig;
+import modelengine.fitframework.conf.ModifiableConfigListener;
+import modelengine.fitframework.conf.support.DefaultConfigChain;
+import modelengine.fitframework.conf.support.MapConfig;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -73,4 +83,49 @@ public class PrefixedConfigTest {
         Object actual = this.prefixedConfig.getWithCanonicalKey("k1");
         assertThat(actual).isEqualTo("v1Decrypted");
     }
+
+    @Test
+    @DisplayName("被装饰配置中带有前缀的值被修改后，链中的前缀配置返回修改后的值")
+    void shouldReturnChangedValueOfDecoratedConfig() {
+        MapConfig config = new MapConfig("m", null);
+        config.set("prefix.k1", "v1");
+        DefaultConfigChain decoratedChain = new DefaultConfigChain("decorated");
+        decoratedChain.addConfig(config);
+        DefaultConfigChain chain = new DefaultConfigChain("chain");
+        chain.addConfig(new PrefixedConfig("test", decoratedChain, "prefix"));
+        assertThat(chain.get("k1")).isEqualTo("v1");
+        config.set("prefix.k1", "v2");
+        assertThat(chain.get("k1")).isEqualTo("v2");
+    }
+
+    @Test
+    @DisplayName("被装饰配置中的值发生变化时，以去掉前缀后的键通知监听程序")
+    void shouldForwardChangedKeyWithoutPrefix() {
+        MapConfig config = new MapConfig("m", null);
+        PrefixedConfig prefixed = new PrefixedConfig("test", config, "prefix");
+        List<String> keys = new ArrayList<>();
+        prefixed.subscribe(new ModifiableConfigListener() {
+            @Override
+            public void onValueChanged(ModifiableConfig config, String key) {
+                keys.add(key);
+            }
+        });
+        config.set("prefix.k1", "v1");
+        config.set("other.k1", "v1");
+        config.set("prefix", "v2");
+        assertThat(keys).containsExactly("k1", "");
+    }
+
+    @Test
+    @DisplayName("前缀配置被从链中移除后，被装饰配置不再通知前缀配置")
+    void shouldUnsubscribeFromDecoratedConfigWhenRemovedFromChain() {
+        ConfigChain decoratedChain = mock(ConfigChain.class);
+        PrefixedConfig prefixed = new PrefixedConfig("test", decoratedChain, "prefix");
+        DefaultConfigChain chain = new DefaultConfigChain("chain");
+        chain.addConfig(prefixed);
+        ArgumentCaptor<ConfigChainListener> captor = ArgumentCaptor.forClass(ConfigChainListener.class);
+        verify(decoratedChain).subscribe(captor.capture());
+        chain.removeConfig(prefixed);
+        verify(decoratedChain).unsubscribe(captor.getValue());
+    }
 }
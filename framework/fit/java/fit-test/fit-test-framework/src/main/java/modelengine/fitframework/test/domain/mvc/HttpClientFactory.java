@@ -9,6 +9,7 @@ package modelengine.fitframework.test.domain.mvc;
 import modelengine.fit.http.client.HttpClassicClient;
 import modelengine.fit.http.client.HttpClassicClientFactory;
 import modelengine.fit.http.client.okhttp.OkHttpClassicClientFactory;
+import modelengine.fit.http.client.okhttp.OkHttpClientPool;
 import modelengine.fit.serialization.json.jackson.JacksonObjectSerializer;
 import modelengine.fit.value.fastjson.FastJsonValueHandler;
 import modelengine.fitframework.serialization.ObjectSerializer;
@@ -38,7 +39,10 @@ public class HttpClientFactory {
                 MapBuilder.<String, ObjectSerializer>get().put("json", jsonSerializer).build();
         ValueFetcher valueFetcher = new FastJsonValueHandler();
         HttpClassicClientFactory jdkFactory =
-                new OkHttpClassicClientFactory(serializers, valueFetcher, DEFAULT_CLIENT_CACHE_MAX_SIZE);
+                new OkHttpClassicClientFactory(serializers,
+                        valueFetcher,
+                        OkHttpClientPool.create(),
+                        DEFAULT_CLIENT_CACHE_MAX_SIZE);
         return jdkFactory.create();
     }
 }
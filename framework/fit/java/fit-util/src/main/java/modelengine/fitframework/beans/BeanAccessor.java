@@ -10,19 +10,20 @@ import static modelengine.fitframework.inspection.Validation.notNull;
 
 import modelengine.fitframework.annotation.Property;
 import modelengine.fitframework.beans.convert.ConversionService;
-import modelengine.fitframework.util.ReflectionUtils;
 import modelengine.fitframework.util.StringUtils;
 
 import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.lang.reflect.Field;
+import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -39,6 +40,7 @@ public final class BeanAccessor {
     private final Map<String, BeanPropertyAccessor> properties;
     private final Map<String, String> propertiesAliases;
     private final ConversionService conversionService;
+    private volatile Supplier<Object> instantiator;
 
     /**
      * 使用 Bean 的类型和对象类型转换服务初始化 {@link BeanAccessor} 类的新实例。
@@ -114,6 +116,17 @@ public final class BeanAccessor {
         return this.propertiesAliases.getOrDefault(property, property);
     }
 
+    /**
+     * 获取属性的类型。
+     *
+     * @param property 表示属性的名称的 {@link String}。
+     * @return 表示属性的类型的 {@link Type}。
+     * @throws IllegalStateException 属性不存在。
+     */
+    public Type type(String property) {
+        return this.accessor(property).type();
+    }
+
     /**
      * 设置指定 Bean 的指定名称的属性的值。
      *
@@ -153,7 +166,12 @@ public final class BeanAccessor {
      * @return 表示新创建的 Bean 实例的 {@link Object}。
      */
     public Object instantiate(Map<String, Object> values) {
-        Object bean = ReflectionUtils.instantiate(this.type);
+        Supplier<Object> actualInstantiator = this.instantiator;
+        if (actualInstantiator == null) {
+            actualInstantiator = BeanMethodHandles.instantiator(this.type);
+            this.instantiator = actualInstantiator;
+        }
+        Object bean = actualInstantiator.get();
         this.accept(bean, values);
         return bean;
     }
@@ -0,0 +1,195 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.beans;
+
+import modelengine.fitframework.exception.ObjectInstantiationException;
+import modelengine.fitframework.util.ObjectUtils;
+import modelengine.fitframework.util.ReflectionUtils;
+import modelengine.fitframework.util.StringUtils;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 为 Bean 的属性读写方法和构造方法生成调用程序。
+ * <p>按照以下顺序选择调用方式：</p>
+ * <ul>
+ *     <li>当能够获取 Bean 所在模块的完整访问权限时，通过 {@link LambdaMetafactory} 生成直接调用的函数，
+ *     调用开销与直接调用方法相同；</li>
+ *     <li>当 Bean 由其他类加载器加载时，无法在其所在模块中生成函数，此时使用类型擦除后的 {@link MethodHandle}，
+ *     避免反射调用时参数数组的分配和异常的包装；</li>
+ *     <li>当方法无法访问时，退化为反射调用。</li>
+ * </ul>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+final class BeanMethodHandles {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType INSTANTIATOR_TYPE = MethodType.methodType(Object.class);
+
+    private BeanMethodHandles() {}
+
+    /**
+     * 为指定的读取属性的方法生成调用程序。
+     *
+     * @param method 表示读取属性的方法的 {@link Method}。
+     * @return 表示调用程序的 {@link Function}{@code <}{@link Object}{@code , }{@link Object}{@code >}。
+     */
+    static Function<Object, Object> getter(Method method) {
+        try {
+            MethodHandles.Lookup lookup = lookup(method.getDeclaringClass());
+            MethodHandle handle = unreflect(lookup, method);
+            if (lookup.hasFullPrivilegeAccess()) {
+                return ObjectUtils.cast(LambdaMetafactory.metafactory(lookup,
+                        "apply",
+                        MethodType.methodType(Function.class),
+                        GETTER_TYPE,
+                        handle,
+                        handle.type().wrap()).getTarget().invoke());
+            }
+            MethodHandle erased = handle.asType(GETTER_TYPE);
+            return bean -> {
+                try {
+                    return erased.invokeExact(bean);
+                } catch (Throwable cause) {
+                    throw rethrow(cause);
+                }
+            };
+        } catch (Throwable ignored) {
+            return bean -> reflectiveGet(method, bean);
+        }
+    }
+
+    /**
+     * 为指定的设置属性的方法生成调用程序。
+     *
+     * @param method 表示设置属性的方法的 {@link Method}。
+     * @return 表示调用程序的 {@link BiConsumer}{@code <}{@link Object}{@code , }{@link Object}{@code >}。
+     */
+    static BiConsumer<Object, Object> setter(Method method) {
+        try {
+            MethodHandles.Lookup lookup = lookup(method.getDeclaringClass());
+            MethodHandle handle = unreflect(lookup, method);
+            if (lookup.hasFullPrivilegeAccess()) {
+                return ObjectUtils.cast(LambdaMetafactory.metafactory(lookup,
+                        "accept",
+                        MethodType.methodType(BiConsumer.class),
+                        SETTER_TYPE,
+                        handle,
+                        handle.type().wrap().changeReturnType(void.class)).getTarget().invoke());
+            }
+            MethodHandle erased = handle.asType(SETTER_TYPE);
+            return (bean, value) -> {
+                try {
+                    erased.invokeExact(bean, value);
+                } catch (Throwable cause) {
+                    throw rethrow(cause);
+                }
+            };
+        } catch (Throwable ignored) {
+            return (bean, value) -> reflectiveSet(method, bean, value);
+        }
+    }
+
+    /**
+     * 为指定类型的无参构造方法生成调用程序。
+     *
+     * @param type 表示待实例化的类型的 {@link Class}{@code <?>}。
+     * @return 表示调用程序的 {@link Supplier}{@code <}{@link Object}{@code >}。
+     */
+    static Supplier<Object> instantiator(Class<?> type) {
+        try {
+            if (Modifier.isAbstract(type.getModifiers())) {
+                return () -> ReflectionUtils.instantiate(type);
+            }
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            MethodHandles.Lookup lookup = lookup(type);
+            constructor.setAccessible(true);
+            MethodHandle handle = lookup.unreflectConstructor(constructor);
+            if (lookup.hasFullPrivilegeAccess()) {
+                Supplier<Object> supplier = ObjectUtils.cast(LambdaMetafactory.metafactory(lookup,
+                        "get",
+                        MethodType.methodType(Supplier.class),
+                        INSTANTIATOR_TYPE,
+                        handle,
+                        handle.type()).getTarget().invoke());
+                return () -> {
+                    try {
+                        return supplier.get();
+                    } catch (Throwable cause) {
+                        throw new ObjectInstantiationException(cause);
+                    }
+                };
+            }
+            MethodHandle erased = handle.asType(INSTANTIATOR_TYPE);
+            return () -> {
+                try {
+                    return erased.invokeExact();
+                } catch (Throwable cause) {
+                    throw new ObjectInstantiationException(cause);
+                }
+            };
+        } catch (Throwable ignored) {
+            return () -> ReflectionUtils.instantiate(type);
+        }
+    }
+
+    private static MethodHandles.Lookup lookup(Class<?> type) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(type, LOOKUP);
+    }
+
+    private static MethodHandle unreflect(MethodHandles.Lookup lookup, Method method) throws IllegalAccessException {
+        method.setAccessible(true);
+        return lookup.unreflect(method);
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof Error) {
+            throw ObjectUtils.<Error>cast(cause);
+        } else if (cause instanceof RuntimeException) {
+            return ObjectUtils.cast(cause);
+        } else {
+            return new IllegalStateException(cause);
+        }
+    }
+
+    private static Object reflectiveGet(Method method, Object bean) {
+        try {
+            return method.invoke(bean);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException(StringUtils.format(
+                    "Failed to access method to read property of bean. [method={0}]",
+                    ReflectionUtils.signatureOf(method)), ex);
+        } catch (InvocationTargetException ex) {
+            throw rethrow(ex.getCause());
+        }
+    }
+
+    private static void reflectiveSet(Method method, Object bean, Object value) {
+        try {
+            method.invoke(bean, value);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException(StringUtils.format(
+                    "Failed to access method to write property of bean. [method={0}]",
+                    ReflectionUtils.signatureOf(method)), ex);
+        } catch (InvocationTargetException ex) {
+            throw rethrow(ex.getCause());
+        }
+    }
+}
@@ -11,10 +11,11 @@ import modelengine.fitframework.util.ReflectionUtils;
 import modelengine.fitframework.util.StringUtils;
 
 import java.beans.PropertyDescriptor;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 /**
@@ -29,6 +30,10 @@ final class BeanPropertyAccessor {
     private final Type type;
     private final Method readMethod;
     private final Method writeMethod;
+    private final Class<?> parameterClass;
+    private final Class<?> valueClass;
+    private volatile Function<Object, Object> getter;
+    private volatile BiConsumer<Object, Object> setter;
 
     /**
      * 使用属性所属 Bean 的访问程序、属性的名称、类型及读写方法初始化 {@link BeanPropertyAccessor} 类的新实例。
@@ -45,6 +50,13 @@ final class BeanPropertyAccessor {
         this.type = type;
         this.readMethod = readMethod;
         this.writeMethod = writeMethod;
+        if (writeMethod == null) {
+            this.parameterClass = null;
+            this.valueClass = null;
+        } else {
+            this.parameterClass = writeMethod.getParameterTypes()[0];
+            this.valueClass = ReflectionUtils.ignorePrimitiveClass(this.parameterClass);
+        }
     }
 
     /**
@@ -78,20 +90,13 @@ final class BeanPropertyAccessor {
                     this.bean.type().getName(),
                     this.name()));
         }
-        try {
-            return this.readMethod.invoke(bean);
-        } catch (IllegalAccessException ex) {
-            throw new IllegalStateException(StringUtils.format(
-                    "Failed to access method to read property of bean. [method={0}]",
-                    ReflectionUtils.signatureOf(this.readMethod)), ex);
-        } catch (InvocationTargetException ex) {
-            Throwable cause = ex.getCause();
-            if (cause instanceof Error) {
-                throw ObjectUtils.<Error>cast(cause);
-            } else {
-                throw ObjectUtils.<RuntimeException>cast(cause);
-            }
+        Function<Object, Object> actualGetter = this.getter;
+        if (actualGetter == null) {
+            actualGetter = BeanMethodHandles.getter(this.readMethod);
+            this.getter = actualGetter;
         }
+        this.checkBean(bean, this.readMethod);
+        return actualGetter.apply(bean);
     }
 
     /**
@@ -107,19 +112,86 @@ final class BeanPropertyAccessor {
                     this.bean.type().getName(),
                     this.name()));
         }
-        try {
-            this.writeMethod.invoke(bean, value);
-        } catch (IllegalAccessException ex) {
-            throw new IllegalStateException(StringUtils.format(
-                    "Failed to access method to write property of bean. [method={0}]",
-                    ReflectionUtils.signatureOf(this.writeMethod)), ex);
-        } catch (InvocationTargetException ex) {
-            Throwable cause = ex.getCause();
-            if (cause instanceof Error) {
-                throw ObjectUtils.<Error>cast(cause);
-            } else {
-                throw ObjectUtils.<RuntimeException>cast(cause);
+        BiConsumer<Object, Object> actualSetter = this.setter;
+        if (actualSetter == null) {
+            actualSetter = BeanMethodHandles.setter(this.writeMethod);
+            this.setter = actualSetter;
+        }
+        this.checkBean(bean, this.writeMethod);
+        actualSetter.accept(bean, this.adaptValue(value));
+    }
+
+    private void checkBean(Object bean, Method method) {
+        if (bean != null && !method.getDeclaringClass().isInstance(bean)) {
+            throw new IllegalArgumentException(StringUtils.format(
+                    "The bean is not an instance of the declaring class. [method={0}, bean={1}]",
+                    ReflectionUtils.signatureOf(method),
+                    bean.getClass().getName()));
+        }
+    }
+
+    /**
+     * 检查并适配待设置的属性值。
+     * <p>与反射调用的规则一致，基本类型的属性接受可以通过拓宽转换得到的包装类型的值，例如为 {@code long} 类型的属性设置
+     * {@link Integer} 的值，此时将值转换为属性对应的包装类型，使得生成的调用程序可以直接接收。</p>
+     *
+     * @param value 表示待设置的属性值的 {@link Object}。
+     * @return 表示适配后的属性值的 {@link Object}。
+     * @throws IllegalArgumentException 当 {@code value} 不能被设置为当前属性的值时。
+     */
+    private Object adaptValue(Object value) {
+        if (value == null) {
+            if (this.parameterClass.isPrimitive()) {
+                throw this.mismatch(null);
             }
+            return null;
+        }
+        if (this.valueClass.isInstance(value)) {
+            return value;
+        }
+        if (this.parameterClass.isPrimitive() && isWidenable(value, this.parameterClass)) {
+            return widen(value, this.parameterClass);
+        }
+        throw this.mismatch(value);
+    }
+
+    private IllegalArgumentException mismatch(Object value) {
+        return new IllegalArgumentException(StringUtils.format(
+                "The value does not match the type of property. [property={0}, value={1}]",
+                this.toString(),
+                value == null ? null : value.getClass().getName()));
+    }
+
+    private static boolean isWidenable(Object value, Class<?> primitiveClass) {
+        if (value instanceof Float) {
+            return primitiveClass == double.class;
+        }
+        if (value instanceof Long) {
+            return primitiveClass == double.class || primitiveClass == float.class;
+        }
+        if (value instanceof Integer) {
+            return primitiveClass == double.class || primitiveClass == float.class || primitiveClass == long.class;
+        }
+        if (value instanceof Short || value instanceof Character) {
+            return primitiveClass == double.class || primitiveClass == float.class || primitiveClass == long.class
+                    || primitiveClass == int.class;
+        }
+        return value instanceof Byte && primitiveClass != char.class && primitiveClass != boolean.class
+                && primitiveClass != byte.class;
+    }
+
+    private static Object widen(Object value, Class<?> primitiveClass) {
+        Number number = value instanceof Character ? Integer.valueOf((Character) value) : (Number) value;
+        if (primitiveClass == short.class) {
+            return number.shortValue();
+        } else if (primitiveClass == int.class) {
+            return number.intValue();
+        } else if (primitiveClass == long.class) {
+            return number.longValue();
+        } else if (primitiveClass == float.class) {
+            return number.floatValue();
+        } else {
+            return number.doubleValue();
         }
     }
 
@@ -33,6 +33,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -59,8 +60,13 @@ public abstract class AbstractConversionService implements ConversionService {
             String.class,
             Date.class).collect(Collectors.toSet());
 
+    private static final int MAX_CACHED_PARAMETERIZED_TYPES = 4096;
+
     private final List<ValueConverter> converters;
     private volatile List<ValueConverter> current;
+    private final Map<Class<?>, ClassPlan> classPlans = new ConcurrentHashMap<>();
+    private final Map<ParameterizedType, ParameterizedPlan> parameterizedPlans = new ConcurrentHashMap<>();
+    private volatile Map<Class<?>, Map<Class<?>, ValueConverter>> scalarConverters = new ConcurrentHashMap<>();
 
     /**
      * 初始化 {@link AbstractConversionService} 的新实例。
@@ -100,14 +106,14 @@ public abstract class AbstractConversionService implements ConversionService {
         synchronized (this.converters) {
             this.converters.addAll(actual);
             this.current = null;
+            this.scalarConverters = new ConcurrentHashMap<>();
         }
     }
 
     @Override
     public boolean scalar(Type type) {
         if (type instanceof Class) {
-            Class<?> clazz = (Class<?>) type;
-            return SCALAR_TYPES.stream().anyMatch(scalar -> scalar.isAssignableFrom(clazz));
+            return this.planOf((Class<?>) type).isScalar;
         } else {
             return false;
         }
@@ -168,6 +174,20 @@ public abstract class AbstractConversionService implements ConversionService {
     }
 
     private ValueConverter lookupScalarConverter(Class<?> source, Class<?> target) {
+        Map<Class<?>, Map<Class<?>, ValueConverter>> cache = this.scalarConverters;
+        Map<Class<?>, ValueConverter> bySource = cache.get(source);
+        if (bySource == null) {
+            bySource = cache.computeIfAbsent(source, key -> new ConcurrentHashMap<>());
+        }
+        ValueConverter converter = bySource.get(target);
+        if (converter == null) {
+            converter = this.findScalarConverter(source, target);
+            bySource.put(target, converter);
+        }
+        return converter;
+    }
+
+    private ValueConverter findScalarConverter(Class<?> source, Class<?> target) {
         for (ValueConverter converter : this.converters()) {
             if (converter.source().isAssignableFrom(source) && target.isAssignableFrom(converter.target())) {
                 return converter;
@@ -199,11 +219,12 @@ public abstract class AbstractConversionService implements ConversionService {
      * @return 表示转换后的值的 {@link Object}。
      */
     protected Object as(Object value, Class<?> type) {
-        if (type == void.class || type == Void.class) {
+        ClassPlan plan = this.planOf(type);
+        if (plan.isVoid) {
             return null;
         }
         if (value == null) {
-            if (type.isPrimitive()) {
+            if (plan.isPrimitive) {
                 throw new IllegalArgumentException(StringUtils.format(
                         "Cannot convert null to a primitive class. [target={0}]",
                         type.getName()));
@@ -211,14 +232,14 @@ public abstract class AbstractConversionService implements ConversionService {
                 return null;
             }
         }
-        Class<?> actualType = ReflectionUtils.ignorePrimitiveClass(type);
+        Class<?> actualType = plan.actualType;
         if (actualType == byte[].class && value instanceof byte[]) {
             return value;
         }
-        if (actualType.isArray()) {
-            return this.toArray(value, actualType.getComponentType());
+        if (plan.componentType != null) {
+            return this.toArray(value, plan.componentType);
         }
-        if (actualType.isEnum()) {
+        if (plan.isEnum) {
             String enumValue = ObjectUtils.cast(this.as(value, String.class));
             return toEnum(actualType, enumValue);
         }
@@ -263,18 +284,38 @@ public abstract class AbstractConversionService implements ConversionService {
      * @return 表示转换后的值的 {@link Object}。
      */
     protected Object as(Object value, ParameterizedType type) {
-        Class<?> rawClass = (Class<?>) type.getRawType();
-        if (rawClass == List.class) {
-            return this.toList(value, type.getActualTypeArguments()[0]);
-        } else if (rawClass == Set.class) {
-            return this.toSet(value, type.getActualTypeArguments()[0]);
-        } else if (rawClass == Map.class) {
-            return this.toMap(value, type.getActualTypeArguments()[0], type.getActualTypeArguments()[1]);
+        ParameterizedPlan plan = this.planOf(type);
+        if (plan.rawClass == List.class) {
+            return this.toList(value, plan.arguments[0]);
+        } else if (plan.rawClass == Set.class) {
+            return this.toSet(value, plan.arguments[0]);
+        } else if (plan.rawClass == Map.class) {
+            return this.toMap(value, plan.arguments[0], plan.arguments[1]);
         } else {
             return this.toCustomObject(value, type);
         }
     }
 
+    private ClassPlan planOf(Class<?> type) {
+        ClassPlan plan = this.classPlans.get(type);
+        if (plan == null) {
+            plan = this.classPlans.computeIfAbsent(type, ClassPlan::new);
+        }
+        return plan;
+    }
+
+    private ParameterizedPlan planOf(ParameterizedType type) {
+        ParameterizedPlan plan = this.parameterizedPlans.get(type);
+        if (plan != null) {
+            return plan;
+        }
+        plan = new ParameterizedPlan(type);
+        if (this.parameterizedPlans.size() < MAX_CACHED_PARAMETERIZED_TYPES) {
+            this.parameterizedPlans.putIfAbsent(type, plan);
+        }
+        return plan;
+    }
+
     /**
      * 将指定值转换成自定义类型。
      *
@@ -369,4 +410,38 @@ public abstract class AbstractConversionService implements ConversionService {
         }
         return array;
     }
+
+    /**
+     * 表示转换到指定类型时，只与目标类型有关的分析结果。
+     */
+    private static final class ClassPlan {
+        private final Class<?> actualType;
+        private final boolean isVoid;
+        private final boolean isPrimitive;
+        private final boolean isEnum;
+        private final boolean isScalar;
+        private final Class<?> componentType;
+
+        private ClassPlan(Class<?> type) {
+            this.actualType = ReflectionUtils.ignorePrimitiveClass(type);
+            this.isVoid = type == void.class || type == Void.class;
+            this.isPrimitive = type.isPrimitive();
+            this.isEnum = this.actualType.isEnum();
+            this.isScalar = SCALAR_TYPES.stream().anyMatch(scalar -> scalar.isAssignableFrom(type));
+            this.componentType = this.actualType.isArray() ? this.actualType.getComponentType() : null;
+        }
+    }
+
+    /**
+     * 表示转换到指定泛型类型时，只与目标类型有关的分析结果。
+     */
+    private static final class ParameterizedPlan {
+        private final Class<?> rawClass;
+        private final Type[] arguments;
+
+        private ParameterizedPlan(ParameterizedType type) {
+            this.rawClass = (Class<?>) type.getRawType();
+            this.arguments = type.getActualTypeArguments();
+        }
+    }
 }
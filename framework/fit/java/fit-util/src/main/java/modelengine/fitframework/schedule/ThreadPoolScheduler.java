@@ -7,6 +7,7 @@
 package modelengine.fitframework.schedule;
 
 import modelengine.fitframework.schedule.support.DefaultThreadPoolScheduler;
+import modelengine.fitframework.schedule.support.HashedWheelThreadPoolScheduler;
 
 import java.time.Instant;
 import java.util.concurrent.ScheduledFuture;
@@ -73,4 +74,14 @@ public interface ThreadPoolScheduler extends ThreadPool {
     static Builder custom() {
         return new DefaultThreadPoolScheduler.Builder();
     }
+
+    /**
+     * 创建一个基于分层时间轮的线程池化的调度器的构建器。
+     * <p>适用于存在大量定时任务或短时延迟任务的场景，详见 {@link HashedWheelThreadPoolScheduler}。</p>
+     *
+     * @return 表示创建出来的基于时间轮的线程池化的调度器的构建器的 {@link HashedWheelThreadPoolScheduler.Builder}。
+     */
+    static HashedWheelThreadPoolScheduler.Builder hashedWheel() {
+        return new HashedWheelThreadPoolScheduler.Builder();
+    }
 }
@@ -0,0 +1,401 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.schedule.support;
+
+import static modelengine.fitframework.inspection.Validation.greaterThan;
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fitframework.inspection.Nonnull;
+import modelengine.fitframework.schedule.ExecutePolicy;
+import modelengine.fitframework.schedule.Task;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 表示基于分层时间轮的 {@link ScheduledExecutorService}。
+ * <p>所有的定时任务由一个指针线程维护：时间轮共有若干层，每层包含相同数量的槽，第 {@code k} 层的每个槽覆盖
+ * {@code ticksPerWheel^k} 个刻度。新任务按照到期刻度与当前刻度的差放入能够容纳该差值的最低一层，
+ * 高层的槽在指针到达时被逐级下放，直至在最低一层到期。因此添加和取消任务的代价都是常数级的，且与待执行任务的数量无关。</p>
+ * <p>到期的任务被提交到独立的工作线程池中执行，指针线程本身不执行任何任务。添加和取消任务只会向无锁队列中写入记录，
+ * 由指针线程在下一个刻度统一处理，因此时间轮中的槽不需要加锁。</p>
+ * <p>关闭后不再接受新的任务，尚未到期的任务会被取消，已经提交到工作线程池中的任务按照工作线程池的关闭方式处理。</p>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+final class HashedWheelScheduledExecutor extends AbstractExecutorService implements ScheduledExecutorService {
+    private final long tickNanos;
+    private final int bitsPerWheel;
+    private final int mask;
+    private final Bucket[][] wheels;
+    private final ExecutorService workers;
+    private final Queue<WheelTask<?>> pendingTasks = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTask<?>> cancelledTasks = new ConcurrentLinkedQueue<>();
+    private final List<Runnable> unprocessedTasks = new ArrayList<>();
+    private final Thread ticker;
+    private final long startNanos;
+    private volatile boolean isShutdown;
+    private long tick;
+
+    /**
+     * 使用刻度时长、每层的槽数量、工作线程池和指针线程的工厂初始化 {@link HashedWheelScheduledExecutor} 的新实例。
+     *
+     * @param tickDuration 表示刻度时长的 {@code long}。
+     * @param unit 表示刻度时长单位的 {@link TimeUnit}。
+     * @param ticksPerWheel 表示每层的槽数量的 {@code int}，会被向上取整为 2 的幂。
+     * @param workers 表示执行到期任务的工作线程池的 {@link ExecutorService}。
+     * @param tickerFactory 表示创建指针线程的工厂的 {@link ThreadFactory}。
+     * @throws IllegalArgumentException 当 {@code tickDuration} 或 {@code ticksPerWheel} 不是正数，或其他参数为 {@code null} 时。
+     */
+    HashedWheelScheduledExecutor(long tickDuration, TimeUnit unit, int ticksPerWheel, ExecutorService workers,
+            ThreadFactory tickerFactory) {
+        greaterThan(tickDuration, 0, "The tick duration must be positive. [tickDuration={0}]", tickDuration);
+        greaterThan(ticksPerWheel, 0, "The ticks per wheel must be positive. [ticksPerWheel={0}]", ticksPerWheel);
+        this.tickNanos = notNull(unit, "The tick duration unit cannot be null.").toNanos(tickDuration);
+        this.bitsPerWheel = Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.min(ticksPerWheel, 1 << 16) - 1));
+        this.mask = (1 << this.bitsPerWheel) - 1;
+        int levels = (Long.SIZE - 1 + this.bitsPerWheel - 1) / this.bitsPerWheel;
+        this.wheels = new Bucket[levels][1 << this.bitsPerWheel];
+        for (Bucket[] wheel : this.wheels) {
+            for (int i = 0; i < wheel.length; i++) {
+                wheel[i] = new Bucket();
+            }
+        }
+        this.workers = notNull(workers, "The workers cannot be null.");
+        this.startNanos = System.nanoTime();
+        this.ticker = notNull(tickerFactory, "The ticker factory cannot be null.").newThread(this::run);
+        this.ticker.start();
+    }
+
+    @Override
+    public void execute(@Nonnull Runnable command) {
+        if (this.isShutdown) {
+            throw new RejectedExecutionException("The scheduled executor has been shutdown.");
+        }
+        this.workers.execute(command);
+    }
+
+    @Nonnull
+    @Override
+    public ScheduledFuture<?> schedule(@Nonnull Runnable command, long delay, @Nonnull TimeUnit unit) {
+        notNull(command, "The command cannot be null.");
+        return this.schedule(() -> {
+            command.run();
+            return null;
+        }, delay, unit);
+    }
+
+    @Nonnull
+    @Override
+    public <V> ScheduledFuture<V> schedule(@Nonnull Callable<V> callable, long delay, @Nonnull TimeUnit unit) {
+        notNull(callable, "The callable cannot be null.");
+        notNull(unit, "The delay unit cannot be null.");
+        if (this.isShutdown) {
+            throw new RejectedExecutionException("The scheduled executor has been shutdown.");
+        }
+        long delayNanos = Math.min(Math.max(unit.toNanos(delay), 0L), Long.MAX_VALUE >> 1);
+        WheelTask<V> task = new WheelTask<>(callable, System.nanoTime() + delayNanos);
+        if (delayNanos == 0) {
+            this.submitExpired(task);
+            return task;
+        }
+        this.pendingTasks.add(task);
+        if (this.isShutdown) {
+            task.cancel(false);
+        }
+        return task;
+    }
+
+    @Nonnull
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(@Nonnull Runnable command, long initialDelay, long period,
+            @Nonnull TimeUnit unit) {
+        return this.schedulePeriodically(command, initialDelay, ExecutePolicy.fixedRate(unit.toMillis(period)), unit);
+    }
+
+    @Nonnull
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(@Nonnull Runnable command, long initialDelay, long delay,
+            @Nonnull TimeUnit unit) {
+        return this.schedulePeriodically(command, initialDelay, ExecutePolicy.fixedDelay(unit.toMillis(delay)), unit);
+    }
+
+    private ScheduledFuture<?> schedulePeriodically(Runnable command, long initialDelay, ExecutePolicy policy,
+            TimeUnit unit) {
+        Task task = Task.builder().runnable(command).policy(policy).build();
+        Instant startTime = Instant.now().plusMillis(Math.max(unit.toMillis(initialDelay), 0L));
+        return new ReschedulableTask(this, task, startTime).schedule();
+    }
+
+    @Override
+    public void shutdown() {
+        this.stopTicker();
+        this.workers.shutdown();
+    }
+
+    @Nonnull
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> unprocessed = this.stopTicker();
+        unprocessed.addAll(this.workers.shutdownNow());
+        return unprocessed;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return this.isShutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return this.isShutdown && !this.ticker.isAlive() && this.workers.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, @Nonnull TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        TimeUnit.NANOSECONDS.timedJoin(this.ticker, Math.max(deadline - System.nanoTime(), 1L));
+        return !this.ticker.isAlive()
+                && this.workers.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    private List<Runnable> stopTicker() {
+        this.isShutdown = true;
+        this.ticker.interrupt();
+        boolean isInterrupted = false;
+        while (this.ticker.isAlive() && Thread.currentThread() != this.ticker) {
+            try {
+                this.ticker.join();
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this.unprocessedTasks) {
+            List<Runnable> unprocessed = new ArrayList<>(this.unprocessedTasks);
+            this.unprocessedTasks.clear();
+            return unprocessed;
+        }
+    }
+
+    private void run() {
+        while (!this.isShutdown) {
+            long deadline = this.startNanos + (this.tick + 1) * this.tickNanos;
+            long sleepNanos = deadline - System.nanoTime();
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+                continue;
+            }
+            this.tick++;
+            this.transferPendingTasks();
+            this.removeCancelledTasks();
+            this.cascade();
+            this.expire(this.wheels[0][(int) (this.tick & this.mask)]);
+        }
+        this.cancelRemainingTasks();
+    }
+
+    private void transferPendingTasks() {
+        WheelTask<?> task;
+        while ((task = this.pendingTasks.poll()) != null) {
+            if (!task.isCancelled()) {
+                this.place(task);
+            }
+        }
+    }
+
+    private void removeCancelledTasks() {
+        WheelTask<?> task;
+        while ((task = this.cancelledTasks.poll()) != null) {
+            if (task.bucket != null) {
+                task.bucket.remove(task);
+            }
+        }
+    }
+
+    private void cascade() {
+        for (int level = this.wheels.length - 1; level > 0; level--) {
+            int shift = level * this.bitsPerWheel;
+            if ((this.tick & ((1L << shift) - 1)) != 0) {
+                continue;
+            }
+            Bucket bucket = this.wheels[level][(int) ((this.tick >>> shift) & this.mask)];
+            WheelTask<?> task;
+            while ((task = bucket.poll()) != null) {
+                if (!task.isCancelled()) {
+                    this.place(task);
+                }
+            }
+        }
+    }
+
+    private void expire(Bucket bucket) {
+        WheelTask<?> task;
+        while ((task = bucket.poll()) != null) {
+            if (task.isCancelled()) {
+                continue;
+            }
+            if (task.expirationTick <= this.tick) {
+                this.submitExpired(task);
+            } else {
+                this.place(task);
+            }
+        }
+    }
+
+    private void place(WheelTask<?> task) {
+        if (task.expirationTick < 0) {
+            long elapsed = task.deadlineNanos - this.startNanos;
+            task.expirationTick = Math.max((elapsed + this.tickNanos - 1) / this.tickNanos, 0L);
+        }
+        long remaining = task.expirationTick - this.tick;
+        if (remaining <= 0) {
+            this.submitExpired(task);
+            return;
+        }
+        int level = 0;
+        while (level < this.wheels.length - 1 && (remaining >>> ((level + 1) * this.bitsPerWheel)) != 0) {
+            level++;
+        }
+        int index = (int) ((task.expirationTick >>> (level * this.bitsPerWheel)) & this.mask);
+        this.wheels[level][index].add(task);
+    }
+
+    private void submitExpired(WheelTask<?> task) {
+        try {
+            this.workers.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.reject(e);
+        }
+    }
+
+    private void cancelRemainingTasks() {
+        List<Runnable> remaining = new ArrayList<>();
+        WheelTask<?> task;
+        while ((task = this.pendingTasks.poll()) != null) {
+            remaining.add(task);
+        }
+        for (Bucket[] wheel : this.wheels) {
+            for (Bucket bucket : wheel) {
+                while ((task = bucket.poll()) != null) {
+                    remaining.add(task);
+                }
+            }
+        }
+        this.cancelledTasks.clear();
+        remaining.removeIf(runnable -> !((WheelTask<?>) runnable).cancel(false));
+        synchronized (this.unprocessedTasks) {
+            this.unprocessedTasks.addAll(remaining);
+        }
+    }
+
+    /**
+     * 表示时间轮中的一个槽，是由任务组成的双向链表，仅由指针线程访问。
+     */
+    private static final class Bucket {
+        private WheelTask<?> head;
+        private WheelTask<?> tail;
+
+        private void add(WheelTask<?> task) {
+            task.bucket = this;
+            task.prev = this.tail;
+            task.next = null;
+            if (this.tail == null) {
+                this.head = task;
+            } else {
+                this.tail.next = task;
+            }
+            this.tail = task;
+        }
+
+        private WheelTask<?> poll() {
+            WheelTask<?> task = this.head;
+            if (task != null) {
+                this.remove(task);
+            }
+            return task;
+        }
+
+        private void remove(WheelTask<?> task) {
+            if (task.prev == null) {
+                this.head = task.next;
+            } else {
+                task.prev.next = task.next;
+            }
+            if (task.next == null) {
+                this.tail = task.prev;
+            } else {
+                task.next.prev = task.prev;
+            }
+            task.bucket = null;
+            task.prev = null;
+            task.next = null;
+        }
+    }
+
+    /**
+     * 表示时间轮中的任务，同时作为调度的未来结果。
+     * <p>{@link #expirationTick}、{@link #bucket}、{@link #prev} 和 {@link #next} 仅由指针线程访问。</p>
+     *
+     * @param <V> 表示任务结果类型的 {@link V}。
+     */
+    private final class WheelTask<V> extends FutureTask<V> implements ScheduledFuture<V> {
+        private final long deadlineNanos;
+        private long expirationTick = -1;
+        private Bucket bucket;
+        private WheelTask<?> prev;
+        private WheelTask<?> next;
+
+        private WheelTask(Callable<V> callable, long deadlineNanos) {
+            super(callable);
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean isCancelled = super.cancel(mayInterruptIfRunning);
+            if (isCancelled && !HashedWheelScheduledExecutor.this.isShutdown) {
+                HashedWheelScheduledExecutor.this.cancelledTasks.add(this);
+            }
+            return isCancelled;
+        }
+
+        private void reject(RejectedExecutionException cause) {
+            this.setException(cause);
+        }
+
+        @Override
+        public long getDelay(@Nonnull TimeUnit unit) {
+            return unit.convert(this.deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(@Nonnull Delayed another) {
+            if (another == this) {
+                return 0;
+            }
+            return Long.compare(this.getDelay(TimeUnit.NANOSECONDS), another.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
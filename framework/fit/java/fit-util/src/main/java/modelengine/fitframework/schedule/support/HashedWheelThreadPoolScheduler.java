@@ -0,0 +1,148 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.schedule.support;
+
+import static modelengine.fitframework.inspection.Validation.greaterThan;
+import static modelengine.fitframework.inspection.Validation.greaterThanOrEquals;
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fitframework.schedule.Task;
+import modelengine.fitframework.schedule.ThreadPoolScheduler;
+import modelengine.fitframework.thread.DefaultThreadFactory;
+import modelengine.fitframework.util.ObjectUtils;
+import modelengine.fitframework.util.ThreadUtils;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 表示基于分层时间轮的 {@link ThreadPoolScheduler} 的实现。
+ * <p>与 {@link DefaultThreadPoolScheduler} 相比，所有待执行的任务由一个指针线程维护，添加和取消任务的代价都是常数级的，
+ * 到期的任务在独立的工作线程池中执行，工作线程的数量与待执行的任务数量无关，适用于存在大量定时任务或短时延迟任务
+ * （例如超时和重试）的场景。任务的调度精度为一个刻度。</p>
+ * <p>工作线程池使用构建器中的核心线程池大小、最大线程池大小、保活时间、等待队列大小和拒绝处理器创建；
+ * 当运行环境支持虚拟线程且开启了虚拟线程时，每个到期的任务都在新的虚拟线程中执行。</p>
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+public class HashedWheelThreadPoolScheduler extends AbstractThreadPool implements ThreadPoolScheduler {
+    private final ScheduledExecutorService threadPool;
+
+    private HashedWheelThreadPoolScheduler(String threadPoolName, ScheduledExecutorService threadPool,
+            boolean isImmediateShutdown, long awaitTermination, TimeUnit awaitTerminationUnit) {
+        super(threadPoolName, threadPool, isImmediateShutdown, awaitTermination, awaitTerminationUnit);
+        this.threadPool = notNull(threadPool, "The thread pool cannot be null.");
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Task task, Instant startTime) {
+        return new ReschedulableTask(this.threadPool, task, startTime).schedule();
+    }
+
+    /**
+     * 表示 {@link HashedWheelThreadPoolScheduler} 的构建器。
+     */
+    public static class Builder extends AbstractThreadPool.Builder<ThreadPoolScheduler.Builder>
+            implements ThreadPoolScheduler.Builder {
+        private static final long DEFAULT_TICK_MILLIS = 10;
+        private static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+        private long tickDuration = DEFAULT_TICK_MILLIS;
+        private TimeUnit tickDurationUnit = TimeUnit.MILLISECONDS;
+        private int ticksPerWheel = DEFAULT_TICKS_PER_WHEEL;
+        private boolean isVirtualThread;
+
+        /**
+         * 向当前构建器中设置时间轮的刻度时长，默认为 10 毫秒。
+         *
+         * @param tickDuration 表示待设置的刻度时长的 {@code long}。
+         * @param unit 表示待设置的时间单位的 {@link TimeUnit}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        public Builder tickDuration(long tickDuration, TimeUnit unit) {
+            this.tickDuration = tickDuration;
+            this.tickDurationUnit = unit;
+            return this;
+        }
+
+        /**
+         * 向当前构建器中设置时间轮每层的槽数量，默认为 512，会被向上取整为 2 的幂。
+         *
+         * @param ticksPerWheel 表示待设置的每层的槽数量的 {@code int}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        public Builder ticksPerWheel(int ticksPerWheel) {
+            this.ticksPerWheel = ticksPerWheel;
+            return this;
+        }
+
+        /**
+         * 向当前构建器中设置是否使用虚拟线程执行到期任务的标志。
+         * <p>当运行环境不支持虚拟线程时，该标志被忽略。</p>
+         *
+         * @param isVirtualThread 表示待设置的是否使用虚拟线程的标志的 {@code boolean}。
+         * @return 表示当前构建器的 {@link Builder}。
+         */
+        public Builder isVirtualThread(boolean isVirtualThread) {
+            this.isVirtualThread = isVirtualThread;
+            return this;
+        }
+
+        private ScheduledExecutorService buildScheduledExecutorService() {
+            greaterThan(this.tickDuration,
+                    0,
+                    "The tick duration must be positive. [tickDuration={0}]",
+                    this.tickDuration);
+            greaterThan(this.ticksPerWheel,
+                    0,
+                    "The ticks per wheel must be positive. [ticksPerWheel={0}]",
+                    this.ticksPerWheel);
+            return new HashedWheelScheduledExecutor(this.tickDuration,
+                    ObjectUtils.nullIf(this.tickDurationUnit, TimeUnit.MILLISECONDS),
+                    this.ticksPerWheel,
+                    this.buildWorkers(),
+                    new DefaultThreadFactory(this.getThreadPoolName() + "-ticker", true, null));
+        }
+
+        private ExecutorService buildWorkers() {
+            if (this.isVirtualThread) {
+                Optional<ExecutorService> virtualWorkers =
+                        ThreadUtils.virtualThreadPerTaskExecutor(this.getThreadPoolName() + "-virtual-");
+                if (virtualWorkers.isPresent()) {
+                    return virtualWorkers.get();
+                }
+            }
+            greaterThanOrEquals(this.getCorePoolSize(),
+                    0,
+                    "The core pool size cannot be negative. [corePoolSize={0}]",
+                    this.getCorePoolSize());
+            int maximumPoolSize = Math.max(Math.max(this.getCorePoolSize(), this.getMaximumPoolSize()), 1);
+            return new ThreadPoolExecutor(this.getCorePoolSize(),
+                    maximumPoolSize,
+                    this.getKeepAliveTime(),
+                    ObjectUtils.nullIf(this.getKeepAliveTimeUnit(), TimeUnit.MILLISECONDS),
+                    this.createWorkQueue(),
+                    new DefaultThreadFactory(this.getThreadPoolName(), this.isDaemonThread(), null),
+                    this.getRejectedExecutionHandler());
+        }
+
+        @Override
+        public ThreadPoolScheduler build() {
+            return new HashedWheelThreadPoolScheduler(this.getThreadPoolName(),
+                    this.buildScheduledExecutorService(),
+                    this.isImmediateShutdown(),
+                    this.getAwaitTermination(),
+                    this.getAwaitTerminationUnit());
+        }
+    }
+}
@@ -8,6 +8,9 @@ package modelengine.fitframework.util;
 
 import modelengine.fitframework.inspection.Validation;
 
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -74,6 +77,29 @@ public final class ThreadUtils {
                 Validation.notNull(threadFactory, "The thread factory cannot be null."));
     }
 
+    /**
+     * 创建为每个任务启动一个新的虚拟线程的执行器。
+     * <p>虚拟线程从 JDK 21 开始提供，框架需要在更低版本的 JDK 上编译和运行，因此通过反射创建执行器。
+     * 当前运行环境不支持虚拟线程时返回 {@link Optional#empty()}，由调用方决定使用什么样的平台线程池替代。</p>
+     *
+     * @param namePrefix 表示虚拟线程名前缀的 {@link String}，线程名为前缀加上从 {@code 0} 开始的序号。
+     * @return 表示执行器的 {@link Optional}{@code <}{@link ExecutorService}{@code >}。
+     * @throws IllegalArgumentException 当 {@code namePrefix} 为 {@code null} 时。
+     */
+    public static Optional<ExecutorService> virtualThreadPerTaskExecutor(String namePrefix) {
+        Validation.notNull(namePrefix, "The thread name prefix cannot be null.");
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            ThreadFactory factory = ObjectUtils.cast(builderClass.getMethod("factory").invoke(builder));
+            return Optional.of(ObjectUtils.cast(Executors.class.getMethod("newThreadPerTaskExecutor",
+                    ThreadFactory.class).invoke(null, factory)));
+        } catch (ReflectiveOperationException e) {
+            return Optional.empty();
+        }
+    }
+
     /**
      * 等待直到指定判定条件返回真值。
      *
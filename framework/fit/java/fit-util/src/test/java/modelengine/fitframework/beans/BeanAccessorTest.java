@@ -7,6 +7,7 @@
 package modelengine.fitframework.beans;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.catchThrowableOfType;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 
@@ -15,7 +16,11 @@ import modelengine.fitframework.util.StringUtils;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -63,4 +68,230 @@ public class BeanAccessorTest {
                 this.actualClass.getName(),
                 property));
     }
+
+    @Test
+    @DisplayName("设置属性的值后，获取到的属性值与设置的值相等")
+    void shouldGetValueWhichHasBeenSet() {
+        BeanAccessor accessor = BeanAccessor.of(Object1.class);
+        Object1 bean = new Object1();
+        accessor.set(bean, "f1", "foo");
+        accessor.set(bean, "f2", 2);
+        assertThat(accessor.get(bean, "f1")).isEqualTo("foo");
+        assertThat(accessor.get(bean, "f2")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("给定与属性类型不匹配的值，抛出异常")
+    void givenMismatchedValueThenThrowException() {
+        BeanAccessor accessor = BeanAccessor.of(Object1.class);
+        Object1 bean = new Object1();
+        assertThatThrownBy(() -> accessor.set(bean, "f2", null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> accessor.set(bean, "f2", "2")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> accessor.get(new Object2(), "f1")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("给定可以拓宽为基本类型属性的值，转换后设置成功")
+    void givenWidenableValueThenSetConvertedValue() {
+        BeanAccessor accessor = BeanAccessor.of(NumberBean.class);
+        NumberBean bean = new NumberBean();
+        accessor.set(bean, "count", 1);
+        accessor.set(bean, "ratio", 2);
+        accessor.set(bean, "weight", 'a');
+        assertThat(bean.getCount()).isEqualTo(1L);
+        assertThat(bean.getRatio()).isEqualTo(2D);
+        assertThat(bean.getWeight()).isEqualTo(97F);
+        accessor.set(bean, "ratio", 1.5F);
+        assertThat(bean.getRatio()).isEqualTo(1.5D);
+    }
+
+    @Test
+    @DisplayName("设置基本类型属性时，接受的拓宽转换与反射调用一致")
+    void givenPrimitiveValueThenWidenAsReflection() throws Exception {
+        BeanAccessor accessor = BeanAccessor.of(PrimitiveBean.class);
+        Map<String, Class<?>> properties = new LinkedHashMap<>();
+        properties.put("byteValue", byte.class);
+        properties.put("shortValue", short.class);
+        properties.put("charValue", char.class);
+        properties.put("intValue", int.class);
+        properties.put("longValue", long.class);
+        properties.put("floatValue", float.class);
+        properties.put("doubleValue", double.class);
+        properties.put("booleanValue", boolean.class);
+        List<Object> values = Arrays.asList((byte) 1, (short) 2, 'c', 4, 5L, 6F, 7D, true);
+        for (Map.Entry<String, Class<?>> property : properties.entrySet()) {
+            String name = property.getKey();
+            Method setter = PrimitiveBean.class.getMethod(
+                    "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1), property.getValue());
+            for (Object value : values) {
+                PrimitiveBean expected = new PrimitiveBean();
+                PrimitiveBean actual = new PrimitiveBean();
+                if (isInvoked(setter, expected, value)) {
+                    accessor.set(actual, name, value);
+                    assertThat(accessor.get(actual, name)).isEqualTo(accessor.get(expected, name));
+                } else {
+                    assertThatThrownBy(() -> accessor.set(actual, name, value))
+                            .isInstanceOf(IllegalArgumentException.class);
+                }
+            }
+        }
+        PrimitiveBean bean = new PrimitiveBean();
+        accessor.set(bean, "intValue", (short) 2);
+        assertThat(bean.getIntValue()).isEqualTo(2);
+        accessor.set(bean, "intValue", 'c');
+        assertThat(bean.getIntValue()).isEqualTo(99);
+        accessor.set(bean, "shortValue", (byte) 1);
+        assertThat(bean.getShortValue()).isEqualTo((short) 1);
+    }
+
+    private static boolean isInvoked(Method setter, Object bean, Object value) throws Exception {
+        try {
+            setter.invoke(bean, value);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @Test
+    @DisplayName("给定需要窄化或装箱类型不同的值，抛出异常")
+    void givenNarrowingValueThenThrowException() {
+        BeanAccessor accessor = BeanAccessor.of(NumberBean.class);
+        NumberBean bean = new NumberBean();
+        assertThatThrownBy(() -> accessor.set(bean, "count", 1.5D)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> accessor.set(bean, "weight", 1.5D)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> accessor.set(bean, "boxed", 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("使用映射实例化 Bean，属性值与映射中的值相等")
+    void shouldInstantiateWithValues() {
+        Map<String, Object> values = new HashMap<>();
+        values.put("f1", "foo");
+        values.put("f2", "2");
+        Object bean = BeanAccessor.of(Object1.class).instantiate(values);
+        assertThat(bean).isInstanceOf(Object1.class);
+        assertThat(((Object1) bean).getF1()).isEqualTo("foo");
+        assertThat(((Object1) bean).getF2()).isEqualTo(2);
+    }
+
+    /**
+     * 表示包含数值类型属性的 Bean。
+     */
+    public static class NumberBean {
+        private long count;
+        private double ratio;
+        private float weight;
+        private Long boxed;
+
+        public long getCount() {
+            return this.count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public double getRatio() {
+            return this.ratio;
+        }
+
+        public void setRatio(double ratio) {
+            this.ratio = ratio;
+        }
+
+        public float getWeight() {
+            return this.weight;
+        }
+
+        public void setWeight(float weight) {
+            this.weight = weight;
+        }
+
+        public Long getBoxed() {
+            return this.boxed;
+        }
+
+        public void setBoxed(Long boxed) {
+            this.boxed = boxed;
+        }
+    }
+
+    /**
+     * 表示包含所有基本类型属性的 Bean。
+     */
+    public static class PrimitiveBean {
+        private byte byteValue;
+        private short shortValue;
+        private char charValue;
+        private int intValue;
+        private long longValue;
+        private float floatValue;
+        private double doubleValue;
+        private boolean booleanValue;
+
+        public byte getByteValue() {
+            return this.byteValue;
+        }
+
+        public void setByteValue(byte byteValue) {
+            this.byteValue = byteValue;
+        }
+
+        public short getShortValue() {
+            return this.shortValue;
+        }
+
+        public void setShortValue(short shortValue) {
+            this.shortValue = shortValue;
+        }
+
+        public char getCharValue() {
+            return this.charValue;
+        }
+
+        public void setCharValue(char charValue) {
+            this.charValue = charValue;
+        }
+
+        public int getIntValue() {
+            return this.intValue;
+        }
+
+        public void setIntValue(int intValue) {
+            this.intValue = intValue;
+        }
+
+        public long getLongValue() {
+            return this.longValue;
+        }
+
+        public void setLongValue(long longValue) {
+            this.longValue = longValue;
+        }
+
+        public float getFloatValue() {
+            return this.floatValue;
+        }
+
+        public void setFloatValue(float floatValue) {
+            this.floatValue = floatValue;
+        }
+
+        public double getDoubleValue() {
+            return this.doubleValue;
+        }
+
+        public void setDoubleValue(double doubleValue) {
+            this.doubleValue = doubleValue;
+        }
+
+        public boolean getBooleanValue() {
+            return this.booleanValue;
+        }
+
+        public void setBooleanValue(boolean booleanValue) {
+            this.booleanValue = booleanValue;
+        }
+    }
 }
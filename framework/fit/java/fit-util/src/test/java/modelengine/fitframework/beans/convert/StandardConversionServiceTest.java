@@ -266,4 +266,55 @@ class StandardConversionServiceTest {
             assertThat(object).isNull();
         }
     }
+
+    @Nested
+    @DisplayName("测试转换方案的缓存")
+    class PlanCacheTest {
+        private final AbstractConversionService service = new AbstractConversionService() {
+            @Override
+            public Object convert(Object value, Type type) {
+                return this.as(value, (Class<?>) type);
+            }
+
+            @Override
+            protected Object toCustomObject(Object value, ParameterizedType type) {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        @Test
+        @DisplayName("重复转换时，结果与第一次转换一致")
+        void shouldReturnSameResultWhenConvertRepeatedly() {
+            for (int i = 0; i < 3; i++) {
+                assertThat(this.service.convert("12", Integer.class)).isEqualTo(12);
+                assertThat(this.service.convert(12, String.class)).isEqualTo("12");
+            }
+        }
+
+        @Test
+        @DisplayName("注册新的转换程序后，可以转换之前不支持的类型")
+        void shouldUseConverterRegisteredAfterConversion() {
+            IllegalStateException exception = catchThrowableOfType(IllegalStateException.class,
+                    () -> this.service.convert("foo", StringBuilder.class));
+            assertThat(exception).hasMessage("Cannot convert value from java.lang.String to java.lang.StringBuilder.");
+            this.service.register(new ValueConverter() {
+                @Override
+                public Class<?> source() {
+                    return String.class;
+                }
+
+                @Override
+                public Class<?> target() {
+                    return StringBuilder.class;
+                }
+
+                @Override
+                public Object convert(Object value) {
+                    return new StringBuilder((String) value);
+                }
+            });
+            Object actual = this.service.convert("foo", StringBuilder.class);
+            assertThat(actual).isInstanceOf(StringBuilder.class).hasToString("foo");
+        }
+    }
 }
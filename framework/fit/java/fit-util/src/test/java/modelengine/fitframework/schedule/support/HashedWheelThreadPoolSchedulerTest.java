@@ -0,0 +1,105 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fitframework.schedule.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import modelengine.fitframework.schedule.ExecutePolicy;
+import modelengine.fitframework.schedule.Task;
+import modelengine.fitframework.schedule.ThreadPoolScheduler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 表示 {@link HashedWheelThreadPoolScheduler} 的单元测试。
+ *
+ * @author agent
+ * @since 2026-10-17
+ */
+@DisplayName("测试 HashedWheelThreadPoolScheduler 类")
+public class HashedWheelThreadPoolSchedulerTest {
+    private ThreadPoolScheduler scheduler;
+
+    @BeforeEach
+    void setup() {
+        this.scheduler = ThreadPoolScheduler.hashedWheel()
+                .tickDuration(1, TimeUnit.MILLISECONDS)
+                .ticksPerWheel(4)
+                .threadPoolName("wheel")
+                .corePoolSize(2)
+                .maximumPoolSize(2)
+                .workQueueCapacity(1000)
+                .isImmediateShutdown(true)
+                .awaitTermination(500L, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @AfterEach
+    void teardown() throws InterruptedException {
+        this.scheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("延时超过多层时间轮范围的任务，在到期之后执行")
+    void shouldExecuteTaskAfterDelayAcrossWheels() throws Exception {
+        long start = System.nanoTime();
+        ScheduledFuture<?> future = this.scheduler.schedule(Task.builder().callable(() -> "done").build(), 150L);
+        assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(150L);
+    }
+
+    @Test
+    @DisplayName("大量延时任务都能执行")
+    void shouldExecuteAllTasks() throws InterruptedException {
+        int count = 1000;
+        CountDownLatch latch = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            this.scheduler.schedule(Task.builder().runnable(latch::countDown).build(), i % 100);
+        }
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("取消后的任务不再执行")
+    void shouldNotExecuteCancelledTask() throws InterruptedException {
+        AtomicInteger counter = new AtomicInteger();
+        ScheduledFuture<?> future =
+                this.scheduler.schedule(Task.builder().runnable(counter::incrementAndGet).build(), 50L);
+        assertThat(future.cancel(false)).isTrue();
+        Thread.sleep(150L);
+        assertThat(future.isCancelled()).isTrue();
+        assertThat(counter.get()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("固定频率的任务被重复执行")
+    void shouldExecuteFixedRateTaskRepeatedly() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(3);
+        Task task = Task.builder().runnable(latch::countDown).policy(ExecutePolicy.fixedRate(20L)).build();
+        ScheduledFuture<?> future = this.scheduler.schedule(task);
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        future.cancel(false);
+    }
+
+    @Test
+    @DisplayName("线程池关闭后，调度任务抛出异常")
+    void shouldRejectTaskAfterShutdown() throws InterruptedException {
+        this.scheduler.shutdown();
+        assertThatThrownBy(() -> this.scheduler.schedule(Task.builder().runnable(() -> {}).build(), 10L))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+}
@@ -19,6 +19,8 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 
@@ -152,4 +154,20 @@ public class ThreadUtilsTest {
             }
         }
     }
+
+    @Nested
+    @DisplayName("Test method: virtualThreadPerTaskExecutor")
+    class TestVirtualThreadPerTaskExecutor {
+        @Test
+        @DisplayName("Given JDK supports virtual threads then execute task on named virtual thread")
+        void givenJdkSupportsVirtualThreadsThenExecuteOnNamedVirtualThread() throws Exception {
+            Optional<ExecutorService> executor = ThreadUtils.virtualThreadPerTaskExecutor("virtual-");
+            assertThat(executor.isPresent()).isEqualTo(Runtime.version().feature() >= 21);
+            if (executor.isPresent()) {
+                String name = executor.get().submit(() -> Thread.currentThread().getName()).get();
+                executor.get().shutdown();
+                assertThat(name).startsWith("virtual-");
+            }
+        }
+    }
 }
@@ -0,0 +1,97 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.benchmark;
+
+import modelengine.fit.waterflow.domain.context.FlowContext;
+import modelengine.fit.waterflow.domain.context.FlowSession;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextIndexedRepo;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextLogRepo;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextRepo;
+import modelengine.fit.waterflow.domain.enums.FlowNodeStatus;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 衡量 {@link FlowContextLogRepo} 持久化一个上下文的开销，以 {@link FlowContextIndexedRepo} 作为纯内存的基准。
+ * <p>每次调用保存一个新的待处理上下文并将其归档，与节点处理一条数据时仓库的写入次数相当。</p>
+ *
+ * @author agent
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class FlowContextLogRepoBenchmark {
+    private static final String STREAM_ID = "benchmark-stream";
+
+    @Param({"indexed", "log"})
+    private String repoType;
+
+    private FlowContextRepo repo;
+
+    private Path directory;
+
+    private FlowSession session;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.session = new FlowSession();
+        if ("indexed".equals(this.repoType)) {
+            this.repo = new FlowContextIndexedRepo();
+            return;
+        }
+        this.directory = Files.createTempDirectory("flow-context-log");
+        this.repo = new FlowContextLogRepo(this.directory);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (this.directory == null) {
+            return;
+        }
+        ((FlowContextLogRepo) this.repo).close();
+        try (Stream<Path> files = Files.walk(this.directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * 保存并归档一个上下文。
+     */
+    @Benchmark
+    public void saveAndArchive() {
+        FlowContext<String> context = new FlowContext<>(STREAM_ID, "root", "payload",
+                Collections.singleton("trace"), "position", this.session);
+        context.setStatus(FlowNodeStatus.PENDING);
+        this.repo.save(Collections.singletonList(context));
+        context.setStatus(FlowNodeStatus.ARCHIVED);
+        this.repo.save(Collections.singletonList(context));
+    }
+}
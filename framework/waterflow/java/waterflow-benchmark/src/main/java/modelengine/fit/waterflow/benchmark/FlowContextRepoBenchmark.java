@@ -0,0 +1,147 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.benchmark;
+
+import modelengine.fit.waterflow.domain.context.FlowContext;
+import modelengine.fit.waterflow.domain.context.FlowSession;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextIndexedRepo;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextMemoRepo;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextRepo;
+import modelengine.fit.waterflow.domain.enums.FlowNodeStatus;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比 {@link FlowContextMemoRepo} 与 {@link FlowContextIndexedRepo} 在大量待处理上下文下的查询与更新开销。
+ * <p>所有上下文处于 PENDING 状态并均匀分布在 {@code pendingCount / CONTEXTS_PER_POSITION} 个位置上，
+ * 每次查询命中的结果规模固定，从而体现查询代价随在途上下文数量的变化。</p>
+ *
+ * @author agent
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class FlowContextRepoBenchmark {
+    private static final String STREAM_ID = "benchmark-stream";
+
+    private static final int CONTEXTS_PER_POSITION = 10;
+
+    @Param({"10000", "100000", "1000000"})
+    private int pendingCount;
+
+    @Param({"memo", "indexed"})
+    private String repoType;
+
+    private FlowContextRepo repo;
+
+    private List<FlowContext<Integer>> contexts;
+
+    private int positionCount;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.repo = "memo".equals(this.repoType) ? new FlowContextMemoRepo() : new FlowContextIndexedRepo();
+        this.positionCount = Math.max(1, this.pendingCount / CONTEXTS_PER_POSITION);
+        this.contexts = new ArrayList<>(this.pendingCount);
+        FlowSession session = new FlowSession();
+        for (int i = 0; i < this.pendingCount; i++) {
+            FlowContext<Integer> context = new FlowContext<>(STREAM_ID, "root", i,
+                    Collections.singleton("trace-" + i), position(i % this.positionCount), session);
+            context.setStatus(FlowNodeStatus.PENDING);
+            context.batchId("batch-" + (i % this.positionCount));
+            this.contexts.add(context);
+        }
+        this.repo.save(this.contexts);
+    }
+
+    private static String position(int index) {
+        return "position-" + index;
+    }
+
+    private int randomIndex() {
+        return ThreadLocalRandom.current().nextInt(this.pendingCount);
+    }
+
+    /**
+     * 节点预处理时按位置拉取待发送的上下文。
+     *
+     * @param blackhole 表示用于消费结果的 {@link Blackhole}。
+     */
+    @Benchmark
+    public void getContextsByPosition(Blackhole blackhole) {
+        String position = position(this.randomIndex() % this.positionCount);
+        blackhole.consume(this.repo.getContextsByPosition(STREAM_ID, Collections.singletonList(position),
+                FlowNodeStatus.PENDING.toString()));
+    }
+
+    /**
+     * 映射节点拉取一条待处理的上下文。
+     *
+     * @param blackhole 表示用于消费结果的 {@link Blackhole}。
+     */
+    @Benchmark
+    public void requestMappingContext(Blackhole blackhole) {
+        String position = position(this.randomIndex() % this.positionCount);
+        blackhole.consume(this.repo.requestMappingContext(STREAM_ID, Collections.singletonList(position),
+                new HashMap<>()));
+    }
+
+    /**
+     * 按 trace 查询上下文。
+     *
+     * @param blackhole 表示用于消费结果的 {@link Blackhole}。
+     */
+    @Benchmark
+    public void getContextsByTrace(Blackhole blackhole) {
+        blackhole.consume(this.repo.getContextsByTrace("trace-" + this.randomIndex()));
+    }
+
+    /**
+     * 按唯一标识查询上下文。
+     *
+     * @param blackhole 表示用于消费结果的 {@link Blackhole}。
+     */
+    @Benchmark
+    public void getById(Blackhole blackhole) {
+        blackhole.consume(this.repo.getById(this.contexts.get(this.randomIndex()).getId()));
+    }
+
+    /**
+     * 标记上下文已发送后再恢复，衡量保存时维护索引的开销。
+     */
+    @Benchmark
+    public void updateToSent() {
+        List<FlowContext<Integer>> updated = Collections.singletonList(this.contexts.get(this.randomIndex()));
+        updated.get(0).setSent(true);
+        this.repo.updateToSent(updated);
+        updated.get(0).setSent(false);
+        this.repo.updateToSent(updated);
+    }
+}
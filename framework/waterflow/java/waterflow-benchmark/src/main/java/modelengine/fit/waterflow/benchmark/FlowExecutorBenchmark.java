@@ -0,0 +1,105 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.benchmark;
+
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextIndexedRepo;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextMemoMessenger;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextRepo;
+import modelengine.fit.waterflow.domain.context.repo.flowlock.FlowLocksMemo;
+import modelengine.fit.waterflow.domain.enums.NodeScheduleMode;
+import modelengine.fit.waterflow.domain.flow.Flows;
+import modelengine.fit.waterflow.domain.flow.ProcessFlow;
+import modelengine.fit.waterflow.domain.utils.FlowExecutor;
+import modelengine.fit.waterflow.domain.utils.FlowExecutors;
+import modelengine.fit.waterflow.domain.utils.SleepUtil;
+import modelengine.fit.waterflow.domain.utils.VirtualThreadFlowExecutor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比默认线程池与虚拟线程执行策略在大量节点同时阻塞时的吞吐。
+ * <p>每次调用向 {@code flowCount} 条流各投递一条数据，每条数据在节点中阻塞 {@code blockMillis} 毫秒（模拟大模型或者
+ * HTTP 调用），测量全部处理完成的耗时。默认线程池最多 64 个并发，虚拟线程策略只受每条流的并发预算限制。</p>
+ *
+ * @author agent
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class FlowExecutorBenchmark {
+    @Param({"10000"})
+    private int flowCount;
+
+    @Param({"50"})
+    private int blockMillis;
+
+    @Param({"pooled", "virtual"})
+    private String executorType;
+
+    private final List<ProcessFlow<Integer>> flows = new ArrayList<>();
+
+    private volatile CountDownLatch latch;
+
+    private NodeScheduleMode originMode;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.originMode = FlowExecutors.getScheduleMode();
+        FlowExecutors.setScheduleMode(NodeScheduleMode.EVENT_DRIVEN);
+        FlowExecutor executor =
+                "pooled".equals(this.executorType) ? FlowExecutors.pooled() : new VirtualThreadFlowExecutor();
+        FlowContextRepo repo = new FlowContextIndexedRepo();
+        for (int i = 0; i < this.flowCount; i++) {
+            ProcessFlow<Integer> flow = Flows.<Integer>create(repo, new FlowContextMemoMessenger(), new FlowLocksMemo())
+                    .map(value -> {
+                        SleepUtil.sleep(this.blockMillis);
+                        return value;
+                    })
+                    .close(any -> this.latch.countDown());
+            flow.executeOn(executor);
+            this.flows.add(flow);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        FlowExecutors.setScheduleMode(this.originMode);
+    }
+
+    /**
+     * 所有流同时阻塞时处理完一轮数据的耗时。
+     *
+     * @throws InterruptedException 等待处理完成时被中断。
+     */
+    @Benchmark
+    public void blockedNodes() throws InterruptedException {
+        this.latch = new CountDownLatch(this.flowCount);
+        this.flows.forEach(flow -> flow.offer(1));
+        this.latch.await();
+    }
+}
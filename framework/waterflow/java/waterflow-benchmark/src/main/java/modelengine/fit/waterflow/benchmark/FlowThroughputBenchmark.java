@@ -0,0 +1,159 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.benchmark;
+
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextMemoMessenger;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextMemoRepo;
+import modelengine.fit.waterflow.domain.context.repo.flowlock.FlowLocksMemo;
+import modelengine.fit.waterflow.domain.enums.NodeScheduleMode;
+import modelengine.fit.waterflow.domain.flow.Flows;
+import modelengine.fit.waterflow.domain.flow.ProcessFlow;
+import modelengine.fit.waterflow.domain.states.Start;
+import modelengine.fit.waterflow.domain.stream.reactive.Callback;
+import modelengine.fit.waterflow.domain.utils.FlowExecutors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 衡量常见形态的流程从 {@code offer} 到 {@code close} 的吞吐和延迟。
+ * <p>流程在每个 trial 开始时通过 {@link Flows#create} 构建一次，使用 {@link FlowContextMemoRepo}、
+ * {@link FlowContextMemoMessenger} 和 {@link FlowLocksMemo}，覆盖 {@code To} 节点的调度、内存仓库的读写以及
+ * {@link FlowExecutors} 的线程池。{@link #throughput()} 每次调用投递 {@value #BATCH_SIZE} 条数据并等待全部结束，
+ * 结果按数据条数折算为 ops/s；{@link #latency()} 每次调用投递一条数据，以采样模式给出端到端延迟的分位数，
+ * 除以 {@code flowType} 对应的节点数即为每跳延迟。</p>
+ * <p>内存分配速率通过 JMH 的 gc profiler 获取，例如：
+ * {@code java -jar waterflow-benchmarks.jar FlowThroughputBenchmark -prof gc}，
+ * 关注 {@code gc.alloc.rate.norm} 即每条数据分配的字节数。</p>
+ *
+ * @author agent
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class FlowThroughputBenchmark {
+    private static final int BATCH_SIZE = 100;
+
+    private static final int KEY_COUNT = 4;
+
+    @Param({"linear", "conditional", "parallel", "flatMap", "windowReduce", "keyBy"})
+    private String flowType;
+
+    @Param({"EVENT_DRIVEN", "POLLING"})
+    private NodeScheduleMode scheduleMode;
+
+    private ProcessFlow<Integer> flow;
+
+    private Integer[] batch;
+
+    private int outputsPerData;
+
+    private volatile CountDownLatch latch;
+
+    private NodeScheduleMode originMode;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.originMode = FlowExecutors.getScheduleMode();
+        FlowExecutors.setScheduleMode(this.scheduleMode);
+        this.batch = IntStream.range(0, BATCH_SIZE).boxed().toArray(Integer[]::new);
+        this.outputsPerData = "flatMap".equals(this.flowType) ? 2 : 1;
+        this.flow = this.build(Flows.create(new FlowContextMemoRepo(), new FlowContextMemoMessenger(),
+                new FlowLocksMemo()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        FlowExecutors.setScheduleMode(this.originMode);
+    }
+
+    private ProcessFlow<Integer> build(Start<Integer, Integer, Integer, ProcessFlow<Integer>> start) {
+        switch (this.flowType) {
+            case "linear":
+                // 四个串行节点
+                return start.map(i -> i + 1).map(i -> i * 2).map(i -> i - 1).map(i -> i / 2).close(this::onClose);
+            case "conditional":
+                return start.map(i -> i + 1)
+                        .conditions()
+                        .match(i -> i % 2 == 0, node -> node.map(i -> i / 2))
+                        .match(i -> i % 3 == 0, node -> node.map(i -> i / 3))
+                        .others(i -> i)
+                        .close(this::onClose);
+            case "parallel":
+                return start.map(i -> i + 1)
+                        .parallel()
+                        .fork(node -> node.map(i -> i * 2))
+                        .fork(node -> node.map(i -> i * 3))
+                        .join(() -> 0, Integer::sum)
+                        .close(this::onClose);
+            case "flatMap":
+                // 每条数据展开为两条
+                return start.flatMap(i -> Flows.flux(i, i + 1)).map(i -> i * 2).close(this::onClose);
+            case "windowReduce":
+                // 每条数据独立成窗，与 keyBy 的输出条数一致，便于对比分组本身的开销
+                return start.window(1).reduce(() -> 0, Integer::sum).close(this::onClose);
+            case "keyBy":
+                return start.keyBy(i -> i % KEY_COUNT)
+                        .window(1)
+                        .reduce(() -> 0, (acc, data) -> acc + data.second())
+                        .close(this::onClose);
+            default:
+                throw new IllegalArgumentException("Unknown flow type: " + this.flowType);
+        }
+    }
+
+    private void onClose(Callback<?> callback) {
+        this.latch.countDown();
+    }
+
+    /**
+     * 一批数据全部处理完成的吞吐，按数据条数折算。
+     *
+     * @throws InterruptedException 等待处理完成时被中断。
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void throughput() throws InterruptedException {
+        this.latch = new CountDownLatch(BATCH_SIZE * this.outputsPerData);
+        this.flow.offer(this.batch);
+        this.latch.await();
+    }
+
+    /**
+     * 单条数据从投递到结束的延迟分布。
+     *
+     * @throws InterruptedException 等待处理完成时被中断。
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void latency() throws InterruptedException {
+        this.latch = new CountDownLatch(this.outputsPerData);
+        this.flow.offer(1);
+        this.latch.await();
+    }
+}
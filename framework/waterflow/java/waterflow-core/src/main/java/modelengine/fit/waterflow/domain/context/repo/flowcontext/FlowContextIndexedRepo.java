@@ -0,0 +1,426 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.context.repo.flowcontext;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import modelengine.fit.waterflow.domain.common.Constants;
+import modelengine.fit.waterflow.domain.context.FlowContext;
+import modelengine.fit.waterflow.domain.context.FlowTrace;
+import modelengine.fit.waterflow.domain.enums.FlowNodeStatus;
+import modelengine.fit.waterflow.domain.stream.operators.Operators;
+import modelengine.fitframework.util.ObjectUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * 基于二级索引的内存版 {@link FlowContextRepo} 实现。
+ * <p>与 {@link FlowContextMemoRepo} 语义一致，但在 {@code save}/{@code updateToSent}/{@code updateIndex} 时维护
+ * 位置（streamId + position + status）、trace、parallel 以及 session + index 的索引，查询代价与结果规模成正比，
+ * 而不是与内存中所有在途的上下文数量成正比。</p>
+ * <p>索引中的每个桶按照上下文首次保存的顺序排列，保证与 {@link FlowContextMemoRepo} 相同的返回顺序。
+ * 写操作串行执行，读操作无锁，读到的候选上下文会再次用实时属性校验，避免读到索引更新过程中的中间状态。</p>
+ *
+ * @author agent
+ * @since 1.0
+ */
+public class FlowContextIndexedRepo implements FlowContextRepo {
+    private static final Comparator<Entry> ORDER = Comparator.comparingLong(entry -> entry.sequence);
+
+    private final Map<String, Entry> contexts = new ConcurrentHashMap<>();
+
+    private final Map<PositionKey, ConcurrentSkipListMap<Long, Entry>> positionIndex = new ConcurrentHashMap<>();
+
+    private final Map<String, ConcurrentSkipListMap<Long, Entry>> traceIndex = new ConcurrentHashMap<>();
+
+    private final Map<String, ConcurrentSkipListMap<Long, Entry>> parallelIndex = new ConcurrentHashMap<>();
+
+    private final Map<SessionKey, ConcurrentSkipListMap<Long, Entry>> sessionIndex = new ConcurrentHashMap<>();
+
+    private final boolean isReserveTerminal;
+
+    private long sequence = 0L;
+
+    /**
+     * 构造方法。
+     */
+    public FlowContextIndexedRepo() {
+        this(false);
+    }
+
+    /**
+     * 构造方法。
+     *
+     * @param isReserveTerminal 表示是否保留结束的数据的 {@code boolean}，一般只有测试才保留。
+     */
+    public FlowContextIndexedRepo(boolean isReserveTerminal) {
+        this.isReserveTerminal = isReserveTerminal;
+    }
+
+    @Override
+    public <T> List<FlowContext<T>> getContextsByPosition(String streamId, List<String> posIds, String status) {
+        FlowNodeStatus nodeStatus = toStatus(status);
+        if (nodeStatus == null) {
+            return new ArrayList<>();
+        }
+        return this.queryByPositions(streamId, posIds, nodeStatus,
+                context -> context.getStatus() == nodeStatus && !context.isSent());
+    }
+
+    @Override
+    public <T> List<FlowContext<T>> getContextsByPosition(String streamId, String posId, String batchId,
+            String status) {
+        FlowNodeStatus nodeStatus = toStatus(status);
+        if (nodeStatus == null) {
+            return new ArrayList<>();
+        }
+        return this.queryByPositions(streamId, Collections.singletonList(posId), nodeStatus,
+                context -> context.getStatus() == nodeStatus && Objects.equals(context.getBatchId(), batchId));
+    }
+
+    @Override
+    public <T> List<FlowContext<T>> getContextsByTrace(String traceId) {
+        return this.collect(Collections.singletonList(this.traceIndex.get(traceId)),
+                context -> context.getTraceId().contains(traceId));
+    }
+
+    @Override
+    public synchronized <T> void save(List<FlowContext<T>> contexts) {
+        contexts.forEach(context -> {
+            if (!this.isReserveTerminal && (context.getStatus() == FlowNodeStatus.ARCHIVED
+                    || context.getStatus() == FlowNodeStatus.ERROR)) {
+                this.remove(context.getId());
+            } else {
+                this.put(context);
+            }
+        });
+    }
+
+    @Override
+    public <T> void updateToSent(List<FlowContext<T>> contexts) {
+        this.save(contexts);
+    }
+
+    @Override
+    public <T> List<FlowContext<T>> getContextsByParallel(String parallelId) {
+        return this.collect(Collections.singletonList(this.parallelIndex.get(parallelId)),
+                context -> Objects.equals(context.getParallel(), parallelId));
+    }
+
+    @Override
+    public <T> FlowContext<T> getById(String id) {
+        Entry entry = this.contexts.get(id);
+        return entry == null ? null : ObjectUtils.cast(entry.context);
+    }
+
+    @Override
+    public <T> List<FlowContext<T>> getPendingAndSentByIds(List<String> ids) {
+        return ids.stream()
+                .map(this.contexts::get)
+                .filter(Objects::nonNull)
+                .sorted(ORDER)
+                .map(entry -> ObjectUtils.<FlowContext<T>>cast(entry.context))
+                .filter(context -> context.getStatus() == FlowNodeStatus.PENDING && context.isSent())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public <T> List<FlowContext<T>> getByIds(List<String> ids) {
+        return ids.stream().map(id -> this.<T>getById(id)).collect(Collectors.toList());
+    }
+
+    @Override
+    public <T> List<FlowContext<T>> requestMappingContext(String streamId, List<String> subscriptions,
+            Map<String, Integer> sessions) {
+        Set<String> positions = new HashSet<>(subscriptions);
+        Entry first = null;
+        for (String position : subscriptions) {
+            ConcurrentSkipListMap<Long, Entry> bucket =
+                    this.positionIndex.get(new PositionKey(streamId, position, FlowNodeStatus.PENDING, false));
+            first = earliest(first, firstMatch(bucket,
+                    context -> isPendingAt(context, streamId, positions) && isUnordered(context)));
+        }
+        for (Map.Entry<String, Integer> session : sessions.entrySet()) {
+            ConcurrentSkipListMap<Long, Entry> bucket =
+                    this.sessionIndex.get(new SessionKey(session.getKey(), session.getValue()));
+            first = earliest(first, firstMatch(bucket,
+                    context -> isPendingAt(context, streamId, positions)
+                            && Objects.equals(context.getSession().getId(), session.getKey())
+                            && Objects.equals(context.getIndex(), session.getValue())));
+        }
+        if (first == null) {
+            return new ArrayList<>();
+        }
+        List<FlowContext<T>> result = new ArrayList<>();
+        result.add(ObjectUtils.cast(first.context));
+        return result;
+    }
+
+    @Override
+    public <T> List<FlowContext<T>> requestProducingContext(String streamId, List<String> subscriptions,
+            Operators.Filter<T> filter) {
+        List<FlowContext<T>> all = this.queryByPositions(streamId, subscriptions, FlowNodeStatus.PENDING,
+                context -> context.getStatus() == FlowNodeStatus.PENDING);
+        return filter.process(all);
+    }
+
+    @Override
+    public <T> void save(FlowTrace trace, FlowContext<T> flowContext) {
+    }
+
+    @Override
+    public <T> void updateFlowData(List<FlowContext<T>> contexts) {
+        this.save(contexts);
+    }
+
+    @Override
+    public synchronized <T> void updateIndex(List<FlowContext<T>> contexts) {
+        List<FlowContext<T>> updated = new ArrayList<>();
+        for (FlowContext<T> context : contexts) {
+            Entry saved = this.contexts.get(context.getId());
+            if (saved == null) {
+                updated.add(context);
+            } else {
+                saved.context.setIndex(context.getIndex());
+                updated.add(ObjectUtils.cast(saved.context));
+            }
+        }
+        this.save(updated);
+    }
+
+    /**
+     * 获取当前保存的上下文数量。
+     *
+     * @return 表示当前保存的上下文数量的 {@code int}。
+     */
+    public int size() {
+        return this.contexts.size();
+    }
+
+    /**
+     * 按照首次保存的顺序获取所有保存的上下文。
+     *
+     * @param <T> 表示上下文数据类型的 {@link T}。
+     * @return 表示所有上下文的 {@link List}{@code <}{@link FlowContext}{@code <}{@link T}{@code >>}。
+     */
+    <T> List<FlowContext<T>> snapshot() {
+        return this.contexts.values()
+                .stream()
+                .sorted(ORDER)
+                .map(entry -> ObjectUtils.<FlowContext<T>>cast(entry.context))
+                .collect(Collectors.toList());
+    }
+
+    private <T> List<FlowContext<T>> queryByPositions(String streamId, List<String> positions, FlowNodeStatus status,
+            Predicate<FlowContext<?>> filter) {
+        List<ConcurrentSkipListMap<Long, Entry>> buckets = new ArrayList<>(positions.size() * 2);
+        for (String position : positions) {
+            buckets.add(this.positionIndex.get(new PositionKey(streamId, position, status, false)));
+            buckets.add(this.positionIndex.get(new PositionKey(streamId, position, status, true)));
+        }
+        Set<String> positionSet = new HashSet<>(positions);
+        return this.collect(buckets, context -> Objects.equals(context.getStreamId(), streamId)
+                && positionSet.contains(context.getPosition()) && filter.test(context));
+    }
+
+    private <T> List<FlowContext<T>> collect(List<ConcurrentSkipListMap<Long, Entry>> buckets,
+            Predicate<FlowContext<?>> filter) {
+        List<Entry> matched = new ArrayList<>();
+        int contributed = 0;
+        for (ConcurrentSkipListMap<Long, Entry> bucket : buckets) {
+            if (bucket == null || bucket.isEmpty()) {
+                continue;
+            }
+            contributed++;
+            for (Entry entry : bucket.values()) {
+                if (filter.test(entry.context)) {
+                    matched.add(entry);
+                }
+            }
+        }
+        if (contributed > 1) {
+            matched.sort(ORDER);
+        }
+        List<FlowContext<T>> result = new ArrayList<>(matched.size());
+        String previous = null;
+        for (Entry entry : matched) {
+            // 索引迁移过程中同一个上下文可能短暂地同时出现在新旧两个桶里。
+            if (!Objects.equals(previous, entry.context.getId())) {
+                result.add(ObjectUtils.cast(entry.context));
+            }
+            previous = entry.context.getId();
+        }
+        return result;
+    }
+
+    private static FlowNodeStatus toStatus(String status) {
+        for (FlowNodeStatus value : FlowNodeStatus.values()) {
+            if (value.toString().equals(status)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static Entry firstMatch(ConcurrentSkipListMap<Long, Entry> bucket, Predicate<FlowContext<?>> filter) {
+        if (bucket == null) {
+            return null;
+        }
+        for (Entry entry : bucket.values()) {
+            if (filter.test(entry.context)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private static Entry earliest(Entry current, Entry candidate) {
+        if (current == null) {
+            return candidate;
+        }
+        if (candidate == null) {
+            return current;
+        }
+        return candidate.sequence < current.sequence ? candidate : current;
+    }
+
+    private static boolean isPendingAt(FlowContext<?> context, String streamId, Set<String> positions) {
+        return context.getStatus() == FlowNodeStatus.PENDING && Objects.equals(context.getStreamId(), streamId)
+                && positions.contains(context.getPosition());
+    }
+
+    private static boolean isUnordered(FlowContext<?> context) {
+        return Objects.equals(context.getIndex(), Constants.NOT_PRESERVED_INDEX) || Objects.equals(context.getIndex(),
+                0);
+    }
+
+    private void put(FlowContext<?> context) {
+        Entry old = this.contexts.get(context.getId());
+        long entrySequence = old == null ? this.sequence++ : old.sequence;
+        Entry entry = new Entry(context, entrySequence);
+        // 先加入新的索引再移除旧的索引，保证无锁读取期间上下文不会从索引中消失。
+        this.index(entry);
+        this.contexts.put(context.getId(), entry);
+        if (old != null) {
+            this.unindex(old, entry);
+        }
+    }
+
+    private void remove(String id) {
+        Entry old = this.contexts.remove(id);
+        if (old != null) {
+            this.unindex(old, null);
+        }
+    }
+
+    private void index(Entry entry) {
+        add(this.positionIndex, entry.position, entry);
+        entry.traces.forEach(trace -> add(this.traceIndex, trace, entry));
+        if (entry.parallel != null) {
+            add(this.parallelIndex, entry.parallel, entry);
+        }
+        if (entry.session != null) {
+            add(this.sessionIndex, entry.session, entry);
+        }
+    }
+
+    private void unindex(Entry old, Entry current) {
+        if (current == null || !old.position.equals(current.position)) {
+            remove(this.positionIndex, old.position, old);
+        }
+        old.traces.stream()
+                .filter(trace -> current == null || !current.traces.contains(trace))
+                .forEach(trace -> remove(this.traceIndex, trace, old));
+        if (old.parallel != null && (current == null || !old.parallel.equals(current.parallel))) {
+            remove(this.parallelIndex, old.parallel, old);
+        }
+        if (old.session != null && (current == null || !old.session.equals(current.session))) {
+            remove(this.sessionIndex, old.session, old);
+        }
+    }
+
+    private static <K> void add(Map<K, ConcurrentSkipListMap<Long, Entry>> index, K key, Entry entry) {
+        index.computeIfAbsent(key, any -> new ConcurrentSkipListMap<>()).put(entry.sequence, entry);
+    }
+
+    private static <K> void remove(Map<K, ConcurrentSkipListMap<Long, Entry>> index, K key, Entry entry) {
+        ConcurrentSkipListMap<Long, Entry> bucket = index.get(key);
+        if (bucket == null) {
+            return;
+        }
+        bucket.remove(entry.sequence, entry);
+        if (bucket.isEmpty()) {
+            index.remove(key, bucket);
+        }
+    }
+
+    /**
+     * 上下文在保存时刻的索引快照，上下文本身的属性可能在下一次保存前被修改，因此索引键必须单独记录。
+     */
+    private static final class Entry {
+        private final FlowContext<?> context;
+
+        private final long sequence;
+
+        private final PositionKey position;
+
+        private final Set<String> traces;
+
+        private final String parallel;
+
+        private final SessionKey session;
+
+        private Entry(FlowContext<?> context, long sequence) {
+            this.context = context;
+            this.sequence = sequence;
+            this.position = new PositionKey(context.getStreamId(), context.getPosition(), context.getStatus(),
+                    context.getIndex() != null && !isUnordered(context));
+            this.traces = new HashSet<>(context.getTraceId());
+            this.parallel = context.getParallel();
+            this.session = context.getSession() == null
+                    ? null
+                    : new SessionKey(context.getSession().getId(), context.getIndex());
+        }
+    }
+
+    /**
+     * 位置索引键，保序中的上下文与无需保序的上下文分开存放，使保序查询可以直接命中无需保序的候选。
+     */
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static final class PositionKey {
+        private final String streamId;
+
+        private final String position;
+
+        private final FlowNodeStatus status;
+
+        private final boolean isOrdered;
+    }
+
+    /**
+     * session + index 索引键。
+     */
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static final class SessionKey {
+        private final String sessionId;
+
+        private final Integer index;
+    }
+}
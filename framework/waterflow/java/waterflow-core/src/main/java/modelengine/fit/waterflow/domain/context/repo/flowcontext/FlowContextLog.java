@@ -0,0 +1,351 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.context.repo.flowcontext;
+
+import static modelengine.fit.waterflow.common.ErrorCodes.FLOW_CONTEXT_LOG_IO_FAILED;
+
+import modelengine.fit.waterflow.common.exceptions.WaterflowException;
+import modelengine.fitframework.log.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 表示追加写的分段日志，是 {@link FlowContextLogRepo} 的存储层。
+ * <p>每条记录的格式为：内容长度（4 字节）、类型与内容的 CRC32 校验值（4 字节）、类型（1 字节）、内容。
+ * 当前分段超过大小限制后滚动到新的分段，启动时通过内存映射按顺序回放所有分段，遇到不完整或者校验失败的记录即停止回放该分段，
+ * 并截断最后一个分段中崩溃时未写完的部分。写入只进入操作系统缓存，由 {@link #sync()} 批量刷盘。</p>
+ * <p>重写日志时，压缩后的记录写入新的分段并刷盘后，才通过原子替换标记文件记录压缩分段的序号，最后删除旧的分段。
+ * 回放时跳过并删除序号小于标记的分段，因此在任何时刻崩溃，恢复的结果要么是压缩前的全部日志，要么是压缩后的日志。</p>
+ *
+ * @author agent
+ * @since 1.0
+ */
+final class FlowContextLog implements Closeable {
+    private static final Logger LOG = Logger.get(FlowContextLog.class);
+
+    private static final String SEGMENT_PREFIX = "segment-";
+
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final String MARKER = "compacted.mark";
+
+    private static final String MARKER_TEMPORARY = MARKER + ".tmp";
+
+    private static final int HEADER_BYTES = Integer.BYTES * 2 + 1;
+
+    private final Path directory;
+
+    private final long segmentBytes;
+
+    private long segmentSequence;
+
+    private FileChannel active;
+
+    private long activeSize;
+
+    private long recordCount;
+
+    private volatile boolean isDirty;
+
+    /**
+     * 创建日志，回放之前需要调用 {@link #replay(BiConsumer)}，之后的写入进入新的分段。
+     *
+     * @param directory 表示日志目录的 {@link Path}。
+     * @param segmentBytes 表示单个分段大小上限的 {@code long}。
+     */
+    FlowContextLog(Path directory, long segmentBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException ex) {
+            throw new WaterflowException(ex, FLOW_CONTEXT_LOG_IO_FAILED, "create", directory);
+        }
+    }
+
+    /**
+     * 按写入顺序回放所有分段中的记录，并打开新的分段用于后续写入。
+     *
+     * @param consumer 表示记录消费者的 {@link BiConsumer}{@code <}{@link Byte}{@code , }{@link ByteBuffer}{@code >}，
+     * 参数分别为记录类型和记录内容。
+     */
+    synchronized void replay(BiConsumer<Byte, ByteBuffer> consumer) {
+        long compacted = this.readMarker();
+        List<Path> segments = this.segments();
+        segments.stream().filter(segment -> sequenceOf(segment) < compacted).forEach(this::delete);
+        segments.removeIf(segment -> sequenceOf(segment) < compacted);
+        for (int i = 0; i < segments.size(); i++) {
+            this.replay(segments.get(i), i == segments.size() - 1, consumer);
+        }
+        long last = segments.isEmpty() ? 0 : sequenceOf(segments.get(segments.size() - 1));
+        this.segmentSequence = Math.max(last, compacted - 1);
+        this.roll();
+    }
+
+    /**
+     * 追加一批记录，一批记录通过一次写操作写入。
+     *
+     * @param types 表示记录类型的 {@code byte[]}。
+     * @param payloads 表示记录内容的 {@link List}{@code <}{@code byte[]}{@code >}，与类型一一对应。
+     */
+    synchronized void append(byte[] types, List<byte[]> payloads) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+        int total = 0;
+        for (byte[] payload : payloads) {
+            total += HEADER_BYTES + payload.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < payloads.size(); i++) {
+            byte[] payload = payloads.get(i);
+            crc.reset();
+            crc.update(types[i]);
+            crc.update(payload);
+            buffer.putInt(payload.length).putInt((int) crc.getValue()).put(types[i]).put(payload);
+        }
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                this.active.write(buffer);
+            }
+        } catch (IOException ex) {
+            throw new WaterflowException(ex, FLOW_CONTEXT_LOG_IO_FAILED, "append", this.activePath());
+        }
+        this.activeSize += total;
+        this.recordCount += payloads.size();
+        this.isDirty = true;
+        if (this.activeSize >= this.segmentBytes) {
+            this.roll();
+        }
+    }
+
+    /**
+     * 将已经写入的记录刷到磁盘。刷盘不持有写锁，刷盘期间的写入不会被阻塞。
+     */
+    void sync() {
+        if (!this.isDirty) {
+            return;
+        }
+        FileChannel channel;
+        synchronized (this) {
+            channel = this.active;
+            this.isDirty = false;
+        }
+        try {
+            channel.force(false);
+        } catch (ClosedChannelException ignored) {
+            // 分段滚动时已经刷盘并关闭。
+        } catch (IOException ex) {
+            this.isDirty = true;
+            throw new WaterflowException(ex, FLOW_CONTEXT_LOG_IO_FAILED, "sync", this.directory);
+        }
+    }
+
+    /**
+     * 用当前存活的记录重写日志：在新分段中写入所有记录并刷盘，再写入标记文件，最后删除之前的所有分段。
+     * <p>写入标记文件前崩溃时，回放所有分段，新分段中的快照覆盖旧分段中的同一对象，结果不变；写入标记文件后崩溃时，
+     * 回放跳过没有删除的旧分段。</p>
+     *
+     * @param types 表示记录类型的 {@code byte[]}。
+     * @param payloads 表示记录内容的 {@link List}{@code <}{@code byte[]}{@code >}，与类型一一对应。
+     */
+    synchronized void rewrite(byte[] types, List<byte[]> payloads) {
+        this.roll();
+        long compacted = this.segmentSequence;
+        this.recordCount = 0;
+        this.append(types, payloads);
+        this.forceActive();
+        this.writeMarker(compacted);
+        for (Path segment : this.segments()) {
+            if (sequenceOf(segment) < compacted) {
+                this.delete(segment);
+            }
+        }
+    }
+
+    /**
+     * 获取上次重写以来写入的记录数量，包括启动时回放的记录。
+     *
+     * @return 表示记录数量的 {@code long}。
+     */
+    synchronized long recordCount() {
+        return this.recordCount;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (this.active == null) {
+            return;
+        }
+        this.forceActive();
+        this.closeActive();
+        this.active = null;
+    }
+
+    private void replay(Path segment, boolean isLast, BiConsumer<Byte, ByteBuffer> consumer) {
+        long valid;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            valid = this.replay(buffer, consumer);
+            if (valid == channel.size()) {
+                return;
+            }
+        } catch (IOException ex) {
+            throw new WaterflowException(ex, FLOW_CONTEXT_LOG_IO_FAILED, "replay", segment);
+        }
+        LOG.warn("Flow context log segment is incomplete, file: {}, valid bytes: {}.", segment, valid);
+        if (!isLast) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(valid);
+        } catch (IOException ex) {
+            throw new WaterflowException(ex, FLOW_CONTEXT_LOG_IO_FAILED, "truncate", segment);
+        }
+    }
+
+    private long replay(ByteBuffer buffer, BiConsumer<Byte, ByteBuffer> consumer) {
+        CRC32 crc = new CRC32();
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            byte type = buffer.get();
+            if (length < 0 || buffer.remaining() < length) {
+                return start;
+            }
+            ByteBuffer payload = buffer.slice();
+            payload.limit(length);
+            crc.reset();
+            crc.update(type);
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                return start;
+            }
+            consumer.accept(type, payload);
+            buffer.position(buffer.position() + length);
+            this.recordCount++;
+        }
+        return buffer.position();
+    }
+
+    private void roll() {
+        if (this.active != null) {
+            this.forceActive();
+            this.closeActive();
+        }
+        this.segmentSequence++;
+        Path path = this.activePath();
+        try {
+            this.active = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+            this.activeSize = this.active.size();
+        } catch (IOException ex) {
+            throw new WaterflowException(ex, FLOW_CONTEXT_LOG_IO_FAILED, "open", path);
+        }
+    }
+
+    private void forceActive() {
+        try {
+            this.active.force(false);
+            this.isDirty = false;
+        } catch (IOException ex) {
+            throw new WaterflowException(ex, FLOW_CONTEXT_LOG_IO_FAILED, "sync", this.activePath());
+        }
+    }
+
+    private void closeActive() {
+        try {
+            this.active.close();
+        } catch (IOException ex) {
+            LOG.warn("Failed to close flow context log segment, file: {}.", this.activePath());
+        }
+    }
+
+    private void delete(Path segment) {
+        try {
+            Files.deleteIfExists(segment);
+        } catch (IOException ex) {
+            LOG.warn("Failed to delete compacted flow context log segment, file: {}.", segment);
+        }
+    }
+
+    private long readMarker() {
+        Path marker = this.directory.resolve(MARKER);
+        if (!Files.exists(marker)) {
+            return 0L;
+        }
+        try {
+            return ByteBuffer.wrap(Files.readAllBytes(marker)).getLong();
+        } catch (IOException | BufferUnderflowException ex) {
+            throw new WaterflowException(ex, FLOW_CONTEXT_LOG_IO_FAILED, "read", marker);
+        }
+    }
+
+    private void writeMarker(long compacted) {
+        Path temporary = this.directory.resolve(MARKER_TEMPORARY);
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).putLong(compacted);
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException ex) {
+            throw new WaterflowException(ex, FLOW_CONTEXT_LOG_IO_FAILED, "write", temporary);
+        }
+        try {
+            Files.move(temporary, this.directory.resolve(MARKER), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new WaterflowException(ex, FLOW_CONTEXT_LOG_IO_FAILED, "write", this.directory.resolve(MARKER));
+        }
+    }
+
+    private Path activePath() {
+        return this.directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, this.segmentSequence,
+                SEGMENT_SUFFIX));
+    }
+
+    private List<Path> segments() {
+        try (Stream<Path> files = Files.list(this.directory)) {
+            return files.filter(FlowContextLog::isSegment)
+                    .sorted((left, right) -> Long.compare(sequenceOf(left), sequenceOf(right)))
+                    .collect(Collectors.toList());
+        } catch (IOException ex) {
+            throw new WaterflowException(ex, FLOW_CONTEXT_LOG_IO_FAILED, "list", this.directory);
+        }
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,344 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.context.repo.flowcontext;
+
+import modelengine.fit.waterflow.domain.context.FlowContext;
+import modelengine.fit.waterflow.domain.context.FlowSession;
+import modelengine.fit.waterflow.domain.context.FlowTrace;
+import modelengine.fit.waterflow.domain.enums.FlowNodeStatus;
+import modelengine.fit.waterflow.domain.enums.FlowTraceStatus;
+import modelengine.fitframework.serialization.ObjectSerializer;
+import modelengine.fitframework.serialization.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 表示 {@link FlowContextLogRepo} 日志记录的编解码器。
+ * <p>上下文和 trace 以完整快照的形式写入，回放时后写入的快照覆盖先写入的快照。上下文的数据以及 session 的 keyBy
+ * 默认使用 Java 序列化，指定 {@link ObjectSerializer} 时记录数据的类型名并使用该序列化器。session 只保存唯一标识、
+ * 是否保序以及 keyBy，窗口和 session 状态属于运行时信息，恢复时重新创建。</p>
+ *
+ * @author agent
+ * @since 1.0
+ */
+final class FlowContextLogCodec {
+    /**
+     * 表示上下文快照的记录类型。
+     */
+    static final byte CONTEXT = 1;
+
+    /**
+     * 表示上下文被移除的记录类型。
+     */
+    static final byte CONTEXT_REMOVED = 2;
+
+    /**
+     * 表示 trace 快照的记录类型。
+     */
+    static final byte TRACE = 3;
+
+    /**
+     * 表示 trace 被移除的记录类型。
+     */
+    static final byte TRACE_REMOVED = 4;
+
+    private static final byte NULL_VALUE = 0;
+
+    private static final byte JAVA_VALUE = 1;
+
+    private static final byte SERIALIZER_VALUE = 2;
+
+    private final ObjectSerializer serializer;
+
+    /**
+     * 使用指定的序列化器创建编解码器。
+     *
+     * @param serializer 表示数据序列化器的 {@link ObjectSerializer}，为 {@code null} 时使用 Java 序列化。
+     */
+    FlowContextLogCodec(ObjectSerializer serializer) {
+        this.serializer = serializer;
+    }
+
+    /**
+     * 编码上下文快照。
+     *
+     * @param context 表示待编码上下文的 {@link FlowContext}。
+     * @return 表示编码结果的 {@code byte[]}。
+     */
+    byte[] encodeContext(FlowContext<?> context) {
+        return this.encodeContext(context, context.getIndex());
+    }
+
+    /**
+     * 编码上下文快照，使用指定的保序 id 代替上下文当前的保序 id。
+     *
+     * @param context 表示待编码上下文的 {@link FlowContext}。
+     * @param index 表示保序 id 的 {@link Integer}。
+     * @return 表示编码结果的 {@code byte[]}。
+     */
+    byte[] encodeContext(FlowContext<?> context, Integer index) {
+        return this.encode(out -> {
+            writeString(out, context.getId());
+            writeString(out, context.getStreamId());
+            writeString(out, context.getRootId());
+            writeStrings(out, context.getTraceId());
+            this.writeValue(out, context.getData());
+            writeString(out, context.getPosition());
+            out.writeBoolean(context.isJoined());
+            out.writeByte(context.getStatus().ordinal());
+            FlowSession session = context.getSession();
+            writeString(out, session.getId());
+            out.writeBoolean(session.preserved());
+            this.writeValue(out, session.keyBy());
+            writeString(out, context.getParallel());
+            writeString(out, context.getParallelMode());
+            writeString(out, context.getPrevious());
+            writeString(out, context.getBatchId());
+            writeString(out, context.getToBatch());
+            out.writeBoolean(context.isSent());
+            writeTime(out, context.getCreateAt());
+            writeTime(out, context.getUpdateAt());
+            writeTime(out, context.getArchivedAt());
+            out.writeInt(index == null ? Integer.MIN_VALUE : index);
+        });
+    }
+
+    /**
+     * 解码上下文快照，相同唯一标识的 session 共享同一个实例。
+     *
+     * @param buffer 表示记录内容的 {@link ByteBuffer}。
+     * @param sessions 表示已经恢复的 session 的 {@link Map}{@code <}{@link String}{@code , }{@link FlowSession}{@code >}。
+     * @return 表示恢复的上下文的 {@link FlowContext}{@code <}{@link Object}{@code >}。
+     */
+    FlowContext<Object> decodeContext(ByteBuffer buffer, Map<String, FlowSession> sessions) {
+        String id = readString(buffer);
+        String streamId = readString(buffer);
+        String rootId = readString(buffer);
+        Set<String> traces = readStrings(buffer);
+        Object data = this.readValue(buffer);
+        String position = readString(buffer);
+        boolean joined = buffer.get() != 0;
+        FlowNodeStatus status = FlowNodeStatus.values()[buffer.get()];
+        String sessionId = readString(buffer);
+        boolean preserved = buffer.get() != 0;
+        Object keyBy = this.readValue(buffer);
+        FlowSession session = sessions.computeIfAbsent(sessionId, key -> {
+            FlowSession created = new FlowSession(key, preserved);
+            created.setKeyBy(keyBy);
+            created.begin();
+            return created;
+        });
+        String parallel = readString(buffer);
+        String parallelMode = readString(buffer);
+        FlowContext<Object> context =
+                new FlowContext<>(streamId, rootId, data, traces, position, parallel, parallelMode, session);
+        context.setId(id);
+        context.setPrevious(readString(buffer));
+        context.batchId(readString(buffer));
+        context.toBatch(readString(buffer));
+        context.setSent(buffer.get() != 0);
+        context.setCreateAt(readTime(buffer));
+        context.setUpdateAt(readTime(buffer));
+        context.setArchivedAt(readTime(buffer));
+        int index = buffer.getInt();
+        context.setIndex(index == Integer.MIN_VALUE ? null : index);
+        context.setStatus(status);
+        context.join(joined);
+        return context;
+    }
+
+    /**
+     * 编码 trace 快照。
+     *
+     * @param trace 表示待编码 trace 的 {@link FlowTrace}。
+     * @return 表示编码结果的 {@code byte[]}。
+     */
+    byte[] encodeTrace(FlowTrace trace) {
+        return this.encode(out -> {
+            writeString(out, trace.getId());
+            writeString(out, trace.getStreamId());
+            writeTime(out, trace.getStartTime());
+            writeTime(out, trace.getEndTime());
+            writeString(out, trace.getOperator());
+            writeString(out, trace.getApplication());
+            writeString(out, trace.getStartNode());
+            writeString(out, trace.getEndNode());
+            writeStrings(out, trace.getContextPool());
+            writeString(out, trace.getStatus() == null ? null : trace.getStatus().name());
+        });
+    }
+
+    /**
+     * 解码 trace 快照。
+     *
+     * @param buffer 表示记录内容的 {@link ByteBuffer}。
+     * @return 表示恢复的 trace 的 {@link FlowTrace}。
+     */
+    FlowTrace decodeTrace(ByteBuffer buffer) {
+        FlowTrace trace = new FlowTrace();
+        trace.setId(readString(buffer));
+        trace.setStreamId(readString(buffer));
+        trace.setStartTime(readTime(buffer));
+        trace.setEndTime(readTime(buffer));
+        trace.setOperator(readString(buffer));
+        trace.setApplication(readString(buffer));
+        trace.setStartNode(readString(buffer));
+        trace.setEndNode(readString(buffer));
+        trace.setContextPool(readStrings(buffer));
+        String status = readString(buffer);
+        trace.setStatus(status == null ? null : FlowTraceStatus.valueOf(status));
+        return trace;
+    }
+
+    /**
+     * 编码移除记录，内容为被移除对象的唯一标识。
+     *
+     * @param id 表示被移除对象唯一标识的 {@link String}。
+     * @return 表示编码结果的 {@code byte[]}。
+     */
+    byte[] encodeId(String id) {
+        return this.encode(out -> writeString(out, id));
+    }
+
+    /**
+     * 解码移除记录。
+     *
+     * @param buffer 表示记录内容的 {@link ByteBuffer}。
+     * @return 表示被移除对象唯一标识的 {@link String}。
+     */
+    String decodeId(ByteBuffer buffer) {
+        return readString(buffer);
+    }
+
+    private byte[] encode(Writer writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL_VALUE);
+            return;
+        }
+        if (this.serializer == null) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOut = new ObjectOutputStream(bytes)) {
+                objectOut.writeObject(value);
+            }
+            out.writeByte(JAVA_VALUE);
+            writeBytes(out, bytes.toByteArray());
+            return;
+        }
+        out.writeByte(SERIALIZER_VALUE);
+        writeString(out, value.getClass().getName());
+        writeBytes(out, this.serializer.serialize(value, StandardCharsets.UTF_8));
+    }
+
+    private Object readValue(ByteBuffer buffer) {
+        byte kind = buffer.get();
+        if (kind == NULL_VALUE) {
+            return null;
+        }
+        if (kind == JAVA_VALUE) {
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(readBytes(buffer)))) {
+                return in.readObject();
+            } catch (IOException | ClassNotFoundException ex) {
+                throw new SerializationException("Failed to deserialize flow context data.", ex);
+            }
+        }
+        String className = readString(buffer);
+        try {
+            Class<?> type = Class.forName(className, true, Thread.currentThread().getContextClassLoader());
+            return this.serializer.deserialize(readBytes(buffer), StandardCharsets.UTF_8, type);
+        } catch (ClassNotFoundException ex) {
+            throw new SerializationException(ex);
+        }
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeStrings(DataOutputStream out, Set<String> values) throws IOException {
+        if (values == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static Set<String> readStrings(ByteBuffer buffer) {
+        int size = buffer.getInt();
+        if (size < 0) {
+            return null;
+        }
+        Set<String> values = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            values.add(readString(buffer));
+        }
+        return values;
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+        writeString(out, time == null ? null : time.toString());
+    }
+
+    private static LocalDateTime readTime(ByteBuffer buffer) {
+        String time = readString(buffer);
+        return time == null ? null : LocalDateTime.parse(time);
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
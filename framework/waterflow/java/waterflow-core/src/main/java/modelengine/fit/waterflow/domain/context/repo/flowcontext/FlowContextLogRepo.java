@@ -0,0 +1,401 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.context.repo.flowcontext;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import modelengine.fit.waterflow.domain.context.FlowContext;
+import modelengine.fit.waterflow.domain.context.FlowSession;
+import modelengine.fit.waterflow.domain.context.FlowTrace;
+import modelengine.fit.waterflow.domain.context.repo.flowtrace.FlowTraceRepo;
+import modelengine.fit.waterflow.domain.enums.FlowNodeStatus;
+import modelengine.fit.waterflow.domain.enums.FlowTraceStatus;
+import modelengine.fit.waterflow.domain.stream.operators.Operators;
+import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.serialization.ObjectSerializer;
+import modelengine.fitframework.thread.DefaultThreadFactory;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 基于本地追加写日志的 {@link FlowContextRepo} 实现，进程重启后恢复未结束的上下文。
+ * <p>查询由内存中的 {@link FlowContextIndexedRepo} 完成，每次保存都把上下文的快照追加到分段日志中，结束（ARCHIVED、ERROR）的
+ * 上下文写入移除记录。日志由后台线程按 {@code syncIntervalMillis} 批量刷盘，保存操作本身只写入操作系统缓存；
+ * {@code syncIntervalMillis} 为 0 时每次保存都同步刷盘。日志中的记录数超过存活对象数量的若干倍后，后台线程用存活对象的快照
+ * 重写日志，丢弃已经结束的上下文；重写过程中崩溃不会丢失存活的上下文，也不会恢复已经结束的上下文。</p>
+ * <p>启动时按写入顺序回放日志，READY、PROCESSING 状态的上下文在崩溃时正在节点中处理，恢复为 PENDING 后重新处理，
+ * 因此恢复后的处理语义为至少一次。trace 通过 {@link #getTraceRepo()} 访问，与上下文共用同一份日志；
+ * {@code FlowSessionRepo} 缓存的是运行时的窗口信息，不做持久化。</p>
+ *
+ * @author agent
+ * @since 1.0
+ */
+public class FlowContextLogRepo implements FlowContextRepo, Closeable {
+    private static final Logger LOG = Logger.get(FlowContextLogRepo.class);
+
+    private static final long DEFAULT_SYNC_INTERVAL_MILLIS = 5L;
+
+    private static final long DEFAULT_SEGMENT_BYTES = 64L * 1024 * 1024;
+
+    private static final long MIN_COMPACTION_RECORDS = 10_000L;
+
+    private static final int COMPACTION_RATIO = 4;
+
+    private final FlowContextIndexedRepo contexts = new FlowContextIndexedRepo();
+
+    private final Map<String, FlowTrace> traces = new ConcurrentHashMap<>();
+
+    private final FlowTraceRepo traceRepo = new TraceRepo();
+
+    private final FlowContextLogCodec codec;
+
+    private final FlowContextLog log;
+
+    private final boolean isSyncOnWrite;
+
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * 使用默认配置创建仓库，上下文数据使用 Java 序列化。
+     *
+     * @param directory 表示日志目录的 {@link Path}。
+     */
+    public FlowContextLogRepo(Path directory) {
+        this(directory, null, DEFAULT_SYNC_INTERVAL_MILLIS, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * 创建仓库并从日志中恢复未结束的上下文和 trace。
+     *
+     * @param directory 表示日志目录的 {@link Path}。
+     * @param serializer 表示上下文数据序列化器的 {@link ObjectSerializer}，为 {@code null} 时使用 Java 序列化。
+     * @param syncIntervalMillis 表示批量刷盘间隔毫秒数的 {@code long}，为 0 时每次保存都同步刷盘。
+     * @param segmentBytes 表示单个日志分段大小上限的 {@code long}。
+     */
+    public FlowContextLogRepo(Path directory, ObjectSerializer serializer, long syncIntervalMillis,
+            long segmentBytes) {
+        Validation.notNull(directory, "The flow context log directory cannot be null.");
+        Validation.greaterThanOrEquals(syncIntervalMillis, 0L, "The sync interval cannot be negative.");
+        Validation.greaterThan(segmentBytes, 0L, "The segment size must be positive.");
+        this.codec = new FlowContextLogCodec(serializer);
+        this.log = new FlowContextLog(directory, segmentBytes);
+        this.recover();
+        this.isSyncOnWrite = syncIntervalMillis == 0;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(
+                new DefaultThreadFactory("flow-context-log-", true, (thread, ex) -> LOG.error(
+                        "The flow context log flusher run failed, message: {}.", ex.getMessage())));
+        long interval = this.isSyncOnWrite ? DEFAULT_SYNC_INTERVAL_MILLIS : syncIntervalMillis;
+        this.flusher.scheduleWithFixedDelay(this::maintain, interval, interval, MILLISECONDS);
+    }
+
+    /**
+     * 获取与上下文共用同一份日志的 trace 仓库。
+     *
+     * @return 表示 trace 仓库的 {@link FlowTraceRepo}。
+     */
+    public FlowTraceRepo getTraceRepo() {
+        return this.traceRepo;
+    }
+
+    /**
+     * 将已经保存的数据立即刷到磁盘。
+     */
+    public void flush() {
+        this.log.sync();
+    }
+
+    /**
+     * 用存活的上下文和 trace 重写日志，丢弃已经结束的上下文。
+     */
+    public synchronized void compact() {
+        List<FlowContext<Object>> live = this.contexts.snapshot();
+        List<FlowTrace> liveTraces = new ArrayList<>(this.traces.values());
+        byte[] types = new byte[live.size() + liveTraces.size()];
+        List<byte[]> payloads = new ArrayList<>(types.length);
+        live.forEach(context -> {
+            types[payloads.size()] = FlowContextLogCodec.CONTEXT;
+            payloads.add(this.codec.encodeContext(context));
+        });
+        liveTraces.forEach(trace -> {
+            types[payloads.size()] = FlowContextLogCodec.TRACE;
+            payloads.add(this.codec.encodeTrace(trace));
+        });
+        this.log.rewrite(types, payloads);
+    }
+
+    /**
+     * 获取当前未结束的上下文数量。
+     *
+     * @return 表示未结束的上下文数量的 {@code int}。
+     */
+    public int size() {
+        return this.contexts.size();
+    }
+
+    @Override
+    public void close() {
+        this.flusher.shutdown();
+        this.log.close();
+    }
+
+    @Override
+    public <T> List<FlowContext<T>> getContextsByPosition(String streamId, List<String> posIds, String status) {
+        return this.contexts.getContextsByPosition(streamId, posIds, status);
+    }
+
+    @Override
+    public <T> List<FlowContext<T>> getContextsByPosition(String streamId, String posId, String batchId,
+            String status) {
+        return this.contexts.getContextsByPosition(streamId, posId, batchId, status);
+    }
+
+    @Override
+    public <T> List<FlowContext<T>> getContextsByTrace(String traceId) {
+        return this.contexts.getContextsByTrace(traceId);
+    }
+
+    @Override
+    public synchronized <T> void save(List<FlowContext<T>> contexts) {
+        // 先编码并写入日志再更新内存，编码或者写入失败时内存中不会出现日志中没有的状态。
+        this.append(contexts, FlowContext::getIndex);
+        this.contexts.save(contexts);
+    }
+
+    @Override
+    public <T> void updateToSent(List<FlowContext<T>> contexts) {
+        this.save(contexts);
+    }
+
+    @Override
+    public <T> List<FlowContext<T>> getContextsByParallel(String parallelId) {
+        return this.contexts.getContextsByParallel(parallelId);
+    }
+
+    @Override
+    public <T> FlowContext<T> getById(String id) {
+        return this.contexts.getById(id);
+    }
+
+    @Override
+    public <T> List<FlowContext<T>> getByIds(List<String> ids) {
+        return this.contexts.getByIds(ids);
+    }
+
+    @Override
+    public <T> List<FlowContext<T>> getPendingAndSentByIds(List<String> ids) {
+        return this.contexts.getPendingAndSentByIds(ids);
+    }
+
+    @Override
+    public <T> List<FlowContext<T>> requestMappingContext(String streamId, List<String> subscriptions,
+            Map<String, Integer> sessions) {
+        return this.contexts.requestMappingContext(streamId, subscriptions, sessions);
+    }
+
+    @Override
+    public <T> List<FlowContext<T>> requestProducingContext(String streamId, List<String> subscriptions,
+            Operators.Filter<T> filter) {
+        return this.contexts.requestProducingContext(streamId, subscriptions, filter);
+    }
+
+    @Override
+    public <T> void save(FlowTrace trace, FlowContext<T> flowContext) {
+        this.traceRepo.save(trace);
+        this.save(Collections.singletonList(flowContext));
+    }
+
+    @Override
+    public <T> void updateFlowData(List<FlowContext<T>> contexts) {
+        this.save(contexts);
+    }
+
+    @Override
+    public synchronized <T> void updateIndex(List<FlowContext<T>> contexts) {
+        Map<String, Integer> indexes = new HashMap<>();
+        contexts.forEach(context -> indexes.put(context.getId(), context.getIndex()));
+        this.append(contexts.stream()
+                .map(context -> Objects.requireNonNullElse(this.contexts.<T>getById(context.getId()), context))
+                .collect(Collectors.toList()), context -> indexes.get(context.getId()));
+        this.contexts.updateIndex(contexts);
+    }
+
+    private void recover() {
+        Map<String, FlowContext<Object>> recovered = new LinkedHashMap<>();
+        Map<String, FlowSession> sessions = new HashMap<>();
+        this.log.replay((type, payload) -> {
+            switch (type) {
+                case FlowContextLogCodec.CONTEXT:
+                    FlowContext<Object> context = this.codec.decodeContext(payload, sessions);
+                    recovered.put(context.getId(), context);
+                    break;
+                case FlowContextLogCodec.CONTEXT_REMOVED:
+                    recovered.remove(this.codec.decodeId(payload));
+                    break;
+                case FlowContextLogCodec.TRACE:
+                    FlowTrace trace = this.codec.decodeTrace(payload);
+                    this.traces.put(trace.getId(), trace);
+                    break;
+                case FlowContextLogCodec.TRACE_REMOVED:
+                    this.traces.remove(this.codec.decodeId(payload));
+                    break;
+                default:
+                    LOG.warn("Unknown flow context log record type: {}.", type);
+            }
+        });
+        recovered.values().forEach(context -> {
+            if (context.getStatus() == FlowNodeStatus.READY || context.getStatus() == FlowNodeStatus.PROCESSING) {
+                context.setStatus(FlowNodeStatus.PENDING);
+            }
+        });
+        this.contexts.save(new ArrayList<>(recovered.values()));
+        LOG.info("Flow context log recovered, contexts: {}, traces: {}.", recovered.size(), this.traces.size());
+    }
+
+    private <T> void append(List<FlowContext<T>> contexts, Function<FlowContext<T>, Integer> index) {
+        byte[] types = new byte[contexts.size()];
+        List<byte[]> payloads = new ArrayList<>(contexts.size());
+        for (FlowContext<T> context : contexts) {
+            if (isTerminal(context)) {
+                types[payloads.size()] = FlowContextLogCodec.CONTEXT_REMOVED;
+                payloads.add(this.codec.encodeId(context.getId()));
+            } else {
+                types[payloads.size()] = FlowContextLogCodec.CONTEXT;
+                payloads.add(this.codec.encodeContext(context, index.apply(context)));
+            }
+        }
+        this.append(types, payloads);
+    }
+
+    private void append(byte[] types, List<byte[]> payloads) {
+        this.log.append(types, payloads);
+        if (this.isSyncOnWrite) {
+            this.log.sync();
+        }
+    }
+
+    private void maintain() {
+        try {
+            this.log.sync();
+            long live = (long) this.contexts.size() + this.traces.size();
+            if (this.log.recordCount() > Math.max(MIN_COMPACTION_RECORDS, live * COMPACTION_RATIO)) {
+                this.compact();
+            }
+        } catch (RuntimeException ex) {
+            LOG.error("Failed to maintain flow context log, message: {}.", ex.getMessage());
+            LOG.debug("Failed to maintain flow context log details: ", ex);
+        }
+    }
+
+    private static boolean isTerminal(FlowContext<?> context) {
+        return context.getStatus() == FlowNodeStatus.ARCHIVED || context.getStatus() == FlowNodeStatus.ERROR;
+    }
+
+    /**
+     * 与上下文共用日志的 {@link FlowTraceRepo} 实现。
+     */
+    private class TraceRepo implements FlowTraceRepo {
+        @Override
+        public void save(FlowTrace flowTrace) {
+            this.batchUpdate(Collections.singletonList(flowTrace));
+        }
+
+        @Override
+        public FlowTrace find(String traceId) {
+            return FlowContextLogRepo.this.traces.get(traceId);
+        }
+
+        @Override
+        public List<FlowTrace> getByIds(List<String> ids) {
+            return ids.stream()
+                    .map(FlowContextLogRepo.this.traces::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        }
+
+        @Override
+        public void delete(String streamId) {
+            synchronized (FlowContextLogRepo.this) {
+                List<String> removed = FlowContextLogRepo.this.traces.values()
+                        .stream()
+                        .filter(trace -> Objects.equals(trace.getStreamId(), streamId))
+                        .map(FlowTrace::getId)
+                        .collect(Collectors.toList());
+                byte[] types = new byte[removed.size()];
+                List<byte[]> payloads = new ArrayList<>(removed.size());
+                removed.forEach(id -> {
+                    FlowContextLogRepo.this.traces.remove(id);
+                    types[payloads.size()] = FlowContextLogCodec.TRACE_REMOVED;
+                    payloads.add(FlowContextLogRepo.this.codec.encodeId(id));
+                });
+                FlowContextLogRepo.this.append(types, payloads);
+            }
+        }
+
+        @Override
+        public void batchUpdate(List<FlowTrace> flowTraces) {
+            synchronized (FlowContextLogRepo.this) {
+                byte[] types = new byte[flowTraces.size()];
+                List<byte[]> payloads = new ArrayList<>(flowTraces.size());
+                flowTraces.forEach(trace -> {
+                    FlowContextLogRepo.this.traces.put(trace.getId(), trace);
+                    types[payloads.size()] = FlowContextLogCodec.TRACE;
+                    payloads.add(FlowContextLogRepo.this.codec.encodeTrace(trace));
+                });
+                FlowContextLogRepo.this.append(types, payloads);
+            }
+        }
+
+        @Override
+        public void batchCreate(List<FlowTrace> flowTraces) {
+            this.batchUpdate(flowTraces);
+        }
+
+        @Override
+        public void updateContextPool(List<String> traceList, List<String> contextList) {
+            synchronized (FlowContextLogRepo.this) {
+                List<FlowTrace> updated = this.getByIds(traceList);
+                updated.forEach(trace -> {
+                    if (trace.getContextPool() == null) {
+                        trace.setContextPool(new HashSet<>());
+                    }
+                    trace.getContextPool().addAll(contextList);
+                });
+                this.batchUpdate(updated);
+            }
+        }
+
+        @Override
+        public List<FlowTrace> findTraceByIdList(List<String> traceIds) {
+            return this.getByIds(traceIds);
+        }
+
+        @Override
+        public void updateStatus(List<String> ids, String status) {
+            FlowTraceStatus traceStatus = FlowTraceStatus.getFlowTraceStatus(status);
+            synchronized (FlowContextLogRepo.this) {
+                List<FlowTrace> updated = this.getByIds(ids);
+                updated.forEach(trace -> trace.setStatus(traceStatus));
+                this.batchUpdate(updated);
+            }
+        }
+    }
+}
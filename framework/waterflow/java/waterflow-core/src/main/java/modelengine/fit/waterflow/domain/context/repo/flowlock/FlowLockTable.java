@@ -0,0 +1,369 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.context.repo.flowlock;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * 表示按键值加锁的本地锁表。
+ * <p>每个键值对应的锁带有引用计数，获取锁时计数加一，释放锁后计数减一，计数归零时从表中移除，空闲的键值不占用内存，
+ * 因此键值可以细化到 session 级别。同一个键值在被持有或者等待期间始终对应同一把锁。</p>
+ * <p>锁表同时按统计键值记录获取次数、发生竞争的次数以及等待时间。统计键值需要是节点级别等粗粒度的键值，
+ * 只有显式指定统计键值的锁才会记录统计信息，且统计键值的数量有上限，超出上限的统计键值不再记录，
+ * 因此 session 级别的锁键值不会使统计信息无限增长。</p>
+ * <p>锁支持 {@link Condition}，条件只能在持有锁时使用，等待条件期间锁仍被计入引用，不会从表中移除。</p>
+ *
+ * @author agent
+ * @since 1.0
+ */
+public class FlowLockTable {
+    /**
+     * 默认最多记录的统计键值数量
+     */
+    public static final int DEFAULT_MAX_STATS_KEYS = 1024;
+
+    private static final Stats UNTRACKED = new Stats();
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    private final int maxStatsKeys;
+
+    /**
+     * 构造方法，最多记录 {@link #DEFAULT_MAX_STATS_KEYS} 个统计键值
+     */
+    public FlowLockTable() {
+        this(DEFAULT_MAX_STATS_KEYS);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param maxStatsKeys 表示最多记录的统计键值数量的 {@code int}。
+     */
+    public FlowLockTable(int maxStatsKeys) {
+        this.maxStatsKeys = maxStatsKeys;
+    }
+
+    /**
+     * 获取指定键值的锁，不记录统计信息。
+     *
+     * @param key 表示锁键值的 {@link String}。
+     * @return 表示锁的 {@link Lock}。
+     */
+    public Lock lock(String key) {
+        return new TableLock(key, UNTRACKED);
+    }
+
+    /**
+     * 获取指定键值的锁，统计记录在指定的统计键值下。
+     * <p>统计键值的数量达到上限后，新的统计键值不再记录统计信息，直到通过 {@link #forget(String)} 删除已有的统计键值。</p>
+     *
+     * @param key 表示锁键值的 {@link String}。
+     * @param statsKey 表示统计键值的 {@link String}。
+     * @return 表示锁的 {@link Lock}。
+     */
+    public Lock lock(String key, String statsKey) {
+        return new TableLock(key, this.stats(statsKey));
+    }
+
+    /**
+     * 删除统计键值下的统计信息，锁本身在空闲后会自动移除。
+     *
+     * @param statsKey 表示统计键值的 {@link String}。
+     */
+    public void forget(String statsKey) {
+        this.stats.remove(statsKey);
+    }
+
+    /**
+     * 获取当前被持有或者等待中的锁的数量。
+     *
+     * @return 表示锁数量的 {@code int}。
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * 获取所有统计键值下锁竞争情况的快照。
+     *
+     * @return 表示统计键值到竞争情况的 {@link Map}{@code <}{@link String}{@code , }{@link Contention}{@code >}。
+     */
+    public Map<String, Contention> contentions() {
+        Map<String, Contention> snapshot = new HashMap<>();
+        this.stats.forEach((key, value) -> snapshot.put(key, value.snapshot()));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * 获取以锁键值为键、锁为值的映射视图，用于兼容 {@link FlowLocks#locks}。
+     * <p>通过视图获取的锁与 {@link #lock(String)} 获取的锁相同，视图中只包含当前被持有或者等待中的锁，不支持修改。</p>
+     *
+     * @return 表示锁表视图的 {@link Map}{@code <}{@link String}{@code , }{@link Lock}{@code >}。
+     */
+    public Map<String, Lock> asMap() {
+        return new MapView();
+    }
+
+    private Stats stats(String statsKey) {
+        Stats actual = this.stats.get(statsKey);
+        if (actual != null) {
+            return actual;
+        }
+        if (this.stats.size() >= this.maxStatsKeys) {
+            return UNTRACKED;
+        }
+        return this.stats.computeIfAbsent(statsKey, __ -> new Stats());
+    }
+
+    private ReentrantLock acquire(String key) {
+        return this.entries.compute(key, (__, entry) -> {
+            Entry actual = entry == null ? new Entry() : entry;
+            actual.references++;
+            return actual;
+        }).lock;
+    }
+
+    private void release(String key) {
+        this.entries.computeIfPresent(key, (__, entry) -> --entry.references == 0 ? null : entry);
+    }
+
+    /**
+     * 表示某个统计键值下的锁竞争情况。
+     *
+     * @author agent
+     * @since 1.0
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Contention {
+        /**
+         * 获取锁成功的次数
+         */
+        private final long acquisitions;
+
+        /**
+         * 获取锁时锁已被其他线程持有的次数
+         */
+        private final long contentions;
+
+        /**
+         * 发生竞争时等待锁的总纳秒数
+         */
+        private final long waitNanos;
+    }
+
+    private static class Entry {
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * 只在持有锁时访问，锁空闲后随表项一起移除
+         */
+        private final Map<TableCondition, Condition> conditions = new HashMap<>();
+
+        private int references;
+    }
+
+    private static class Stats {
+        private final LongAdder acquisitions = new LongAdder();
+
+        private final LongAdder contentions = new LongAdder();
+
+        private final LongAdder waitNanos = new LongAdder();
+
+        private void contended(long startNanos) {
+            this.contentions.increment();
+            this.waitNanos.add(System.nanoTime() - startNanos);
+        }
+
+        private Contention snapshot() {
+            return new Contention(this.acquisitions.sum(), this.contentions.sum(), this.waitNanos.sum());
+        }
+    }
+
+    private class MapView extends AbstractMap<String, Lock> {
+        @Override
+        public Lock get(Object key) {
+            return key instanceof String ? FlowLockTable.this.lock((String) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return FlowLockTable.this.entries.containsKey(key);
+        }
+
+        @Override
+        public Set<Map.Entry<String, Lock>> entrySet() {
+            return FlowLockTable.this.entries.keySet()
+                    .stream()
+                    .map(key -> new SimpleImmutableEntry<>(key, FlowLockTable.this.lock(key)))
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    private class TableLock implements Lock {
+        private final String key;
+
+        private final Stats stats;
+
+        private TableLock(String key, Stats stats) {
+            this.key = key;
+            this.stats = stats;
+        }
+
+        @Override
+        public void lock() {
+            ReentrantLock lock = FlowLockTable.this.acquire(this.key);
+            if (!lock.tryLock()) {
+                long start = System.nanoTime();
+                lock.lock();
+                this.stats.contended(start);
+            }
+            this.stats.acquisitions.increment();
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            ReentrantLock lock = FlowLockTable.this.acquire(this.key);
+            if (!lock.tryLock()) {
+                long start = System.nanoTime();
+                try {
+                    lock.lockInterruptibly();
+                } catch (InterruptedException ex) {
+                    FlowLockTable.this.release(this.key);
+                    throw ex;
+                }
+                this.stats.contended(start);
+            }
+            this.stats.acquisitions.increment();
+        }
+
+        @Override
+        public boolean tryLock() {
+            ReentrantLock lock = FlowLockTable.this.acquire(this.key);
+            if (lock.tryLock()) {
+                this.stats.acquisitions.increment();
+                return true;
+            }
+            this.stats.contentions.increment();
+            FlowLockTable.this.release(this.key);
+            return false;
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            ReentrantLock lock = FlowLockTable.this.acquire(this.key);
+            if (lock.tryLock()) {
+                this.stats.acquisitions.increment();
+                return true;
+            }
+            long start = System.nanoTime();
+            boolean isLocked = false;
+            try {
+                isLocked = lock.tryLock(time, unit);
+            } finally {
+                this.stats.contended(start);
+                if (!isLocked) {
+                    FlowLockTable.this.release(this.key);
+                }
+            }
+            if (isLocked) {
+                this.stats.acquisitions.increment();
+            }
+            return isLocked;
+        }
+
+        @Override
+        public void unlock() {
+            Entry entry = FlowLockTable.this.entries.get(this.key);
+            if (entry == null) {
+                throw new IllegalMonitorStateException();
+            }
+            // 先释放锁再减少引用，未持有锁的线程调用时抛出异常，不会错误地减少引用。
+            entry.lock.unlock();
+            FlowLockTable.this.release(this.key);
+        }
+
+        @Override
+        public Condition newCondition() {
+            return new TableCondition(this.key);
+        }
+    }
+
+    /**
+     * 表示锁表中的锁的条件。
+     * <p>同一个键值的锁在空闲后会被移除，再次获取时是新的锁，因此条件在使用时才绑定到当前持有的锁上。
+     * 等待条件的线程持有锁的引用，等待期间锁不会被移除，唤醒的线程总能找到同一个条件。</p>
+     */
+    private class TableCondition implements Condition {
+        private final String key;
+
+        private TableCondition(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public void await() throws InterruptedException {
+            this.condition().await();
+        }
+
+        @Override
+        public void awaitUninterruptibly() {
+            this.condition().awaitUninterruptibly();
+        }
+
+        @Override
+        public long awaitNanos(long nanosTimeout) throws InterruptedException {
+            return this.condition().awaitNanos(nanosTimeout);
+        }
+
+        @Override
+        public boolean await(long time, TimeUnit unit) throws InterruptedException {
+            return this.condition().await(time, unit);
+        }
+
+        @Override
+        public boolean awaitUntil(Date deadline) throws InterruptedException {
+            return this.condition().awaitUntil(deadline);
+        }
+
+        @Override
+        public void signal() {
+            this.condition().signal();
+        }
+
+        @Override
+        public void signalAll() {
+            this.condition().signalAll();
+        }
+
+        private Condition condition() {
+            Entry entry = FlowLockTable.this.entries.get(this.key);
+            if (entry == null || !entry.lock.isHeldByCurrentThread()) {
+                throw new IllegalMonitorStateException();
+            }
+            return entry.conditions.computeIfAbsent(this, __ -> entry.lock.newCondition());
+        }
+    }
+}
@@ -7,13 +7,11 @@
 package modelengine.fit.waterflow.domain.context.repo.flowlock;
 
 import modelengine.fit.waterflow.domain.common.Constants;
+import modelengine.fit.waterflow.domain.enums.FlowLockGranularity;
 import modelengine.fitframework.util.StringUtils;
 
 import java.util.Map;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * 流程实例的锁接口
@@ -22,10 +20,18 @@ import java.util.concurrent.locks.ReentrantLock;
  * @since 1.0
  */
 public interface FlowLocks {
+    /**
+     * 本地锁全局静态对象，空闲的锁会自动从表中移除
+     */
+    FlowLockTable LOCAL_LOCKS = new FlowLockTable();
+
     /**
      * 本地锁全局静态对象
+     *
+     * @deprecated 使用 {@link #LOCAL_LOCKS}，该对象是 {@link #LOCAL_LOCKS} 的只读视图
      */
-    Map<String, Lock> locks = new ConcurrentHashMap<>();
+    @Deprecated
+    Map<String, Lock> locks = LOCAL_LOCKS.asMap();
 
     /**
      * 节点分布式锁key前缀
@@ -33,13 +39,13 @@ public interface FlowLocks {
     String NODE_LOCK_KEY_PREFIX = "water-flow-node";
 
     /**
-     * 获取本地锁
+     * 获取本地锁，不记录竞争情况
      *
      * @param key 获取本地锁的key值，一般是流程版本的streamID
      * @return {@link Lock} 锁对象
      */
     default Lock getLocalLock(String key) {
-        return Optional.ofNullable(locks.putIfAbsent(key, new ReentrantLock())).orElseGet(() -> locks.get(key));
+        return LOCAL_LOCKS.lock(key);
     }
 
     /**
@@ -51,13 +57,42 @@ public interface FlowLocks {
     Lock getDistributeLock(String key);
 
     /**
-     * 删除本地锁
-     * TODO xiangyu 删除流程定义的时候需要删除该定义的本地锁资源
+     * 获取节点下某个session的分布式锁
+     * 锁粒度为 {@link FlowLockGranularity#SESSION} 时使用，默认使用 {@link #sessionLockKey(String, String)} 作为锁的key值
+     *
+     * @param key 节点分布式锁的key值
+     * @param sessionId session的唯一标识
+     * @return {@link Lock} 锁对象
+     */
+    default Lock getDistributeLock(String key, String sessionId) {
+        return this.getDistributeLock(this.sessionLockKey(key, sessionId));
+    }
+
+    /**
+     * 删除本地锁的统计信息，锁本身在空闲后自动删除
      *
      * @param key 删除本地锁的key值，一般是流程版本的streamID
      */
     default void removeLocalLock(String key) {
-        locks.remove(key);
+        LOCAL_LOCKS.forget(key);
+    }
+
+    /**
+     * 节点预处理锁的粒度，默认为 {@link FlowLockGranularity#NODE}
+     *
+     * @return 锁粒度
+     */
+    default FlowLockGranularity granularity() {
+        return FlowLockGranularity.NODE;
+    }
+
+    /**
+     * 获取本地锁按节点统计的竞争情况，key为节点锁的key值
+     *
+     * @return 节点锁key值到竞争情况的映射
+     */
+    default Map<String, FlowLockTable.Contention> contentions() {
+        return LOCAL_LOCKS.contentions();
     }
 
     /**
@@ -73,4 +108,16 @@ public interface FlowLocks {
     default String lockKey(String streamId, String nodeId, String processType) {
         return StringUtils.join(Constants.STREAM_ID_SEPARATOR, NODE_LOCK_KEY_PREFIX, streamId, nodeId, processType);
     }
+
+    /**
+     * 获取节点下某个session的分布式锁key值
+     * 比如key值为：water-flow-node-streamId-nodeID-type-sessionId
+     *
+     * @param key 节点分布式锁key值
+     * @param sessionId session的唯一标识
+     * @return 分布式锁key值
+     */
+    default String sessionLockKey(String key, String sessionId) {
+        return key + Constants.STREAM_ID_SEPARATOR + sessionId;
+    }
 }
@@ -6,6 +6,9 @@
 
 package modelengine.fit.waterflow.domain.context.repo.flowlock;
 
+import modelengine.fit.waterflow.domain.enums.FlowLockGranularity;
+import modelengine.fitframework.inspection.Validation;
+
 import java.util.concurrent.locks.Lock;
 
 /**
@@ -15,16 +18,52 @@ import java.util.concurrent.locks.Lock;
  * @since 1.0
  */
 public class FlowLocksMemo implements FlowLocks {
+    private final FlowLockGranularity granularity;
+
+    /**
+     * 构造方法，节点的所有session共用一把预处理锁
+     */
+    public FlowLocksMemo() {
+        this(FlowLockGranularity.NODE);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param granularity 节点预处理锁的粒度
+     */
+    public FlowLocksMemo(FlowLockGranularity granularity) {
+        this.granularity = Validation.notNull(granularity, "The lock granularity cannot be null.");
+    }
+
     /**
      * 获取分布式锁
      * 获取分布式锁的key值，一般是prefix-streamID-nodeID-suffixes
      * 比如key值为：flow-event-streamId-eventId-192.168.0.1; flow-node-streamId-eventId-192.168.0.1
+     * 竞争情况统计在该key值下
      *
      * @param key 版本ID
      * @return {@link Lock} 锁对象
      */
     @Override
     public Lock getDistributeLock(String key) {
-        return getLocalLock(key);
+        return LOCAL_LOCKS.lock(key, key);
+    }
+
+    /**
+     * 获取节点下某个session的锁，竞争情况统计在节点锁的key值下
+     *
+     * @param key 节点锁的key值
+     * @param sessionId session的唯一标识
+     * @return {@link Lock} 锁对象
+     */
+    @Override
+    public Lock getDistributeLock(String key, String sessionId) {
+        return LOCAL_LOCKS.lock(this.sessionLockKey(key, sessionId), key);
+    }
+
+    @Override
+    public FlowLockGranularity granularity() {
+        return this.granularity;
     }
 }
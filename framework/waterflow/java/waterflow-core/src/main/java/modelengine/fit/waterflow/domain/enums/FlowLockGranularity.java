@@ -0,0 +1,20 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.enums;
+
+/**
+ * 节点预处理锁的粒度
+ * NODE为同一个节点的所有session共用一把锁；
+ * SESSION为同一个节点的每个session各自加锁，不同session的数据可以同时被预处理
+ *
+ * @author agent
+ * @since 1.0
+ */
+public enum FlowLockGranularity {
+    NODE,
+    SESSION
+}
@@ -0,0 +1,20 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.enums;
+
+/**
+ * 节点调度模式
+ * POLLING为每个节点独立的预处理和处理线程，以固定间隔轮询边上的数据；
+ * EVENT_DRIVEN为节点接收到数据时发出就绪信号，由共享的工作窃取调度器执行节点处理，没有数据时不占用线程
+ *
+ * @author agent
+ * @since 1.0
+ */
+public enum NodeScheduleMode {
+    POLLING,
+    EVENT_DRIVEN
+}
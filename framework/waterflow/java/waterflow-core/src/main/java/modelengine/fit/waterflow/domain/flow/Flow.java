@@ -12,10 +12,13 @@ import modelengine.fit.waterflow.domain.emitters.Emitter;
 import modelengine.fit.waterflow.domain.states.Activity;
 import modelengine.fit.waterflow.domain.states.Start;
 import modelengine.fit.waterflow.domain.states.State;
+import modelengine.fit.waterflow.domain.stream.nodes.To;
 import modelengine.fit.waterflow.domain.stream.reactive.Processor;
 import modelengine.fit.waterflow.domain.stream.reactive.Publisher;
 import modelengine.fit.waterflow.domain.stream.reactive.Subscriber;
+import modelengine.fit.waterflow.domain.utils.FlowExecutor;
 import modelengine.fit.waterflow.domain.utils.IdGenerator;
+import modelengine.fitframework.inspection.Validation;
 import modelengine.fitframework.util.ObjectUtils;
 
 import java.util.ArrayList;
@@ -23,6 +26,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * FitStream外的一层flow wrapper
@@ -215,6 +219,21 @@ public abstract class Flow<D> extends IdGenerator {
         return this.nodes;
     }
 
+    /**
+     * 为流程中已经创建的所有节点指定执行策略，需要在流程构建完成后调用
+     *
+     * @param executor 执行策略
+     * @param <F> 类型
+     * @return 返回自身
+     */
+    public <F extends Flow<D>> F executeOn(FlowExecutor executor) {
+        Validation.notNull(executor, "The flow executor cannot be null.");
+        Stream.concat(this.nodes.stream(), Stream.of(this.end))
+                .filter(node -> node instanceof To)
+                .forEach(node -> ((To<?, ?>) node).setExecutor(executor));
+        return (F) this;
+    }
+
     /**
      * 一个session结束整流操作后将触发onComplete事件
      *
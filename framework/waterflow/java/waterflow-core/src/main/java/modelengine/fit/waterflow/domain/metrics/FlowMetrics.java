@@ -0,0 +1,94 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.metrics;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 流程节点指标的注册表
+ * 默认关闭，关闭时节点只多一次 volatile 读，不创建任何指标对象；开启后节点在下一次处理数据时注册自己的指标记录器
+ * 节点被回收后，其指标在下一次获取快照时从注册表中移除
+ *
+ * @author agent
+ * @since 1.0
+ */
+public final class FlowMetrics {
+    private static final Set<NodeMetrics> NODES = ConcurrentHashMap.newKeySet();
+
+    private static final Comparator<String> NULLS_FIRST = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private static volatile boolean enabled = false;
+
+    private FlowMetrics() {
+    }
+
+    /**
+     * 开启节点指标统计
+     */
+    public static void enable() {
+        enabled = true;
+    }
+
+    /**
+     * 关闭节点指标统计，已经记录的指标仍然可以获取
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * 判断是否开启了节点指标统计
+     *
+     * @return true-已开启，false-未开启
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 为节点注册指标记录器
+     *
+     * @param gauges 节点的即时状态
+     * @return 节点的指标记录器
+     */
+    public static NodeMetrics register(NodeGauges gauges) {
+        NodeMetrics metrics = new NodeMetrics(Objects.requireNonNull(gauges, "The node gauges cannot be null."));
+        NODES.add(metrics);
+        return metrics;
+    }
+
+    /**
+     * 获取所有节点的指标快照，按流程和节点排序
+     *
+     * @return 节点的指标快照列表
+     */
+    public static List<NodeMetricsSnapshot> snapshot() {
+        NODES.removeIf(metrics -> !metrics.isAlive());
+        return NODES.stream()
+                .map(NodeMetrics::snapshot)
+                .sorted(Comparator.comparing(NodeMetricsSnapshot::getStreamId, NULLS_FIRST)
+                        .thenComparing(NodeMetricsSnapshot::getNodeId, NULLS_FIRST))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 获取指定流程中所有节点的指标快照
+     *
+     * @param streamId 流程的唯一标识
+     * @return 节点的指标快照列表
+     */
+    public static List<NodeMetricsSnapshot> snapshot(String streamId) {
+        return snapshot().stream()
+                .filter(metrics -> Objects.equals(metrics.getStreamId(), streamId))
+                .collect(Collectors.toList());
+    }
+}
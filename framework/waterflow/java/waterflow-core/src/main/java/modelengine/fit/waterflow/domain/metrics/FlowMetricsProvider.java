@@ -0,0 +1,49 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.metrics;
+
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.runtime.MetricsProvider;
+
+/**
+ * 表示将流程节点指标暴露给监控插件的 {@link MetricsProvider}。
+ * <p>将 {@code modelengine.fit.waterflow.domain.metrics} 加入扫描的包后，节点指标可以通过
+ * {@code /actuator/metrics?name=waterflow} 获取。指标统计默认关闭，只有配置了
+ * {@code waterflow.metrics.enabled=true} 时才会在创建该 Bean 时开启，注册该 Bean 本身不会改变节点的行为。</p>
+ *
+ * @author agent
+ * @since 1.0
+ */
+@Component
+public class FlowMetricsProvider implements MetricsProvider {
+    /**
+     * 指标分组的名字
+     */
+    public static final String NAME = "waterflow";
+
+    /**
+     * 创建流程节点指标的提供者，并按配置决定是否开启指标统计。
+     *
+     * @param isEnabled 表示是否开启指标统计的 {@code boolean}。
+     */
+    public FlowMetricsProvider(@Value("${waterflow.metrics.enabled:false}") boolean isEnabled) {
+        if (isEnabled) {
+            FlowMetrics.enable();
+        }
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Object metrics() {
+        return FlowMetrics.snapshot();
+    }
+}
@@ -0,0 +1,104 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 表示无锁的对数线性直方图。
+ * <p>与 HdrHistogram 的分桶方式相同：小于 {@value #SUB_BUCKET_COUNT} 的值精确记录，更大的值按二进制数量级分组，
+ * 每个数量级再均分为 {@value #SUB_BUCKET_COUNT} 个桶，相对误差不超过 {@code 1/32}。记录只有一次数组下标计算和
+ * 一次原子自增，不加锁。不小于 {@code 2^41} 的值记录在最后一个桶中。</p>
+ *
+ * @author agent
+ * @since 1.0
+ */
+final class Histogram {
+    private static final int SUB_BUCKET_BITS = 5;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private static final int MAX_EXPONENT = 40;
+
+    private static final long MAX_TRACKABLE_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    private static final int BUCKET_COUNT = index(MAX_TRACKABLE_VALUE) + 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    private final LongAdder sum = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * 记录一个值，负数按 0 记录。
+     *
+     * @param value 表示待记录的值的 {@code long}。
+     */
+    void record(long value) {
+        long actual = Math.max(0L, value);
+        this.buckets.incrementAndGet(index(Math.min(actual, MAX_TRACKABLE_VALUE)));
+        this.sum.add(actual);
+        this.max.accumulate(actual);
+    }
+
+    /**
+     * 获取当前直方图的快照。
+     * <p>快照期间的并发写入可能只有部分计入，对于监控场景可以接受。</p>
+     *
+     * @return 表示直方图快照的 {@link HistogramSnapshot}。
+     */
+    HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = this.buckets.get(i);
+            total += counts[i];
+        }
+        long maxValue = this.max.get();
+        return new HistogramSnapshot(total, total == 0 ? 0D : (double) this.sum.sum() / total,
+                percentile(counts, total, 0.5D, maxValue), percentile(counts, total, 0.9D, maxValue),
+                percentile(counts, total, 0.99D, maxValue), percentile(counts, total, 0.999D, maxValue), maxValue);
+    }
+
+    private static long percentile(long[] counts, long total, double quantile, long maxValue) {
+        if (total == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(total * quantile));
+        long seen = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestEquivalentValue(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    private static int index(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) ((value >>> shift) & (SUB_BUCKET_COUNT - 1));
+        return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        int subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        long lowest = ((long) (SUB_BUCKET_COUNT + subBucket)) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,55 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 表示直方图在某一时刻的统计结果，分位数的相对误差不超过 {@code 1/32}。
+ *
+ * @author agent
+ * @since 1.0
+ */
+@Getter
+@AllArgsConstructor
+public class HistogramSnapshot {
+    /**
+     * 记录的值的个数
+     */
+    private final long count;
+
+    /**
+     * 平均值
+     */
+    private final double mean;
+
+    /**
+     * 50 分位值
+     */
+    private final long p50;
+
+    /**
+     * 90 分位值
+     */
+    private final long p90;
+
+    /**
+     * 99 分位值
+     */
+    private final long p99;
+
+    /**
+     * 99.9 分位值
+     */
+    private final long p999;
+
+    /**
+     * 最大值
+     */
+    private final long max;
+}
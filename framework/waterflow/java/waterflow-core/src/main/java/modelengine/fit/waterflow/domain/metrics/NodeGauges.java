@@ -0,0 +1,51 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.metrics;
+
+/**
+ * 表示节点在获取快照时才读取的即时状态。
+ * <p>这些值需要访问节点内部状态或者上下文仓库，只在获取快照时读取，不影响节点处理数据的性能。</p>
+ *
+ * @author agent
+ * @since 1.0
+ */
+public interface NodeGauges {
+    /**
+     * 判断节点是否仍然存活，节点被回收后其指标从注册表中移除。
+     *
+     * @return 表示节点是否存活的 {@code boolean}。
+     */
+    boolean isAlive();
+
+    /**
+     * 获取节点所在流程的唯一标识。
+     *
+     * @return 表示流程唯一标识的 {@link String}。
+     */
+    String streamId();
+
+    /**
+     * 获取节点的唯一标识。
+     *
+     * @return 表示节点唯一标识的 {@link String}。
+     */
+    String nodeId();
+
+    /**
+     * 获取节点正在处理的批次数。
+     *
+     * @return 表示正在处理的批次数的 {@code int}。
+     */
+    int concurrency();
+
+    /**
+     * 获取节点记录的正在处理中的 session 个数。
+     *
+     * @return 表示 session 个数的 {@code int}。
+     */
+    int processingSessions();
+}
@@ -0,0 +1,126 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 表示单个节点的指标记录器。
+ * <p>由节点在开启指标统计后通过 {@link FlowMetrics#register(NodeGauges)} 创建，所有记录方法均无锁。</p>
+ *
+ * @author agent
+ * @since 1.0
+ */
+public class NodeMetrics {
+    private final NodeGauges gauges;
+
+    private final Histogram processLatency = new Histogram();
+
+    private final Histogram batchSize = new Histogram();
+
+    private final Histogram lockWait = new Histogram();
+
+    private final LongAdder pending = new LongAdder();
+
+    private final LongAdder accepted = new LongAdder();
+
+    private final LongAdder sent = new LongAdder();
+
+    private final LongAdder processed = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    NodeMetrics(NodeGauges gauges) {
+        this.gauges = gauges;
+    }
+
+    /**
+     * 记录一批上下文处理完成。
+     *
+     * @param nanos 表示处理耗时纳秒数的 {@code long}。
+     * @param batchSize 表示批次中上下文个数的 {@code int}。
+     * @param sent 表示处理后发送给下游的上下文个数的 {@code int}。
+     */
+    public void recordProcess(long nanos, int batchSize, int sent) {
+        this.processLatency.record(nanos);
+        this.batchSize.record(batchSize);
+        this.processed.add(batchSize);
+        this.sent.add(sent);
+    }
+
+    /**
+     * 记录一批上下文处理失败。
+     *
+     * @param nanos 表示处理耗时纳秒数的 {@code long}。
+     * @param batchSize 表示批次中上下文个数的 {@code int}。
+     */
+    public void recordFailure(long nanos, int batchSize) {
+        this.processLatency.record(nanos);
+        this.batchSize.record(batchSize);
+        this.failed.increment();
+    }
+
+    /**
+     * 记录从边上取出的准备处理的上下文。
+     *
+     * @param lockWaitNanos 表示等待锁的纳秒数的 {@code long}。
+     * @param count 表示取出的上下文个数的 {@code int}。
+     */
+    public void recordAccept(long lockWaitNanos, int count) {
+        this.lockWait.record(lockWaitNanos);
+        this.accepted.add(count);
+    }
+
+    /**
+     * 记录上游的边上新增了等待处理的上下文。
+     *
+     * @param count 表示新增的上下文个数的 {@code int}。
+     */
+    public void recordPending(int count) {
+        this.pending.add(count);
+    }
+
+    /**
+     * 记录上下文离开上游的边，进入节点处理或者被终止。
+     *
+     * @param count 表示离开的上下文个数的 {@code int}。
+     */
+    public void recordLeave(int count) {
+        this.pending.add(-count);
+    }
+
+    /**
+     * 判断节点是否仍然存活。
+     *
+     * @return 表示节点是否存活的 {@code boolean}。
+     */
+    boolean isAlive() {
+        return this.gauges.isAlive();
+    }
+
+    /**
+     * 获取节点当前的指标快照。
+     *
+     * @return 表示指标快照的 {@link NodeMetricsSnapshot}。
+     */
+    public NodeMetricsSnapshot snapshot() {
+        return NodeMetricsSnapshot.builder()
+                .streamId(this.gauges.streamId())
+                .nodeId(this.gauges.nodeId())
+                .processLatency(this.processLatency.snapshot())
+                .batchSize(this.batchSize.snapshot())
+                .lockWait(this.lockWait.snapshot())
+                .pending((int) Math.max(0L, this.pending.sum()))
+                .accepted(this.accepted.sum())
+                .sent(this.sent.sum())
+                .processed(this.processed.sum())
+                .failed(this.failed.sum())
+                .concurrency(this.gauges.concurrency())
+                .processingSessions(this.gauges.processingSessions())
+                .build();
+    }
+}
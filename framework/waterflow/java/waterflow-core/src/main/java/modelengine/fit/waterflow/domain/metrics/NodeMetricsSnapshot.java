@@ -0,0 +1,82 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.metrics;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 表示单个节点在某一时刻的指标。
+ * <p>计数类指标从开启指标统计或者节点创建起累计，时间的单位均为纳秒。</p>
+ *
+ * @author agent
+ * @since 1.0
+ */
+@Getter
+@Builder
+public class NodeMetricsSnapshot {
+    /**
+     * 流程的唯一标识
+     */
+    private final String streamId;
+
+    /**
+     * 节点的唯一标识
+     */
+    private final String nodeId;
+
+    /**
+     * 每批上下文处理耗时的分布，包含保存处理结果的耗时
+     */
+    private final HistogramSnapshot processLatency;
+
+    /**
+     * 每批上下文个数的分布
+     */
+    private final HistogramSnapshot batchSize;
+
+    /**
+     * 获取待处理上下文时等待锁的耗时分布
+     */
+    private final HistogramSnapshot lockWait;
+
+    /**
+     * 上游的边上等待处理的上下文个数
+     * 由节点在上下文到达和离开边时累加，不查询上下文仓库；开启指标统计前已经在边上的上下文不计入
+     */
+    private final int pending;
+
+    /**
+     * 从边上取出准备处理的上下文累计个数
+     */
+    private final long accepted;
+
+    /**
+     * 处理后发送给下游的上下文累计个数
+     */
+    private final long sent;
+
+    /**
+     * 处理成功的上下文累计个数
+     */
+    private final long processed;
+
+    /**
+     * 处理失败的批次累计个数
+     */
+    private final long failed;
+
+    /**
+     * 正在处理的批次数
+     */
+    private final int concurrency;
+
+    /**
+     * 正在处理中的 session 个数
+     */
+    private final int processingSessions;
+}
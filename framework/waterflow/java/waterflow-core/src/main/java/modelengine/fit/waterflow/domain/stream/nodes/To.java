@@ -9,7 +9,9 @@ package modelengine.fit.waterflow.domain.stream.nodes;
 import static modelengine.fit.waterflow.common.ErrorCodes.FLOW_NODE_CREATE_ERROR;
 import static modelengine.fit.waterflow.common.ErrorCodes.FLOW_NODE_MAX_TASK;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.Setter;
 import modelengine.fit.waterflow.common.exceptions.WaterflowException;
 import modelengine.fit.waterflow.domain.common.Constants;
 import modelengine.fit.waterflow.domain.context.FlowContext;
@@ -21,36 +23,45 @@ import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextRepo
 import modelengine.fit.waterflow.domain.context.repo.flowlock.FlowLocks;
 import modelengine.fit.waterflow.domain.context.repo.flowsession.FlowSessionRepo;
 import modelengine.fit.waterflow.domain.emitters.EmitterListener;
+import modelengine.fit.waterflow.domain.enums.FlowLockGranularity;
 import modelengine.fit.waterflow.domain.enums.FlowNodeStatus;
 import modelengine.fit.waterflow.domain.enums.FlowNodeType;
+import modelengine.fit.waterflow.domain.enums.NodeScheduleMode;
 import modelengine.fit.waterflow.domain.enums.ParallelMode;
 import modelengine.fit.waterflow.domain.enums.ProcessType;
+import modelengine.fit.waterflow.domain.metrics.FlowMetrics;
+import modelengine.fit.waterflow.domain.metrics.NodeGauges;
+import modelengine.fit.waterflow.domain.metrics.NodeMetrics;
 import modelengine.fit.waterflow.domain.stream.callbacks.ToCallback;
 import modelengine.fit.waterflow.domain.stream.operators.Operators;
 import modelengine.fit.waterflow.domain.stream.reactive.Callback;
 import modelengine.fit.waterflow.domain.stream.reactive.Subscriber;
 import modelengine.fit.waterflow.domain.stream.reactive.Subscription;
+import modelengine.fit.waterflow.domain.utils.ConcurrencyBudget;
 import modelengine.fit.waterflow.domain.utils.FlowDebug;
+import modelengine.fit.waterflow.domain.utils.FlowExecutor;
 import modelengine.fit.waterflow.domain.utils.FlowExecutors;
 import modelengine.fit.waterflow.domain.utils.IdGenerator;
 import modelengine.fit.waterflow.domain.utils.Identity;
 import modelengine.fit.waterflow.domain.utils.SleepUtil;
 import modelengine.fit.waterflow.domain.utils.UUIDUtil;
 import modelengine.fitframework.log.Logger;
-import modelengine.fitframework.schedule.Task;
 import modelengine.fitframework.util.CollectionUtils;
 import modelengine.fitframework.util.ObjectUtils;
 import modelengine.fitframework.util.StringUtils;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -192,12 +203,59 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
 
     private Thread preProcessT = null;
 
+    /**
+     * 节点调度模式，默认取 {@link FlowExecutors#getScheduleMode()}
+     */
+    @Getter
+    @Setter
+    private NodeScheduleMode scheduleMode = FlowExecutors.getScheduleMode();
+
+    /**
+     * 节点任务的执行策略，默认取 {@link FlowExecutors#getExecutor()}
+     */
+    @Getter
+    private FlowExecutor executor = FlowExecutors.getExecutor();
+
+    /**
+     * 从执行策略中获取的流的并发预算，由节点持有，流的所有节点被回收后并发预算才可以被回收
+     */
+    private volatile ConcurrencyBudget budget;
+
+    /**
+     * 事件驱动模式下节点同时处理的最大批次数，默认为1，保证reduce、window等有状态的处理按数据到达的顺序执行
+     * 对于阻塞调用外部服务且与顺序无关的节点，可以调大该值，最大不超过MAX_CONCURRENCY
+     */
+    @Getter
+    private int eventDrivenConcurrency = 1;
+
+    /**
+     * 事件驱动模式下尚未处理的预处理就绪信号数，大于0表示已经有调度任务在运行
+     */
+    private final AtomicInteger preProcessSignals = new AtomicInteger(0);
+
+    /**
+     * 事件驱动模式下尚未处理的处理就绪信号数，大于0表示已经有调度任务在运行
+     */
+    private final AtomicInteger processSignals = new AtomicInteger(0);
+
     private final Set<EmitterListener> listeners = new HashSet<>();
 
     private final Map<Object, FlowSession> nextSessions = new ConcurrentHashMap<>();
 
     private final Map<String, Integer> counter = new ConcurrentHashMap<>();
 
+    /**
+     * 预先计算的节点锁key值，节点id变化后重新计算
+     */
+    private volatile NodeLockKeys lockKeys;
+
+    /**
+     * 节点的指标记录器，开启指标统计后在第一次使用时创建
+     */
+    private volatile NodeMetrics metrics;
+
+    private final Object metricsLock = new Object();
+
     /**
      * 1->1处理节点
      *
@@ -289,6 +347,10 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
     }
 
     private synchronized void triggerNodeProcessor(ProcessType type) {
+        if (this.scheduleMode == NodeScheduleMode.EVENT_DRIVEN) {
+            this.signal(type);
+            return;
+        }
         if (type == ProcessType.PRE_PROCESS && (preProcessT == null || !preProcessRunning)) {
             preProcessRunning = true;
             String threadName = getThreadName(PRE_PROCESS_T_NAME_PREFIX);
@@ -311,6 +373,51 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
         }
     }
 
+    /**
+     * 事件驱动模式下发出节点就绪信号
+     * 只有第一个信号会向共享调度器提交调度任务，调度任务运行期间到达的信号由该任务再处理一轮，保证信号不丢失且同一节点同一类型
+     * 同时只有一个调度任务
+     *
+     * @param type 触发节点处理的类型
+     */
+    private void signal(ProcessType type) {
+        AtomicInteger signals = type == ProcessType.PRE_PROCESS ? this.preProcessSignals : this.processSignals;
+        if (signals.getAndIncrement() == 0) {
+            FlowExecutors.dispatch(() -> this.drain(type, signals));
+        }
+    }
+
+    private void drain(ProcessType type, AtomicInteger signals) {
+        int missed = 1;
+        do {
+            this.drain(type);
+            missed = signals.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void drain(ProcessType type) {
+        try {
+            if (type == ProcessType.PRE_PROCESS) {
+                this.drainPreProcess();
+            } else {
+                this.getProcessMode().drain(type, this);
+            }
+        } catch (Exception ex) {
+            // 如果是数据库或者redis挂了，延迟后再次触发，等待数据库或者redis恢复
+            LOG.error("Node dispatch exception stream-id: {}, node-id: {}, type: {}.", this.streamId, this.id, type);
+            LOG.debug("Node dispatch exception details: ", ex);
+            FlowExecutors.dispatch(() -> this.signal(type), SLEEP_MILLS);
+        }
+    }
+
+    private void drainPreProcess() {
+        List<FlowContext<I>> ready = requestReady();
+        while (CollectionUtils.isNotEmpty(ready)) {
+            messenger.send(this.getId(), ready);
+            ready = requestReady();
+        }
+    }
+
     private String getThreadName(String tNamePrefix) {
         return StringUtils.join(Constants.STREAM_ID_SEPARATOR, tNamePrefix, this.streamId, this.id);
     }
@@ -329,6 +436,10 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
      * 这时A线程未标记退出，B线程已经完成触发动作，B线程以为A线程还在处理，而A线程直接就会退出，因此由A线程判断是否再触发一次
      */
     private void preProcess(ProcessType type) {
+        if (this.scheduleMode == NodeScheduleMode.EVENT_DRIVEN) {
+            this.drain(type);
+            return;
+        }
         while (true) {
             List<FlowContext<I>> ready = new ArrayList<>();
             try {
@@ -354,6 +465,10 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
     }
 
     private void process(ProcessType type) {
+        if (this.scheduleMode == NodeScheduleMode.EVENT_DRIVEN) {
+            this.drain(type);
+            return;
+        }
         this.getProcessMode().request(type, this);
     }
 
@@ -380,8 +495,12 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
      * @return ready的contextList
      */
     private List<FlowContext<I>> requestReady() {
-        Lock lock = locks.getDistributeLock(locks.lockKey(this.streamId, this.id, "PreProcess"));
-        lock.lock();
+        if (this.locks.granularity() == FlowLockGranularity.SESSION) {
+            return this.requestReadyBySession();
+        }
+        NodeMetrics nodeMetrics = this.metrics();
+        Lock lock = locks.getDistributeLock(this.lockKeys().preProcess);
+        long lockWait = lock(lock, nodeMetrics);
         try {
             List<FlowContext<I>> contexts = this.preFilter()
                     .process(flowContextRepo.getContextsByPosition(this.streamId,
@@ -389,15 +508,131 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
                             FlowNodeStatus.PENDING.toString()));
             contexts = filterTerminate(contexts);
             if (CollectionUtils.isEmpty(contexts)) {
+                recordAccept(nodeMetrics, lockWait, 0);
                 return new ArrayList<>();
             }
             flowContextRepo.updateToSent(contexts);
+            recordAccept(nodeMetrics, lockWait, contexts.size());
             return contexts;
         } finally {
             lock.unlock();
         }
     }
 
+    /**
+     * 按session加锁的预处理，不同session的数据互不阻塞
+     * 加锁前读取到的数据可能已经被其他线程处理，加锁后按id重新读取，只发送仍然是PENDING且SENT为false的数据
+     *
+     * @return ready的contextList
+     */
+    private List<FlowContext<I>> requestReadyBySession() {
+        List<FlowContext<I>> contexts = filterTerminate(this.preFilter()
+                .process(flowContextRepo.getContextsByPosition(this.streamId,
+                        this.froms.stream().map(Identity::getId).collect(Collectors.toList()),
+                        FlowNodeStatus.PENDING.toString())));
+        if (CollectionUtils.isEmpty(contexts)) {
+            return new ArrayList<>();
+        }
+        Map<String, List<String>> sessions = contexts.stream()
+                .collect(Collectors.groupingBy(context -> context.getSession().getId(), LinkedHashMap::new,
+                        Collectors.mapping(FlowContext::getId, Collectors.toList())));
+        String key = this.lockKeys().preProcess;
+        NodeMetrics nodeMetrics = this.metrics();
+        List<FlowContext<I>> ready = new ArrayList<>();
+        long[] lockWait = new long[1];
+        sessions.forEach((sessionId, ids) -> {
+            Lock lock = locks.getDistributeLock(key, sessionId);
+            lockWait[0] += lock(lock, nodeMetrics);
+            try {
+                List<FlowContext<I>> pending = flowContextRepo.<I>getByIds(ids)
+                        .stream()
+                        .filter(context -> context != null && context.getStatus() == FlowNodeStatus.PENDING
+                                && !context.isSent())
+                        .collect(Collectors.toList());
+                if (CollectionUtils.isNotEmpty(pending)) {
+                    flowContextRepo.updateToSent(pending);
+                    ready.addAll(pending);
+                }
+            } finally {
+                lock.unlock();
+            }
+        });
+        recordAccept(nodeMetrics, lockWait[0], ready.size());
+        return ready;
+    }
+
+    /**
+     * 获取节点的指标记录器，未开启指标统计时返回null，此时只有一次volatile读
+     *
+     * @return 节点的指标记录器
+     */
+    private NodeMetrics metrics() {
+        if (!FlowMetrics.isEnabled()) {
+            return null;
+        }
+        NodeMetrics current = this.metrics;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this.metricsLock) {
+            if (this.metrics == null) {
+                this.metrics = FlowMetrics.register(new Gauges(this));
+            }
+            return this.metrics;
+        }
+    }
+
+    /**
+     * 设置节点任务的执行策略，之前从执行策略中获取的并发预算不再使用
+     *
+     * @param executor 执行策略
+     */
+    public void setExecutor(FlowExecutor executor) {
+        this.executor = executor;
+        this.budget = null;
+    }
+
+    private ConcurrencyBudget budget() {
+        ConcurrencyBudget current = this.budget;
+        if (current == null) {
+            current = this.executor.budget(this.streamId);
+            this.budget = current;
+        }
+        return current;
+    }
+
+    private static long lock(Lock lock, NodeMetrics nodeMetrics) {
+        if (nodeMetrics == null) {
+            lock.lock();
+            return 0L;
+        }
+        long start = System.nanoTime();
+        lock.lock();
+        return System.nanoTime() - start;
+    }
+
+    private static void recordAccept(NodeMetrics nodeMetrics, long lockWait, int count) {
+        if (nodeMetrics != null) {
+            nodeMetrics.recordAccept(lockWait, count);
+        }
+    }
+
+    private static void recordLeave(NodeMetrics nodeMetrics, int count) {
+        if (nodeMetrics != null) {
+            nodeMetrics.recordLeave(count);
+        }
+    }
+
+    private NodeLockKeys lockKeys() {
+        NodeLockKeys keys = this.lockKeys;
+        if (keys == null || !Objects.equals(keys.nodeId, this.id)) {
+            keys = new NodeLockKeys(this.id, this.locks.lockKey(this.streamId, this.id, "PreProcess"),
+                    this.locks.lockKey(this.streamId, this.id, "RequestReady"));
+            this.lockKeys = keys;
+        }
+        return keys;
+    }
+
     @Override
     public void block(Blocks.Block<I> block) {
         this.isAuto = false;
@@ -476,8 +711,18 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
         this.froms.add(subscription); // 将该节点的from的event加入
     }
 
+    @Override
+    public void onPending(int count) {
+        NodeMetrics nodeMetrics = this.metrics();
+        if (nodeMetrics != null) {
+            nodeMetrics.recordPending(count);
+        }
+    }
+
     @Override
     public void onProcess(ProcessType type, List<FlowContext<I>> preList, boolean isInThread) {
+        NodeMetrics nodeMetrics = this.metrics();
+        long start = nodeMetrics == null ? 0L : System.nanoTime();
         try {
             if (CollectionUtils.isEmpty(preList)) {
                 return;
@@ -488,6 +733,9 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
             }
             List<FlowContext<O>> afterList = this.getProcessMode().process(this, preList);
             this.afterProcess(preList, afterList);
+            if (nodeMetrics != null) {
+                nodeMetrics.recordProcess(System.nanoTime() - start, preList.size(), afterList.size());
+            }
             if (CollectionUtils.isNotEmpty(afterList)) {
                 // 查找一个transaction里的所有数据的都完成了，运行callback给stream外反馈数据
                 feedback(afterList);
@@ -496,6 +744,9 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
             // 处理好数据后对外送数据，驱动其他flow响应
             afterList.forEach(context -> this.emit(context.getData(), context.getSession()));
         } catch (Exception ex) {
+            if (nodeMetrics != null) {
+                nodeMetrics.recordFailure(System.nanoTime() - start, preList.size());
+            }
             LOG.error("Node process exception stream-id: {}, node-id: {}, position-id: {}, traceId: {}. caused by: {}",
                     this.streamId, this.id, preList.get(0).getPosition(), preList.get(0).getTraceId(),
                     ex.getClass().getName());
@@ -532,6 +783,7 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
         List<String> traceIds = getTraceIds(contexts);
         if (isTracesTerminate(traceIds)) {
             getFlowContextRepo().updateToTerminated(traceIds);
+            recordLeave(this.metrics(), contexts.size());
             return Collections.emptyList();
         }
         return contexts;
@@ -582,7 +834,17 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
      * @return true-已经满负载， false-未满负载
      */
     public boolean isOverLimit() {
-        return this.curConcurrency >= MAX_CONCURRENCY;
+        int limit = this.scheduleMode == NodeScheduleMode.EVENT_DRIVEN ? this.eventDrivenConcurrency : MAX_CONCURRENCY;
+        return this.curConcurrency >= limit;
+    }
+
+    /**
+     * 设置事件驱动模式下节点同时处理的最大批次数
+     *
+     * @param eventDrivenConcurrency 最大批次数，取值范围为[1, MAX_CONCURRENCY]
+     */
+    public void setEventDrivenConcurrency(int eventDrivenConcurrency) {
+        this.eventDrivenConcurrency = Math.max(1, Math.min(eventDrivenConcurrency, MAX_CONCURRENCY));
     }
 
     /**
@@ -810,7 +1072,8 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
                     SleepUtil.sleep(SLEEP_MILLS);
                     continue;
                 }
-                Optional<FlowExecutors.ConcurrencyHolder> concurrencyHolder = FlowExecutors.incrementConcurrency();
+                Optional<FlowExecutors.ConcurrencyHolder> concurrencyHolder =
+                        to.budget().tryAcquire();
                 if (!concurrencyHolder.isPresent()) {
                     SleepUtil.sleep(SLEEP_MILLS);
                     continue;
@@ -857,13 +1120,53 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
          */
         protected abstract <T1, R1> List<FlowContext<T1>> requestAll(To<T1, R1> to);
 
+        /**
+         * 事件驱动模式下的节点处理调度
+         * 持续拉取边上ready的数据并提交给节点线程池，直到边上没有数据或者达到并发上限后返回，不做任何等待：
+         * 达到节点并发上限时，由正在处理的批次完成后再次发出信号；达到执行策略的并发预算上限时，在预算释放后再次发出信号
+         *
+         * @param <T1> 流程实例执行时的入参数据类型，用于泛型推倒
+         * @param <R1> 流程实例执行时的出参数据类型，用于泛型推倒
+         * @param type 触发节点处理的类型
+         * @param to 当前节点
+         */
+        protected <T1, R1> void drain(ProcessType type, To<T1, R1> to) {
+            while (!to.isOverLimit()) {
+                ConcurrencyBudget budget = to.budget();
+                Optional<FlowExecutors.ConcurrencyHolder> concurrencyHolder = budget.tryAcquire();
+                if (!concurrencyHolder.isPresent()) {
+                    budget.await(() -> to.signal(type));
+                    return;
+                }
+                boolean isSubmitted = false;
+                try {
+                    List<FlowContext<T1>> ready = requestReady(to);
+                    if (CollectionUtils.isEmpty(ready)) {
+                        return;
+                    }
+                    if (to.inParallelMode(ready)) {
+                        to.onProcess(type, ready, false);
+                    } else {
+                        this.submit(type, to, ready, concurrencyHolder.get());
+                        isSubmitted = true;
+                    }
+                } finally {
+                    if (!isSubmitted) {
+                        concurrencyHolder.get().release();
+                    }
+                }
+            }
+        }
+
         private <T1, R1> List<FlowContext<T1>> requestReady(To<T1, R1> to) {
-            Lock lock = to.locks.getDistributeLock(to.locks.lockKey(to.streamId, to.id, "RequestReady"));
-            lock.lock();
+            NodeMetrics nodeMetrics = to.metrics();
+            Lock lock = to.locks.getDistributeLock(to.lockKeys().requestReady);
+            long lockWait = To.lock(lock, nodeMetrics);
             try {
                 List<FlowContext<T1>> ready = filterReady(to, requestAll(to));
                 ready = to.filterTerminate(ready);
                 if (CollectionUtils.isEmpty(ready)) {
+                    To.recordAccept(nodeMetrics, lockWait, 0);
                     return new ArrayList<>();
                 }
                 if (to.isOverLimit()) {
@@ -871,6 +1174,8 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
                 }
                 to.flowContextRepo.updateStatus(ready, ready.get(0).getStatus().toString(), ready.get(0).getPosition());
                 to.updateConcurrency(1);
+                To.recordAccept(nodeMetrics, lockWait, ready.size());
+                To.recordLeave(nodeMetrics, ready.size());
                 return ready;
             } finally {
                 lock.unlock();
@@ -895,10 +1200,13 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
 
         private <T1, R1> void submit(ProcessType type, To<T1, R1> to, List<FlowContext<T1>> ready,
                 FlowExecutors.ConcurrencyHolder concurrencyHolder) {
-            FlowExecutors.getThreadPool().execute(Task.builder().runnable(() -> {
-                to.onProcess(type, ready, true);
-                concurrencyHolder.release();
-            }).buildDisposable());
+            to.executor.execute(() -> {
+                try {
+                    to.onProcess(type, ready, true);
+                } finally {
+                    concurrencyHolder.release();
+                }
+            });
         }
 
         private <T1, R1> void handleProcessConcurrentConflict(To<T1, R1> to) {
@@ -914,4 +1222,55 @@ public class To<I, O> extends IdGenerator implements Subscriber<I, O> {
             to.accept(ProcessType.PROCESS, pending);
         }
     }
+
+    /**
+     * 节点的即时状态，只持有节点的弱引用，不阻止节点被回收
+     */
+    private static class Gauges implements NodeGauges {
+        private final WeakReference<To<?, ?>> node;
+
+        private final String streamId;
+
+        private Gauges(To<?, ?> node) {
+            this.node = new WeakReference<>(node);
+            this.streamId = node.streamId;
+        }
+
+        @Override
+        public boolean isAlive() {
+            return this.node.get() != null;
+        }
+
+        @Override
+        public String streamId() {
+            return this.streamId;
+        }
+
+        @Override
+        public String nodeId() {
+            To<?, ?> to = this.node.get();
+            return to == null ? null : to.getId();
+        }
+
+        @Override
+        public int concurrency() {
+            To<?, ?> to = this.node.get();
+            return to == null ? 0 : to.curConcurrency;
+        }
+
+        @Override
+        public int processingSessions() {
+            To<?, ?> to = this.node.get();
+            return to == null ? 0 : to.processingSessions.size();
+        }
+    }
+
+    @AllArgsConstructor
+    private static class NodeLockKeys {
+        private final String nodeId;
+
+        private final String preProcess;
+
+        private final String requestReady;
+    }
 }
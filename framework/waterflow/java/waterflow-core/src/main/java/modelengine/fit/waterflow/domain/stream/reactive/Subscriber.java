@@ -32,6 +32,14 @@ public interface Subscriber<I, O> extends StreamIdentity, Emitter<O, FlowSession
      */
     void accept(ProcessType type, List<FlowContext<I>> contexts);
 
+    /**
+     * 上游的边上新增了等待节点处理的上下文，默认不做处理
+     *
+     * @param count 新增的上下文个数
+     */
+    default void onPending(int count) {
+    }
+
     /**
      * 设置节点block
      *
@@ -96,6 +96,7 @@ public class When<I> extends IdGenerator implements Subscription<I> {
                         .setStatus(FlowNodeStatus.PENDING))
                 .collect(Collectors.toList());
         repo.updateStatus(converted, converted.get(0).getStatus().toString(), converted.get(0).getPosition());
+        this.to.onPending(converted.size());
         messenger.send(this.to.isAuto() ? PROCESS : PRE_PROCESS, this.to, converted);
     }
 
@@ -0,0 +1,80 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.utils;
+
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 基于信号量的并发预算
+ * 申请不到并发时不阻塞调用线程，而是登记唤醒动作，在有并发释放时执行
+ *
+ * @author agent
+ * @since 1.0
+ */
+public final class ConcurrencyBudget {
+    private final Semaphore permits;
+
+    private final Queue<Runnable> waiters = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 构造方法
+     *
+     * @param limit 最大并发数
+     */
+    public ConcurrencyBudget(int limit) {
+        this.permits = new Semaphore(limit);
+    }
+
+    /**
+     * 尝试申请一个并发
+     *
+     * @return 并发持有对象。如果无法申请并发则返回空
+     */
+    public Optional<FlowExecutors.ConcurrencyHolder> tryAcquire() {
+        if (!this.permits.tryAcquire()) {
+            return Optional.empty();
+        }
+        return Optional.of(new FlowExecutors.ConcurrencyHolder(this));
+    }
+
+    /**
+     * 登记一个在并发释放后执行的唤醒动作，唤醒动作只执行一次
+     * 登记后会再次检查并发，避免登记前并发已经释放导致唤醒丢失
+     *
+     * @param waiter 唤醒动作
+     */
+    public void await(Runnable waiter) {
+        this.waiters.add(waiter);
+        if (this.permits.availablePermits() > 0) {
+            this.wake();
+        }
+    }
+
+    /**
+     * 获取当前可用的并发数
+     *
+     * @return 可用的并发数
+     */
+    public int available() {
+        return this.permits.availablePermits();
+    }
+
+    void release() {
+        this.permits.release();
+        this.wake();
+    }
+
+    private void wake() {
+        Runnable waiter = this.waiters.poll();
+        if (waiter != null) {
+            waiter.run();
+        }
+    }
+}
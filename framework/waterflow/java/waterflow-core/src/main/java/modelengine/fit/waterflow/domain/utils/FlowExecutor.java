@@ -0,0 +1,33 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.utils;
+
+/**
+ * 流程节点任务的执行策略
+ * 决定节点任务在哪里执行，以及每个流可以同时执行多少个节点任务
+ * 默认实现为 {@link FlowExecutors#pooled()}，可以通过 {@link FlowExecutors#setExecutor(FlowExecutor)} 全局替换，
+ * 或者通过 {@link modelengine.fit.waterflow.domain.flow.Flow#executeOn(FlowExecutor)} 为单个流程指定
+ *
+ * @author agent
+ * @since 1.0
+ */
+public interface FlowExecutor {
+    /**
+     * 获取指定流的并发预算，节点提交任务前需要先从预算中申请并发
+     *
+     * @param streamId 流的唯一标识
+     * @return 并发预算
+     */
+    ConcurrencyBudget budget(String streamId);
+
+    /**
+     * 执行节点任务
+     *
+     * @param task 节点任务
+     */
+    void execute(Runnable task);
+}
@@ -6,17 +6,25 @@
 
 package modelengine.fit.waterflow.domain.utils;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
+import lombok.Getter;
+import lombok.Setter;
+import modelengine.fit.waterflow.domain.enums.NodeScheduleMode;
 import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.schedule.Task;
 import modelengine.fitframework.schedule.ThreadPoolExecutor;
 import modelengine.fitframework.thread.DefaultThreadFactory;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 流程引擎的节点线程池
@@ -33,13 +41,42 @@ public final class FlowExecutors {
 
     private static final ThreadPoolExecutor THREAD_POOL;
 
-    private static AtomicInteger currentConcurrency = new AtomicInteger(0);
+    private static final int MIN_DISPATCHER_COUNT = 4;
+
+    private static final ForkJoinPool DISPATCHER = new ForkJoinPool(
+            Math.max(MIN_DISPATCHER_COUNT, Runtime.getRuntime().availableProcessors()),
+            pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("flow-node-dispatcher-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            },
+            (thread, throwable) -> LOG.error("The node dispatcher run failed, message: {}.", throwable.getMessage()),
+            true);
+
+    private static final ConcurrencyBudget GLOBAL_BUDGET = new ConcurrencyBudget(MAX_THREAD_COUNT);
+
+    private static final FlowExecutor POOLED = new PooledFlowExecutor();
+
+    /**
+     * 新建节点默认使用的执行策略，默认为 {@link #pooled()}
+     */
+    @Getter
+    private static volatile FlowExecutor executor = POOLED;
+
+    /**
+     * 新建节点默认使用的调度模式，默认为 {@link NodeScheduleMode#POLLING}
+     */
+    @Getter
+    @Setter
+    private static volatile NodeScheduleMode scheduleMode = NodeScheduleMode.POLLING;
 
     static {
+        // 并发在任务的finally中释放，此时线程尚未归还线程池，预留与并发上限相同的线程余量，避免后续提交被拒绝
         ThreadPoolExecutor newPool = ThreadPoolExecutor.custom()
                 .threadPoolName("flow-node-thread-pool")
                 .corePoolSize(CORE_THREAD_COUNT)
-                .maximumPoolSize(MAX_THREAD_COUNT)
+                .maximumPoolSize(MAX_THREAD_COUNT * 2)
                 .workQueueCapacity(0)
                 .keepAliveTime(60L, SECONDS)
                 .isDaemonThread(true)
@@ -63,20 +100,51 @@ public final class FlowExecutors {
     }
 
     /**
-     * 增加一个并发
+     * 获取默认的执行策略：节点任务提交到全局共享的节点线程池，所有流共享最多64个并发
      *
-     * @return 并发持有对象。如果无法增加并发则返回null对象
+     * @return 默认的执行策略
      */
-    public static synchronized Optional<ConcurrencyHolder> incrementConcurrency() {
-        if (currentConcurrency.incrementAndGet() > MAX_THREAD_COUNT) {
-            currentConcurrency.decrementAndGet();
-            return Optional.empty();
-        }
-        return Optional.of(new ConcurrencyHolder());
+    public static FlowExecutor pooled() {
+        return POOLED;
+    }
+
+    /**
+     * 设置新建节点默认使用的执行策略
+     *
+     * @param executor 执行策略
+     */
+    public static void setExecutor(FlowExecutor executor) {
+        FlowExecutors.executor = Validation.notNull(executor, "The flow executor cannot be null.");
+    }
+
+    /**
+     * 从默认执行策略的全局并发预算中增加一个并发
+     *
+     * @return 并发持有对象。如果无法增加并发则返回空
+     */
+    public static Optional<ConcurrencyHolder> incrementConcurrency() {
+        return GLOBAL_BUDGET.tryAcquire();
     }
 
-    private static synchronized void decrementConcurrency() {
-        currentConcurrency.decrementAndGet();
+    /**
+     * 提交任务到共享的节点调度器
+     * 调度器为工作窃取线程池，线程数与CPU核数一致且不少于4个（调度过程中会访问锁和repo，可能短暂阻塞），
+     * 用于事件驱动模式下执行节点的预处理和处理调度
+     *
+     * @param task 需要执行的任务
+     */
+    public static void dispatch(Runnable task) {
+        DISPATCHER.execute(task);
+    }
+
+    /**
+     * 延迟提交任务到共享的节点调度器
+     *
+     * @param task 需要执行的任务
+     * @param delayMillis 延迟的毫秒数
+     */
+    public static void dispatch(Runnable task, long delayMillis) {
+        CompletableFuture.delayedExecutor(delayMillis, MILLISECONDS, DISPATCHER).execute(task);
     }
 
     /**
@@ -97,9 +165,12 @@ public final class FlowExecutors {
      * @since 2024/8/12
      */
     public static class ConcurrencyHolder {
+        private final ConcurrencyBudget budget;
+
         private boolean isReleased;
 
-        private ConcurrencyHolder() {
+        ConcurrencyHolder(ConcurrencyBudget budget) {
+            this.budget = budget;
             this.isReleased = false;
         }
 
@@ -109,11 +180,23 @@ public final class FlowExecutors {
         public void release() {
             if (!this.isReleased) {
                 this.isReleased = true;
-                FlowExecutors.decrementConcurrency();
+                this.budget.release();
             }
         }
     }
 
+    private static class PooledFlowExecutor implements FlowExecutor {
+        @Override
+        public ConcurrencyBudget budget(String streamId) {
+            return GLOBAL_BUDGET;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            THREAD_POOL.execute(Task.builder().runnable(task).buildDisposable());
+        }
+    }
+
     private static class FixedKeyThreadPool {
         private static FixedKeyThreadPool threadPool;
 
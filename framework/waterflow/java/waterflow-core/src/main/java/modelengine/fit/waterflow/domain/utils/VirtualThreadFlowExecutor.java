@@ -0,0 +1,118 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.utils;
+
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.thread.DefaultThreadFactory;
+import modelengine.fitframework.util.ThreadUtils;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 每个节点任务一个虚拟线程的执行策略，适用于节点大多阻塞在大模型或者 HTTP 调用上的流程
+ * 不再有全局并发上限，每个流有独立的并发预算
+ * 并发预算由流的节点持有，执行策略只保存弱引用，流被回收后其并发预算随之回收，不需要显式释放
+ * 运行在不支持虚拟线程的 JDK（21 以下）上时，退化为按需创建的守护平台线程
+ *
+ * @author agent
+ * @since 1.0
+ */
+public class VirtualThreadFlowExecutor implements FlowExecutor {
+    private static final Logger LOG = Logger.get(VirtualThreadFlowExecutor.class);
+
+    private static final String THREAD_NAME_PREFIX = "flow-node-virtual-";
+
+    private static final int DEFAULT_STREAM_CONCURRENCY = 1024;
+
+    private final ExecutorService executor;
+
+    private final int streamConcurrency;
+
+    private final Map<String, BudgetReference> budgets = new ConcurrentHashMap<>();
+
+    private final ReferenceQueue<ConcurrencyBudget> collected = new ReferenceQueue<>();
+
+    /**
+     * 构造方法，每个流默认最多同时执行 1024 个节点任务
+     */
+    public VirtualThreadFlowExecutor() {
+        this(DEFAULT_STREAM_CONCURRENCY);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param streamConcurrency 每个流最多同时执行的节点任务数
+     */
+    public VirtualThreadFlowExecutor(int streamConcurrency) {
+        this.streamConcurrency = streamConcurrency;
+        this.executor = ThreadUtils.virtualThreadPerTaskExecutor(THREAD_NAME_PREFIX).orElseGet(() -> {
+            LOG.warn("Virtual threads are not supported by the current JDK, fall back to platform threads.");
+            return Executors.newCachedThreadPool(new DefaultThreadFactory(THREAD_NAME_PREFIX, true,
+                    (thread, error) -> LOG.error("The node task run failed, message: {}.", error.getMessage())));
+        });
+    }
+
+    @Override
+    public ConcurrencyBudget budget(String streamId) {
+        this.expungeCollected();
+        while (true) {
+            BudgetReference current = this.budgets.get(streamId);
+            ConcurrencyBudget budget = current == null ? null : current.get();
+            if (budget != null) {
+                return budget;
+            }
+            budget = new ConcurrencyBudget(this.streamConcurrency);
+            BudgetReference created = new BudgetReference(streamId, budget, this.collected);
+            boolean isCreated = current == null
+                    ? this.budgets.putIfAbsent(streamId, created) == null
+                    : this.budgets.replace(streamId, current, created);
+            if (isCreated) {
+                return budget;
+            }
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        this.executor.execute(task);
+    }
+
+    /**
+     * 获取仍然保存着并发预算的流的个数
+     *
+     * @return 流的个数
+     */
+    int budgetCount() {
+        this.expungeCollected();
+        return this.budgets.size();
+    }
+
+    private void expungeCollected() {
+        BudgetReference reference;
+        while ((reference = (BudgetReference) this.collected.poll()) != null) {
+            this.budgets.remove(reference.streamId, reference);
+        }
+    }
+
+    /**
+     * 并发预算的弱引用，被回收后根据流的唯一标识从执行策略中移除
+     */
+    private static class BudgetReference extends WeakReference<ConcurrencyBudget> {
+        private final String streamId;
+
+        private BudgetReference(String streamId, ConcurrencyBudget budget, ReferenceQueue<ConcurrencyBudget> queue) {
+            super(budget, queue);
+            this.streamId = streamId;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import modelengine.fit.waterflow.FlowsTestUtil;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextMemoMessenger;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextMemoRepo;
+import modelengine.fit.waterflow.domain.context.repo.flowlock.FlowLocksMemo;
+import modelengine.fit.waterflow.domain.enums.NodeScheduleMode;
+import modelengine.fit.waterflow.domain.flow.Flows;
+import modelengine.fit.waterflow.domain.flow.ProcessFlow;
+import modelengine.fit.waterflow.domain.states.State;
+import modelengine.fit.waterflow.domain.utils.FlowExecutors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 事件驱动调度模式的测试类。
+ *
+ * @author agent
+ * @since 1.0
+ */
+@DisplayName("事件驱动的节点调度测试")
+class NodeScheduleModeTest {
+    private static final int NODE_COUNT = 20;
+
+    private NodeScheduleMode origin;
+
+    @BeforeEach
+    void setUp() {
+        this.origin = FlowExecutors.getScheduleMode();
+        FlowExecutors.setScheduleMode(NodeScheduleMode.EVENT_DRIVEN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        FlowExecutors.setScheduleMode(this.origin);
+    }
+
+    @Test
+    @DisplayName("多节点的流在事件驱动模式下按顺序处理完所有数据")
+    void shouldProcessAllDataWhenEventDriven() {
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        State<Integer, Integer, Integer, ProcessFlow<Integer>> state =
+                Flows.<Integer>create(new FlowContextMemoRepo(), new FlowContextMemoMessenger(), new FlowLocksMemo())
+                        .map(i -> i + 1);
+        for (int i = 1; i < NODE_COUNT; i++) {
+            state = state.map(value -> value + 1);
+        }
+        ProcessFlow<Integer> flow = state.close(r -> result.add(r.get().getData()));
+
+        flow.offer(new Integer[] {0, 100, 200});
+
+        FlowsTestUtil.waitUntil(() -> result.size() == 3, 2000);
+        assertEquals(List.of(20, 120, 220), result);
+    }
+
+    @Test
+    @DisplayName("reduce 节点在事件驱动模式下保持数据到达的顺序")
+    void shouldKeepOrderWhenReduceInEventDriven() {
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        ProcessFlow<Integer> flow =
+                Flows.<Integer>create(new FlowContextMemoRepo(), new FlowContextMemoMessenger(), new FlowLocksMemo())
+                        .window(2)
+                        .reduce((acc, i) -> acc + i)
+                        .close(r -> result.add(r.get().getData()));
+
+        flow.offer(new Integer[] {1, 2, 3, 4, 5});
+
+        FlowsTestUtil.waitUntil(() -> result.size() == 3, 2000);
+        assertEquals(List.of(3, 7, 5), result);
+    }
+}
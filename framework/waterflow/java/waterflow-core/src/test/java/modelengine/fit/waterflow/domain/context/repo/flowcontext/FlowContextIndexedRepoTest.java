@@ -0,0 +1,136 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.context.repo.flowcontext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import modelengine.fit.waterflow.domain.context.FlowContext;
+import modelengine.fit.waterflow.domain.context.FlowSession;
+import modelengine.fit.waterflow.domain.enums.FlowNodeStatus;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * {@link FlowContextIndexedRepo} 的测试类。
+ *
+ * @author agent
+ * @since 1.0
+ */
+@DisplayName("测试带索引的内存上下文仓库")
+class FlowContextIndexedRepoTest {
+    private static final String STREAM_ID = "stream";
+
+    private FlowContextIndexedRepo repo;
+
+    @BeforeEach
+    void setUp() {
+        this.repo = new FlowContextIndexedRepo();
+    }
+
+    private static FlowContext<Integer> context(int data, String position, FlowNodeStatus status,
+            FlowSession session) {
+        FlowContext<Integer> context = new FlowContext<>(STREAM_ID, "root", data,
+                Collections.singleton("trace" + data % 2), position, session);
+        context.setStatus(status);
+        context.batchId("batch");
+        return context;
+    }
+
+    private static List<Integer> data(List<FlowContext<Integer>> contexts) {
+        return contexts.stream().map(FlowContext::getData).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("按位置查询时返回未发送的上下文，并保持保存顺序")
+    void shouldReturnUnsentContextsByPositionInSavedOrder() {
+        FlowSession session = new FlowSession();
+        FlowContext<Integer> first = context(1, "a", FlowNodeStatus.PENDING, session);
+        FlowContext<Integer> second = context(2, "b", FlowNodeStatus.PENDING, session);
+        FlowContext<Integer> third = context(3, "a", FlowNodeStatus.PENDING, session);
+        this.repo.save(Arrays.asList(first, second, third));
+
+        second.setSent(true);
+        this.repo.updateToSent(Collections.singletonList(second));
+
+        List<FlowContext<Integer>> actual =
+                this.repo.getContextsByPosition(STREAM_ID, Arrays.asList("b", "a"), FlowNodeStatus.PENDING.toString());
+        assertEquals(Arrays.asList(1, 3), data(actual));
+        assertEquals(Arrays.asList(1, 2, 3), data(this.repo.requestProducingContext(STREAM_ID,
+                Arrays.asList("a", "b"), contexts -> contexts)));
+    }
+
+    @Test
+    @DisplayName("上下文状态和位置变化后索引随之更新，结束的上下文被移除")
+    void shouldReindexWhenContextChanges() {
+        FlowContext<Integer> context = context(1, "a", FlowNodeStatus.PENDING, new FlowSession());
+        this.repo.save(Collections.singletonList(context));
+
+        context.setPosition("b").setStatus(FlowNodeStatus.READY);
+        this.repo.save(Collections.singletonList(context));
+        assertTrue(this.repo.getContextsByPosition(STREAM_ID, Collections.singletonList("a"),
+                FlowNodeStatus.PENDING.toString()).isEmpty());
+        assertEquals(Collections.singletonList(1), data(this.repo.getContextsByPosition(STREAM_ID, "b", "batch",
+                FlowNodeStatus.READY.toString())));
+        assertSame(context, this.repo.getById(context.getId()));
+
+        context.setStatus(FlowNodeStatus.ARCHIVED);
+        this.repo.save(Collections.singletonList(context));
+        assertNull(this.repo.getById(context.getId()));
+        assertTrue(this.repo.getContextsByTrace("trace1").isEmpty());
+        assertEquals(0, this.repo.size());
+    }
+
+    @Test
+    @DisplayName("按 trace 和并行节点查询上下文")
+    void shouldQueryByTraceAndParallel() {
+        FlowSession session = new FlowSession();
+        FlowContext<Integer> first = context(1, "a", FlowNodeStatus.PENDING, session);
+        FlowContext<Integer> second = context(2, "a", FlowNodeStatus.PENDING, session);
+        FlowContext<Integer> third = context(3, "a", FlowNodeStatus.PENDING, session);
+        first.setParallel("p");
+        third.setParallel("p");
+        this.repo.save(Arrays.asList(first, second, third));
+
+        assertEquals(Arrays.asList(1, 3), data(this.repo.getContextsByTrace("trace1")));
+        assertEquals(Arrays.asList(1, 3), data(this.repo.getContextsByParallel("p")));
+    }
+
+    @Test
+    @DisplayName("保序场景下只返回无需保序或者与当前序号匹配的上下文")
+    void shouldRequestMappingContextRespectingOrder() {
+        FlowSession session = new FlowSession();
+        FlowContext<Integer> late = context(1, "a", FlowNodeStatus.PENDING, session);
+        late.setIndex(2);
+        FlowContext<Integer> expected = context(2, "a", FlowNodeStatus.PENDING, session);
+        expected.setIndex(1);
+        this.repo.save(Arrays.asList(late, expected));
+
+        Map<String, Integer> sessions = new HashMap<>();
+        assertTrue(this.repo.requestMappingContext(STREAM_ID, Collections.singletonList("a"), sessions).isEmpty());
+
+        sessions.put(session.getId(), 1);
+        assertEquals(Collections.singletonList(2),
+                data(this.repo.requestMappingContext(STREAM_ID, Collections.singletonList("a"), sessions)));
+
+        late.setIndex(-1);
+        this.repo.updateIndex(Collections.singletonList(late));
+        assertEquals(Collections.singletonList(1),
+                data(this.repo.requestMappingContext(STREAM_ID, Collections.singletonList("a"), sessions)));
+    }
+}
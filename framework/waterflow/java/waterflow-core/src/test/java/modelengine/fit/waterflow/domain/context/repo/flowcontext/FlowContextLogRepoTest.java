@@ -0,0 +1,247 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.context.repo.flowcontext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import modelengine.fit.waterflow.FlowsTestUtil;
+import modelengine.fit.waterflow.domain.context.FlowContext;
+import modelengine.fit.waterflow.domain.context.FlowSession;
+import modelengine.fit.waterflow.domain.context.FlowTrace;
+import modelengine.fit.waterflow.domain.context.repo.flowlock.FlowLocksMemo;
+import modelengine.fit.waterflow.domain.enums.FlowNodeStatus;
+import modelengine.fit.waterflow.domain.enums.FlowTraceStatus;
+import modelengine.fit.waterflow.domain.flow.Flows;
+import modelengine.fit.waterflow.domain.flow.ProcessFlow;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * {@link FlowContextLogRepo} 的测试类。
+ *
+ * @author agent
+ * @since 1.0
+ */
+@DisplayName("测试基于追加写日志的上下文仓库")
+class FlowContextLogRepoTest {
+    private static final String STREAM_ID = "stream";
+
+    @TempDir
+    Path directory;
+
+    private static FlowContext<String> context(String data, String position, FlowNodeStatus status,
+            FlowSession session) {
+        FlowContext<String> context =
+                new FlowContext<>(STREAM_ID, "root", data, Collections.singleton("trace"), position, session);
+        context.setStatus(status);
+        context.batchId("batch");
+        return context;
+    }
+
+    private static List<String> data(List<FlowContext<String>> contexts) {
+        return contexts.stream().map(FlowContext::getData).collect(Collectors.toList());
+    }
+
+    private FlowContextLogRepo open() {
+        return new FlowContextLogRepo(this.directory, null, 5L, 1024L * 1024);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(this.directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("segment-"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    @DisplayName("重启后恢复未结束的上下文，处理中的上下文恢复为待处理，结束的上下文不再恢复")
+    void shouldRecoverPendingContextsAfterRestart() {
+        FlowSession session = new FlowSession();
+        FlowContext<String> pending = context("a", "node1", FlowNodeStatus.PENDING, session);
+        FlowContext<String> ready = context("b", "node1", FlowNodeStatus.READY, session);
+        FlowContext<String> archived = context("c", "node1", FlowNodeStatus.PENDING, session);
+        try (FlowContextLogRepo repo = this.open()) {
+            repo.save(Arrays.asList(pending, ready, archived));
+            archived.setStatus(FlowNodeStatus.ARCHIVED);
+            repo.save(Collections.singletonList(archived));
+        }
+
+        try (FlowContextLogRepo repo = this.open()) {
+            assertEquals(2, repo.size());
+            List<FlowContext<String>> recovered = repo.getContextsByPosition(STREAM_ID,
+                    Collections.singletonList("node1"), FlowNodeStatus.PENDING.toString());
+            assertEquals(Arrays.asList("a", "b"), data(recovered));
+            assertEquals(pending.getId(), recovered.get(0).getId());
+            assertEquals("batch", recovered.get(0).getBatchId());
+            assertSame(recovered.get(0).getSession(), recovered.get(1).getSession());
+            assertEquals(session.getId(), recovered.get(0).getSession().getId());
+            assertNull(repo.getById(archived.getId()));
+        }
+    }
+
+    @Test
+    @DisplayName("数据编码失败时不修改内存中的上下文，重启后状态与内存一致")
+    void shouldKeepMemoryUnchangedWhenEncodingFails() {
+        FlowSession session = new FlowSession();
+        FlowContext<Object> broken = new FlowContext<>(STREAM_ID, "root", new Object(),
+                Collections.singleton("trace"), "node1", session);
+        broken.setStatus(FlowNodeStatus.PENDING);
+        List<Object> data = new ArrayList<>();
+        FlowContext<Object> indexed = new FlowContext<>(STREAM_ID, "root", data, Collections.singleton("trace"),
+                "node1", session);
+        indexed.setStatus(FlowNodeStatus.PENDING);
+        indexed.setIndex(1);
+        try (FlowContextLogRepo repo = this.open()) {
+            assertThrows(UncheckedIOException.class, () -> repo.save(Collections.singletonList(broken)));
+            assertNull(repo.getById(broken.getId()));
+            assertEquals(0, repo.size());
+
+            repo.save(Collections.singletonList(indexed));
+            data.add(new Object());
+            FlowContext<Object> reordered = indexed.convertData(data, indexed.getId());
+            reordered.setIndex(2);
+            assertThrows(UncheckedIOException.class, () -> repo.updateIndex(Collections.singletonList(reordered)));
+            assertEquals(1, repo.<Object>getById(indexed.getId()).getIndex());
+            data.clear();
+        }
+
+        try (FlowContextLogRepo repo = this.open()) {
+            assertEquals(1, repo.size());
+            assertEquals(1, repo.<Object>getById(indexed.getId()).getIndex());
+        }
+    }
+
+    @Test
+    @DisplayName("崩溃时未写完的记录在恢复时被丢弃")
+    void shouldDiscardTornRecord() throws IOException {
+        FlowContext<String> context = context("a", "node1", FlowNodeStatus.PENDING, new FlowSession());
+        try (FlowContextLogRepo repo = this.open()) {
+            repo.save(Collections.singletonList(context));
+        }
+        List<Path> segments = this.segments();
+        Path last = segments.get(segments.size() - 1);
+        long size = Files.size(last);
+        Files.write(last, new byte[] {0, 0, 1, 0, 7, 7}, StandardOpenOption.APPEND);
+
+        try (FlowContextLogRepo repo = this.open()) {
+            assertEquals(1, repo.size());
+            assertEquals("a", repo.<String>getById(context.getId()).getData());
+        }
+        assertEquals(size, Files.size(last));
+    }
+
+    @Test
+    @DisplayName("压缩后只保留存活的上下文，并删除旧的日志分段")
+    void shouldCompactToLiveContexts() throws IOException {
+        FlowSession session = new FlowSession();
+        List<FlowContext<String>> contexts = IntStream.range(0, 100)
+                .mapToObj(i -> context(String.valueOf(i), "node1", FlowNodeStatus.PENDING, session))
+                .collect(Collectors.toList());
+        try (FlowContextLogRepo repo = this.open()) {
+            repo.save(contexts);
+            contexts.subList(1, 100).forEach(context -> context.setStatus(FlowNodeStatus.ARCHIVED));
+            repo.save(contexts.subList(1, 100));
+            repo.compact();
+        }
+        assertEquals(1, this.segments().size());
+
+        try (FlowContextLogRepo repo = this.open()) {
+            assertEquals(1, repo.size());
+            assertEquals("0", repo.<String>getById(contexts.get(0).getId()).getData());
+        }
+    }
+
+    @Test
+    @DisplayName("压缩完成后旧分段删除失败时，恢复时跳过旧分段，已经结束的上下文不会复活")
+    void shouldSkipSegmentsOlderThanCompaction() throws IOException {
+        FlowSession session = new FlowSession();
+        FlowContext<String> live = context("live", "node1", FlowNodeStatus.PENDING, session);
+        FlowContext<String> archived = context("archived", "node1", FlowNodeStatus.PENDING, session);
+        Path stale = this.directory.resolve("stale");
+        try (FlowContextLogRepo repo = this.open()) {
+            repo.save(Arrays.asList(live, archived));
+        }
+        Path first = this.segments().get(0);
+        Files.copy(first, stale);
+        try (FlowContextLogRepo repo = this.open()) {
+            archived.setStatus(FlowNodeStatus.ARCHIVED);
+            repo.save(Collections.singletonList(archived));
+            repo.compact();
+        }
+        Files.move(stale, first);
+
+        try (FlowContextLogRepo repo = this.open()) {
+            assertEquals(1, repo.size());
+            assertNull(repo.getById(archived.getId()));
+            assertEquals("live", repo.<String>getById(live.getId()).getData());
+        }
+        assertFalse(Files.exists(first));
+    }
+
+    @Test
+    @DisplayName("trace 与上下文共用日志并在重启后恢复")
+    void shouldRecoverTraces() {
+        FlowTrace trace = new FlowTrace();
+        trace.setStreamId(STREAM_ID);
+        try (FlowContextLogRepo repo = this.open()) {
+            repo.getTraceRepo().save(trace);
+            repo.getTraceRepo().updateContextPool(Collections.singletonList(trace.getId()),
+                    Arrays.asList("c1", "c2"));
+            repo.getTraceRepo().updateStatus(Collections.singletonList(trace.getId()),
+                    FlowTraceStatus.ARCHIVED.name());
+        }
+
+        try (FlowContextLogRepo repo = this.open()) {
+            FlowTrace recovered = repo.getTraceRepo().find(trace.getId());
+            assertEquals(FlowTraceStatus.ARCHIVED, recovered.getStatus());
+            assertEquals(trace.getContextPool(), recovered.getContextPool());
+            repo.getTraceRepo().delete(STREAM_ID);
+        }
+
+        try (FlowContextLogRepo repo = this.open()) {
+            assertNull(repo.getTraceRepo().find(trace.getId()));
+        }
+    }
+
+    @Test
+    @DisplayName("流程使用日志仓库正常处理数据，处理完成后不残留上下文")
+    void shouldRunFlowOnLogRepo() {
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        try (FlowContextLogRepo repo = this.open()) {
+            ProcessFlow<Integer> flow = Flows.<Integer>create(repo, new FlowContextMemoMessenger(), new FlowLocksMemo())
+                    .map(i -> i * 10)
+                    .close(r -> result.add(r.get().getData()));
+
+            flow.offer(new Integer[] {1, 2, 3});
+
+            FlowsTestUtil.waitUntil(() -> result.size() == 3 && repo.size() == 0, 2000);
+            assertEquals(Arrays.asList(10, 20, 30), result);
+            assertEquals(0, repo.size());
+        }
+    }
+}
@@ -0,0 +1,281 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.context.repo.flowlock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import modelengine.fit.waterflow.FlowsTestUtil;
+import modelengine.fit.waterflow.domain.context.FlowContext;
+import modelengine.fit.waterflow.domain.context.FlowSession;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextMemoMessenger;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextMemoRepo;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextMessenger;
+import modelengine.fit.waterflow.domain.enums.FlowLockGranularity;
+import modelengine.fit.waterflow.domain.enums.FlowNodeStatus;
+import modelengine.fit.waterflow.domain.enums.FlowNodeType;
+import modelengine.fit.waterflow.domain.enums.ProcessType;
+import modelengine.fit.waterflow.domain.flow.Flows;
+import modelengine.fit.waterflow.domain.flow.ProcessFlow;
+import modelengine.fit.waterflow.domain.stream.nodes.To;
+import modelengine.fit.waterflow.domain.stream.operators.Operators;
+import modelengine.fit.waterflow.domain.utils.SleepUtil;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
+
+/**
+ * {@link FlowLockTable} 的测试类。
+ *
+ * @author agent
+ * @since 1.0
+ */
+@DisplayName("测试本地锁表")
+class FlowLockTableTest {
+    @Test
+    @DisplayName("锁空闲后从表中移除，同一个键值的锁互斥")
+    void shouldEvictIdleLocks() throws Exception {
+        FlowLockTable table = new FlowLockTable();
+        Lock lock = table.lock("key");
+        lock.lock();
+        assertEquals(1, table.size());
+        assertFalse(CompletableFuture.supplyAsync(() -> table.lock("key").tryLock()).get(1, TimeUnit.SECONDS));
+        assertTrue(CompletableFuture.supplyAsync(() -> {
+            Lock other = table.lock("other");
+            other.lock();
+            other.unlock();
+            return true;
+        }).get(1, TimeUnit.SECONDS));
+
+        lock.unlock();
+        assertEquals(0, table.size());
+        assertThrows(IllegalMonitorStateException.class, lock::unlock);
+    }
+
+    @Test
+    @DisplayName("持有锁时可以等待和唤醒条件，未持有锁时使用条件抛出异常")
+    void shouldAwaitAndSignalCondition() throws Exception {
+        FlowLockTable table = new FlowLockTable();
+        Condition condition = table.lock("key").newCondition();
+        AtomicBoolean isReady = new AtomicBoolean();
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            Lock lock = table.lock("key");
+            lock.lock();
+            try {
+                while (!isReady.get()) {
+                    condition.await();
+                }
+                return true;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        });
+        FlowsTestUtil.waitUntil(() -> table.size() == 1, 1000);
+        assertThrows(IllegalMonitorStateException.class, condition::signal);
+
+        Lock lock = table.lock("key");
+        lock.lock();
+        try {
+            isReady.set(true);
+            condition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        assertTrue(waiter.get(1, TimeUnit.SECONDS));
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    @DisplayName("按统计键值记录获取次数和竞争次数")
+    void shouldRecordContention() throws Exception {
+        FlowLockTable table = new FlowLockTable();
+        Lock lock = table.lock("node-session1", "node");
+        lock.lock();
+        CompletableFuture<Void> waiter = CompletableFuture.runAsync(() -> {
+            Lock same = table.lock("node-session1", "node");
+            same.lock();
+            same.unlock();
+        });
+        SleepUtil.sleep(50);
+        assertFalse(waiter.isDone());
+        lock.unlock();
+        waiter.get(1, TimeUnit.SECONDS);
+
+        FlowLockTable.Contention contention = table.contentions().get("node");
+        assertEquals(2, contention.getAcquisitions());
+        assertEquals(1, contention.getContentions());
+        assertTrue(contention.getWaitNanos() > 0);
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    @DisplayName("统计键值数量达到上限后，新的统计键值不再记录，未指定统计键值的锁不记录")
+    void shouldBoundStatsKeys() {
+        FlowLockTable table = new FlowLockTable(2);
+        for (int i = 0; i < 10; i++) {
+            Lock lock = table.lock("node" + i + "-session", "node" + i);
+            lock.lock();
+            lock.unlock();
+        }
+        Lock untracked = table.lock("session");
+        untracked.lock();
+        untracked.unlock();
+        assertEquals(Set.of("node0", "node1"), table.contentions().keySet());
+
+        table.forget("node0");
+        Lock lock = table.lock("node9-session", "node9");
+        lock.lock();
+        lock.unlock();
+        assertEquals(Set.of("node1", "node9"), table.contentions().keySet());
+    }
+
+    @Test
+    @DisplayName("兼容的锁映射视图返回锁表中的锁")
+    @SuppressWarnings("deprecation")
+    void shouldReturnTableLockFromDeprecatedView() throws Exception {
+        String key = "view-" + System.nanoTime();
+        Lock lock = FlowLocks.locks.get(key);
+        lock.lock();
+        try {
+            assertTrue(FlowLocks.locks.containsKey(key));
+            assertFalse(CompletableFuture.supplyAsync(() -> FlowLocks.LOCAL_LOCKS.lock(key).tryLock())
+                    .get(1, TimeUnit.SECONDS));
+        } finally {
+            lock.unlock();
+        }
+        assertFalse(FlowLocks.locks.containsKey(key));
+    }
+
+    @Test
+    @DisplayName("按session加锁时不同session互不阻塞，竞争情况统计在节点锁下")
+    void shouldLockPerSession() throws Exception {
+        FlowLocksMemo locks = new FlowLocksMemo(FlowLockGranularity.SESSION);
+        String nodeKey = locks.lockKey("stream", "node-" + System.nanoTime(), "PreProcess");
+        Lock session1 = locks.getDistributeLock(nodeKey, "session1");
+        session1.lock();
+        try {
+            assertTrue(CompletableFuture.supplyAsync(() -> {
+                Lock session2 = locks.getDistributeLock(nodeKey, "session2");
+                boolean isLocked = session2.tryLock();
+                session2.unlock();
+                return isLocked;
+            }).get(1, TimeUnit.SECONDS));
+            assertFalse(CompletableFuture.supplyAsync(() -> locks.getDistributeLock(nodeKey, "session1").tryLock())
+                    .get(1, TimeUnit.SECONDS));
+        } finally {
+            session1.unlock();
+        }
+        assertEquals(2, locks.contentions().get(nodeKey).getAcquisitions());
+        assertEquals(1, locks.contentions().get(nodeKey).getContentions());
+        locks.removeLocalLock(nodeKey);
+        assertFalse(locks.contentions().containsKey(nodeKey));
+    }
+
+    @Test
+    @DisplayName("按session加锁的流程正常处理多个session的数据")
+    void shouldProcessFlowWithSessionLocks() {
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        ProcessFlow<Integer> flow = Flows.<Integer>create(new FlowContextMemoRepo(), new FlowContextMemoMessenger(),
+                        new FlowLocksMemo(FlowLockGranularity.SESSION))
+                .map(i -> i + 1)
+                .close(r -> result.add(r.get().getData()));
+
+        for (int i = 0; i < 10; i++) {
+            flow.offer(new Integer[] {i}, new FlowSession());
+        }
+
+        FlowsTestUtil.waitUntil(() -> result.size() == 10, 2000);
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), result.stream().sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("按session加锁时两个线程竞争同一个session，已发送的数据不会被再次发送")
+    void shouldNotResendContextsOfSameSession() {
+        String streamId = "stream-" + System.nanoTime();
+        SentMarkingRepo repo = new SentMarkingRepo();
+        FlowSession session = new FlowSession();
+        List<FlowContext<Integer>> contexts = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            FlowContext<Integer> context = new FlowContext<>(streamId, "root", i,
+                    Collections.singleton(UUID.randomUUID().toString()), "from", session);
+            context.setStatus(FlowNodeStatus.PENDING);
+            contexts.add(context);
+        }
+        repo.save(contexts);
+        List<String> sent = new CopyOnWriteArrayList<>();
+        FlowContextMessenger messenger = new FlowContextMemoMessenger() {
+            @Override
+            public <I> void send(String nodeId, List<FlowContext<I>> ready) {
+                ready.forEach(context -> sent.add(context.getId()));
+            }
+        };
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        List<To<Integer, Integer>> nodes = List.of(this.node(streamId, repo, messenger, barrier),
+                this.node(streamId, repo, messenger, barrier));
+
+        nodes.forEach(node -> node.accept(ProcessType.PRE_PROCESS, contexts));
+
+        FlowsTestUtil.waitUntil(() -> sent.size() >= contexts.size(), 2000);
+        SleepUtil.sleep(100);
+        assertEquals(contexts.size(), sent.size());
+        assertEquals(contexts.size(), Set.copyOf(sent).size());
+    }
+
+    private To<Integer, Integer> node(String streamId, SentMarkingRepo repo, FlowContextMessenger messenger,
+            CyclicBarrier barrier) {
+        Operators.Map<FlowContext<Integer>, Integer> processor = FlowContext::getData;
+        To<Integer, Integer> node = new To<>(streamId, "node", processor, repo, messenger,
+                new FlowLocksMemo(FlowLockGranularity.SESSION), FlowNodeType.STATE);
+        AtomicBoolean isFirst = new AtomicBoolean(true);
+        // 两个节点在加锁前都读取到同一批数据后再继续，模拟两个线程同时处理同一个session。
+        node.preFilter(ready -> {
+            if (isFirst.getAndSet(false)) {
+                try {
+                    barrier.await(1, TimeUnit.SECONDS);
+                } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+            return ready;
+        });
+        return node;
+    }
+
+    /**
+     * 与持久化实现一致，标记已发送的上下文仓库，所有位置的数据都视为节点边上的数据。
+     */
+    private static class SentMarkingRepo extends FlowContextMemoRepo {
+        @Override
+        public <T> List<FlowContext<T>> getContextsByPosition(String streamId, List<String> posIds, String status) {
+            return super.getContextsByPosition(streamId, Collections.singletonList("from"), status);
+        }
+
+        @Override
+        public synchronized <T> void updateToSent(List<FlowContext<T>> contexts) {
+            contexts.forEach(context -> context.setSent(true));
+            super.updateToSent(contexts);
+        }
+    }
+}
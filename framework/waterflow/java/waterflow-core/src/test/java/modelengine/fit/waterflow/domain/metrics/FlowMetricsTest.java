@@ -0,0 +1,142 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import modelengine.fit.waterflow.FlowsTestUtil;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextMemoMessenger;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextMemoRepo;
+import modelengine.fit.waterflow.domain.context.repo.flowlock.FlowLocksMemo;
+import modelengine.fit.waterflow.domain.enums.NodeScheduleMode;
+import modelengine.fit.waterflow.domain.flow.Flows;
+import modelengine.fit.waterflow.domain.flow.ProcessFlow;
+import modelengine.fit.waterflow.domain.utils.FlowExecutors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+/**
+ * {@link FlowMetrics} 的测试类。
+ *
+ * @author agent
+ * @since 1.0
+ */
+@DisplayName("测试流程节点指标")
+class FlowMetricsTest {
+    @AfterEach
+    void tearDown() {
+        FlowMetrics.disable();
+    }
+
+    @Test
+    @DisplayName("直方图的分位数误差在分桶精度以内")
+    void shouldComputePercentiles() {
+        Histogram histogram = new Histogram();
+        IntStream.rangeClosed(1, 10000).forEach(histogram::record);
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(10000, snapshot.getCount());
+        assertEquals(5000.5D, snapshot.getMean(), 0.001D);
+        assertEquals(10000, snapshot.getMax());
+        assertTrue(Math.abs(snapshot.getP50() - 5000) <= 5000 / 32);
+        assertTrue(Math.abs(snapshot.getP99() - 9900) <= 9900 / 32);
+    }
+
+    @Test
+    @DisplayName("开启指标统计后记录每个节点处理的数据量和耗时")
+    void shouldRecordNodeMetrics() {
+        FlowMetrics.enable();
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        ProcessFlow<Integer> flow = Flows.<Integer>create(new FlowContextMemoRepo(), new FlowContextMemoMessenger(),
+                        new FlowLocksMemo())
+                .map(i -> i + 1)
+                .flatMap(i -> Flows.flux(i, i))
+                .close(r -> result.add(r.get().getData()));
+
+        flow.offer(new Integer[] {1, 2, 3});
+        FlowsTestUtil.waitUntil(() -> result.size() == 6, 2000);
+
+        List<NodeMetricsSnapshot> nodes = FlowMetrics.snapshot(flow.start().getStreamId());
+        long accepted = nodes.stream().mapToLong(NodeMetricsSnapshot::getAccepted).sum();
+        long processed = nodes.stream().mapToLong(NodeMetricsSnapshot::getProcessed).sum();
+        assertTrue(nodes.size() >= 2);
+        assertEquals(accepted, processed);
+        assertTrue(nodes.stream().anyMatch(node -> node.getSent() == 6));
+        assertTrue(nodes.stream().allMatch(node -> node.getProcessLatency().getCount() > 0));
+        assertTrue(nodes.stream().allMatch(node -> node.getPending() == 0));
+    }
+
+    @Test
+    @DisplayName("上游的边上等待处理的上下文个数随上下文到达和离开节点变化")
+    void shouldCountPendingContexts() {
+        FlowMetrics.enable();
+        NodeScheduleMode origin = FlowExecutors.getScheduleMode();
+        FlowExecutors.setScheduleMode(NodeScheduleMode.EVENT_DRIVEN);
+        CountDownLatch latch = new CountDownLatch(1);
+        try {
+            List<Integer> result = new CopyOnWriteArrayList<>();
+            ProcessFlow<Integer> flow = Flows.<Integer>create(new FlowContextMemoRepo(),
+                            new FlowContextMemoMessenger(),
+                            new FlowLocksMemo())
+                    .map(i -> {
+                        awaitQuietly(latch);
+                        return i + 1;
+                    })
+                    .close(r -> result.add(r.get().getData()));
+            String streamId = flow.start().getStreamId();
+
+            flow.offer(new Integer[] {1});
+            FlowsTestUtil.waitUntil(() -> concurrency(streamId) == 1, 2000);
+            flow.offer(new Integer[] {2});
+            flow.offer(new Integer[] {3});
+            FlowsTestUtil.waitUntil(() -> pending(streamId) == 2, 2000);
+            assertEquals(2, pending(streamId));
+
+            latch.countDown();
+            FlowsTestUtil.waitUntil(() -> result.size() == 3, 2000);
+            assertEquals(3, result.size());
+            assertEquals(0, pending(streamId));
+        } finally {
+            latch.countDown();
+            FlowExecutors.setScheduleMode(origin);
+        }
+    }
+
+    @Test
+    @DisplayName("未配置开启指标统计时，创建指标提供者不开启指标统计")
+    void shouldEnableMetricsOnlyWhenConfigured() {
+        new FlowMetricsProvider(false);
+        assertFalse(FlowMetrics.isEnabled());
+        new FlowMetricsProvider(true);
+        assertTrue(FlowMetrics.isEnabled());
+    }
+
+    private static int pending(String streamId) {
+        return FlowMetrics.snapshot(streamId).stream().mapToInt(NodeMetricsSnapshot::getPending).sum();
+    }
+
+    private static int concurrency(String streamId) {
+        return FlowMetrics.snapshot(streamId).stream().mapToInt(NodeMetricsSnapshot::getConcurrency).sum();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2024 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.domain.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import modelengine.fit.waterflow.FlowsTestUtil;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextMemoMessenger;
+import modelengine.fit.waterflow.domain.context.repo.flowcontext.FlowContextMemoRepo;
+import modelengine.fit.waterflow.domain.context.repo.flowlock.FlowLocksMemo;
+import modelengine.fit.waterflow.domain.flow.Flows;
+import modelengine.fit.waterflow.domain.flow.ProcessFlow;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link VirtualThreadFlowExecutor} 的测试类。
+ *
+ * @author agent
+ * @since 1.0
+ */
+@DisplayName("测试虚拟线程执行策略")
+class VirtualThreadFlowExecutorTest {
+    @Test
+    @DisplayName("每个流有独立的并发预算，释放后唤醒等待者")
+    void shouldBudgetPerStream() {
+        VirtualThreadFlowExecutor executor = new VirtualThreadFlowExecutor(1);
+        ConcurrencyBudget budget = executor.budget("stream1");
+        assertSame(budget, executor.budget("stream1"));
+        assertNotSame(budget, executor.budget("stream2"));
+
+        Optional<FlowExecutors.ConcurrencyHolder> holder = budget.tryAcquire();
+        assertTrue(holder.isPresent());
+        assertFalse(budget.tryAcquire().isPresent());
+        assertTrue(executor.budget("stream2").tryAcquire().isPresent());
+
+        AtomicBoolean woken = new AtomicBoolean(false);
+        budget.await(() -> woken.set(true));
+        assertFalse(woken.get());
+        holder.get().release();
+        assertTrue(woken.get());
+        assertEquals(1, budget.available());
+    }
+
+    @Test
+    @DisplayName("不再被引用的流的并发预算被回收")
+    void shouldReleaseBudgetOfCollectedStream() {
+        VirtualThreadFlowExecutor executor = new VirtualThreadFlowExecutor(1);
+        ConcurrencyBudget alive = executor.budget("alive");
+        for (int i = 0; i < 100; i++) {
+            executor.budget("stream" + i);
+        }
+        FlowsTestUtil.waitUntil(() -> {
+            System.gc();
+            return executor.budgetCount() == 1;
+        }, 5000);
+        assertEquals(1, executor.budgetCount());
+        assertSame(alive, executor.budget("alive"));
+    }
+
+    @Test
+    @DisplayName("流程指定虚拟线程执行策略后正常处理数据")
+    void shouldProcessFlowOnVirtualThreadExecutor() {
+        List<Integer> result = new CopyOnWriteArrayList<>();
+        ProcessFlow<Integer> flow =
+                Flows.<Integer>create(new FlowContextMemoRepo(), new FlowContextMemoMessenger(), new FlowLocksMemo())
+                        .map(i -> i * 10)
+                        .map(i -> i + 1)
+                        .close(r -> result.add(r.get().getData()));
+        flow.executeOn(new VirtualThreadFlowExecutor(2));
+
+        flow.offer(new Integer[] {1, 2, 3});
+
+        FlowsTestUtil.waitUntil(() -> result.size() == 3, 2000);
+        assertEquals(List.of(11, 21, 31), result);
+    }
+}
@@ -78,6 +78,11 @@ public enum ErrorCodes {
     FLOW_EXECUTE_CALLBACK_FITABLES_FAILED(100070023,
             "Failed to execute callback, callback name: {0}, callback type: {1}, fitables: {2}, errors: {3}"),
 
+    /**
+     * 流程上下文持久化日志读写失败
+     */
+    FLOW_CONTEXT_LOG_IO_FAILED(100070026, "Flow context log operation :{0} failed, file: {1}."),
+
     /**
      * 流程引擎OhScript语法错误
      */